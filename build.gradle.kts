@@ -13,6 +13,7 @@ plugins {
     `maven-publish`
     signing
     id("com.vanniktech.maven.publish") version "0.36.0"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.solapi"
@@ -82,18 +83,33 @@ mavenPublishing {
 dependencies {
     implementation(kotlin("stdlib-jdk8"))
     implementation(kotlin("reflect"))
-    implementation("commons-codec:commons-codec:1.20.0")
-    implementation("com.squareup.okhttp3:okhttp:5.3.0")
+    api("com.squareup.okhttp3:okhttp:5.3.0")
     implementation("com.squareup.okhttp3:logging-interceptor:5.3.0")
     implementation("com.squareup.retrofit2:retrofit:3.0.0")
     implementation("org.jetbrains.kotlinx:kotlinx-serialization-json:1.10.0")
-    implementation("com.squareup.retrofit2:converter-kotlinx-serialization:3.0.0")
+    api("org.jetbrains.kotlinx:kotlinx-coroutines-core:1.10.2")
+    api("org.reactivestreams:reactive-streams:1.0.4")
 
     testImplementation(kotlin("test"))
+    // 서명과 Base64 인코딩은 JDK만 사용하며, commons-codec은 테스트와 벤치마크의 기대값 계산에만 사용합니다.
+    testImplementation("commons-codec:commons-codec:1.20.0")
+    jmh("commons-codec:commons-codec:1.20.0")
 
     dokkaHtmlPlugin("org.jetbrains.dokka:kotlin-as-java-plugin:2.1.0")
 }
 
+jmh {
+    // ./gradlew jmh 실행 시 ns/op와 함께 GC 프로파일러로 할당량(B/op)을 측정합니다.
+    profilers.add("gc")
+}
+
+kotlin {
+    // 벤치마크에서 internal 클래스를 사용할 수 있도록 main 컴파일과 연결합니다.
+    target.compilations.named("jmh") {
+        associateWith(target.compilations.getByName("main"))
+    }
+}
+
 val generatedSrcDir = layout.buildDirectory.dir("generated/source/kotlin")
 
 sourceSets.main.get().java.srcDir(generatedSrcDir)
@@ -131,11 +147,18 @@ tasks.named("sourcesJar") {
 tasks.shadowJar {
     mergeServiceFiles()
 
+    // OkHttp(SolapiClient.Builder.httpClient)와 Reactive Streams(MessageSendProcessor)는 공개 API에 노출되므로
+    // 재배치하거나 포함하지 않고, 사용하는 쪽과 같은 클래스를 쓰도록 api 의존성으로 전달합니다.
+    // kotlinx-coroutines도 호출한 코루틴의 Job으로 취소가 전달되어야 하므로(CoroutineMessageService) 같은 방식으로 전달합니다.
+    dependencies {
+        exclude(dependency("com.squareup.okhttp3:.*:.*"))
+        exclude(dependency("com.squareup.okio:.*:.*"))
+        exclude(dependency("org.reactivestreams:.*:.*"))
+        exclude(dependency("org.jetbrains.kotlinx:kotlinx-coroutines-.*:.*"))
+    }
+
     relocate("com.fasterxml", "com.solapi.shadow.com.fasterxml")
-    relocate("okhttp3", "com.solapi.shadow.okhttp3")
-    relocate("okio", "com.solapi.shadow.okio")
     relocate("retrofit2", "com.solapi.shadow.retrofit2")
-    relocate("org.apache", "com.solapi.shadow.org.apache")
     relocate("kotlinx.serialization", "com.solapi.shadow.kotlinx.serialization")
 
     archiveClassifier.set("")
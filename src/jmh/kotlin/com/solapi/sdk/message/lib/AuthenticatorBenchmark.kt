@@ -0,0 +1,61 @@
+package com.solapi.sdk.message.lib
+
+import org.apache.commons.codec.binary.Hex
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Threads
+import org.openjdk.jmh.annotations.Warmup
+import java.nio.charset.StandardCharsets
+import java.util.UUID
+import java.util.concurrent.TimeUnit
+import javax.crypto.Mac
+import javax.crypto.spec.SecretKeySpec
+import kotlin.time.Clock
+
+/**
+ * Authorization 헤더 생성 비용 비교
+ *
+ * legacy는 요청마다 Authenticator를 생성하던 이전 방식(Mac.getInstance, SecretKeySpec, UUID, Regex 생성)을,
+ * current는 인스턴스를 재사용하는 현재 방식을 측정합니다.
+ * ./gradlew jmh 로 실행하며, gc 프로파일러의 gc.alloc.rate.norm 값이 B/op 입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+open class AuthenticatorBenchmark {
+    private val apiKey = "NCSBENCHMARKAPIKEY"
+    private val apiSecretKey = "BENCHMARKAPISECRETKEYBENCHMARKAPISECRETKEY"
+    private val authenticator = Authenticator(apiKey, apiSecretKey)
+
+    @Benchmark
+    fun legacy(): String {
+        val salt = UUID.randomUUID().toString().replace(Regex("-"), "")
+        val date = Clock.System.now().toString()
+
+        val encryptionInstance = Mac.getInstance("HmacSHA256")
+        val secretKey = SecretKeySpec(apiSecretKey.toByteArray(StandardCharsets.UTF_8), "HmacSHA256")
+
+        encryptionInstance.init(secretKey)
+        val signature = String(
+            (date + salt).toByteArray(StandardCharsets.UTF_8)
+                .let { encryptionInstance.doFinal(it) }
+                .let { Hex.encodeHex(it) }
+        )
+        return "HMAC-SHA256 Apikey=${apiKey}, Date=${date}, salt=${salt}, signature=${signature}"
+    }
+
+    @Benchmark
+    fun current(): String {
+        return authenticator.generateAuthInfo()
+    }
+}
@@ -0,0 +1,91 @@
+package com.solapi.sdk.message.lib
+
+import com.solapi.sdk.message.dto.request.MessageListBaseRequest
+import com.solapi.sdk.message.dto.request.MessageListRequest
+import com.solapi.sdk.message.dto.request.kakao.KakaoAlimtalkTemplateListRequest
+import com.solapi.sdk.message.dto.request.kakao.KakaoTemplateDateQuery
+import com.solapi.sdk.message.dto.request.kakao.KakaoTemplateNameQuery
+import com.solapi.sdk.message.model.MessageStatusType
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+import java.util.concurrent.TimeUnit
+import kotlin.time.Instant
+
+/**
+ * 조회 요청의 쿼리 파라미터 생성 비용 비교
+ *
+ * jsonRoundTrip은 객체를 JSON 트리로 만든 뒤 Map으로 되돌리던 이전 방식(MapHelper.toMap)을,
+ * descriptorMap은 직렬화 descriptor를 따라 Map에 바로 기록하는 현재 방식을,
+ * templateWithStartKey는 미리 만든 MessageListQuery에서 startKey만 바꾸는 반복 조회 방식을 측정합니다.
+ * ./gradlew jmh 로 실행하며, gc 프로파일러의 gc.alloc.rate.norm 값이 B/op 입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+open class QueryParameterBenchmark {
+    private val messageListRequest = MessageListBaseRequest(
+        startKey = "M4V20260101000000ABCDEFGHIJKLMN",
+        limit = 500,
+        criteria = "statusCode,groupId,type",
+        cond = "eq,eq,eq",
+        value = "2000,G4V20260101000000ABCDEFGHIJKLMN,SMS",
+        startDate = Instant.parse("2026-01-01T00:00:00Z"),
+        endDate = Instant.parse("2026-01-31T00:00:00Z")
+    )
+
+    private val templateListRequest = KakaoAlimtalkTemplateListRequest(
+        channelId = "KA01PF200101000000000000000000",
+        name = KakaoTemplateNameQuery("주문 안내", KakaoTemplateNameQuery.KakaoAlimtalkTemplateNameQueryCondition.LIKE),
+        limit = 100,
+        dateCreated = KakaoTemplateDateQuery(
+            Instant.parse("2026-01-01T00:00:00Z"),
+            KakaoTemplateDateQuery.KakaoAlimtalkTemplateDateQueryCondition.GREATER_THEN_OR_EQUAL
+        )
+    )
+
+    private val template = MessageListQuery.of(
+        MessageListRequest(
+            groupId = "G4V20260101000000ABCDEFGHIJKLMN",
+            type = "SMS",
+            status = MessageStatusType.PENDING,
+            limit = 500,
+            startDate = Instant.parse("2026-01-01T00:00:00Z"),
+            endDate = Instant.parse("2026-01-31T00:00:00Z")
+        )
+    )
+
+    @Benchmark
+    fun jsonRoundTrip(): Map<String, Any?> {
+        return MapHelper.toMap(messageListRequest)
+    }
+
+    @Benchmark
+    fun descriptorMap(): Map<String, String> {
+        return encodeQueryParameters(MessageListBaseRequest.serializer(), messageListRequest)
+    }
+
+    @Benchmark
+    fun templateListJsonRoundTrip(): Map<String, Any?> {
+        return MapHelper.toMap(templateListRequest)
+    }
+
+    @Benchmark
+    fun templateListDescriptorMap(): Map<String, String> {
+        return templateListRequest.generateQueryParams()
+    }
+
+    @Benchmark
+    fun templateWithStartKey(): Map<String, String> {
+        return template.withStartKey("M4V20260101000000ABCDEFGHIJKLMN").toMap()
+    }
+}
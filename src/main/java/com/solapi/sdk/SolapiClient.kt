@@ -1,16 +1,231 @@
 package com.solapi.sdk
 
+import com.solapi.sdk.message.exception.SolapiBadRequestException
+import com.solapi.sdk.message.lib.AdaptiveConcurrencyLimiter
+import com.solapi.sdk.message.lib.FileUploadCache
+import com.solapi.sdk.message.lib.GzipRequestInterceptor
+import com.solapi.sdk.message.lib.ImagePreprocessor
+import com.solapi.sdk.message.lib.SendRateLimiter
+import com.solapi.sdk.message.service.CoroutineMessageService
 import com.solapi.sdk.message.service.DefaultMessageService
+import okhttp3.ConnectionPool
+import okhttp3.Dispatcher
+import okhttp3.OkHttpClient
+import java.util.concurrent.Executor
+import java.util.concurrent.TimeUnit
 
 object SolapiClient {
+    private const val API_URL = "https://api.solapi.com"
+    private const val STATIC_IP_API_URL = "https://api-static.solapi.com"
 
     @JvmOverloads
     fun createInstance(apiKey: String, apiSecretKey: String, useStaticIP: Boolean = false): DefaultMessageService {
-        var apiUrl = "https://api.solapi.com"
-        if (useStaticIP) {
-            apiUrl = "https://api-static.solapi.com"
-        }
-        return DefaultMessageService(apiKey, apiSecretKey, apiUrl)
+        return DefaultMessageService(apiKey, apiSecretKey, apiUrlOf(useStaticIP))
+    }
+
+    /**
+     * Kotlin Coroutine 환경을 위한 suspend 함수 기반 메시지 서비스를 생성합니다.
+     */
+    fun createCoroutineInstance(apiKey: String, apiSecretKey: String, useStaticIP: Boolean = false): CoroutineMessageService {
+        return CoroutineMessageService(createInstance(apiKey, apiSecretKey, useStaticIP))
+    }
+
+    /**
+     * HTTP 연결 설정을 지정해 메시지 서비스를 생성하기 위한 빌더를 반환합니다.
+     *
+     * ```kotlin
+     * val messageService = SolapiClient.builder("API_KEY", "API_SECRET")
+     *     .readTimeout(10, TimeUnit.SECONDS)
+     *     .connectionPool(20, 5, TimeUnit.MINUTES)
+     *     .build()
+     * ```
+     */
+    @JvmStatic
+    fun builder(apiKey: String, apiSecretKey: String): Builder {
+        return Builder(apiKey, apiSecretKey)
     }
 
-}
\ No newline at end of file
+    private fun apiUrlOf(useStaticIP: Boolean): String {
+        return if (useStaticIP) STATIC_IP_API_URL else API_URL
+    }
+
+    /**
+     * 메시지 서비스의 HTTP 연결 설정을 지정하는 빌더
+     *
+     * 여러 메시지 서비스(예: 계정별 서비스)를 사용하는 경우 [httpClient]로 하나의 OkHttpClient를 공유하면,
+     * 모든 서비스가 같은 연결 풀과 Dispatcher 스레드를 사용합니다.
+     * 공유 클라이언트와 함께 [connectionPool] 또는 [dispatcher]를 지정하면 해당 항목은 공유되지 않고 새로 생성됩니다.
+     * 지정하지 않은 제한 시간은 공유 클라이언트의 설정을 따르며, 공유 클라이언트가 없는 경우 50초가 적용됩니다.
+     */
+    class Builder internal constructor(
+        private val apiKey: String,
+        private val apiSecretKey: String,
+    ) {
+        private var useStaticIP = false
+        private var httpClient: OkHttpClient? = null
+        private var connectTimeoutMillis: Long? = null
+        private var readTimeoutMillis: Long? = null
+        private var writeTimeoutMillis: Long? = null
+        private var callTimeoutMillis: Long? = null
+        private var connectionPool: ConnectionPool? = null
+        private var dispatcher: Dispatcher? = null
+        private var compressionMinimumSize: Long? = null
+        private var rateLimiter: SendRateLimiter? = null
+        private var concurrencyLimiter: AdaptiveConcurrencyLimiter? = null
+        private var fileUploadCache: FileUploadCache? = null
+        private var imagePreprocessor: ImagePreprocessor? = null
+        private var uploadExecutor: Executor? = null
+
+        /**
+         * 고정 IP API 주소 사용 여부
+         */
+        fun useStaticIP(useStaticIP: Boolean) = apply { this.useStaticIP = useStaticIP }
+
+        /**
+         * 공유할 OkHttpClient
+         * 전달받은 클라이언트의 연결 풀, Dispatcher, 인터셉터 등의 설정을 그대로 사용하며, 인증 헤더 인터셉터만 추가됩니다.
+         */
+        fun httpClient(httpClient: OkHttpClient) = apply { this.httpClient = httpClient }
+
+        /**
+         * 연결 제한 시간
+         */
+        fun connectTimeout(timeout: Long, unit: TimeUnit) = apply { connectTimeoutMillis = toMillis(timeout, unit) }
+
+        /**
+         * 응답 읽기 제한 시간
+         */
+        fun readTimeout(timeout: Long, unit: TimeUnit) = apply { readTimeoutMillis = toMillis(timeout, unit) }
+
+        /**
+         * 요청 쓰기 제한 시간
+         */
+        fun writeTimeout(timeout: Long, unit: TimeUnit) = apply { writeTimeoutMillis = toMillis(timeout, unit) }
+
+        /**
+         * 요청 전체(연결, 쓰기, 읽기 포함)의 제한 시간, 0인 경우 제한하지 않습니다.
+         */
+        fun callTimeout(timeout: Long, unit: TimeUnit) = apply { callTimeoutMillis = toMillis(timeout, unit) }
+
+        /**
+         * 연결 풀 설정
+         *
+         * @param maxIdleConnections 유지할 최대 유휴 연결 수
+         * @param keepAliveDuration 유휴 연결을 유지할 시간
+         */
+        fun connectionPool(maxIdleConnections: Int, keepAliveDuration: Long, unit: TimeUnit) = apply {
+            if (maxIdleConnections < 0 || keepAliveDuration <= 0) {
+                throw SolapiBadRequestException("유휴 연결 수는 0 이상, 유지 시간은 0보다 커야 합니다.")
+            }
+            connectionPool = ConnectionPool(maxIdleConnections, keepAliveDuration, unit)
+        }
+
+        /**
+         * 동시 요청 수 설정
+         *
+         * @param maxRequests 전체 최대 동시 요청 수
+         * @param maxRequestsPerHost 호스트당 최대 동시 요청 수
+         */
+        fun dispatcher(maxRequests: Int, maxRequestsPerHost: Int) = apply {
+            if (maxRequests < 1 || maxRequestsPerHost < 1) {
+                throw SolapiBadRequestException("동시 요청 수는 1 이상이어야 합니다.")
+            }
+            dispatcher = Dispatcher().apply {
+                this.maxRequests = maxRequests
+                this.maxRequestsPerHost = maxRequestsPerHost
+            }
+        }
+
+        /**
+         * 요청 본문 gzip 압축 사용
+         * 본문이 minimumSize byte 이상인 요청(대량 발송, 파일 업로드 등)만 압축해 전송하며,
+         * 서버가 압축된 요청을 415(Unsupported Media Type)로 거절하면 압축하지 않은 요청을 다시 보내고 이후 요청은 압축하지 않습니다.
+         *
+         * @param minimumSize 압축할 요청 본문의 최소 크기(byte)
+         */
+        @JvmOverloads
+        fun requestCompression(minimumSize: Long = GzipRequestInterceptor.DEFAULT_MINIMUM_SIZE) = apply {
+            if (minimumSize < 0) {
+                throw SolapiBadRequestException("압축할 요청 본문의 최소 크기는 0 이상이어야 합니다.")
+            }
+            compressionMinimumSize = minimumSize
+        }
+
+        /**
+         * 발송 요청에 적용할 클라이언트 측 발송량 제한기
+         * @see DefaultMessageService.rateLimiter
+         */
+        fun rateLimiter(rateLimiter: SendRateLimiter) = apply { this.rateLimiter = rateLimiter }
+
+        /**
+         * 발송 요청의 동시 실행 수를 조절하는 제한기
+         * @see DefaultMessageService.concurrencyLimiter
+         */
+        fun concurrencyLimiter(concurrencyLimiter: AdaptiveConcurrencyLimiter) =
+            apply { this.concurrencyLimiter = concurrencyLimiter }
+
+        /**
+         * 같은 내용의 파일을 다시 업로드하지 않도록 업로드된 파일 ID를 보관하는 캐시
+         * 업로드된 파일은 계정별로 관리되므로, 여러 메시지 서비스에서 하나의 캐시를 공유하면 항목은 API Key별로 구분됩니다.
+         * @see DefaultMessageService.fileUploadCache
+         */
+        fun fileUploadCache(fileUploadCache: FileUploadCache) = apply { this.fileUploadCache = fileUploadCache }
+
+        /**
+         * 업로드 전에 이미지를 저장소 유형별 제한에 맞게 변환하는 전처리기
+         * @see DefaultMessageService.imagePreprocessor
+         */
+        fun imagePreprocessor(imagePreprocessor: ImagePreprocessor) = apply { this.imagePreprocessor = imagePreprocessor }
+
+        /**
+         * 비동기 업로드에서 이미지 전처리와 업로드 캐시 키 계산을 실행할 Executor, 지정하지 않으면 ForkJoinPool.commonPool을 사용합니다.
+         * @see DefaultMessageService.uploadExecutor
+         */
+        fun uploadExecutor(uploadExecutor: Executor) = apply { this.uploadExecutor = uploadExecutor }
+
+        /**
+         * 설정한 내용으로 메시지 서비스를 생성합니다.
+         */
+        fun build(): DefaultMessageService {
+            val messageService = DefaultMessageService(apiKey, apiSecretKey, apiUrlOf(useStaticIP), buildHttpClient())
+            messageService.rateLimiter = rateLimiter
+            messageService.concurrencyLimiter = concurrencyLimiter
+            messageService.fileUploadCache = fileUploadCache
+            messageService.imagePreprocessor = imagePreprocessor
+            uploadExecutor?.let { messageService.uploadExecutor = it }
+            return messageService
+        }
+
+        /**
+         * 설정한 내용으로 suspend 함수 기반 메시지 서비스를 생성합니다.
+         */
+        fun buildCoroutine(): CoroutineMessageService {
+            return CoroutineMessageService(build())
+        }
+
+        internal fun buildHttpClient(): OkHttpClient {
+            val shared = httpClient
+            val defaultTimeoutMillis = TimeUnit.SECONDS.toMillis(DefaultMessageService.DEFAULT_TIMEOUT_SECONDS)
+            val builder = shared?.newBuilder() ?: OkHttpClient.Builder()
+                .connectTimeout(defaultTimeoutMillis, TimeUnit.MILLISECONDS)
+                .readTimeout(defaultTimeoutMillis, TimeUnit.MILLISECONDS)
+                .writeTimeout(defaultTimeoutMillis, TimeUnit.MILLISECONDS)
+
+            connectTimeoutMillis?.let { builder.connectTimeout(it, TimeUnit.MILLISECONDS) }
+            readTimeoutMillis?.let { builder.readTimeout(it, TimeUnit.MILLISECONDS) }
+            writeTimeoutMillis?.let { builder.writeTimeout(it, TimeUnit.MILLISECONDS) }
+            callTimeoutMillis?.let { builder.callTimeout(it, TimeUnit.MILLISECONDS) }
+            connectionPool?.let { builder.connectionPool(it) }
+            dispatcher?.let { builder.dispatcher(it) }
+            compressionMinimumSize?.let { builder.addInterceptor(GzipRequestInterceptor(it)) }
+            return builder.build()
+        }
+
+        private fun toMillis(timeout: Long, unit: TimeUnit): Long {
+            if (timeout < 0) {
+                throw SolapiBadRequestException("제한 시간은 0 이상이어야 합니다.")
+            }
+            return unit.toMillis(timeout)
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.solapi.sdk.message.dto.request.kakao
 
+import com.solapi.sdk.message.lib.encodeQueryParameters
 import kotlinx.serialization.Serializable
 
 @Serializable
@@ -8,11 +9,6 @@ data class KakaoAlimtalkSendableTemplateListRequest(
     var templateId: String? = null
 ) {
     fun generateToQueryParams(): Map<String, String> {
-        val map = mutableMapOf<String, String>()
-
-        this.templateId?.let { map.put("templateId", it) }
-        this.channelId?.let { map.put("channelId", it) }
-
-        return map
+        return encodeQueryParameters(KakaoAlimtalkSendableTemplateListRequest.serializer(), this)
     }
 }
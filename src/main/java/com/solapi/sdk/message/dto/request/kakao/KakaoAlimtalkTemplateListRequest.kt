@@ -1,10 +1,10 @@
 package com.solapi.sdk.message.dto.request.kakao
 
-import com.solapi.sdk.message.dto.request.kakao.KakaoTemplateDateQuery.KakaoAlimtalkTemplateDateQueryCondition.*
-import com.solapi.sdk.message.dto.request.kakao.KakaoTemplateDateQuery.KakaoAlimtalkTemplateDateQueryCondition.EQUALS as DATE_EQUALS
-import com.solapi.sdk.message.dto.request.kakao.KakaoTemplateNameQuery.KakaoAlimtalkTemplateNameQueryCondition.*
+import com.solapi.sdk.message.lib.encodeQueryParameters
 import com.solapi.sdk.message.model.kakao.KakaoAlimtalkTemplateStatus
+import kotlinx.serialization.Serializable
 
+@Serializable
 data class KakaoAlimtalkTemplateListRequest(
     var channelId: String? = null,
     var channelGroupId: String? = null,
@@ -18,43 +18,10 @@ data class KakaoAlimtalkTemplateListRequest(
     var dateCreated: KakaoTemplateDateQuery? = null,
     var dateUpdated: KakaoTemplateDateQuery? = null,
 ) {
+    /**
+     * 조회 조건을 쿼리 파라미터로 변환합니다. 이름, 날짜 조건은 name[eq], dateCreated[gte] 형태의 파라미터가 됩니다.
+     */
     fun generateQueryParams(): Map<String, String> {
-        val params = mutableMapOf<String, String>()
-
-        this.channelGroupId?.let { params["channelGroupId"] = it }
-        this.channelId?.let { params["channelId"] = it }
-        this.name?.let { it ->
-            when (it.queryCondition) {
-                EQUALS -> params["name[eq]"] = it.name
-                NOT_EQUALS -> params["name[ne]"] = it.name
-                LIKE -> params["name[like]"] = it.name
-            }
-        }
-        this.templateId?.let { params["templateId"] = it }
-        this.isHidden?.let { params["isHidden"] = it.toString() }
-        this.status?.let { params["status"] = it.toString() }
-        this.isMine?.let { params["isMine"] = it.toString() }
-        this.startKey?.let { params["startKey"] = it }
-        this.limit?.let { params["limit"] = it.toString() }
-        this.dateCreated?.let { it ->
-            when (it.queryCondition) {
-                DATE_EQUALS -> params["dateCreated[eq]"] = it.date.toString()
-                GREATER_THEN_OR_EQUAL -> params["dateCreated[gte]"] = it.date.toString()
-                GREATER_THEN -> params["dateCreated[gt]"] = it.date.toString()
-                LESS_THEN_OR_EQUAL -> params["dateCreated[lte]"] = it.date.toString()
-                LESS_THEN -> params["dateCreated[lt]"] = it.date.toString()
-            }
-        }
-        this.dateUpdated?.let { it ->
-            when (it.queryCondition) {
-                DATE_EQUALS -> params["dateUpdated[eq]"] = it.date.toString()
-                GREATER_THEN_OR_EQUAL -> params["dateUpdated[gte]"] = it.date.toString()
-                GREATER_THEN -> params["dateUpdated[gt]"] = it.date.toString()
-                LESS_THEN_OR_EQUAL -> params["dateUpdated[lte]"] = it.date.toString()
-                LESS_THEN -> params["dateUpdated[lt]"] = it.date.toString()
-            }
-        }
-
-        return params
+        return encodeQueryParameters(KakaoAlimtalkTemplateListRequest.serializer(), this)
     }
 }
@@ -1,10 +1,22 @@
 package com.solapi.sdk.message.dto.request.kakao
 
 import com.solapi.sdk.message.lib.toKotlinInstant
+import kotlinx.serialization.KSerializer
+import kotlinx.serialization.Serializable
+import kotlinx.serialization.SerializationException
+import kotlinx.serialization.descriptors.SerialDescriptor
+import kotlinx.serialization.descriptors.buildClassSerialDescriptor
+import kotlinx.serialization.descriptors.element
+import kotlinx.serialization.encoding.CompositeDecoder
+import kotlinx.serialization.encoding.Decoder
+import kotlinx.serialization.encoding.Encoder
+import kotlinx.serialization.encoding.decodeStructure
+import kotlinx.serialization.encoding.encodeStructure
 import java.time.LocalDateTime
 import java.time.ZoneId
 import kotlin.time.Instant
 
+@Serializable(with = KakaoTemplateDateQuery.QuerySerializer::class)
 data class KakaoTemplateDateQuery(
     val date: Instant,
     val queryCondition: KakaoAlimtalkTemplateDateQueryCondition,
@@ -19,12 +31,44 @@ data class KakaoTemplateDateQuery(
         queryCondition = queryCondition
     )
 
-    enum class KakaoAlimtalkTemplateDateQueryCondition {
-        EQUALS,
-        GREATER_THEN_OR_EQUAL,
-        GREATER_THEN,
-        LESS_THEN_OR_EQUAL,
-        LESS_THEN
+    enum class KakaoAlimtalkTemplateDateQueryCondition(internal val operator: String) {
+        EQUALS("eq"),
+        GREATER_THEN_OR_EQUAL("gte"),
+        GREATER_THEN("gt"),
+        LESS_THEN_OR_EQUAL("lte"),
+        LESS_THEN("lt")
+    }
+
+    /**
+     * 조회 조건을 연산자 이름의 필드 하나로 직렬화합니다. 쿼리 파라미터로 변환하면 dateCreated[gte]=날짜 형태가 됩니다.
+     */
+    internal object QuerySerializer : KSerializer<KakaoTemplateDateQuery> {
+        override val descriptor: SerialDescriptor = buildClassSerialDescriptor("KakaoTemplateDateQuery") {
+            KakaoAlimtalkTemplateDateQueryCondition.entries.forEach { element<String>(it.operator, isOptional = true) }
+        }
+
+        override fun serialize(encoder: Encoder, value: KakaoTemplateDateQuery) {
+            encoder.encodeStructure(descriptor) {
+                encodeStringElement(descriptor, value.queryCondition.ordinal, value.date.toString())
+            }
+        }
+
+        override fun deserialize(decoder: Decoder): KakaoTemplateDateQuery {
+            return decoder.decodeStructure(descriptor) {
+                var query: KakaoTemplateDateQuery? = null
+                while (true) {
+                    val index = decodeElementIndex(descriptor)
+                    if (index == CompositeDecoder.DECODE_DONE) {
+                        break
+                    }
+                    query = KakaoTemplateDateQuery(
+                        Instant.parse(decodeStringElement(descriptor, index)),
+                        KakaoAlimtalkTemplateDateQueryCondition.entries[index]
+                    )
+                }
+                query ?: throw SerializationException("날짜 조회 조건이 없습니다.")
+            }
+        }
     }
 
     companion object {
@@ -1,12 +1,57 @@
 package com.solapi.sdk.message.dto.request.kakao
 
+import kotlinx.serialization.KSerializer
+import kotlinx.serialization.Serializable
+import kotlinx.serialization.SerializationException
+import kotlinx.serialization.descriptors.SerialDescriptor
+import kotlinx.serialization.descriptors.buildClassSerialDescriptor
+import kotlinx.serialization.descriptors.element
+import kotlinx.serialization.encoding.CompositeDecoder
+import kotlinx.serialization.encoding.Decoder
+import kotlinx.serialization.encoding.Encoder
+import kotlinx.serialization.encoding.decodeStructure
+import kotlinx.serialization.encoding.encodeStructure
+
+@Serializable(with = KakaoTemplateNameQuery.QuerySerializer::class)
 data class KakaoTemplateNameQuery(
     val name: String,
     val queryCondition: KakaoAlimtalkTemplateNameQueryCondition,
 ) {
-    enum class KakaoAlimtalkTemplateNameQueryCondition {
-        EQUALS,
-        NOT_EQUALS,
-        LIKE
+    enum class KakaoAlimtalkTemplateNameQueryCondition(internal val operator: String) {
+        EQUALS("eq"),
+        NOT_EQUALS("ne"),
+        LIKE("like")
+    }
+
+    /**
+     * 조회 조건을 연산자 이름의 필드 하나로 직렬화합니다. 쿼리 파라미터로 변환하면 name[eq]=값 형태가 됩니다.
+     */
+    internal object QuerySerializer : KSerializer<KakaoTemplateNameQuery> {
+        override val descriptor: SerialDescriptor = buildClassSerialDescriptor("KakaoTemplateNameQuery") {
+            KakaoAlimtalkTemplateNameQueryCondition.entries.forEach { element<String>(it.operator, isOptional = true) }
+        }
+
+        override fun serialize(encoder: Encoder, value: KakaoTemplateNameQuery) {
+            encoder.encodeStructure(descriptor) {
+                encodeStringElement(descriptor, value.queryCondition.ordinal, value.name)
+            }
+        }
+
+        override fun deserialize(decoder: Decoder): KakaoTemplateNameQuery {
+            return decoder.decodeStructure(descriptor) {
+                var query: KakaoTemplateNameQuery? = null
+                while (true) {
+                    val index = decodeElementIndex(descriptor)
+                    if (index == CompositeDecoder.DECODE_DONE) {
+                        break
+                    }
+                    query = KakaoTemplateNameQuery(
+                        decodeStringElement(descriptor, index),
+                        KakaoAlimtalkTemplateNameQueryCondition.entries[index]
+                    )
+                }
+                query ?: throw SerializationException("이름 조회 조건이 없습니다.")
+            }
+        }
     }
 }
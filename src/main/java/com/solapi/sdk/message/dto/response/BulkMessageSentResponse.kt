@@ -0,0 +1,40 @@
+package com.solapi.sdk.message.dto.response
+
+import kotlinx.serialization.Serializable
+import com.solapi.sdk.message.model.FailedMessage
+import com.solapi.sdk.message.model.group.GroupCount
+import com.solapi.sdk.message.model.group.GroupInfo
+
+/**
+ * 여러 번의 발송 요청으로 나누어 발송된 결과를 하나로 합친 응답
+ * 발송 요청마다 별도의 그룹이 생성되므로, 그룹 정보는 요청 단위로 보관됩니다.
+ */
+@Serializable
+data class BulkMessageSentResponse(
+    /**
+     * 모든 발송 요청에서 접수에 실패한 메시지 목록
+     */
+    var failedMessageList: List<FailedMessage> = emptyList(),
+
+    /**
+     * 모든 발송 요청에서 접수된 메시지 목록
+     * SendRequestConfig의 showMessageList가 활성화 된 경우에만 채워집니다.
+     */
+    var messageList: List<MultipleDetailMessageSentResponse.MessageList> = emptyList(),
+
+    /**
+     * 발송 요청별 그룹 정보
+     */
+    var groupInfoList: List<GroupInfo> = emptyList(),
+
+    /**
+     * 모든 그룹의 건수 정보를 합산한 값
+     */
+    var count: GroupCount = GroupCount(),
+) {
+    /**
+     * 발송 요청별로 생성된 그룹 ID 목록
+     */
+    val groupIds: List<String>
+        get() = groupInfoList.mapNotNull { it.groupId }
+}
@@ -0,0 +1,30 @@
+package com.solapi.sdk.message.dto.response
+
+import java.io.File
+
+/**
+ * 파일 한 건의 업로드 결과
+ * 업로드에 성공한 경우 [fileId]가, 실패한 경우 [error]가 채워집니다.
+ */
+data class FileUploadResult(
+    /**
+     * 업로드를 요청한 파일
+     */
+    val file: File,
+
+    /**
+     * 업로드된 파일 ID
+     */
+    val fileId: String? = null,
+
+    /**
+     * 업로드 실패 시 발생한 예외
+     */
+    val error: Throwable? = null,
+) {
+    /**
+     * 파일이 업로드되었는지 여부
+     */
+    val isSuccess: Boolean
+        get() = error == null && fileId != null
+}
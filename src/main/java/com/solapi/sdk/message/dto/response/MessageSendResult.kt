@@ -0,0 +1,36 @@
+package com.solapi.sdk.message.dto.response
+
+import com.solapi.sdk.message.model.FailedMessage
+import com.solapi.sdk.message.model.Message
+
+/**
+ * 메시지 한 건의 발송 접수 결과
+ * 접수된 경우 [messageList]가, 접수에 실패한 경우 [failedMessage]가, 발송 요청 자체가 실패한 경우 [error]가 채워집니다.
+ */
+data class MessageSendResult(
+    /**
+     * 발송을 요청한 메시지
+     */
+    val message: Message,
+
+    /**
+     * 접수된 메시지 정보
+     */
+    val messageList: MultipleDetailMessageSentResponse.MessageList? = null,
+
+    /**
+     * 접수에 실패한 메시지 정보
+     */
+    val failedMessage: FailedMessage? = null,
+
+    /**
+     * 발송 요청 실패 시 발생한 예외
+     */
+    val error: Throwable? = null,
+) {
+    /**
+     * 메시지가 접수되었는지 여부
+     */
+    val isSuccess: Boolean
+        get() = messageList != null
+}
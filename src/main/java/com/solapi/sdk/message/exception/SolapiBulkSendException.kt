@@ -0,0 +1,21 @@
+package com.solapi.sdk.message.exception
+
+import com.solapi.sdk.message.dto.response.BulkMessageSentResponse
+import com.solapi.sdk.message.model.Message
+
+/**
+ * 대량 발송 도중 일부 발송 요청이 실패한 경우 발생하는 예외
+ * 실패 원인은 cause로 확인할 수 있습니다.
+ */
+class SolapiBulkSendException(message: String, cause: Throwable?) : SolapiException, Exception(message, cause) {
+    /**
+     * 예외가 발생하기 전까지 접수된 발송 결과
+     */
+    var partialResponse: BulkMessageSentResponse = BulkMessageSentResponse()
+
+    /**
+     * 발송 요청이 실패했거나 발송하지 못한 메시지 목록
+     * 다시 발송할 때 사용할 수 있습니다.
+     */
+    var unsentMessageList: List<Message> = emptyList()
+}
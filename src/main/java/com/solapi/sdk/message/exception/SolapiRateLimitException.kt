@@ -0,0 +1,3 @@
+package com.solapi.sdk.message.exception
+
+class SolapiRateLimitException(message: String) : SolapiException, Exception(message)
\ No newline at end of file
@@ -0,0 +1,202 @@
+package com.solapi.sdk.message.lib
+
+import com.solapi.sdk.message.exception.SolapiBadRequestException
+import java.util.ArrayDeque
+import java.util.concurrent.CancellationException
+import java.util.concurrent.CompletableFuture
+import kotlin.math.max
+import kotlin.math.min
+
+/**
+ * 발송 요청의 동시 실행 수를 응답 상태에 따라 자동으로 조절하는 AIMD(Additive Increase, Multiplicative Decrease) 방식의 제한기
+ *
+ * 정상 응답이 이어지면 동시 실행 한도만큼의 정상 응답마다 한도를 1씩 늘리고, 429(요청 과다), 5xx, 네트워크 오류가 발생하거나
+ * 응답 시간이 최소 응답 시간의 [latencyTolerance]배를 넘으면 동시 실행 수를 [backoffRatio]배로 줄입니다.
+ * 메시지 수가 많은 발송 요청은 응답 시간도 길기 때문에, 최소 응답 시간은 요청에 담긴 메시지 수의 구간(2의 거듭제곱 단위)별로 따로 측정합니다.
+ * 동시 실행 수를 초과한 요청은 대기열에서 순서대로 실행됩니다.
+ *
+ * 현재 동시 실행 한도([limit]), 실행 중인 요청 수([inFlight]), 대기 중인 요청 수([queueDepth])는 모니터링 용도로 조회할 수 있습니다.
+ *
+ * @see com.solapi.sdk.message.service.DefaultMessageService.concurrencyLimiter
+ */
+class AdaptiveConcurrencyLimiter @JvmOverloads constructor(
+    initialLimit: Int = 4,
+    val minLimit: Int = 1,
+    val maxLimit: Int = 64,
+    private val backoffRatio: Double = 0.5,
+    private val latencyTolerance: Double = 3.0,
+) {
+    internal companion object {
+        /**
+         * 최소 응답 시간을 다시 측정하는 주기(응답 수)
+         * 네트워크 상황이 바뀌어도 기준 응답 시간이 과거 값에 고정되지 않도록 합니다.
+         */
+        const val BASELINE_RESET_INTERVAL = 1000
+
+        /**
+         * 메시지 수 구간 수, 1건부터 Int 최대값까지를 2의 거듭제곱 단위로 나눕니다.
+         */
+        private const val SIZE_BUCKETS = 31
+
+        /**
+         * 메시지 수가 속한 구간, 1건은 0, 2~3건은 1, 4~7건은 2 ...
+         */
+        fun sizeBucketOf(messageCount: Int): Int {
+            return 31 - Integer.numberOfLeadingZeros(max(1, messageCount))
+        }
+    }
+
+    /**
+     * 메시지 수 구간별 최소 응답 시간
+     */
+    private class LatencyBaseline {
+        var minLatencyNanos = Long.MAX_VALUE
+        var samples = 0
+    }
+
+    private val lock = Any()
+    private val waiters = ArrayDeque<CompletableFuture<Void?>>()
+    private var currentLimit: Double
+    private var running = 0
+    private val baselines = Array(SIZE_BUCKETS) { LatencyBaseline() }
+    private var lastDecreaseNanos = 0L
+
+    init {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw SolapiBadRequestException("동시 실행 한도는 1 이상이며, maxLimit은 minLimit 이상이어야 합니다.")
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw SolapiBadRequestException("backoffRatio는 0과 1 사이의 값이어야 합니다.")
+        }
+        if (latencyTolerance <= 1) {
+            throw SolapiBadRequestException("latencyTolerance는 1보다 커야 합니다.")
+        }
+        currentLimit = initialLimit.toDouble().coerceIn(minLimit.toDouble(), maxLimit.toDouble())
+    }
+
+    /**
+     * 현재 동시 실행 한도
+     */
+    val limit: Int
+        get() = synchronized(lock) { currentLimit.toInt() }
+
+    /**
+     * 현재 실행 중인 요청 수
+     */
+    val inFlight: Int
+        get() = synchronized(lock) { running }
+
+    /**
+     * 실행을 기다리고 있는 요청 수
+     */
+    val queueDepth: Int
+        get() = synchronized(lock) { waiters.size }
+
+    /**
+     * 실행 허가를 요청합니다. 허가되면 완료되는 Future를 반환하며, Future를 취소하면 대기열에서 제외됩니다.
+     * 허가를 받은 경우 요청이 끝난 뒤 반드시 [release]를 호출해야 합니다.
+     */
+    internal fun acquireAsync(): CompletableFuture<Void?> {
+        synchronized(lock) {
+            if (waiters.isEmpty() && running < currentLimit.toInt()) {
+                running++
+                return CompletableFuture.completedFuture(null)
+            }
+            val waiter = CompletableFuture<Void?>()
+            waiters.addLast(waiter)
+            waiter.whenComplete { _, _ ->
+                if (waiter.isCancelled) {
+                    synchronized(lock) { waiters.remove(waiter) }
+                }
+            }
+            return waiter
+        }
+    }
+
+    /**
+     * 실행 허가를 받을 때까지 대기합니다.
+     */
+    internal fun acquire() {
+        acquireAsync().getOrThrow()
+    }
+
+    /**
+     * 요청 결과를 반영하고 실행 허가를 반납합니다.
+     *
+     * @param startNanos 요청 시작 시각(System.nanoTime)
+     * @param statusCode HTTP 응답 코드, 응답을 받지 못한 경우 0
+     * @param error 응답을 받지 못한 경우의 예외
+     * @param messageCount 요청에 담긴 메시지 수, 같은 메시지 수 구간의 최소 응답 시간과 비교합니다.
+     */
+    internal fun release(startNanos: Long, statusCode: Int, error: Throwable?, messageCount: Int) {
+        release(startNanos, System.nanoTime(), statusCode, error, messageCount)
+    }
+
+    internal fun release(startNanos: Long, nowNanos: Long, statusCode: Int, error: Throwable?, messageCount: Int = 1) {
+        val latencyNanos = nowNanos - startNanos
+        synchronized(lock) {
+            running--
+            val baseline = baselines[sizeBucketOf(messageCount)]
+            when {
+                statusCode == 429 || statusCode >= 500 -> decrease(nowNanos, baseline)
+                statusCode == 0 -> if (unwrapCompletionException(error ?: CancellationException()) !is CancellationException) {
+                    decrease(nowNanos, baseline)
+                }
+
+                statusCode in 200..299 -> onSuccess(latencyNanos, nowNanos, baseline)
+            }
+        }
+        grantWaiters()
+    }
+
+    /**
+     * 남은 한도만큼 대기 중인 요청에 실행 허가를 전달합니다.
+     * 허가 직후 취소되어 전달하지 못한 허가는 반납하고, 다음 대기 요청에 다시 전달합니다.
+     */
+    private fun grantWaiters() {
+        var returned = 0
+        do {
+            val granted = mutableListOf<CompletableFuture<Void?>>()
+            synchronized(lock) {
+                running -= returned
+                while (running < currentLimit.toInt() && waiters.isNotEmpty()) {
+                    val waiter = waiters.pollFirst()
+                    if (!waiter.isDone) {
+                        running++
+                        granted.add(waiter)
+                    }
+                }
+            }
+            returned = granted.count { waiter -> !waiter.complete(null) }
+        } while (returned > 0)
+    }
+
+    private fun onSuccess(latencyNanos: Long, nowNanos: Long, baseline: LatencyBaseline) {
+        baseline.samples++
+        if (baseline.samples >= BASELINE_RESET_INTERVAL) {
+            baseline.samples = 0
+            baseline.minLatencyNanos = latencyNanos
+        } else {
+            baseline.minLatencyNanos = min(baseline.minLatencyNanos, latencyNanos)
+        }
+
+        if (latencyNanos > baseline.minLatencyNanos * latencyTolerance) {
+            decrease(nowNanos, baseline)
+            return
+        }
+        // 한도를 충분히 사용하고 있을 때만 한도를 늘립니다.
+        if (running + 1 >= currentLimit.toInt() / 2) {
+            currentLimit = min(maxLimit.toDouble(), currentLimit + 1.0 / currentLimit)
+        }
+    }
+
+    private fun decrease(nowNanos: Long, baseline: LatencyBaseline) {
+        // 같은 시점에 실행된 요청들의 실패로 한도가 연속해서 줄어들지 않도록, 최소 응답 시간 이내의 감소는 한 번으로 취급합니다.
+        val window = if (baseline.minLatencyNanos == Long.MAX_VALUE) 0L else baseline.minLatencyNanos
+        if (lastDecreaseNanos != 0L && nowNanos - lastDecreaseNanos < window) {
+            return
+        }
+        lastDecreaseNanos = nowNanos
+        currentLimit = max(minLimit.toDouble(), currentLimit * backoffRatio)
+    }
+}
@@ -2,39 +2,94 @@ package com.solapi.sdk.message.lib
 
 import com.solapi.sdk.message.exception.SolapiApiKeyException
 import kotlin.time.Clock
-import org.apache.commons.codec.binary.Hex
 import java.nio.charset.StandardCharsets
-import java.util.*
+import java.util.concurrent.ThreadLocalRandom
 import javax.crypto.Mac
 import javax.crypto.spec.SecretKeySpec
 
+/**
+ * API 요청의 Authorization 헤더를 생성합니다.
+ *
+ * 요청마다 생성하지 않고 하나의 인스턴스를 재사용하도록 만들어져 있으며,
+ * 키 정보는 생성 시 한 번만 준비하고 Mac 인스턴스와 작업용 버퍼는 스레드별로 재사용합니다.
+ */
 internal class Authenticator(
     private val apiKey: String,
-    private val apiSecretKey: String
+    apiSecretKey: String
 ) {
 
     companion object {
         private const val ENCRYPTION_ALGORITHM = "HmacSHA256"
+        private const val SALT_LENGTH = 32
+        private const val SIGNATURE_LENGTH = 64
+        private val HEX_DIGITS = "0123456789abcdef".toCharArray()
     }
 
+    /**
+     * 스레드별로 재사용하는 서명 작업 상태
+     */
+    private class SigningState(secretKey: SecretKeySpec) {
+        val mac: Mac = Mac.getInstance(ENCRYPTION_ALGORITHM).apply { init(secretKey) }
+        val salt = CharArray(SALT_LENGTH)
+        val digest = ByteArray(mac.macLength)
+        val signature = CharArray(SIGNATURE_LENGTH)
+        var message = ByteArray(64)
+        val header = StringBuilder(256)
+    }
+
+    private val secretKey: SecretKeySpec? =
+        if (apiKey == "" || apiSecretKey == "") null
+        else SecretKeySpec(apiSecretKey.toByteArray(StandardCharsets.UTF_8), ENCRYPTION_ALGORITHM)
+
+    private val headerPrefix = "HMAC-SHA256 Apikey=${apiKey}, Date="
+
+    private val signingState = ThreadLocal.withInitial { SigningState(secretKey!!) }
+
     @Throws
     fun generateAuthInfo(): String {
-        if (apiKey == "" || apiSecretKey == "") {
+        if (secretKey == null) {
             throw SolapiApiKeyException("유효한 API Key or API Secret Key를 입력하셔야 합니다.")
         }
 
-        val salt = UUID.randomUUID().toString().replace(Regex("-"), "")
+        val state = signingState.get()
         val date = Clock.System.now().toString()
+        val random = ThreadLocalRandom.current()
+        writeHex(random.nextLong(), state.salt, 0)
+        writeHex(random.nextLong(), state.salt, 16)
 
-        val encryptionInstance = Mac.getInstance(ENCRYPTION_ALGORITHM)
-        val secretKey = SecretKeySpec(apiSecretKey.toByteArray(StandardCharsets.UTF_8), ENCRYPTION_ALGORITHM)
+        // 서명 대상(date + salt)은 모두 ASCII 문자이므로 문자열 변환 없이 버퍼에 바로 기록합니다.
+        val length = date.length + SALT_LENGTH
+        if (state.message.size < length) {
+            state.message = ByteArray(length)
+        }
+        val message = state.message
+        for (i in date.indices) {
+            message[i] = date[i].code.toByte()
+        }
+        for (i in 0 until SALT_LENGTH) {
+            message[date.length + i] = state.salt[i].code.toByte()
+        }
+
+        val mac = state.mac
+        mac.update(message, 0, length)
+        mac.doFinal(state.digest, 0)
+        for (i in state.digest.indices) {
+            val value = state.digest[i].toInt()
+            state.signature[i * 2] = HEX_DIGITS[(value shr 4) and 0x0f]
+            state.signature[i * 2 + 1] = HEX_DIGITS[value and 0x0f]
+        }
 
-        encryptionInstance.init(secretKey)
-        val signature = String(
-            (date + salt).toByteArray(StandardCharsets.UTF_8)
-                .let { encryptionInstance.doFinal(it) }
-                .let { Hex.encodeHex(it) }
-        )
-        return "HMAC-SHA256 Apikey=${apiKey}, Date=${date}, salt=${salt}, signature=${signature}"
+        val header = state.header
+        header.setLength(0)
+        header.append(headerPrefix).append(date)
+            .append(", salt=").append(state.salt)
+            .append(", signature=").append(state.signature)
+        return header.toString()
+    }
+
+    private fun writeHex(value: Long, target: CharArray, offset: Int) {
+        for (i in 0 until 16) {
+            target[offset + i] = HEX_DIGITS[((value ushr (60 - i * 4)) and 0x0f).toInt()]
+        }
     }
-}
\ No newline at end of file
+}
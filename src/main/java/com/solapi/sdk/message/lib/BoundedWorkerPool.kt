@@ -0,0 +1,146 @@
+package com.solapi.sdk.message.lib
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * 비동기 작업을 최대 [maxConcurrency]개까지 동시에 실행하는 작업 풀
+ *
+ * 작업은 [nextTask]로 하나씩 꺼내 [runTask]로 실행하며, [runTask]가 반환한 Future가 완료되면 다음 작업을 꺼냅니다.
+ * [nextTask]는 풀의 잠금을 잡은 상태에서 호출되므로 Iterator처럼 스레드 안전하지 않은 원본도 그대로 사용할 수 있습니다.
+ * 실행 중인 작업이 새 작업을 추가할 수 있도록(구간 분할 등), [nextTask]가 null을 반환하더라도 실행 중인 작업이 모두 끝난 뒤에 한 번 더 꺼내 보고 완료합니다.
+ * 즉시 완료되는 작업(캐시 적중 등)이 이어져도 재귀 호출 없이 다음 작업으로 넘어갑니다.
+ *
+ * 작업이 실패하거나 [nextTask]가 예외를 던지면 [failurePolicy]에 따라 처리합니다.
+ * 반환된 Future를 취소하거나 [cancel]을 호출하면 진행 중인 작업도 함께 취소됩니다.
+ */
+internal class BoundedWorkerPool<T : Any>(
+    private val maxConcurrency: Int,
+    private val failurePolicy: FailurePolicy,
+    private val nextTask: () -> T?,
+    private val runTask: (T) -> CompletableFuture<*>,
+) {
+    /**
+     * 작업이 실패했을 때의 처리 방식
+     */
+    enum class FailurePolicy {
+        /**
+         * 진행 중인 작업을 모두 취소하고 즉시 예외로 완료합니다.
+         */
+        CANCEL_ALL,
+
+        /**
+         * 새 작업을 시작하지 않고, 진행 중인 작업이 모두 끝난 뒤 처음 발생한 예외로 완료합니다.
+         */
+        FINISH_IN_FLIGHT
+    }
+
+    private val result = CancellableFuture<Unit> { cancelInFlight() }
+    private val inFlight: MutableSet<CompletableFuture<Unit>> = ConcurrentHashMap.newKeySet()
+    private val lock = Any()
+    private var running = 0
+    private var failure: Throwable? = null
+
+    /**
+     * 실행 중인 작업 수
+     */
+    val runningCount: Int
+        get() = synchronized(lock) { running }
+
+    fun start(): CompletableFuture<Unit> {
+        dispatch()
+        return result
+    }
+
+    fun cancel() {
+        result.cancel(true)
+    }
+
+    private fun dispatch() {
+        while (true) {
+            var task: T? = null
+            var completed = false
+            synchronized(lock) {
+                if (result.isDone || running >= maxConcurrency) {
+                    return
+                }
+                task = if (failure == null) takeTask() else null
+                if (task != null) {
+                    running++
+                } else {
+                    completed = running == 0
+                }
+            }
+
+            val next = task
+            if (next == null) {
+                if (completed) {
+                    complete()
+                }
+                return
+            }
+
+            // 작업을 시작하기 전에 등록해 두어야, 시작 도중 취소되어도 시작된 작업을 놓치지 않고 취소할 수 있습니다.
+            val registration = CompletableFuture<Unit>()
+            inFlight.add(registration)
+            val future = try {
+                runTask(next)
+            } catch (e: Throwable) {
+                failedFuture<Unit>(e)
+            }
+            registration.whenComplete { _, _ -> future.cancel(true) }
+            if (future.isDone) {
+                onTaskCompleted(registration, future)
+                continue
+            }
+            future.whenComplete { _, _ ->
+                onTaskCompleted(registration, future)
+                dispatch()
+            }
+        }
+    }
+
+    /**
+     * 다음 작업을 꺼냅니다. [lock]을 잡은 상태에서 호출해야 합니다.
+     */
+    private fun takeTask(): T? {
+        return try {
+            nextTask()
+        } catch (e: Throwable) {
+            failure = e
+            null
+        }
+    }
+
+    private fun onTaskCompleted(registration: CompletableFuture<Unit>, future: CompletableFuture<*>) {
+        inFlight.remove(registration)
+        val error = try {
+            future.getOrThrow()
+            null
+        } catch (e: Throwable) {
+            e
+        }
+        synchronized(lock) {
+            running--
+            if (error != null && failure == null) {
+                failure = error
+            }
+        }
+        if (error != null && failurePolicy == FailurePolicy.CANCEL_ALL && result.completeExceptionally(error)) {
+            cancelInFlight()
+        }
+    }
+
+    private fun complete() {
+        val cause = synchronized(lock) { failure }
+        if (cause == null) {
+            result.complete(Unit)
+        } else {
+            result.completeExceptionally(cause)
+        }
+    }
+
+    private fun cancelInFlight() {
+        inFlight.forEach { it.cancel(true) }
+    }
+}
@@ -0,0 +1,219 @@
+package com.solapi.sdk.message.lib
+
+import com.solapi.sdk.message.dto.response.BulkMessageSentResponse
+import com.solapi.sdk.message.dto.response.MultipleDetailMessageSentResponse
+import com.solapi.sdk.message.exception.SolapiBulkSendException
+import com.solapi.sdk.message.exception.SolapiMessageNotReceivedException
+import com.solapi.sdk.message.model.FailedMessage
+import com.solapi.sdk.message.model.Message
+import com.solapi.sdk.message.model.group.GroupCount
+import com.solapi.sdk.message.model.group.GroupInfo
+import java.util.concurrent.CompletableFuture
+import java.util.function.Consumer
+
+/**
+ * 여러 발송 요청의 응답을 하나의 [BulkMessageSentResponse]로 합치는 누산기
+ * 여러 스레드에서 동시에 호출될 수 있습니다.
+ *
+ * @param collectMessageList false인 경우 접수된 메시지 목록을 보관하지 않고 건수만 합산합니다.
+ */
+internal class BulkMessageSentResponseAccumulator(
+    private val collectMessageList: Boolean = true
+) {
+    private val failedMessageList = mutableListOf<FailedMessage>()
+    private val messageList = mutableListOf<MultipleDetailMessageSentResponse.MessageList>()
+    private val groupInfoList = mutableListOf<GroupInfo>()
+    private var count = GroupCount()
+    private var requestedCount = 0
+
+    @Synchronized
+    fun add(requested: Int, response: MultipleDetailMessageSentResponse) {
+        requestedCount += requested
+        failedMessageList.addAll(response.failedMessageList)
+        if (collectMessageList) {
+            messageList.addAll(response.messageList)
+        }
+        response.groupInfo?.let {
+            groupInfoList.add(it)
+            count = count.merge(it.count)
+        }
+    }
+
+    @Synchronized
+    fun addFailedMessages(requested: Int, failedMessages: List<FailedMessage>) {
+        requestedCount += requested
+        failedMessageList.addAll(failedMessages)
+    }
+
+    /**
+     * 합산된 결과를 반환합니다.
+     * 요청한 모든 메시지가 접수에 실패한 경우, 단건 발송과 동일하게 [SolapiMessageNotReceivedException]을 던집니다.
+     */
+    @Synchronized
+    @Throws(SolapiMessageNotReceivedException::class)
+    fun build(): BulkMessageSentResponse {
+        if (failedMessageList.isNotEmpty() && failedMessageList.size >= requestedCount) {
+            val messageNotReceivedException = SolapiMessageNotReceivedException("메시지 발송 접수에 실패했습니다.")
+            messageNotReceivedException.failedMessageList = failedMessageList.toList()
+            throw messageNotReceivedException
+        }
+        return snapshot()
+    }
+
+    /**
+     * 지금까지 합산된 결과를 예외 없이 반환합니다.
+     */
+    @Synchronized
+    fun snapshot(): BulkMessageSentResponse {
+        return BulkMessageSentResponse(
+            failedMessageList = failedMessageList.toList(),
+            messageList = messageList.toList(),
+            groupInfoList = groupInfoList.toList(),
+            count = count
+        )
+    }
+}
+
+/**
+ * 두 그룹의 건수 정보를 합산합니다.
+ */
+internal fun GroupCount.merge(other: GroupCount?): GroupCount {
+    if (other == null) {
+        return this
+    }
+    return GroupCount(
+        total = sumNullable(total, other.total),
+        sentTotal = sumNullable(sentTotal, other.sentTotal),
+        sentFailed = sumNullable(sentFailed, other.sentFailed),
+        sentSuccess = sumNullable(sentSuccess, other.sentSuccess),
+        sentPending = sumNullable(sentPending, other.sentPending),
+        sentReplacement = sumNullable(sentReplacement, other.sentReplacement),
+        refund = sumNullable(refund, other.refund),
+        registeredFailed = sumNullable(registeredFailed, other.registeredFailed),
+        registeredSuccess = sumNullable(registeredSuccess, other.registeredSuccess)
+    )
+}
+
+private fun sumNullable(a: Int?, b: Int?): Int? {
+    if (a == null && b == null) {
+        return null
+    }
+    return (a ?: 0) + (b ?: 0)
+}
+
+/**
+ * 메시지 묶음(chunk)을 최대 [maxConcurrency]개까지 동시에 발송하고 결과를 합치는 디스패처
+ *
+ * [chunks]는 필요한 시점에만 다음 묶음을 꺼내므로, 동시에 메모리에 올라가는 묶음은 최대 [maxConcurrency]개 입니다.
+ * 전체 접수 실패([SolapiMessageNotReceivedException])가 발생한 묶음은 실패 목록에 합산하고 나머지 발송을 계속합니다.
+ * 그 외의 예외가 발생하면 새 묶음은 더 꺼내지 않고 진행 중인 요청이 끝나기를 기다린 뒤,
+ * 그때까지 접수된 결과와 발송하지 못한 메시지를 담은 [SolapiBulkSendException]으로 완료됩니다.
+ * 반환된 Future를 취소하면 진행 중인 모든 요청이 취소됩니다.
+ *
+ * @param onChunkSent 묶음 발송이 성공할 때마다 호출되는 콜백, OkHttp Dispatcher 스레드에서 호출될 수 있습니다.
+ * @param collectRemaining true인 경우 실패 시 아직 꺼내지 않은 묶음도 발송하지 못한 메시지 목록에 담습니다.
+ * 이미 메모리에 있는 목록을 발송할 때만 사용해야 합니다.
+ */
+internal class ChunkedSendDispatcher(
+    private val chunks: Iterator<List<Message>>,
+    private val maxConcurrency: Int,
+    private val accumulator: BulkMessageSentResponseAccumulator,
+    private val onChunkSent: Consumer<MultipleDetailMessageSentResponse>? = null,
+    private val collectRemaining: Boolean = false,
+    private val sendChunk: (List<Message>) -> CompletableFuture<MultipleDetailMessageSentResponse>,
+) {
+    private val result = CancellableFuture<BulkMessageSentResponse>()
+    private val lock = Any()
+    private var exhausted = false
+    private val unsentMessages = mutableListOf<Message>()
+
+    fun start(): CompletableFuture<BulkMessageSentResponse> {
+        val pool = BoundedWorkerPool(
+            maxConcurrency = maxConcurrency,
+            failurePolicy = BoundedWorkerPool.FailurePolicy.FINISH_IN_FLIGHT,
+            nextTask = ::nextChunk,
+            runTask = ::send
+        )
+        result.setOnCancel { pool.cancel() }
+        pool.start().whenComplete { _, error ->
+            if (error == null) {
+                complete()
+            } else {
+                fail(unwrapCompletionException(error))
+            }
+        }
+        return result
+    }
+
+    /**
+     * 다음 묶음을 꺼냅니다. 작업 풀의 잠금을 잡은 상태에서 호출됩니다.
+     */
+    private fun nextChunk(): List<Message>? {
+        if (exhausted) {
+            return null
+        }
+        try {
+            if (chunks.hasNext()) {
+                return chunks.next()
+            }
+        } catch (e: Throwable) {
+            exhausted = true
+            throw e
+        }
+        exhausted = true
+        return null
+    }
+
+    private fun send(chunk: List<Message>): CompletableFuture<Unit> {
+        val future = try {
+            sendChunk(chunk)
+        } catch (e: Throwable) {
+            failedFuture<MultipleDetailMessageSentResponse>(e)
+        }
+        return future.handleCancellable { response, error -> onChunkCompleted(chunk, response, error) }
+    }
+
+    /**
+     * 묶음의 발송 결과를 합산합니다. 전체 접수 실패가 아닌 예외는 발송하지 못한 메시지를 기록한 뒤 다시 던져 새 묶음을 꺼내지 않게 합니다.
+     */
+    private fun onChunkCompleted(chunk: List<Message>, response: MultipleDetailMessageSentResponse?, error: Throwable?) {
+        if (error is SolapiMessageNotReceivedException) {
+            accumulator.addFailedMessages(chunk.size, error.failedMessageList)
+        } else if (error != null) {
+            synchronized(lock) {
+                unsentMessages.addAll(chunk)
+            }
+            throw error
+        } else if (response != null) {
+            accumulator.add(chunk.size, response)
+            onChunkSent?.accept(response)
+        }
+    }
+
+    private fun complete() {
+        try {
+            result.complete(accumulator.build())
+        } catch (e: Throwable) {
+            result.completeExceptionally(e)
+        }
+    }
+
+    /**
+     * 작업 풀이 끝난 뒤에 호출되므로, 남은 묶음을 꺼내는 동안 다른 스레드가 [chunks]에 접근하지 않습니다.
+     */
+    private fun fail(cause: Throwable) {
+        if (result.isDone) {
+            return
+        }
+        val exception = SolapiBulkSendException("일부 발송 요청이 실패하여 대량 발송을 중단했습니다.", cause)
+        exception.partialResponse = accumulator.snapshot()
+        exception.unsentMessageList = synchronized(lock) {
+            if (collectRemaining && !exhausted) {
+                chunks.forEach { unsentMessages.addAll(it) }
+                exhausted = true
+            }
+            unsentMessages.toList()
+        }
+        result.completeExceptionally(exception)
+    }
+}
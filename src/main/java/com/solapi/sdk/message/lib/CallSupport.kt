@@ -0,0 +1,147 @@
+package com.solapi.sdk.message.lib
+
+import retrofit2.Call
+import retrofit2.Callback
+import retrofit2.Response
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import java.util.concurrent.ExecutionException
+
+/**
+ * 취소 시 연결된 작업(HTTP 요청 등)을 함께 취소하는 [CompletableFuture].
+ * 일반 [CompletableFuture]는 cancel 호출 시 결과만 취소 상태로 바꿀 뿐, 실제 요청은 계속 진행됩니다.
+ */
+internal class CancellableFuture<T>(
+    @Volatile private var onCancel: (() -> Unit)? = null
+) : CompletableFuture<T>() {
+
+    /**
+     * 취소 시 실행할 작업을 교체합니다.
+     * 이미 취소된 상태라면 전달받은 작업을 즉시 실행합니다.
+     */
+    fun setOnCancel(action: () -> Unit) {
+        onCancel = action
+        if (isCancelled) {
+            action()
+        }
+    }
+
+    override fun cancel(mayInterruptIfRunning: Boolean): Boolean {
+        val cancelled = super.cancel(mayInterruptIfRunning)
+        if (cancelled) {
+            onCancel?.invoke()
+        }
+        return cancelled
+    }
+}
+
+/**
+ * Retrofit [Call]을 OkHttp Dispatcher를 통해 비동기로 실행하고, 응답을 [handler]로 변환한 결과를 [CompletableFuture]로 전달합니다.
+ * 반환된 Future를 취소하면 진행 중인 [Call]도 함께 취소됩니다.
+ */
+internal fun <T, R> Call<T>.enqueueAsFuture(handler: (Response<T>) -> R): CompletableFuture<R> {
+    val future = CancellableFuture<R> { cancel() }
+    enqueue(object : Callback<T> {
+        override fun onResponse(call: Call<T>, response: Response<T>) {
+            try {
+                future.complete(handler(response))
+            } catch (e: Throwable) {
+                future.completeExceptionally(e)
+            }
+        }
+
+        override fun onFailure(call: Call<T>, t: Throwable) {
+            future.completeExceptionally(t)
+        }
+    })
+    return future
+}
+
+/**
+ * [first]가 정상 완료되면 [next]를 실행하고, 그 결과로 완료되는 [CompletableFuture]를 반환합니다.
+ * thenCompose와 달리, 반환된 Future를 취소하면 아직 대기 중인 [first] 또는 이미 시작된 [next]의 작업도 함께 취소됩니다.
+ *
+ * @param onSkipped [first]가 정상 완료되었지만 그 사이 결과가 취소되어 [next]를 실행하지 않을 때 호출됩니다.
+ * [first]가 허가(permit) 등 반납이 필요한 자원을 얻는 작업이라면 여기에서 반납해야 합니다.
+ */
+internal fun <T> composeCancellable(
+    first: CompletableFuture<*>,
+    onSkipped: (() -> Unit)? = null,
+    next: () -> CompletableFuture<T>
+): CompletableFuture<T> {
+    val result = CancellableFuture<T> { first.cancel(false) }
+    first.whenComplete { _, error ->
+        if (error != null) {
+            result.completeExceptionally(unwrapCompletionException(error))
+            return@whenComplete
+        }
+        if (result.isDone) {
+            onSkipped?.invoke()
+            return@whenComplete
+        }
+        val second = try {
+            next()
+        } catch (e: Throwable) {
+            failedFuture<T>(e)
+        }
+        result.setOnCancel { second.cancel(true) }
+        second.whenComplete { value, secondError ->
+            if (secondError != null) {
+                result.completeExceptionally(unwrapCompletionException(secondError))
+            } else {
+                result.complete(value)
+            }
+        }
+    }
+    return result
+}
+
+/**
+ * 이 Future가 성공하든 실패하든 완료되면 [handler]를 실행하고, 그 결과로 완료되는 [CompletableFuture]를 반환합니다.
+ * handle과 달리, 반환된 Future를 취소하면 이 Future의 작업도 함께 취소됩니다.
+ * [handler]에 전달되는 예외는 [CompletionException] 등으로 감싸지지 않은 원래 예외입니다.
+ */
+internal fun <T, R> CompletableFuture<T>.handleCancellable(handler: (T?, Throwable?) -> R): CompletableFuture<R> {
+    val result = CancellableFuture<R> { cancel(true) }
+    whenComplete { value, error ->
+        try {
+            result.complete(handler(value, error?.let { unwrapCompletionException(it) }))
+        } catch (e: Throwable) {
+            result.completeExceptionally(e)
+        }
+    }
+    return result
+}
+
+/**
+ * 예외로 완료된 [CompletableFuture]를 생성합니다.
+ * JDK 8에서는 CompletableFuture.failedFuture를 사용할 수 없어 별도로 제공합니다.
+ */
+internal fun <T> failedFuture(throwable: Throwable): CompletableFuture<T> {
+    val future = CompletableFuture<T>()
+    future.completeExceptionally(throwable)
+    return future
+}
+
+/**
+ * [CompletableFuture]의 결과를 기다리고, 실패 시 [CompletionException] 등으로 감싸지지 않은 원래 예외를 던집니다.
+ * 동기 메소드가 비동기 구현을 재사용할 때 기존과 동일한 예외 타입을 유지하기 위해 사용합니다.
+ */
+internal fun <T> CompletableFuture<T>.getOrThrow(): T {
+    try {
+        return join()
+    } catch (e: CompletionException) {
+        throw unwrapCompletionException(e)
+    }
+}
+
+/**
+ * [CompletionException], [ExecutionException]으로 감싸진 원래 예외를 꺼냅니다.
+ */
+internal fun unwrapCompletionException(throwable: Throwable): Throwable {
+    var current = throwable
+    while ((current is CompletionException || current is ExecutionException) && current.cause != null) {
+        current = current.cause!!
+    }
+    return current
+}
@@ -0,0 +1,125 @@
+package com.solapi.sdk.message.lib
+
+import kotlinx.serialization.DeserializationStrategy
+import kotlinx.serialization.ExperimentalSerializationApi
+import kotlinx.serialization.KSerializer
+import kotlinx.serialization.builtins.ListSerializer
+import kotlinx.serialization.builtins.MapSerializer
+import kotlinx.serialization.descriptors.SerialDescriptor
+import kotlinx.serialization.encoding.CompositeDecoder
+import kotlinx.serialization.encoding.Decoder
+
+/**
+ * [delegate]로 역직렬화하되, [fieldName] 필드는 [replacement]로 역직렬화하는 역직렬화 전략
+ *
+ * 큰 목록 필드를 [MapEntryCallbackDeserializer], [ListElementCallbackDeserializer]로 대체하면
+ * 목록 전체를 메모리에 올리지 않고 항목을 읽는 즉시 한 건씩 처리할 수 있습니다.
+ * 대체된 필드에는 [replacement]가 반환한 값(빈 목록)이 채워집니다.
+ */
+internal class FieldReplacingDeserializer<T>(
+    private val delegate: KSerializer<T>,
+    fieldName: String,
+    private val replacement: DeserializationStrategy<*>,
+) : DeserializationStrategy<T> {
+    override val descriptor: SerialDescriptor = delegate.descriptor
+
+    private val fieldIndex = descriptor.getElementIndex(fieldName).also {
+        require(it != CompositeDecoder.UNKNOWN_NAME) { "${descriptor.serialName}에 $fieldName 필드가 없습니다." }
+    }
+
+    override fun deserialize(decoder: Decoder): T {
+        return delegate.deserialize(FieldReplacingDecoder(decoder))
+    }
+
+    private inner class FieldReplacingDecoder(private val decoder: Decoder) : Decoder by decoder {
+        override fun beginStructure(descriptor: SerialDescriptor): CompositeDecoder {
+            val compositeDecoder = decoder.beginStructure(descriptor)
+            return if (descriptor == this@FieldReplacingDeserializer.descriptor) {
+                FieldReplacingCompositeDecoder(compositeDecoder)
+            } else {
+                compositeDecoder
+            }
+        }
+    }
+
+    private inner class FieldReplacingCompositeDecoder(
+        private val decoder: CompositeDecoder
+    ) : CompositeDecoder by decoder {
+        override fun <V> decodeSerializableElement(
+            descriptor: SerialDescriptor,
+            index: Int,
+            deserializer: DeserializationStrategy<V>,
+            previousValue: V?
+        ): V {
+            if (index != fieldIndex) {
+                return decoder.decodeSerializableElement(descriptor, index, deserializer, previousValue)
+            }
+            @Suppress("UNCHECKED_CAST")
+            return decoder.decodeSerializableElement(descriptor, index, replacement as DeserializationStrategy<V>, null)
+        }
+
+        @ExperimentalSerializationApi
+        override fun <V : Any> decodeNullableSerializableElement(
+            descriptor: SerialDescriptor,
+            index: Int,
+            deserializer: DeserializationStrategy<V?>,
+            previousValue: V?
+        ): V? {
+            if (index != fieldIndex) {
+                return decoder.decodeNullableSerializableElement(descriptor, index, deserializer, previousValue)
+            }
+            @Suppress("UNCHECKED_CAST")
+            return decoder.decodeNullableSerializableElement(descriptor, index, replacement as DeserializationStrategy<V?>, null)
+        }
+    }
+}
+
+/**
+ * JSON 객체(Map)의 항목을 읽는 즉시 [onEntry]로 전달하고 빈 Map을 반환하는 역직렬화 전략
+ */
+internal class MapEntryCallbackDeserializer<K, V>(
+    private val keySerializer: KSerializer<K>,
+    private val valueSerializer: KSerializer<V>,
+    private val onEntry: (K, V) -> Unit,
+) : DeserializationStrategy<Map<K, V>> {
+    override val descriptor: SerialDescriptor = MapSerializer(keySerializer, valueSerializer).descriptor
+
+    override fun deserialize(decoder: Decoder): Map<K, V> {
+        val compositeDecoder = decoder.beginStructure(descriptor)
+        while (true) {
+            val keyIndex = compositeDecoder.decodeElementIndex(descriptor)
+            if (keyIndex == CompositeDecoder.DECODE_DONE) {
+                break
+            }
+            val key = compositeDecoder.decodeSerializableElement(descriptor, keyIndex, keySerializer)
+            val valueIndex = compositeDecoder.decodeElementIndex(descriptor)
+            val value = compositeDecoder.decodeSerializableElement(descriptor, valueIndex, valueSerializer)
+            onEntry(key, value)
+        }
+        compositeDecoder.endStructure(descriptor)
+        return emptyMap()
+    }
+}
+
+/**
+ * JSON 배열의 원소를 읽는 즉시 [onElement]로 전달하고 빈 List를 반환하는 역직렬화 전략
+ */
+internal class ListElementCallbackDeserializer<E>(
+    private val elementSerializer: KSerializer<E>,
+    private val onElement: (E) -> Unit,
+) : DeserializationStrategy<List<E>> {
+    override val descriptor: SerialDescriptor = ListSerializer(elementSerializer).descriptor
+
+    override fun deserialize(decoder: Decoder): List<E> {
+        val compositeDecoder = decoder.beginStructure(descriptor)
+        while (true) {
+            val index = compositeDecoder.decodeElementIndex(descriptor)
+            if (index == CompositeDecoder.DECODE_DONE) {
+                break
+            }
+            onElement(compositeDecoder.decodeSerializableElement(descriptor, index, elementSerializer))
+        }
+        compositeDecoder.endStructure(descriptor)
+        return emptyList()
+    }
+}
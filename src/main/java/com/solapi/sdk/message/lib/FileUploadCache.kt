@@ -0,0 +1,269 @@
+package com.solapi.sdk.message.lib
+
+import com.solapi.sdk.message.exception.SolapiBadRequestException
+import com.solapi.sdk.message.exception.SolapiFileUploadException
+import com.solapi.sdk.message.model.StorageType
+import com.solapi.sdk.message.service.DefaultMessageService
+import kotlinx.serialization.Serializable
+import kotlinx.serialization.builtins.ListSerializer
+import java.io.File
+import java.io.IOException
+import java.nio.file.Files
+import java.nio.file.StandardCopyOption
+import java.security.MessageDigest
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ScheduledThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * 같은 내용의 파일을 다시 업로드하지 않도록 업로드된 파일 ID를 보관하는 캐시
+ *
+ * 파일 내용의 SHA-256 해시와 저장소 유형(StorageType), link가 모두 같은 업로드는 서버에 요청하지 않고 보관된 파일 ID를 반환합니다.
+ * 업로드된 파일은 계정별로 관리되므로, 하나의 캐시를 여러 계정의 서비스에서 사용하더라도 항목은 API Key별로 구분됩니다.
+ * 같은 내용의 파일을 동시에 업로드하는 경우 하나의 업로드 요청만 전송되며, 나머지 호출은 그 결과를 함께 받습니다.
+ *
+ * 보관 기간([ttl])이 지난 항목은 사용하지 않으며, 항목 수가 [maxEntries]를 넘으면 가장 오래 사용하지 않은 항목부터 제거합니다(LRU).
+ * [persistenceFile]을 지정하면 항목이 추가된 뒤 잠시 모아서 별도의 스레드에서 파일에 저장하고, 다음 실행 시 불러옵니다.
+ * 종료 직전에 추가된 항목도 저장하려면 [flush]를 호출해야 합니다. 파일 저장에 실패하더라도 업로드 결과에는 영향을 주지 않습니다.
+ *
+ * InputStream으로 업로드하는 경우 내용을 다시 읽을 수 없으므로 캐시를 사용하지 않습니다.
+ *
+ * @param maxEntries 보관할 최대 항목 수
+ * @param ttl 업로드된 파일 ID를 재사용할 기간, 서버의 파일 보관 기간보다 짧게 설정해야 합니다.
+ * @param persistenceFile 항목을 저장할 파일, null인 경우 메모리에만 보관합니다.
+ * @see DefaultMessageService.fileUploadCache
+ */
+class FileUploadCache @JvmOverloads constructor(
+    private val maxEntries: Int = DEFAULT_MAX_ENTRIES,
+    ttl: Duration = DEFAULT_TTL,
+    private val persistenceFile: File? = null,
+) {
+    companion object {
+        const val DEFAULT_MAX_ENTRIES = 1000
+
+        @JvmField
+        val DEFAULT_TTL: Duration = Duration.ofHours(24)
+
+        private const val CHUNK_SIZE = 64 * 1024
+        private const val SAVE_DELAY_MILLIS = 1000L
+        private const val SCOPE_LENGTH = 16
+        private val HEX_DIGITS = "0123456789abcdef".toCharArray()
+
+        /**
+         * API Key로 캐시 항목을 구분할 범위를 계산합니다. 저장 파일에 API Key가 그대로 기록되지 않도록 해시를 사용합니다.
+         */
+        internal fun scopeOf(apiKey: String): String {
+            val hash = MessageDigest.getInstance("SHA-256").digest(apiKey.toByteArray(Charsets.UTF_8))
+            return StringBuilder(hash.size * 2).appendHex(hash).substring(0, SCOPE_LENGTH)
+        }
+
+        private fun StringBuilder.appendHex(bytes: ByteArray): StringBuilder {
+            bytes.forEach { byte ->
+                append(HEX_DIGITS[(byte.toInt() shr 4) and 0x0f]).append(HEX_DIGITS[byte.toInt() and 0x0f])
+            }
+            return this
+        }
+    }
+
+    @Serializable
+    internal data class Entry(
+        val key: String,
+        val fileId: String,
+        val expiresAt: Long,
+    )
+
+    private val ttlMillis: Long
+    private val lock = Any()
+    private val entries = object : LinkedHashMap<String, Entry>(16, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, Entry>): Boolean = size > maxEntries
+    }
+    private val inFlight = ConcurrentHashMap<String, CompletableFuture<String?>>()
+    private val saveScheduled = AtomicBoolean()
+
+    // 업로드 응답을 처리하는 OkHttp 스레드에서 파일을 쓰지 않도록 별도의 스레드에서 저장하며, 저장할 항목이 없으면 스레드를 종료합니다.
+    private val writer: ScheduledThreadPoolExecutor? = persistenceFile?.let {
+        ScheduledThreadPoolExecutor(1) { runnable ->
+            Thread(runnable, "solapi-upload-cache-writer").apply { isDaemon = true }
+        }.apply {
+            setKeepAliveTime(SAVE_DELAY_MILLIS, TimeUnit.MILLISECONDS)
+            allowCoreThreadTimeOut(true)
+        }
+    }
+
+    internal var clock: () -> Long = System::currentTimeMillis
+
+    internal var saveDelayMillis = SAVE_DELAY_MILLIS
+
+    init {
+        if (maxEntries < 1) {
+            throw SolapiBadRequestException("maxEntries는 1 이상이어야 합니다.")
+        }
+        if (ttl.isNegative || ttl.isZero) {
+            throw SolapiBadRequestException("ttl은 0보다 커야 합니다.")
+        }
+        ttlMillis = ttl.toMillis()
+        load()
+    }
+
+    /**
+     * 보관 중인 항목 수(보관 기간이 지난 항목 포함)
+     */
+    val size: Int
+        get() = synchronized(lock) { entries.size }
+
+    /**
+     * 보관 중인 모든 항목을 제거합니다.
+     */
+    fun clear() {
+        synchronized(lock) {
+            entries.clear()
+        }
+        save()
+    }
+
+    /**
+     * 저장을 기다리는 항목을 바로 파일에 저장합니다. persistenceFile을 지정하지 않은 경우 아무 작업도 하지 않습니다.
+     */
+    fun flush() {
+        save()
+    }
+
+    /**
+     * 업로드 원본의 캐시 키를 계산합니다. 한 번만 읽을 수 있는 원본인 경우 null을 반환합니다.
+     *
+     * @param scope 업로드한 계정의 범위, [scopeOf]로 계산합니다.
+     */
+    @Throws(SolapiFileUploadException::class)
+    internal fun keyOf(scope: String, source: UploadSource, type: StorageType, link: String?): String? {
+        if (source.isOneShot) {
+            return null
+        }
+        val digest = MessageDigest.getInstance("SHA-256")
+        try {
+            source.open().use { reader ->
+                val chunk = ByteArray(CHUNK_SIZE)
+                while (true) {
+                    val read = reader.read(chunk)
+                    if (read < 0) {
+                        break
+                    }
+                    digest.update(chunk, 0, read)
+                }
+            }
+        } catch (e: IOException) {
+            throw toFileUploadException(UploadSourceException(e))
+        }
+        val hash = digest.digest()
+        val key = StringBuilder(scope.length + type.name.length + hash.size * 2 + (link?.length ?: 0) + 3)
+        key.append(scope).append(':').append(type.name).append(':').appendHex(hash)
+        link?.let { key.append(':').append(it) }
+        return key.toString()
+    }
+
+    /**
+     * [key]에 해당하는 파일 ID를 반환합니다.
+     * 보관된 항목이 없으면 [upload]로 업로드하며, 같은 키의 업로드가 진행 중이면 그 결과를 함께 받습니다.
+     * 여러 호출이 하나의 업로드를 공유하므로, 반환된 Future를 취소해도 진행 중인 업로드는 취소되지 않습니다.
+     */
+    internal fun getOrUpload(key: String, upload: () -> CompletableFuture<String?>): CompletableFuture<String?> {
+        lookup(key)?.let { return CompletableFuture.completedFuture(it) }
+        val created = CompletableFuture<String?>()
+        val existing = inFlight.putIfAbsent(key, created)
+        if (existing != null) {
+            return existing.thenApply { it }
+        }
+        // 업로드를 맡기 직전에 다른 업로드가 끝났을 수 있으므로 다시 확인합니다.
+        val fileId = lookup(key)
+        if (fileId != null) {
+            inFlight.remove(key, created)
+            created.complete(fileId)
+            return created.thenApply { it }
+        }
+        val request = try {
+            upload()
+        } catch (e: Throwable) {
+            failedFuture(e)
+        }
+        request.whenComplete { uploadedFileId, error ->
+            if (error == null && uploadedFileId != null) {
+                put(key, uploadedFileId)
+            }
+            inFlight.remove(key, created)
+            if (error != null) {
+                created.completeExceptionally(unwrapCompletionException(error))
+            } else {
+                created.complete(uploadedFileId)
+            }
+        }
+        return created.thenApply { it }
+    }
+
+    private fun lookup(key: String): String? {
+        synchronized(lock) {
+            val entry = entries[key] ?: return null
+            if (entry.expiresAt <= clock()) {
+                entries.remove(key)
+                return null
+            }
+            return entry.fileId
+        }
+    }
+
+    private fun put(key: String, fileId: String) {
+        synchronized(lock) {
+            entries[key] = Entry(key, fileId, clock() + ttlMillis)
+        }
+        scheduleSave()
+    }
+
+    /**
+     * 잠시 뒤 저장을 예약합니다. 이미 예약된 저장이 있으면 그 저장에 함께 반영됩니다.
+     */
+    private fun scheduleSave() {
+        val executor = writer ?: return
+        if (saveScheduled.compareAndSet(false, true)) {
+            executor.schedule(Runnable {
+                saveScheduled.set(false)
+                save()
+            }, saveDelayMillis, TimeUnit.MILLISECONDS)
+        }
+    }
+
+    private fun load() {
+        val file = persistenceFile ?: return
+        if (!file.isFile) {
+            return
+        }
+        val loaded = try {
+            JsonSupport.json.decodeFromString(ListSerializer(Entry.serializer()), file.readText(Charsets.UTF_8))
+        } catch (e: Exception) {
+            // 손상된 파일은 무시하고 빈 캐시로 시작합니다.
+            return
+        }
+        val now = clock()
+        synchronized(lock) {
+            loaded.filter { it.expiresAt > now }.forEach { entries[it.key] = it }
+        }
+    }
+
+    /**
+     * 임시 파일에 기록한 뒤 교체하므로, 저장 중 종료되더라도 이전에 저장된 내용은 유지됩니다.
+     */
+    private fun save() {
+        val file = persistenceFile ?: return
+        synchronized(file) {
+            val snapshot = synchronized(lock) { entries.values.toList() }
+            try {
+                file.absoluteFile.parentFile?.mkdirs()
+                val temp = File(file.absoluteFile.parentFile, "${file.name}.tmp")
+                temp.writeText(JsonSupport.json.encodeToString(ListSerializer(Entry.serializer()), snapshot), Charsets.UTF_8)
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING)
+            } catch (e: IOException) {
+                // 저장에 실패해도 메모리의 항목은 그대로 사용할 수 있습니다.
+            }
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.solapi.sdk.message.lib
+
+import com.solapi.sdk.message.dto.response.FileUploadResult
+import com.solapi.sdk.message.exception.SolapiFileUploadException
+import com.solapi.sdk.message.model.StorageType
+import kotlinx.serialization.builtins.serializer
+import okhttp3.MediaType
+import okhttp3.RequestBody
+import okio.BufferedSink
+import okio.ByteString
+import okio.ByteString.Companion.encodeUtf8
+import java.io.Closeable
+import java.io.File
+import java.io.FilterOutputStream
+import java.io.IOException
+import java.io.InputStream
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardOpenOption
+import java.util.Base64
+import java.util.concurrent.CompletableFuture
+
+/**
+ * 업로드할 파일 내용의 원본
+ */
+internal sealed class UploadSource {
+    /**
+     * 원본 크기(byte), 알 수 없는 경우 -1
+     */
+    abstract val size: Long
+
+    /**
+     * 한 번만 읽을 수 있는 원본인지 여부
+     */
+    open val isOneShot: Boolean = false
+
+    abstract fun open(): Reader
+
+    interface Reader : Closeable {
+        /**
+         * [target]에 읽은 byte 수를 반환합니다. 끝에 도달한 경우 -1을 반환합니다.
+         */
+        fun read(target: ByteArray): Int
+    }
+
+    /**
+     * 파일을 [FileChannel]로 읽는 원본
+     */
+    class PathSource(private val path: Path) : UploadSource() {
+        override val size: Long = Files.size(path)
+
+        override fun open(): Reader {
+            val channel = FileChannel.open(path, StandardOpenOption.READ)
+            return object : Reader {
+                override fun read(target: ByteArray): Int = channel.read(ByteBuffer.wrap(target))
+                override fun close() = channel.close()
+            }
+        }
+    }
+
+    /**
+     * [ByteBuffer]의 position부터 limit까지를 읽는 원본
+     * 전달받은 버퍼의 position은 변경하지 않습니다.
+     */
+    class ByteBufferSource(private val buffer: ByteBuffer) : UploadSource() {
+        override val size: Long = buffer.remaining().toLong()
+
+        override fun open(): Reader {
+            val view = buffer.duplicate()
+            return object : Reader {
+                override fun read(target: ByteArray): Int {
+                    if (!view.hasRemaining()) {
+                        return -1
+                    }
+                    val length = minOf(target.size, view.remaining())
+                    view.get(target, 0, length)
+                    return length
+                }
+
+                override fun close() {}
+            }
+        }
+    }
+
+    /**
+     * [InputStream]을 읽는 원본
+     * 스트림은 한 번만 읽을 수 있으며, 스트림을 닫는 것은 호출한 쪽의 책임입니다.
+     */
+    class InputStreamSource(private val inputStream: InputStream) : UploadSource() {
+        override val size: Long = -1
+        override val isOneShot: Boolean = true
+
+        override fun open(): Reader {
+            return object : Reader {
+                override fun read(target: ByteArray): Int = inputStream.read(target)
+                override fun close() {}
+            }
+        }
+    }
+}
+
+/**
+ * 업로드할 파일을 읽는 중 발생한 오류
+ * 네트워크 오류와 구분하기 위해 사용하며, 업로드 메소드에서 [SolapiFileUploadException]으로 변환됩니다.
+ */
+internal class UploadSourceException(cause: IOException) : IOException(cause.message, cause)
+
+/**
+ * 파일 업로드 요청 본문
+ *
+ * 파일 전체를 ByteArray와 Base64 문자열로 만들지 않고, 전송 시점에 [source]를 조금씩 읽어
+ * Base64로 인코딩하면서 JSON 본문의 file 필드에 바로 기록합니다.
+ * 원본 크기를 알 수 있는 경우 본문 길이(Content-Length)도 미리 계산합니다.
+ */
+internal class FileUploadRequestBody(
+    private val source: UploadSource,
+    type: StorageType,
+    name: String?,
+    link: String?,
+    private val contentType: MediaType,
+) : RequestBody() {
+    companion object {
+        // 3의 배수로 읽으면 Base64 인코더가 입력을 나누어 보관하지 않고 바로 기록합니다.
+        private const val CHUNK_SIZE = 3 * 16 * 1024
+    }
+
+    private val prefix: ByteString = "{\"file\":\"".encodeUtf8()
+    private val suffix: ByteString = buildString {
+        append("\",\"type\":").append(JsonSupport.json.encodeToString(StorageType.serializer(), type))
+        name?.let { append(",\"name\":").append(JsonSupport.json.encodeToString(String.serializer(), it)) }
+        link?.let { append(",\"link\":").append(JsonSupport.json.encodeToString(String.serializer(), it)) }
+        append('}')
+    }.encodeUtf8()
+
+    override fun contentType(): MediaType = contentType
+
+    override fun contentLength(): Long {
+        val size = source.size
+        if (size < 0) {
+            return -1
+        }
+        return prefix.size + (size + 2) / 3 * 4 + suffix.size
+    }
+
+    override fun isOneShot(): Boolean = source.isOneShot
+
+    override fun writeTo(sink: BufferedSink) {
+        sink.write(prefix)
+        val reader = try {
+            source.open()
+        } catch (e: IOException) {
+            throw UploadSourceException(e)
+        }
+        // 인코더를 닫아 마지막 패딩을 기록하되, sink는 닫지 않습니다.
+        val encoder = Base64.getEncoder().wrap(object : FilterOutputStream(sink.outputStream()) {
+            override fun write(b: ByteArray, off: Int, len: Int) = out.write(b, off, len)
+            override fun close() = flush()
+        })
+        reader.use {
+            val chunk = ByteArray(CHUNK_SIZE)
+            while (true) {
+                val read = try {
+                    it.read(chunk)
+                } catch (e: IOException) {
+                    throw UploadSourceException(e)
+                }
+                if (read < 0) {
+                    break
+                }
+                encoder.write(chunk, 0, read)
+            }
+        }
+        encoder.close()
+        sink.write(suffix)
+    }
+}
+
+/**
+ * 파일을 업로드할 수 있는지 확인하고 업로드 원본을 생성합니다.
+ */
+@Throws(SolapiFileUploadException::class)
+internal fun uploadSourceOf(path: Path): UploadSource {
+    if (!Files.isRegularFile(path) || !Files.isReadable(path)) {
+        throw SolapiFileUploadException("파일을 읽을 수 없습니다: $path")
+    }
+    return try {
+        UploadSource.PathSource(path)
+    } catch (e: IOException) {
+        throw fileReadFailure(e)
+    }
+}
+
+private fun fileReadFailure(cause: Throwable): SolapiFileUploadException {
+    return SolapiFileUploadException("파일을 읽는 중 오류가 발생했습니다: ${cause.message}").apply { initCause(cause) }
+}
+
+/**
+ * 업로드 중 발생한 파일 읽기 오류를 [SolapiFileUploadException]으로 변환합니다. 그 외의 오류는 그대로 반환합니다.
+ */
+internal fun toFileUploadException(throwable: Throwable): Throwable {
+    if (throwable !is UploadSourceException) {
+        return throwable
+    }
+    return fileReadFailure(throwable.cause ?: throwable)
+}
+
+/**
+ * 파일 읽기 오류로 실패한 경우 [SolapiFileUploadException]으로 실패하는 Future를 반환합니다.
+ * 반환된 Future를 취소하면 원래 Future도 취소됩니다.
+ */
+internal fun <T> CompletableFuture<T>.mapUploadFailure(): CompletableFuture<T> {
+    val result = CancellableFuture<T> { cancel(true) }
+    whenComplete { value, error ->
+        if (error != null) {
+            result.completeExceptionally(toFileUploadException(unwrapCompletionException(error)))
+        } else {
+            result.complete(value)
+        }
+    }
+    return result
+}
+
+/**
+ * 여러 파일을 최대 [maxConcurrency]개씩 동시에 업로드하고, 입력 순서대로 결과를 반환합니다.
+ *
+ * 일부 파일의 업로드가 실패하더라도 나머지 파일의 업로드는 계속 진행되며, 실패한 파일의 결과에는 예외가 채워집니다.
+ * 반환된 Future를 취소하면 아직 시작하지 않은 업로드는 시작하지 않고, 진행 중인 업로드도 취소합니다.
+ */
+internal class ParallelFileUploader(
+    private val files: List<File>,
+    private val maxConcurrency: Int,
+    private val upload: (File) -> CompletableFuture<String?>,
+) {
+    private val results = arrayOfNulls<FileUploadResult>(files.size)
+    private var next = 0
+
+    fun start(): CompletableFuture<List<FileUploadResult>> {
+        // 업로드 실패는 결과에 담고 작업은 정상 완료하므로, 작업 풀은 취소되는 경우에만 실패합니다.
+        val uploaded = BoundedWorkerPool(
+            maxConcurrency = maxConcurrency,
+            failurePolicy = BoundedWorkerPool.FailurePolicy.CANCEL_ALL,
+            nextTask = { if (next < files.size) next++ else null },
+            runTask = ::uploadAt
+        ).start()
+        return composeCancellable(uploaded) { CompletableFuture.completedFuture(results.map { it!! }) }
+    }
+
+    private fun uploadAt(index: Int): CompletableFuture<Unit> {
+        val future = try {
+            upload(files[index])
+        } catch (e: Throwable) {
+            failedFuture<String?>(e)
+        }
+        return future.handleCancellable { fileId, error ->
+            results[index] = if (error == null) {
+                FileUploadResult(file = files[index], fileId = fileId)
+            } else {
+                FileUploadResult(file = files[index], error = error)
+            }
+        }
+    }
+}
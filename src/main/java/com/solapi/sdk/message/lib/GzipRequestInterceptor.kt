@@ -0,0 +1,75 @@
+package com.solapi.sdk.message.lib
+
+import okhttp3.Interceptor
+import okhttp3.MediaType
+import okhttp3.RequestBody
+import okhttp3.Response
+import okio.BufferedSink
+import okio.GzipSink
+import okio.buffer
+
+/**
+ * 요청 본문을 gzip으로 압축해 전송하는 인터셉터
+ *
+ * 본문이 [minimumSize] byte 이상인 요청만 압축합니다. 본문의 길이를 알 수 없는 요청은 항상 압축합니다.
+ * 본문은 전송하는 동안 GzipSink를 거쳐 바로 압축되므로, 원본이나 압축된 본문 전체를 메모리에 올리지 않습니다.
+ * 압축된 본문의 길이는 미리 알 수 없으므로 chunked 방식으로 전송됩니다.
+ *
+ * 서버가 압축된 요청을 415(Unsupported Media Type)로 거절하면 압축하지 않은 요청을 다시 보내고, 이후 요청은 압축하지 않습니다.
+ * 그 외의 응답(400 등)은 그대로 반환하며, 요청을 다시 보내지 않습니다.
+ */
+internal class GzipRequestInterceptor(
+    private val minimumSize: Long = DEFAULT_MINIMUM_SIZE,
+) : Interceptor {
+    companion object {
+        const val DEFAULT_MINIMUM_SIZE = 1024L
+        private const val HTTP_UNSUPPORTED_MEDIA_TYPE = 415
+    }
+
+    /**
+     * 서버가 압축된 요청을 지원하지 않는 것으로 확인되어 압축을 중단했는지 여부
+     */
+    @Volatile
+    var disabled = false
+        private set
+
+    override fun intercept(chain: Interceptor.Chain): Response {
+        val request = chain.request()
+        val body = request.body
+        if (disabled || body == null || body.isOneShot() || body.isDuplex() || request.header("Content-Encoding") != null) {
+            return chain.proceed(request)
+        }
+        val contentLength = body.contentLength()
+        if (contentLength in 0 until minimumSize) {
+            return chain.proceed(request)
+        }
+        val response = chain.proceed(
+            request.newBuilder()
+                .header("Content-Encoding", "gzip")
+                .method(request.method, GzipRequestBody(body))
+                .build()
+        )
+        if (response.code != HTTP_UNSUPPORTED_MEDIA_TYPE) {
+            return response
+        }
+
+        // 원본 본문은 one-shot이 아니므로 압축하지 않은 상태로 다시 보낼 수 있습니다.
+        response.close()
+        disabled = true
+        return chain.proceed(request)
+    }
+
+    /**
+     * 원본 본문을 전송하는 동안 gzip으로 압축하는 본문
+     * writeTo를 호출할 때마다 원본 본문을 다시 압축하므로, 원본 본문과 마찬가지로 여러 번 전송할 수 있습니다.
+     */
+    private class GzipRequestBody(private val body: RequestBody) : RequestBody() {
+        override fun contentType(): MediaType? = body.contentType()
+
+        override fun contentLength(): Long = -1
+
+        override fun writeTo(sink: BufferedSink) {
+            GzipSink(sink).buffer().use { body.writeTo(it) }
+        }
+    }
+}
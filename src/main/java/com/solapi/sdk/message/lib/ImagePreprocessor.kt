@@ -0,0 +1,221 @@
+package com.solapi.sdk.message.lib
+
+import com.solapi.sdk.message.exception.SolapiBadRequestException
+import com.solapi.sdk.message.exception.SolapiFileUploadException
+import com.solapi.sdk.message.model.StorageType
+import com.solapi.sdk.message.service.DefaultMessageService
+import java.awt.Color
+import java.awt.RenderingHints
+import java.awt.image.BufferedImage
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.IOException
+import java.nio.ByteBuffer
+import java.security.MessageDigest
+import java.util.EnumMap
+import javax.imageio.IIOImage
+import javax.imageio.ImageIO
+import javax.imageio.ImageWriteParam
+import javax.imageio.stream.MemoryCacheImageOutputStream
+import kotlin.math.max
+import kotlin.math.min
+import kotlin.math.roundToInt
+
+/**
+ * 업로드 전에 이미지를 저장소 유형(StorageType)별 제한에 맞게 줄이고 JPEG로 다시 인코딩하는 전처리기
+ *
+ * 제한을 넘는 이미지는 서버에 전송된 뒤에야 거절되므로, 업로드 전에 크기를 줄여 실패하는 업로드와 낭비되는 전송량을 없앱니다.
+ * 이미 제한을 만족하는 JPEG 이미지와 제한이 설정되지 않은 저장소 유형의 파일은 그대로 업로드됩니다.
+ * 이미지로 읽을 수 없는 파일도 그대로 업로드되며, 서버의 검증 결과를 따릅니다.
+ *
+ * 전처리 결과는 원본 내용의 해시를 기준으로 [maxCacheEntries]개까지 보관하므로, 같은 이미지를 반복해서 업로드해도 한 번만 변환합니다.
+ * 변환은 JDK의 ImageIO만 사용하며, 동기 업로드 메소드는 호출한 스레드에서, 비동기 업로드 메소드는 [DefaultMessageService.uploadExecutor]에서 수행합니다.
+ *
+ * 기본으로 MMS 제한(JPEG, 200KB 이하, 1500 x 1440 이하)이 설정되어 있으며, [constraint]로 다른 저장소 유형의 제한을 추가할 수 있습니다.
+ *
+ * @param maxCacheEntries 보관할 최대 전처리 결과 수
+ * @see DefaultMessageService.imagePreprocessor
+ */
+class ImagePreprocessor @JvmOverloads constructor(
+    private val maxCacheEntries: Int = DEFAULT_MAX_CACHE_ENTRIES,
+) {
+    companion object {
+        const val DEFAULT_MAX_CACHE_ENTRIES = 50
+
+        /**
+         * MMS 이미지 제한
+         */
+        @JvmField
+        val MMS_CONSTRAINT = Constraint(maxBytes = 200 * 1024, maxWidth = 1500, maxHeight = 1440)
+
+        private val QUALITIES = floatArrayOf(0.9f, 0.8f, 0.7f, 0.6f, 0.5f, 0.4f)
+        private const val SCALE_STEP = 0.75
+        private const val MIN_DIMENSION = 32
+    }
+
+    /**
+     * 저장소 유형별 이미지 제한
+     *
+     * @param maxBytes 최대 파일 크기(byte)
+     * @param maxWidth 최대 가로 크기(pixel)
+     * @param maxHeight 최대 세로 크기(pixel)
+     */
+    data class Constraint(
+        val maxBytes: Int,
+        val maxWidth: Int,
+        val maxHeight: Int,
+    ) {
+        init {
+            if (maxBytes < 1 || maxWidth < MIN_DIMENSION || maxHeight < MIN_DIMENSION) {
+                throw SolapiBadRequestException("이미지 제한 값이 올바르지 않습니다.")
+            }
+        }
+    }
+
+    private val constraints = EnumMap<StorageType, Constraint>(StorageType::class.java).apply {
+        put(StorageType.MMS, MMS_CONSTRAINT)
+    }
+    private val lock = Any()
+    private val cache = object : LinkedHashMap<String, ByteArray>(16, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, ByteArray>): Boolean =
+            size > maxCacheEntries
+    }
+
+    init {
+        if (maxCacheEntries < 0) {
+            throw SolapiBadRequestException("maxCacheEntries는 0 이상이어야 합니다.")
+        }
+    }
+
+    /**
+     * [type]에 적용할 이미지 제한을 설정합니다. null인 경우 해당 유형은 전처리하지 않습니다.
+     */
+    fun constraint(type: StorageType, constraint: Constraint?) = apply {
+        synchronized(lock) {
+            if (constraint == null) {
+                constraints.remove(type)
+            } else {
+                constraints[type] = constraint
+            }
+            cache.clear()
+        }
+    }
+
+    /**
+     * 제한에 맞게 변환한 업로드 원본을 반환합니다. 변환할 필요가 없는 경우 [source]를 그대로 반환합니다.
+     */
+    @Throws(SolapiFileUploadException::class)
+    internal fun process(source: UploadSource, type: StorageType): UploadSource {
+        val constraint = synchronized(lock) { constraints[type] } ?: return source
+        val original = readAll(source)
+        val key = type.name + ':' + sha256Hex(original)
+        synchronized(lock) { cache[key] }?.let { return UploadSource.ByteBufferSource(ByteBuffer.wrap(it)) }
+
+        val processed = fit(original, constraint)
+        // 이미지로 읽을 수 없어 그대로 반환된 큰 파일은 보관하지 않습니다.
+        if (processed.size <= constraint.maxBytes) {
+            synchronized(lock) { cache[key] = processed }
+        }
+        return UploadSource.ByteBufferSource(ByteBuffer.wrap(processed))
+    }
+
+    /**
+     * 이미지를 제한에 맞게 변환합니다. 이미 제한을 만족하는 JPEG 이미지나 이미지로 읽을 수 없는 파일은 그대로 반환합니다.
+     */
+    internal fun fit(original: ByteArray, constraint: Constraint): ByteArray {
+        val image = try {
+            ImageIO.read(ByteArrayInputStream(original))
+        } catch (e: IOException) {
+            null
+        } ?: return original
+
+        if (isJpeg(original) && original.size <= constraint.maxBytes &&
+            image.width <= constraint.maxWidth && image.height <= constraint.maxHeight
+        ) {
+            return original
+        }
+
+        var scale = min(
+            1.0,
+            min(constraint.maxWidth.toDouble() / image.width, constraint.maxHeight.toDouble() / image.height)
+        )
+        while (true) {
+            val width = max(1, (image.width * scale).roundToInt())
+            val height = max(1, (image.height * scale).roundToInt())
+            val rgb = toRgb(image, width, height)
+            for (quality in QUALITIES) {
+                val encoded = encodeJpeg(rgb, quality)
+                if (encoded.size <= constraint.maxBytes) {
+                    return encoded
+                }
+            }
+            if (width <= MIN_DIMENSION || height <= MIN_DIMENSION) {
+                throw SolapiFileUploadException("이미지를 ${constraint.maxBytes / 1024}KB 이하로 줄일 수 없습니다.")
+            }
+            scale *= SCALE_STEP
+        }
+    }
+
+    /**
+     * 투명한 영역은 흰색으로 채우고, 지정한 크기의 RGB 이미지로 변환합니다.
+     */
+    private fun toRgb(image: BufferedImage, width: Int, height: Int): BufferedImage {
+        val rgb = BufferedImage(width, height, BufferedImage.TYPE_INT_RGB)
+        val graphics = rgb.createGraphics()
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR)
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY)
+            graphics.color = Color.WHITE
+            graphics.fillRect(0, 0, width, height)
+            graphics.drawImage(image, 0, 0, width, height, null)
+        } finally {
+            graphics.dispose()
+        }
+        return rgb
+    }
+
+    private fun encodeJpeg(image: BufferedImage, quality: Float): ByteArray {
+        val writer = ImageIO.getImageWritersByFormatName("jpeg").next()
+        val output = ByteArrayOutputStream()
+        try {
+            MemoryCacheImageOutputStream(output).use { stream ->
+                writer.output = stream
+                val param = writer.defaultWriteParam.apply {
+                    compressionMode = ImageWriteParam.MODE_EXPLICIT
+                    compressionQuality = quality
+                }
+                writer.write(null, IIOImage(image, null, null), param)
+            }
+        } finally {
+            writer.dispose()
+        }
+        return output.toByteArray()
+    }
+
+    private fun isJpeg(bytes: ByteArray): Boolean {
+        return bytes.size > 2 && bytes[0] == 0xFF.toByte() && bytes[1] == 0xD8.toByte() && bytes[2] == 0xFF.toByte()
+    }
+
+    private fun readAll(source: UploadSource): ByteArray {
+        val output = ByteArrayOutputStream(if (source.size in 0..Int.MAX_VALUE.toLong()) source.size.toInt() else 64 * 1024)
+        try {
+            source.open().use { reader ->
+                val chunk = ByteArray(64 * 1024)
+                while (true) {
+                    val read = reader.read(chunk)
+                    if (read < 0) {
+                        break
+                    }
+                    output.write(chunk, 0, read)
+                }
+            }
+        } catch (e: IOException) {
+            throw toFileUploadException(UploadSourceException(e))
+        }
+        return output.toByteArray()
+    }
+
+    private fun sha256Hex(bytes: ByteArray): String {
+        return MessageDigest.getInstance("SHA-256").digest(bytes).joinToString("") { "%02x".format(it) }
+    }
+}
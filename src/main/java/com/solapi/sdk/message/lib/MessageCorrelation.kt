@@ -0,0 +1,36 @@
+package com.solapi.sdk.message.lib
+
+import com.solapi.sdk.message.model.Message
+
+/**
+ * 발송 요청에 포함된 메시지와 응답(MessageList, FailedMessage)을 연결하기 위한 헬퍼
+ *
+ * 발송 응답에는 요청 순서가 보장되지 않으므로, 메시지의 customFields에 SDK 전용 키를 추가해 응답과 연결합니다.
+ * 추가된 키는 메시지 조회 시에도 customFields에 표시됩니다.
+ */
+internal object MessageCorrelation {
+    const val CUSTOM_FIELD_KEY = "solapiSdkRef"
+
+    /**
+     * 원본 메시지를 변경하지 않고, 연결용 키가 추가된 복사본을 반환합니다.
+     */
+    fun tag(message: Message, correlationId: String): Message {
+        val customFields = message.customFields?.toMutableMap() ?: mutableMapOf()
+        customFields[CUSTOM_FIELD_KEY] = correlationId
+        return message.copy(customFields = customFields)
+    }
+
+    fun correlationIdOf(customFields: Map<String, String>?): String? {
+        return customFields?.get(CUSTOM_FIELD_KEY)
+    }
+
+    /**
+     * 응답의 customFields에서 연결용 키를 제거한 값을 반환합니다.
+     */
+    fun strip(customFields: Map<String, String>?): Map<String, String>? {
+        if (customFields == null || !customFields.containsKey(CUSTOM_FIELD_KEY)) {
+            return customFields
+        }
+        return customFields.filterKeys { it != CUSTOM_FIELD_KEY }
+    }
+}
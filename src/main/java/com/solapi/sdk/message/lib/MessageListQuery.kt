@@ -0,0 +1,236 @@
+package com.solapi.sdk.message.lib
+
+import com.solapi.sdk.message.dto.request.MessageListRequest
+import com.solapi.sdk.message.exception.SolapiBadRequestException
+import com.solapi.sdk.message.model.MessageStatusType
+import kotlin.time.Instant
+
+/**
+ * 메시지 조회 요청의 쿼리 파라미터
+ *
+ * 조회 조건을 criteria, cond, value 문자열로 한 번만 만들어 두고, 조회할 때마다 JSON 변환 없이 바로 쿼리 파라미터로 사용합니다.
+ * 같은 조건으로 반복해서 조회하는 경우(페이지 순회, 상태 폴링 등) 한 번 만든 쿼리를 템플릿으로 두고
+ * [withStartKey], [withDateRange]로 커서나 조회 기간만 바꾸어 재사용할 수 있습니다.
+ * 인스턴스는 변경할 수 없으므로 여러 스레드에서 함께 사용해도 안전합니다.
+ *
+ * ```kotlin
+ * val template = MessageListQuery.builder().groupId(groupId).status(MessageStatusType.PENDING).limit(500).build()
+ * val firstPage = messageService.getMessageListByQuery(template)
+ * val nextPage = messageService.getMessageListByQuery(template.withStartKey(firstPage?.nextKey))
+ * ```
+ */
+class MessageListQuery private constructor(
+    private val criteria: String?,
+    private val cond: String?,
+    private val value: String?,
+    private val limit: String?,
+    private val startKey: String?,
+    private val startDate: String?,
+    private val endDate: String?,
+) {
+    companion object {
+        /**
+         * 조건이 없는 조회 쿼리
+         */
+        @JvmField
+        val EMPTY = MessageListQuery(null, null, null, null, null, null, null)
+
+        @JvmStatic
+        fun builder(): Builder = Builder()
+
+        /**
+         * 메시지 조회 요청을 쿼리로 변환합니다. null인 경우 [EMPTY]를 반환합니다.
+         */
+        @JvmStatic
+        @Throws(SolapiBadRequestException::class)
+        fun of(request: MessageListRequest?): MessageListQuery {
+            if (request == null) {
+                return EMPTY
+            }
+            return Builder()
+                .to(request.to)
+                .from(request.from)
+                .messageId(request.messageId)
+                .messageIds(request.messageIds)
+                .groupId(request.groupId)
+                .type(request.type)
+                .statusCode(request.statusCode)
+                .status(request.status)
+                .startKey(request.startKey)
+                .limit(request.limit)
+                .startDate(request.startDate)
+                .endDate(request.endDate)
+                .build()
+        }
+    }
+
+    /**
+     * 조회 조건은 그대로 두고 startKey만 바꾼 쿼리를 반환합니다.
+     */
+    fun withStartKey(startKey: String?): MessageListQuery {
+        if (startKey == this.startKey) {
+            return this
+        }
+        return MessageListQuery(criteria, cond, value, limit, startKey, startDate, endDate)
+    }
+
+    /**
+     * 조회 조건은 그대로 두고 조회 기간만 바꾼 쿼리를 반환합니다.
+     */
+    fun withDateRange(startDate: Instant?, endDate: Instant?): MessageListQuery {
+        return MessageListQuery(criteria, cond, value, limit, startKey, startDate?.toString(), endDate?.toString())
+    }
+
+    /**
+     * 값이 있는 쿼리 파라미터만 담은 Map을 반환합니다.
+     */
+    fun toMap(): Map<String, String> {
+        val parameters = LinkedHashMap<String, String>(16)
+        startKey?.let { parameters["startKey"] = it }
+        limit?.let { parameters["limit"] = it }
+        criteria?.let { parameters["criteria"] = it }
+        cond?.let { parameters["cond"] = it }
+        value?.let { parameters["value"] = it }
+        startDate?.let { parameters["startDate"] = it }
+        endDate?.let { parameters["endDate"] = it }
+        return parameters
+    }
+
+    override fun toString(): String = "MessageListQuery${toMap()}"
+
+    /**
+     * 메시지 조회 쿼리 빌더
+     * 조건의 순서는 설정한 순서와 관계없이 항상 같은 순서로 만들어집니다.
+     */
+    class Builder internal constructor() {
+        private var to: String? = null
+        private var from: String? = null
+        private var messageId: String? = null
+        private var messageIds: List<String>? = null
+        private var groupId: String? = null
+        private var type: String? = null
+        private var statusCode: String? = null
+        private var status: MessageStatusType? = null
+        private var startKey: String? = null
+        private var limit: Int? = null
+        private var startDate: Instant? = null
+        private var endDate: Instant? = null
+
+        /**
+         * 수신번호
+         */
+        fun to(to: String?) = apply { this.to = to }
+
+        /**
+         * 발신번호
+         */
+        fun from(from: String?) = apply { this.from = from }
+
+        /**
+         * 메시지 ID
+         */
+        fun messageId(messageId: String?) = apply { this.messageId = messageId }
+
+        /**
+         * 메시지 ID 목록
+         */
+        fun messageIds(messageIds: Collection<String>?) = apply { this.messageIds = messageIds?.toList() }
+
+        /**
+         * 메시지 그룹 ID
+         */
+        fun groupId(groupId: String?) = apply { this.groupId = groupId }
+
+        /**
+         * 메시지 유형 (예) ATA, SMS 등)
+         */
+        fun type(type: String?) = apply { this.type = type }
+
+        /**
+         * 상태코드, status와 함께 설정할 수 없습니다.
+         */
+        fun statusCode(statusCode: String?) = apply { this.statusCode = statusCode }
+
+        /**
+         * 발송 상태, statusCode와 함께 설정할 수 없습니다.
+         */
+        fun status(status: MessageStatusType?) = apply { this.status = status }
+
+        /**
+         * Pagination을 위한 key
+         */
+        fun startKey(startKey: String?) = apply { this.startKey = startKey }
+
+        /**
+         * 조회할 건 수
+         */
+        fun limit(limit: Int?) = apply { this.limit = limit }
+
+        /**
+         * 조회 할 시작 날짜
+         */
+        fun startDate(startDate: Instant?) = apply { this.startDate = startDate }
+
+        /**
+         * 조회 할 종료 날짜
+         */
+        fun endDate(endDate: Instant?) = apply { this.endDate = endDate }
+
+        @Throws(SolapiBadRequestException::class)
+        fun build(): MessageListQuery {
+            if (status != null && !statusCode.isNullOrBlank()) {
+                throw SolapiBadRequestException("status와 statusCode는 병기할 수 없습니다.")
+            }
+            val criteria = StringBuilder()
+            val cond = StringBuilder()
+            val value = StringBuilder()
+
+            fun add(field: String, operator: String, fieldValue: String) {
+                if (criteria.isNotEmpty()) {
+                    criteria.append(',')
+                    cond.append(',')
+                    value.append(',')
+                }
+                criteria.append(field)
+                cond.append(operator)
+                value.append(fieldValue)
+            }
+
+            when (status) {
+                MessageStatusType.PENDING -> add("statusCode", "eq", "2000")
+                MessageStatusType.SENDING -> add("statusCode", "eq", "3000")
+                MessageStatusType.COMPLETE -> add("statusCode", "eq", "4000")
+                MessageStatusType.FAILED -> {
+                    add("statusCode", "ne", "2000")
+                    add("statusCode", "ne", "3000")
+                    add("statusCode", "ne", "4000")
+                }
+                null -> {}
+            }
+            messageIds?.forEach { add("messageId", "eq", it) }
+            listOf(
+                "to" to to,
+                "from" to from,
+                "messageId" to messageId,
+                "groupId" to groupId,
+                "type" to type,
+                "statusCode" to statusCode
+            ).forEach { (field, fieldValue) ->
+                if (!fieldValue.isNullOrBlank()) {
+                    add(field, "eq", fieldValue)
+                }
+            }
+
+            val hasCriteria = criteria.isNotEmpty()
+            return MessageListQuery(
+                criteria = if (hasCriteria) criteria.toString() else null,
+                cond = if (hasCriteria) cond.toString() else null,
+                value = if (hasCriteria) value.toString() else null,
+                limit = limit?.toString(),
+                startKey = startKey,
+                startDate = startDate?.toString(),
+                endDate = endDate?.toString()
+            )
+        }
+    }
+}
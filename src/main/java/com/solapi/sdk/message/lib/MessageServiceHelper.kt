@@ -1,11 +1,16 @@
 package com.solapi.sdk.message.lib
 
 import com.solapi.sdk.message.exception.*
+import com.solapi.sdk.message.model.Message
 import com.solapi.sdk.message.model.group.GroupCount
 import com.solapi.sdk.message.dto.request.MultipleDetailMessageSendingRequest
 import com.solapi.sdk.message.dto.response.ErrorResponse
+import com.solapi.sdk.message.dto.response.FileUploadResponse
+import com.solapi.sdk.message.dto.response.MessageListResponse
 import com.solapi.sdk.message.dto.response.MultipleDetailMessageSentResponse
 import com.solapi.sdk.message.service.MessageHttpService
+import kotlinx.serialization.builtins.serializer
+import okhttp3.ResponseBody
 import retrofit2.Response
 
 /**
@@ -18,29 +23,98 @@ fun processSendRequest(
     messageHttpService: MessageHttpService,
     parameter: MultipleDetailMessageSendingRequest
 ): MultipleDetailMessageSentResponse {
-    val response = messageHttpService.sendManyDetail(parameter).execute()
+    return handleSendResponse(messageHttpService.sendManyDetail(parameter).execute())
+}
 
+/**
+ * 메시지 발송 응답을 처리하는 공통 헬퍼 메소드
+ * 동기, 비동기 발송에서 동일한 예외 규칙을 적용하기 위해 사용됩니다.
+ */
+@Throws(
+    SolapiMessageNotReceivedException::class, SolapiEmptyResponseException::class, SolapiUnknownException::class
+)
+internal fun handleSendResponse(response: Response<MultipleDetailMessageSentResponse>): MultipleDetailMessageSentResponse {
     if (response.isSuccessful) {
-        val responseBody = response.body()
-        if (responseBody != null) {
-            val count: GroupCount = responseBody.groupInfo?.count ?: GroupCount()
-            val failedMessageList = responseBody.failedMessageList
-
-            if (failedMessageList.isNotEmpty() && (count.total ?: 0) == failedMessageList.count()) {
-                val messageNotReceivedException = SolapiMessageNotReceivedException("메시지 발송 접수에 실패했습니다.")
-                messageNotReceivedException.failedMessageList = failedMessageList
-                throw messageNotReceivedException
-            }
+        return checkSendResponse(response.body())
+    } else {
+        val errorString = response.errorBody()?.string() ?: "Server error encountered"
+        throw SolapiUnknownException(errorString)
+    }
+}
 
-            return responseBody
-        }
-        throw SolapiEmptyResponseException("서버로부터 아무 응답을 받지 못했습니다.")
+/**
+ * 응답 본문을 문자열로 읽지 않고 역직렬화하며, 접수된 메시지(messageList)를 한 건씩 [onMessage]로 전달하는 발송 응답 처리 메소드
+ * 반환되는 응답의 messageList는 비어 있습니다.
+ */
+@Throws(
+    SolapiMessageNotReceivedException::class, SolapiEmptyResponseException::class, SolapiUnknownException::class
+)
+internal fun handleStreamingSendResponse(
+    response: Response<ResponseBody>,
+    onMessage: (MultipleDetailMessageSentResponse.MessageList) -> Unit
+): MultipleDetailMessageSentResponse {
+    if (response.isSuccessful) {
+        val deserializer = FieldReplacingDeserializer(
+            MultipleDetailMessageSentResponse.serializer(),
+            "messageList",
+            ListElementCallbackDeserializer(MultipleDetailMessageSentResponse.MessageList.serializer(), onMessage)
+        )
+        return checkSendResponse(response.body()?.let { decodeFromResponseBody(JsonSupport.json, deserializer, it) })
     } else {
         val errorString = response.errorBody()?.string() ?: "Server error encountered"
         throw SolapiUnknownException(errorString)
     }
 }
 
+/**
+ * 응답 본문을 문자열로 읽지 않고 역직렬화하며, 조회된 메시지를 메시지 ID와 함께 한 건씩 [onMessage]로 전달하는 메시지 조회 응답 처리 메소드
+ * 반환되는 응답의 messageList는 비어 있습니다.
+ */
+@Throws(SolapiBadRequestException::class, SolapiInvalidApiKeyException::class, SolapiUnknownException::class)
+internal fun handleStreamingMessageListResponse(
+    response: Response<ResponseBody>,
+    onMessage: (String, Message) -> Unit
+): MessageListResponse? {
+    if (!response.isSuccessful) {
+        handleErrorResponse(response.errorBody()?.string())
+    }
+    val deserializer = FieldReplacingDeserializer(
+        MessageListResponse.serializer(),
+        "messageList",
+        MapEntryCallbackDeserializer(String.serializer(), Message.serializer(), onMessage)
+    )
+    return response.body()?.let { decodeFromResponseBody(JsonSupport.json, deserializer, it) }
+}
+
+private fun checkSendResponse(responseBody: MultipleDetailMessageSentResponse?): MultipleDetailMessageSentResponse {
+    if (responseBody != null) {
+        val count: GroupCount = responseBody.groupInfo?.count ?: GroupCount()
+        val failedMessageList = responseBody.failedMessageList
+
+        if (failedMessageList.isNotEmpty() && (count.total ?: 0) == failedMessageList.count()) {
+            val messageNotReceivedException = SolapiMessageNotReceivedException("메시지 발송 접수에 실패했습니다.")
+            messageNotReceivedException.failedMessageList = failedMessageList
+            throw messageNotReceivedException
+        }
+
+        return responseBody
+    }
+    throw SolapiEmptyResponseException("서버로부터 아무 응답을 받지 못했습니다.")
+}
+
+/**
+ * 파일 업로드 응답을 처리하는 공통 헬퍼 메소드
+ * 파일 업로드는 특별한 예외를 던지므로 공통 에러 핸들러를 사용하지 않습니다.
+ */
+@Throws(SolapiFileUploadException::class)
+internal fun handleFileUploadResponse(response: Response<FileUploadResponse>): String? {
+    if (response.isSuccessful) {
+        return response.body()?.fileId
+    }
+    val errorResponse: ErrorResponse = JsonSupport.json.decodeFromString(response.errorBody()?.string() ?: "")
+    throw SolapiFileUploadException(errorResponse.errorMessage)
+}
+
 /**
  * 에러 응답을 처리하는 공통 헬퍼 메소드
  */
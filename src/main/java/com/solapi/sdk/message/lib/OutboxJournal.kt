@@ -0,0 +1,303 @@
+package com.solapi.sdk.message.lib
+
+import java.io.Closeable
+import java.io.File
+import java.nio.MappedByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.file.StandardOpenOption
+import java.util.ArrayDeque
+import java.util.TreeMap
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.locks.ReentrantLock
+import java.util.zip.CRC32
+import kotlin.concurrent.withLock
+import kotlin.math.max
+
+/**
+ * 메모리 맵 세그먼트 파일에 기록하는 추가 전용(append-only) 저널
+ *
+ * 각 레코드는 type(1) id(8) length(4) crc32(4) payload 형식으로 기록되며,
+ * 세그먼트 파일은 미리 0으로 채워진 크기로 생성되므로 type이 0인 위치가 기록의 끝입니다.
+ * 비정상 종료로 일부만 기록된 레코드는 CRC 검증에 실패하므로 복구 시 해당 위치부터 무시합니다.
+ *
+ * 디스크 동기화(fsync)는 별도의 스레드에서 모아서(group commit) 처리합니다.
+ * 동기화가 진행되는 동안 기록된 레코드는 다음 동기화에서 한 번에 반영되므로, 레코드 하나당 동기화 비용이 분산됩니다.
+ *
+ * 완료 처리되지 않은 레코드가 남아있지 않은 세그먼트는 오래된 순서대로 삭제됩니다.
+ */
+internal class OutboxJournal(
+    private val directory: File,
+    private val segmentSize: Int,
+) : Closeable {
+    companion object {
+        const val ENQUEUE: Byte = 1
+        const val ACK: Byte = 2
+        const val HEADER_SIZE = 1 + 8 + 4 + 4
+        private const val SEGMENT_PREFIX = "outbox-"
+        private const val SEGMENT_SUFFIX = ".seg"
+        private val EMPTY = ByteArray(0)
+
+        fun segmentNumberOf(file: File): Long? {
+            val name = file.name
+            if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+                return null
+            }
+            return name.substring(SEGMENT_PREFIX.length, name.length - SEGMENT_SUFFIX.length).toLongOrNull()
+        }
+    }
+
+    private class Segment(val number: Long, val file: File) {
+        var pending = 0
+        var channel: FileChannel? = null
+        var buffer: MappedByteBuffer? = null
+    }
+
+    private class DurableWaiter(val sequence: Long, val future: CompletableFuture<Void?>)
+
+    private val lock = ReentrantLock()
+    private val dirty = lock.newCondition()
+    private val segments = TreeMap<Long, Segment>()
+    private val pendingSegmentById = HashMap<Long, Long>()
+    private val replayable = LinkedHashMap<Long, ByteArray>()
+    private val durableWaiters = ArrayDeque<DurableWaiter>()
+    private val nextId: AtomicLong
+    private var active: Segment
+    private var writtenSequence = 0L
+    private var flushedSequence = 0L
+    private var closed = false
+    private val crc = CRC32()
+    private val flusher: Thread
+
+    init {
+        if (!directory.isDirectory && !directory.mkdirs()) {
+            throw IllegalArgumentException("저널 디렉토리를 생성할 수 없습니다: $directory")
+        }
+        var maxId = 0L
+        val files = directory.listFiles()
+            ?.mapNotNull { file -> segmentNumberOf(file)?.let { it to file } }
+            ?.sortedBy { it.first }
+            .orEmpty()
+        files.forEach { (number, file) ->
+            val segment = Segment(number, file)
+            segments[number] = segment
+            scan(file) { type, id, payload ->
+                maxId = max(maxId, id)
+                if (type == ENQUEUE) {
+                    pendingSegmentById[id] = number
+                    replayable[id] = payload
+                    segment.pending++
+                } else if (type == ACK) {
+                    acknowledge(id)
+                }
+            }
+        }
+        nextId = AtomicLong(maxId + 1)
+        active = openSegment((files.lastOrNull()?.first ?: 0L) + 1, segmentSize)
+        deleteCompletedSegments()
+
+        flusher = Thread({ flushLoop() }, "solapi-outbox-flusher").apply { isDaemon = true }
+        flusher.start()
+    }
+
+    /**
+     * 완료 처리되지 않은 레코드 수
+     */
+    val pendingCount: Int
+        get() = lock.withLock { pendingSegmentById.size }
+
+    /**
+     * 새 레코드 ID를 발급합니다.
+     */
+    fun reserveId(): Long = nextId.getAndIncrement()
+
+    /**
+     * 다시 발송할 레코드를 꺼냅니다. 꺼낸 레코드는 [requeue]로 다시 등록하기 전까지 반환되지 않습니다.
+     * 이전 실행에서 완료 처리되지 않은 레코드와, 현재 실행에서 발송에 실패해 [requeue]로 등록된 레코드가 포함됩니다.
+     */
+    fun takeReplayable(): Map<Long, ByteArray> {
+        lock.withLock {
+            val snapshot = LinkedHashMap(replayable)
+            replayable.clear()
+            return snapshot
+        }
+    }
+
+    /**
+     * 발송에 실패한 레코드를 다시 발송할 수 있도록 등록합니다. 이미 완료 처리된 레코드는 무시합니다.
+     */
+    fun requeue(id: Long, payload: ByteArray) {
+        lock.withLock {
+            if (pendingSegmentById.containsKey(id)) {
+                replayable[id] = payload
+            }
+        }
+    }
+
+    /**
+     * 레코드를 기록하고, 디스크에 동기화되면 완료되는 Future를 반환합니다.
+     */
+    fun append(id: Long, payload: ByteArray): CompletableFuture<Void?> {
+        lock.withLock {
+            check(!closed) { "저널이 이미 종료되었습니다." }
+            write(ENQUEUE, id, payload)
+            pendingSegmentById[id] = active.number
+            active.pending++
+            val future = CompletableFuture<Void?>()
+            durableWaiters.addLast(DurableWaiter(writtenSequence, future))
+            return future
+        }
+    }
+
+    /**
+     * 레코드를 완료 처리합니다. 완료 기록은 다음 동기화 때 디스크에 반영됩니다.
+     */
+    fun ack(id: Long) {
+        lock.withLock {
+            if (closed || !pendingSegmentById.containsKey(id)) {
+                return
+            }
+            write(ACK, id, EMPTY)
+            acknowledge(id)
+            deleteCompletedSegments()
+        }
+    }
+
+    /**
+     * 기록된 레코드를 모두 동기화한 뒤 저널을 닫습니다.
+     */
+    override fun close() {
+        lock.withLock {
+            if (closed) {
+                return
+            }
+            closed = true
+            dirty.signalAll()
+        }
+        flusher.join()
+        lock.withLock {
+            active.buffer?.force()
+            active.channel?.close()
+        }
+    }
+
+    private fun acknowledge(id: Long) {
+        val segmentNumber = pendingSegmentById.remove(id) ?: return
+        replayable.remove(id)
+        segments[segmentNumber]?.let { it.pending-- }
+    }
+
+    private fun write(type: Byte, id: Long, payload: ByteArray) {
+        val required = HEADER_SIZE + payload.size
+        if (active.buffer!!.remaining() < required) {
+            roll(required)
+        }
+        val buffer = active.buffer!!
+        buffer.put(type)
+        buffer.putLong(id)
+        buffer.putInt(payload.size)
+        buffer.putInt(checksum(crc, type, id, payload))
+        buffer.put(payload)
+        writtenSequence++
+        dirty.signal()
+    }
+
+    private fun roll(required: Int) {
+        // 이전 세그먼트의 레코드는 세그먼트를 바꾸기 전에 동기화해, 동기화 스레드는 현재 세그먼트만 다루도록 합니다.
+        active.buffer!!.force()
+        active.channel!!.close()
+        active.buffer = null
+        active.channel = null
+        active = openSegment(active.number + 1, max(segmentSize, required))
+    }
+
+    private fun openSegment(number: Long, size: Int): Segment {
+        val segment = Segment(number, File(directory, "%s%016d%s".format(SEGMENT_PREFIX, number, SEGMENT_SUFFIX)))
+        val channel = FileChannel.open(
+            segment.file.toPath(),
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE
+        )
+        segment.channel = channel
+        segment.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size.toLong())
+        segments[number] = segment
+        return segment
+    }
+
+    private fun deleteCompletedSegments() {
+        // 완료 기록은 항상 대상 레코드보다 뒤의 세그먼트에 있으므로, 오래된 세그먼트부터 순서대로만 삭제합니다.
+        while (true) {
+            val oldest = segments.firstEntry()?.value ?: return
+            if (oldest === active || oldest.pending > 0) {
+                return
+            }
+            segments.remove(oldest.number)
+            oldest.file.delete()
+        }
+    }
+
+    private fun scan(file: File, onRecord: (Byte, Long, ByteArray) -> Unit) {
+        FileChannel.open(file.toPath(), StandardOpenOption.READ).use { channel ->
+            val buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+            val checksum = CRC32()
+            while (buffer.remaining() >= HEADER_SIZE) {
+                val type = buffer.get()
+                if (type != ENQUEUE && type != ACK) {
+                    return
+                }
+                val id = buffer.getLong()
+                val length = buffer.getInt()
+                val expected = buffer.getInt()
+                if (length < 0 || length > buffer.remaining()) {
+                    return
+                }
+                val payload = ByteArray(length)
+                buffer.get(payload)
+                if (checksum(checksum, type, id, payload) != expected) {
+                    // 기록 도중 종료되어 일부만 기록된 레코드
+                    return
+                }
+                onRecord(type, id, payload)
+            }
+        }
+    }
+
+    private fun checksum(crc: CRC32, type: Byte, id: Long, payload: ByteArray): Int {
+        crc.reset()
+        crc.update(type.toInt())
+        for (shift in 56 downTo 0 step 8) {
+            crc.update((id ushr shift).toInt())
+        }
+        crc.update(payload)
+        return crc.value.toInt()
+    }
+
+    private fun flushLoop() {
+        while (true) {
+            val (target, buffer) = lock.withLock {
+                while (flushedSequence == writtenSequence && !closed) {
+                    dirty.await()
+                }
+                if (flushedSequence == writtenSequence) {
+                    return
+                }
+                writtenSequence to active.buffer
+            }
+
+            var error: Throwable? = null
+            try {
+                buffer?.force()
+            } catch (e: Throwable) {
+                error = e
+            }
+
+            val completed = mutableListOf<CompletableFuture<Void?>>()
+            lock.withLock {
+                flushedSequence = target
+                while (durableWaiters.isNotEmpty() && durableWaiters.peekFirst().sequence <= target) {
+                    completed.add(durableWaiters.pollFirst().future)
+                }
+            }
+            completed.forEach { if (error == null) it.complete(null) else it.completeExceptionally(error) }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.solapi.sdk.message.lib
+
+import kotlinx.serialization.ExperimentalSerializationApi
+import kotlinx.serialization.SerializationException
+import kotlinx.serialization.SerializationStrategy
+import kotlinx.serialization.descriptors.SerialDescriptor
+import kotlinx.serialization.descriptors.StructureKind
+import kotlinx.serialization.encoding.AbstractEncoder
+import kotlinx.serialization.encoding.CompositeEncoder
+import kotlinx.serialization.modules.SerializersModule
+
+/**
+ * 직렬화 가능한 객체를 쿼리 파라미터로 변환하는 Encoder
+ *
+ * 객체를 JSON으로 만든 뒤 다시 Map으로 바꾸지 않고, 직렬화 descriptor를 따라 필드마다 이름과 값을 [sink]에 바로 전달합니다.
+ * - null인 필드는 전달하지 않습니다.
+ * - enum은 직렬화 이름(SerialName)으로, 그 외의 기본 타입은 toString 값으로 전달합니다.
+ * - 중첩된 객체의 필드는 `parent[child]` 이름으로 전달합니다. (예) name[eq]=값)
+ *
+ * 목록, Map과 다형성(polymorphic) 타입은 Map 형태의 쿼리 파라미터로 표현할 수 없어 지원하지 않습니다.
+ * 목록 필드는 항목이 마지막 값으로 덮어써지므로, 조용히 잃지 않도록 [SerializationException]을 던집니다.
+ */
+@OptIn(ExperimentalSerializationApi::class)
+internal class QueryParameterEncoder(
+    private val sink: (name: String, value: String) -> Unit,
+    override val serializersModule: SerializersModule = JsonSupport.serializersModule,
+    private val prefix: String? = null,
+) : AbstractEncoder() {
+    private var name: String? = null
+
+    override fun encodeElement(descriptor: SerialDescriptor, index: Int): Boolean {
+        name = if (prefix == null) {
+            descriptor.getElementName(index)
+        } else {
+            "$prefix[${descriptor.getElementName(index)}]"
+        }
+        return true
+    }
+
+    override fun beginStructure(descriptor: SerialDescriptor): CompositeEncoder {
+        when (descriptor.kind) {
+            StructureKind.CLASS, StructureKind.OBJECT -> {}
+            StructureKind.LIST -> throw SerializationException("목록(${name ?: descriptor.serialName})은 쿼리 파라미터로 변환할 수 없습니다.")
+            else -> throw SerializationException("${descriptor.serialName}은(는) 쿼리 파라미터로 변환할 수 없습니다.")
+        }
+        // 최상위 객체는 이름 없이 필드를 그대로 전달합니다.
+        if (prefix == null && name == null) {
+            return this
+        }
+        return QueryParameterEncoder(sink, serializersModule, currentName())
+    }
+
+    override fun encodeNull() {}
+
+    override fun encodeValue(value: Any) {
+        sink(currentName(), value.toString())
+    }
+
+    override fun encodeEnum(enumDescriptor: SerialDescriptor, index: Int) {
+        sink(currentName(), enumDescriptor.getElementName(index))
+    }
+
+    private fun currentName(): String {
+        return name ?: throw SerializationException("객체의 필드만 쿼리 파라미터로 변환할 수 있습니다.")
+    }
+}
+
+/**
+ * [value]를 쿼리 파라미터 Map으로 변환합니다. 파라미터는 필드 선언 순서대로 담깁니다.
+ * @throws SerializationException 목록, Map 등 쿼리 파라미터로 변환할 수 없는 필드가 있는 경우
+ */
+internal fun <T> encodeQueryParameters(serializer: SerializationStrategy<T>, value: T): Map<String, String> {
+    val parameters = LinkedHashMap<String, String>()
+    QueryParameterEncoder({ name, parameterValue -> parameters[name] = parameterValue })
+        .encodeSerializableValue(serializer, value)
+    return parameters
+}
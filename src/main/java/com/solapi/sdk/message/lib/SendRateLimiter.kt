@@ -0,0 +1,361 @@
+package com.solapi.sdk.message.lib
+
+import com.solapi.sdk.message.exception.SolapiRateLimitException
+import com.solapi.sdk.message.model.Quota
+import com.solapi.sdk.message.service.DefaultMessageService
+import java.io.Closeable
+import java.time.Duration
+import java.time.LocalDate
+import java.time.ZoneId
+import java.time.ZonedDateTime
+import java.util.ArrayDeque
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.TimeUnit
+import kotlin.math.ceil
+import kotlin.math.max
+import kotlin.math.min
+
+/**
+ * 발송 요청에 적용되는 클라이언트 측 토큰 버킷(token bucket) 발송량 제한기
+ *
+ * 초당 메시지 수, 초당 발송 요청 수, 일일 발송량을 기준으로 발송을 제한하며, 서버에서 거절될 발송 요청을 미리 걸러 불필요한 왕복을 줄입니다.
+ * 일일 발송량은 [updateFromQuota] 또는 [scheduleQuotaRefresh]를 통해 계정의 일일 발송량 한도(Quota)로 설정할 수 있으며,
+ * 일일 사용량은 한국 시간(Asia/Seoul) 기준으로 날짜가 바뀔 때 초기화됩니다.
+ *
+ * 한 번의 발송 요청에 버킷 용량보다 많은 메시지가 포함된 경우에도 발송이 가능하도록, 토큰이 남아 있으면 부족한 만큼을 이후 충전분에서 차감합니다.
+ *
+ * @param messagesPerSecond 초당 발송 메시지 수, 0 이하인 경우 제한하지 않습니다.
+ * @param requestsPerSecond 초당 발송 요청 수, 0 이하인 경우 제한하지 않습니다.
+ * @param mode 발송 한도를 초과했을 때의 동작
+ * @param dailyLimit 일일 발송량, null인 경우 제한하지 않습니다.
+ * @param burstSeconds 순간적으로 허용할 발송량을 초 단위로 지정합니다. 예) 1.0 -> 초당 발송량만큼 한 번에 발송 가능
+ * @see DefaultMessageService.rateLimiter
+ */
+class SendRateLimiter @JvmOverloads constructor(
+    messagesPerSecond: Double = 0.0,
+    requestsPerSecond: Double = 0.0,
+    val mode: Mode = Mode.BLOCK,
+    dailyLimit: Int? = null,
+    burstSeconds: Double = 1.0,
+) : Closeable {
+
+    /**
+     * 발송 한도를 초과했을 때의 동작
+     */
+    enum class Mode {
+        /**
+         * 발송이 가능해질 때까지 호출 스레드를 대기시킵니다.
+         * 비동기 발송은 스레드를 대기시키지 않고 QUEUE와 같이 대기열에서 순서대로 발송합니다.
+         */
+        BLOCK,
+
+        /**
+         * 대기하지 않고 즉시 SolapiRateLimitException을 발생시킵니다.
+         */
+        FAIL_FAST,
+
+        /**
+         * 발송 요청을 대기열에 넣고 발송이 가능해지는 순서대로 발송합니다. 비동기 발송은 호출 스레드를 대기시키지 않습니다.
+         */
+        QUEUE
+    }
+
+    internal companion object {
+        val KOREA_ZONE: ZoneId = ZoneId.of("Asia/Seoul")
+
+        /**
+         * 일일 발송량을 초과한 경우 [tryAcquire]가 반환하는 값
+         */
+        const val DAILY_LIMIT_EXCEEDED = Long.MAX_VALUE
+
+        /**
+         * 일일 발송량 초과로 대기할 때 한도가 갱신되었는지 다시 확인하는 주기
+         */
+        val DAILY_LIMIT_RECHECK_NANOS: Long = TimeUnit.MINUTES.toNanos(1)
+    }
+
+    private class Waiter(val messageCount: Int, val future: CompletableFuture<Void?>)
+
+    private val lock = Any()
+    private val messageBucket = if (messagesPerSecond > 0) TokenBucket(messagesPerSecond, burstSeconds, System.nanoTime()) else null
+    private val requestBucket = if (requestsPerSecond > 0) TokenBucket(requestsPerSecond, burstSeconds, System.nanoTime()) else null
+    private var usedToday = 0
+    private var usageDate: LocalDate? = null
+    private val waiters = ArrayDeque<Waiter>()
+
+    // 대기열을 처리하는 작업이 실행 중이거나 예약되어 있는지 여부, 대기열 처리 작업은 한 번에 하나만 예약합니다.
+    private var drainScheduled = false
+
+    // 맨 앞 요청이 대기해야 해서 지연 예약된 대기열 처리 작업
+    private var delayedDrain: ScheduledFuture<*>? = null
+    private val schedulerDelegate = lazy {
+        Executors.newSingleThreadScheduledExecutor { runnable ->
+            Thread(runnable, "solapi-rate-limiter").apply { isDaemon = true }
+        }
+    }
+    private val scheduler: ScheduledExecutorService by schedulerDelegate
+
+    /**
+     * 일일 발송량, null인 경우 제한하지 않습니다.
+     */
+    @Volatile
+    var dailyLimit: Int? = dailyLimit
+        set(value) {
+            field = value
+            wakeDrain()
+        }
+
+    /**
+     * 오늘 발송 허용된 메시지 수
+     */
+    val dailyUsage: Int
+        get() = synchronized(lock) { if (usageDate == LocalDate.now(KOREA_ZONE)) usedToday else 0 }
+
+    /**
+     * 계정의 일일 발송량 한도(Quota)로 일일 발송량을 갱신합니다.
+     */
+    fun updateFromQuota(quota: Quota) {
+        quota.quota?.let { dailyLimit = it }
+    }
+
+    /**
+     * 주기적으로 계정의 일일 발송량 한도를 조회해 일일 발송량을 갱신합니다.
+     * 첫 조회는 즉시 실행되며, 조회에 실패한 경우 기존 값을 유지합니다.
+     */
+    @JvmOverloads
+    fun scheduleQuotaRefresh(messageService: DefaultMessageService, period: Long = 10, unit: TimeUnit = TimeUnit.MINUTES) {
+        scheduler.scheduleWithFixedDelay({
+            messageService.getQuotaAsync().thenAccept { updateFromQuota(it) }
+        }, 0, period, unit)
+    }
+
+    /**
+     * 발송 허용을 요청합니다. [mode]에 따라 대기하거나 예외를 발생시킵니다.
+     * 대기 중 인터럽트되면 대기열에서 제외하고 InterruptedException을 발생시킵니다.
+     */
+    @Throws(SolapiRateLimitException::class, InterruptedException::class)
+    fun acquire(messageCount: Int) {
+        when (mode) {
+            Mode.QUEUE -> {
+                val future = acquireAsync(messageCount)
+                try {
+                    future.get()
+                } catch (e: InterruptedException) {
+                    // 취소 전에 이미 허용되었다면 사용하지 않은 발송량을 되돌립니다.
+                    if (!future.cancel(false) && !future.isCompletedExceptionally) {
+                        release(messageCount)
+                    }
+                    throw e
+                } catch (e: ExecutionException) {
+                    throw unwrapCompletionException(e)
+                }
+            }
+            Mode.FAIL_FAST -> {
+                val waitNanos = tryAcquireNow(messageCount)
+                if (waitNanos > 0) {
+                    throw rateLimitException(waitNanos)
+                }
+            }
+
+            Mode.BLOCK -> {
+                while (true) {
+                    val waitNanos = tryAcquireNow(messageCount)
+                    if (waitNanos == 0L) {
+                        return
+                    }
+                    TimeUnit.NANOSECONDS.sleep(toSleepNanos(waitNanos))
+                }
+            }
+        }
+    }
+
+    /**
+     * 비동기 발송을 위한 발송 허용 요청 메소드
+     * 어떤 모드에서도 호출 스레드를 대기시키지 않습니다. 비동기 발송은 OkHttp Dispatcher 스레드에서 이어서 호출될 수 있기 때문입니다.
+     * QUEUE, BLOCK 모드에서는 발송이 허용될 때 완료되는 Future를 반환하며, Future를 취소하면 대기열에서 제외됩니다.
+     * FAIL_FAST 모드에서는 발송량을 초과한 경우 즉시 실패한 Future를 반환합니다.
+     */
+    fun acquireAsync(messageCount: Int): CompletableFuture<Void?> {
+        if (mode == Mode.FAIL_FAST) {
+            val waitNanos = tryAcquireNow(messageCount)
+            return if (waitNanos > 0) failedFuture(rateLimitException(waitNanos)) else CompletableFuture.completedFuture(null)
+        }
+        val waiter = Waiter(messageCount, CompletableFuture())
+        val schedule = synchronized(lock) {
+            waiters.addLast(waiter)
+            val idle = !drainScheduled
+            drainScheduled = true
+            idle
+        }
+        if (schedule) {
+            scheduler.execute(Runnable { drainWaiters() })
+        }
+        waiter.future.whenComplete { _, _ ->
+            if (waiter.future.isCancelled) {
+                wakeDrain()
+            }
+        }
+        return waiter.future
+    }
+
+    /**
+     * 대기열에 남아있는 요청을 취소하고 내부 스레드를 종료합니다.
+     */
+    override fun close() {
+        val remaining = synchronized(lock) {
+            val snapshot = waiters.toList()
+            waiters.clear()
+            snapshot
+        }
+        remaining.forEach { it.future.cancel(false) }
+        if (schedulerDelegate.isInitialized()) {
+            scheduler.shutdownNow()
+        }
+    }
+
+    /**
+     * 대기열의 앞에서부터 발송을 허용합니다.
+     * 대기열이 비면 [drainScheduled]를 해제하고, 맨 앞 요청이 대기해야 하면 자신을 한 번만 다시 예약하므로 대기 중인 요청 수와 관계없이 예약된 작업은 하나입니다.
+     */
+    private fun drainWaiters() {
+        while (true) {
+            val waiter = synchronized(lock) {
+                waiters.peekFirst().also { if (it == null) drainScheduled = false }
+            } ?: return
+            if (waiter.future.isDone) {
+                synchronized(lock) { waiters.remove(waiter) }
+                continue
+            }
+            synchronized(lock) {
+                // 한도 변경이나 취소로 깨우는 쪽이 지연 예약을 놓치지 않도록, 허용 시도와 예약을 같은 잠금 안에서 처리합니다.
+                val waitNanos = tryAcquireNow(waiter.messageCount)
+                if (waitNanos > 0) {
+                    delayedDrain = scheduler.schedule(Runnable { drainWaiters() }, toSleepNanos(waitNanos), TimeUnit.NANOSECONDS)
+                    return
+                }
+                waiters.remove(waiter)
+            }
+            if (!waiter.future.complete(null)) {
+                // 허용 직후 취소된 요청의 사용량은 되돌립니다.
+                release(waiter.messageCount)
+            }
+        }
+    }
+
+    /**
+     * 지연 예약된 대기열 처리 작업을 즉시 실행합니다.
+     * 맨 앞 요청이 취소되었거나 일일 발송량이 바뀌어, 예약된 시각보다 먼저 허용할 수 있는 요청이 생겼을 때 호출합니다.
+     */
+    private fun wakeDrain() {
+        val pending = synchronized(lock) {
+            val scheduled = delayedDrain
+            delayedDrain = null
+            scheduled
+        } ?: return
+        if (pending.cancel(false)) {
+            scheduler.execute(Runnable { drainWaiters() })
+        }
+    }
+
+    private fun tryAcquireNow(messageCount: Int): Long {
+        return tryAcquire(messageCount, System.nanoTime(), LocalDate.now(KOREA_ZONE))
+    }
+
+    /**
+     * 발송 허용을 시도합니다.
+     * 허용된 경우 0을, 초당 발송량을 초과한 경우 다시 시도할 때까지 대기해야 하는 시간(ns)을,
+     * 일일 발송량을 초과한 경우 [DAILY_LIMIT_EXCEEDED]를 반환합니다.
+     */
+    internal fun tryAcquire(messageCount: Int, nowNanos: Long, today: LocalDate): Long {
+        synchronized(lock) {
+            if (usageDate != today) {
+                usageDate = today
+                usedToday = 0
+            }
+            val limit = dailyLimit
+            if (limit != null && usedToday + messageCount > limit) {
+                return DAILY_LIMIT_EXCEEDED
+            }
+
+            val waitNanos = max(
+                messageBucket?.waitNanos(messageCount, nowNanos) ?: 0L,
+                requestBucket?.waitNanos(1, nowNanos) ?: 0L
+            )
+            if (waitNanos > 0) {
+                return waitNanos
+            }
+
+            messageBucket?.take(messageCount)
+            requestBucket?.take(1)
+            usedToday += messageCount
+            return 0
+        }
+    }
+
+    private fun release(messageCount: Int) {
+        synchronized(lock) {
+            messageBucket?.take(-messageCount)
+            requestBucket?.take(-1)
+            usedToday = max(0, usedToday - messageCount)
+        }
+    }
+
+    private fun toSleepNanos(waitNanos: Long): Long {
+        if (waitNanos != DAILY_LIMIT_EXCEEDED) {
+            return waitNanos
+        }
+        val now = ZonedDateTime.now(KOREA_ZONE)
+        val untilTomorrow = Duration.between(now, now.toLocalDate().plusDays(1).atStartOfDay(KOREA_ZONE)).toNanos()
+        return min(untilTomorrow, DAILY_LIMIT_RECHECK_NANOS)
+    }
+
+    private fun rateLimitException(waitNanos: Long): SolapiRateLimitException {
+        return if (waitNanos == DAILY_LIMIT_EXCEEDED) {
+            SolapiRateLimitException("일일 발송량(${dailyLimit}건)을 초과했습니다.")
+        } else {
+            SolapiRateLimitException("초당 발송량을 초과했습니다. ${TimeUnit.NANOSECONDS.toMillis(waitNanos)}ms 후 다시 시도해주세요.")
+        }
+    }
+}
+
+/**
+ * 초당 [ratePerSecond]개의 토큰이 충전되는 토큰 버킷, 동기화는 호출하는 쪽에서 처리해야 합니다.
+ */
+internal class TokenBucket(
+    private val ratePerSecond: Double,
+    burstSeconds: Double,
+    nowNanos: Long
+) {
+    private val capacity = max(1.0, ratePerSecond * burstSeconds)
+    private var tokens = capacity
+    private var lastRefillNanos = nowNanos
+
+    /**
+     * [count]개의 토큰을 가져가기 위해 대기해야 하는 시간(ns)을 반환합니다.
+     * 용량보다 많은 토큰을 요청한 경우, 버킷이 가득 찰 때까지만 대기합니다.
+     */
+    fun waitNanos(count: Int, nowNanos: Long): Long {
+        refill(nowNanos)
+        val required = min(count.toDouble(), capacity)
+        if (tokens >= required) {
+            return 0
+        }
+        return max(1L, ceil((required - tokens) / ratePerSecond * 1_000_000_000).toLong())
+    }
+
+    fun take(count: Int) {
+        tokens = min(capacity, tokens - count)
+    }
+
+    private fun refill(nowNanos: Long) {
+        val elapsed = nowNanos - lastRefillNanos
+        if (elapsed > 0) {
+            tokens = min(capacity, tokens + elapsed * ratePerSecond / 1_000_000_000)
+            lastRefillNanos = nowNanos
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.solapi.sdk.message.lib
+
+import com.solapi.sdk.message.dto.response.BulkMessageSentResponse
+import com.solapi.sdk.message.dto.response.MultipleDetailMessageSentResponse
+import com.solapi.sdk.message.exception.SolapiBadRequestException
+import com.solapi.sdk.message.exception.SolapiMessageNotReceivedException
+import com.solapi.sdk.message.model.FailedMessage
+import com.solapi.sdk.message.model.Message
+import com.solapi.sdk.message.model.group.GroupCount
+import com.solapi.sdk.message.model.group.GroupInfo
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.ThreadLocalRandom
+import java.util.concurrent.TimeUnit
+import kotlin.math.max
+import kotlin.math.min
+import kotlin.math.pow
+
+/**
+ * 접수에 실패한 메시지 중 재시도 가능한 상태 코드를 가진 메시지만 다시 발송하기 위한 재시도 정책
+ *
+ * 발송 요청 전체를 다시 보내지 않고 실패한 메시지만 재발송하므로, 이미 접수된 메시지가 중복 발송되지 않습니다.
+ * 재시도 간격은 지수적으로 늘어나며, 여러 클라이언트가 동시에 재시도하지 않도록 [jitter] 비율만큼 무작위로 흔들립니다.
+ *
+ * @param retryableStatusCodes 재시도할 FailedMessage의 상태 코드 목록, 지정하지 않으면 [DEFAULT_RETRYABLE_STATUS_CODES]를 사용합니다.
+ * @param maxAttempts 최초 발송을 포함한 최대 발송 횟수
+ * @param initialBackoffMillis 첫 재시도 전 대기 시간(ms)
+ * @param maxBackoffMillis 재시도 전 최대 대기 시간(ms)
+ * @param multiplier 재시도마다 대기 시간에 곱하는 값
+ * @param jitter 대기 시간을 무작위로 흔드는 비율, 예) 0.2 -> 대기 시간의 ±20%
+ * @see com.solapi.sdk.message.service.DefaultMessageService.sendWithRetry
+ */
+class SendRetryPolicy @JvmOverloads constructor(
+    val retryableStatusCodes: Set<String> = DEFAULT_RETRYABLE_STATUS_CODES,
+    val maxAttempts: Int = 3,
+    val initialBackoffMillis: Long = 500,
+    val maxBackoffMillis: Long = 10_000,
+    val multiplier: Double = 2.0,
+    val jitter: Double = 0.2,
+) {
+    companion object {
+        /**
+         * 기본으로 재시도하는 상태 코드 목록
+         * 이통사 응답 시간 초과(3040), 단말기 통화 중(3041), 음영 지역(3043)처럼 다시 보내면 성공할 수 있는 일시적인 실패 코드입니다.
+         * 수신번호 형식 오류 등 1000번대의 접수 실패 코드는 다시 보내도 실패하므로 포함하지 않습니다.
+         */
+        @JvmField
+        val DEFAULT_RETRYABLE_STATUS_CODES: Set<String> = setOf("3040", "3041", "3043")
+
+        /**
+         * 재시도 대기에 사용하는 스케줄러, 모든 재시도 정책이 공유합니다.
+         */
+        internal val scheduler: ScheduledExecutorService by lazy {
+            Executors.newSingleThreadScheduledExecutor { runnable ->
+                Thread(runnable, "solapi-send-retry").apply { isDaemon = true }
+            }
+        }
+    }
+
+    init {
+        if (maxAttempts < 1) {
+            throw SolapiBadRequestException("maxAttempts는 1 이상이어야 합니다.")
+        }
+        if (initialBackoffMillis < 0 || maxBackoffMillis < initialBackoffMillis) {
+            throw SolapiBadRequestException("재시도 대기 시간은 0 이상이며, maxBackoffMillis는 initialBackoffMillis 이상이어야 합니다.")
+        }
+        if (multiplier < 1 || jitter < 0 || jitter > 1) {
+            throw SolapiBadRequestException("multiplier는 1 이상, jitter는 0과 1 사이의 값이어야 합니다.")
+        }
+    }
+
+    /**
+     * 해당 상태 코드의 메시지를 재시도할 수 있는지 여부
+     */
+    fun isRetryable(statusCode: String?): Boolean {
+        return statusCode != null && statusCode in retryableStatusCodes
+    }
+
+    /**
+     * [attempt]번째 발송이 실패한 뒤 다음 발송까지 대기할 시간(ms)을 반환합니다.
+     *
+     * @param random 0 이상 1 미만의 난수
+     */
+    internal fun backoffMillis(attempt: Int, random: Double = ThreadLocalRandom.current().nextDouble()): Long {
+        val base = min(maxBackoffMillis.toDouble(), initialBackoffMillis * multiplier.pow(attempt - 1))
+        val jittered = base * (1 - jitter + 2 * jitter * random)
+        return max(0L, jittered.toLong())
+    }
+}
+
+/**
+ * [SendRetryPolicy]에 따라 실패한 메시지만 다시 발송하고, 모든 발송 결과를 하나의 [BulkMessageSentResponse]로 합칩니다.
+ *
+ * 메시지의 customFields에 요청 내 순번을 연결용 키로 추가해 FailedMessage와 원본 메시지를 연결하며,
+ * 결과에 포함되는 메시지 목록과 실패 목록에서는 연결용 키가 제거됩니다.
+ * 연결용 키가 없는 FailedMessage는 원본 메시지를 알 수 없으므로 재시도하지 않고 실패 목록에 포함합니다.
+ * 발송 요청 자체가 실패한 경우(네트워크 오류, 서버 오류 등)에는 접수 여부를 알 수 없으므로 재시도하지 않습니다.
+ * 최초 발송이 실패한 경우 해당 예외로 완료되고, 재시도 발송이 실패한 경우 그때까지의 결과로 완료되며
+ * 재시도하려던 메시지는 마지막으로 확인된 실패 정보로 실패 목록에 포함됩니다.
+ * 재시도한 메시지는 이전 발송의 그룹에서 이미 접수 실패로 집계되었으므로, 합산 건수에서는 한 번만 집계됩니다.
+ *
+ * 반환된 Future를 취소하면 진행 중인 발송 요청 또는 예약된 재시도가 취소됩니다.
+ */
+internal class RetryingSender(
+    messages: List<Message>,
+    private val policy: SendRetryPolicy,
+    private val scheduler: ScheduledExecutorService = SendRetryPolicy.scheduler,
+    private val sendBatch: (List<Message>) -> CompletableFuture<MultipleDetailMessageSentResponse>,
+) {
+    private val taggedMessages = messages.mapIndexed { index, message -> MessageCorrelation.tag(message, index.toString()) }
+    private val result = CancellableFuture<BulkMessageSentResponse>()
+    private val failedByIndex = sortedMapOf<Int, FailedMessage>()
+    private val uncorrelatedFailures = mutableListOf<FailedMessage>()
+    private val messageList = mutableListOf<MultipleDetailMessageSentResponse.MessageList>()
+    private val groupInfoList = mutableListOf<GroupInfo>()
+    private var count = GroupCount()
+
+    @Volatile
+    private var current: Future<*>? = null
+
+    fun start(): CompletableFuture<BulkMessageSentResponse> {
+        result.setOnCancel { current?.cancel(true) }
+        send(1, taggedMessages.indices.toList())
+        return result
+    }
+
+    private fun send(attempt: Int, indices: List<Int>) {
+        if (result.isDone) {
+            return
+        }
+        val future = try {
+            sendBatch(indices.map { taggedMessages[it] })
+        } catch (e: Throwable) {
+            failedFuture<MultipleDetailMessageSentResponse>(e)
+        }
+        current = future
+        if (result.isCancelled) {
+            future.cancel(true)
+            return
+        }
+        future.whenComplete { response, error ->
+            try {
+                onSent(attempt, indices, response, error)
+            } catch (e: Throwable) {
+                result.completeExceptionally(e)
+            }
+        }
+    }
+
+    private fun onSent(
+        attempt: Int,
+        indices: List<Int>,
+        response: MultipleDetailMessageSentResponse?,
+        error: Throwable?
+    ) {
+        val failedMessages = if (error != null) {
+            val cause = unwrapCompletionException(error)
+            if (cause !is SolapiMessageNotReceivedException) {
+                if (attempt == 1) {
+                    result.completeExceptionally(cause)
+                } else {
+                    // 재시도하려던 메시지는 이전 발송의 실패 정보가 failedByIndex에 남아 있으므로, 그대로 실패로 집계합니다.
+                    complete()
+                }
+                return
+            }
+            cause.failedMessageList
+        } else {
+            response!!.messageList.mapTo(messageList) { it.copy(customFields = MessageCorrelation.strip(it.customFields)) }
+            response.groupInfo?.let {
+                groupInfoList.add(it)
+                if (attempt > 1) {
+                    count = count.withoutRetried(indices.size)
+                }
+                count = count.merge(it.count)
+            }
+            response.failedMessageList
+        }
+
+        indices.forEach { failedByIndex.remove(it) }
+        val retryIndices = mutableListOf<Int>()
+        failedMessages.forEach { failedMessage ->
+            val index = MessageCorrelation.correlationIdOf(failedMessage.customFields)?.toIntOrNull()
+            val stripped = failedMessage.copy(customFields = MessageCorrelation.strip(failedMessage.customFields))
+            if (index == null || index !in taggedMessages.indices) {
+                uncorrelatedFailures.add(stripped)
+            } else {
+                failedByIndex[index] = stripped
+                if (policy.isRetryable(failedMessage.statusCode)) {
+                    retryIndices.add(index)
+                }
+            }
+        }
+
+        if (retryIndices.isEmpty() || attempt >= policy.maxAttempts) {
+            complete()
+            return
+        }
+        current = scheduler.schedule(
+            Runnable { send(attempt + 1, retryIndices) },
+            policy.backoffMillis(attempt),
+            TimeUnit.MILLISECONDS
+        )
+        if (result.isCancelled) {
+            current?.cancel(false)
+        }
+    }
+
+    private fun complete() {
+        val failedMessageList = failedByIndex.values + uncorrelatedFailures
+        if (failedMessageList.isNotEmpty() && failedMessageList.size >= taggedMessages.size) {
+            val messageNotReceivedException = SolapiMessageNotReceivedException("메시지 발송 접수에 실패했습니다.")
+            messageNotReceivedException.failedMessageList = failedMessageList
+            result.completeExceptionally(messageNotReceivedException)
+            return
+        }
+        result.complete(
+            BulkMessageSentResponse(
+                failedMessageList = failedMessageList,
+                messageList = messageList.toList(),
+                groupInfoList = groupInfoList.toList(),
+                count = count
+            )
+        )
+    }
+}
+
+/**
+ * 다시 발송한 [retried]건을 이전 발송의 접수 실패 건수에서 제외합니다.
+ * 재시도 그룹의 건수에 같은 메시지가 다시 집계되므로, 메시지마다 한 번만 집계되도록 합니다.
+ */
+private fun GroupCount.withoutRetried(retried: Int): GroupCount {
+    return copy(
+        total = total?.minus(retried),
+        registeredFailed = registeredFailed?.minus(retried)
+    )
+}
@@ -0,0 +1,77 @@
+package com.solapi.sdk.message.lib
+
+import kotlinx.serialization.DeserializationStrategy
+import kotlinx.serialization.ExperimentalSerializationApi
+import kotlinx.serialization.KSerializer
+import kotlinx.serialization.json.Json
+import kotlinx.serialization.json.decodeFromStream
+import kotlinx.serialization.json.encodeToStream
+import kotlinx.serialization.serializer
+import okhttp3.MediaType
+import okhttp3.RequestBody
+import okhttp3.ResponseBody
+import okio.BufferedSink
+import retrofit2.Converter
+import retrofit2.Retrofit
+import java.lang.reflect.Type
+
+/**
+ * 요청과 응답 본문을 문자열로 만들지 않고 스트림에서 바로 직렬화, 역직렬화하는 Retrofit 컨버터 팩토리
+ *
+ * kotlinx 컨버터는 요청 전체를 하나의 문자열과 바이트 배열로 만든 뒤 전송하고, 응답도 전체를 문자열로 읽은 뒤 역직렬화하므로,
+ * 10,000건의 메시지를 담은 발송 요청이나 큰 조회 응답은 요청마다 수 MB의 임시 메모리를 사용합니다.
+ * 이 팩토리가 만드는 요청 본문은 전송 시점에 okio [BufferedSink]로 바로 직렬화되며, 응답은 수신 스트림에서 바로 역직렬화됩니다.
+ *
+ * 요청 본문의 전체 길이를 미리 알 수 없으므로 요청은 chunked 방식으로 전송됩니다.
+ */
+internal class StreamingJsonConverterFactory(
+    private val json: Json,
+    private val contentType: MediaType,
+) : Converter.Factory() {
+
+    override fun requestBodyConverter(
+        type: Type,
+        parameterAnnotations: Array<out Annotation>,
+        methodAnnotations: Array<out Annotation>,
+        retrofit: Retrofit
+    ): Converter<*, RequestBody> {
+        @Suppress("UNCHECKED_CAST")
+        val serializer = json.serializersModule.serializer(type) as KSerializer<Any?>
+        return Converter<Any?, RequestBody> { value -> StreamingJsonRequestBody(json, serializer, value, contentType) }
+    }
+
+    override fun responseBodyConverter(
+        type: Type,
+        annotations: Array<out Annotation>,
+        retrofit: Retrofit
+    ): Converter<ResponseBody, *> {
+        val deserializer = json.serializersModule.serializer(type)
+        return Converter<ResponseBody, Any?> { body -> decodeFromResponseBody(json, deserializer, body) }
+    }
+}
+
+/**
+ * 응답 본문을 문자열로 읽지 않고 수신 스트림에서 바로 역직렬화한 뒤 응답 본문을 닫습니다.
+ */
+@OptIn(ExperimentalSerializationApi::class)
+internal fun <T> decodeFromResponseBody(json: Json, deserializer: DeserializationStrategy<T>, body: ResponseBody): T {
+    return body.use { json.decodeFromStream(deserializer, it.byteStream()) }
+}
+
+/**
+ * 전송 시점에 [value]를 [sink][BufferedSink]로 직접 직렬화하는 요청 본문
+ * OkHttp가 요청을 재시도하는 경우 다시 직렬화됩니다.
+ */
+internal class StreamingJsonRequestBody<T>(
+    private val json: Json,
+    private val serializer: KSerializer<T>,
+    private val value: T,
+    private val contentType: MediaType,
+) : RequestBody() {
+    override fun contentType(): MediaType = contentType
+
+    @OptIn(ExperimentalSerializationApi::class)
+    override fun writeTo(sink: BufferedSink) {
+        json.encodeToStream(serializer, value, sink.outputStream())
+    }
+}
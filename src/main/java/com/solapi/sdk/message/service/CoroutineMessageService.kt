@@ -0,0 +1,275 @@
+package com.solapi.sdk.message.service
+
+import com.solapi.sdk.message.dto.request.MessageListRequest
+import com.solapi.sdk.message.dto.request.SendRequestConfig
+import com.solapi.sdk.message.dto.request.kakao.KakaoAlimtalkSendableTemplateListRequest
+import com.solapi.sdk.message.dto.request.kakao.KakaoAlimtalkTemplateListRequest
+import com.solapi.sdk.message.dto.request.kakao.KakaoAlimtalkTemplateMutationRequest
+import com.solapi.sdk.message.dto.request.kakao.KakaoAlimtalkTemplateUpdateNameRequest
+import com.solapi.sdk.message.dto.request.kakao.KakaoBrandMessageTemplateListRequest
+import com.solapi.sdk.message.dto.response.FileUploadResult
+import com.solapi.sdk.message.dto.response.MessageListResponse
+import com.solapi.sdk.message.dto.response.MultipleDetailMessageSentResponse
+import com.solapi.sdk.message.dto.response.kakao.KakaoAlimtalkTemplateListResponse
+import com.solapi.sdk.message.dto.response.kakao.KakaoAlimtalkTemplateResponse
+import com.solapi.sdk.message.dto.response.kakao.KakaoBrandMessageTemplateListResponse
+import com.solapi.sdk.message.exception.SolapiEmptyResponseException
+import com.solapi.sdk.message.exception.SolapiMessageNotReceivedException
+import com.solapi.sdk.message.exception.SolapiUnknownException
+import com.solapi.sdk.message.lib.handleApiResponse
+import com.solapi.sdk.message.lib.uploadSourceOf
+import com.solapi.sdk.message.model.Balance
+import com.solapi.sdk.message.model.Message
+import com.solapi.sdk.message.model.Quota
+import com.solapi.sdk.message.model.StorageType
+import com.solapi.sdk.message.model.kakao.KakaoAlimtalkTemplateCategory
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.future.await
+import kotlinx.coroutines.withContext
+import retrofit2.awaitResponse
+import java.io.File
+import java.nio.file.Path
+
+/**
+ * Kotlin Coroutine 환경을 위한 suspend 함수 기반 메시지 서비스
+ *
+ * 모든 요청은 OkHttp Dispatcher를 통해 비동기로 실행되므로, 응답을 기다리는 동안 코루틴이 실행 중인 스레드를 점유하지 않습니다.
+ * 코루틴이 취소되면 진행 중인 HTTP 요청(Call)도 함께 취소됩니다.
+ *
+ * @see com.solapi.sdk.SolapiClient.createCoroutineInstance
+ */
+class CoroutineMessageService(private val messageService: DefaultMessageService) : MessageService {
+    private val messageHttpService: MessageHttpService
+        get() = messageService.messageHttpService
+
+    /**
+     * 단일 메시지 발송 메소드
+     * @see DefaultMessageService.send
+     */
+    @Throws(
+        SolapiMessageNotReceivedException::class, SolapiEmptyResponseException::class, SolapiUnknownException::class
+    )
+    suspend fun send(
+        message: Message,
+        sendRequestConfig: SendRequestConfig? = null,
+    ): MultipleDetailMessageSentResponse {
+        return send(listOf(message), sendRequestConfig)
+    }
+
+    /**
+     * 단일, 다중 메시지 발송 메소드
+     * DefaultMessageService의 비동기 발송 경로를 그대로 사용하므로, 발송 관련 설정과 예외 규칙이 동일하게 적용됩니다.
+     * @see DefaultMessageService.sendAsync
+     */
+    @Throws(
+        SolapiMessageNotReceivedException::class, SolapiEmptyResponseException::class, SolapiUnknownException::class
+    )
+    suspend fun send(
+        messages: List<Message>,
+        sendRequestConfig: SendRequestConfig? = null,
+    ): MultipleDetailMessageSentResponse {
+        return messageService.sendAsync(messages, sendRequestConfig).await()
+    }
+
+    /**
+     * 접수된 메시지를 한 건씩 전달받는 메시지 발송 메소드
+     * onMessage는 응답을 읽는 OkHttp 스레드에서 호출됩니다.
+     * @see DefaultMessageService.sendAsync
+     */
+    @Throws(
+        SolapiMessageNotReceivedException::class, SolapiEmptyResponseException::class, SolapiUnknownException::class
+    )
+    suspend fun send(
+        messages: List<Message>,
+        sendRequestConfig: SendRequestConfig?,
+        onMessage: (MultipleDetailMessageSentResponse.MessageList) -> Unit,
+    ): MultipleDetailMessageSentResponse {
+        return messageService.sendAsync(messages, sendRequestConfig) { onMessage(it) }.await()
+    }
+
+    /**
+     * 메시지 조회 메소드
+     */
+    suspend fun getMessageList(parameter: MessageListRequest? = null): MessageListResponse? {
+        val payload = messageService.createMessageListQuery(parameter)
+        val response = messageHttpService.getMessageList(payload).awaitResponse()
+        return messageService.handleMessageListResponse(response)
+    }
+
+    /**
+     * 조회된 메시지를 한 건씩 전달받는 메시지 조회 메소드
+     * onMessage는 응답을 읽는 OkHttp 스레드에서 호출됩니다.
+     * @see DefaultMessageService.getMessageListAsync
+     */
+    suspend fun getMessageList(
+        parameter: MessageListRequest?,
+        onMessage: (String, Message) -> Unit
+    ): MessageListResponse? {
+        return messageService.getMessageListAsync(parameter) { messageId, message -> onMessage(messageId, message) }.await()
+    }
+
+    /**
+     * 여러 메시지 ID의 메시지를 한 번에 조회하는 메소드
+     * @see DefaultMessageService.getMessagesByIds
+     */
+    suspend fun getMessagesByIds(
+        messageIds: Collection<String>,
+        maxConcurrency: Int = DefaultMessageService.DEFAULT_SEND_CONCURRENCY
+    ): Map<String, Message> {
+        return messageService.getMessagesByIdsAsync(messageIds, maxConcurrency).await()
+    }
+
+    /**
+     * 파일 업로드 메소드
+     * 파일은 전송하면서 OkHttp의 Dispatcher 스레드에서 조금씩 읽으며, 이미지 전처리와 업로드 캐시를 위한 해시 계산은
+     * [DefaultMessageService.uploadExecutor]에서 수행됩니다.
+     */
+    suspend fun uploadFile(file: File, fileType: StorageType = StorageType.MMS, link: String? = null): String? {
+        return uploadFile(file.toPath(), fileType, link)
+    }
+
+    /**
+     * 파일 업로드 메소드
+     * @see uploadFile
+     */
+    suspend fun uploadFile(path: Path, fileType: StorageType = StorageType.MMS, link: String? = null): String? {
+        val upload = withContext(Dispatchers.IO) {
+            messageService.uploadAsync(uploadSourceOf(path), fileType, link)
+        }
+        return upload.await()
+    }
+
+    /**
+     * 여러 파일 업로드 메소드
+     * 결과는 입력 순서대로 반환되며, 일부 파일의 업로드가 실패하더라도 나머지 파일의 업로드는 계속 진행됩니다.
+     */
+    suspend fun uploadFiles(
+        files: List<File>,
+        fileType: StorageType = StorageType.MMS,
+        maxConcurrency: Int = DefaultMessageService.DEFAULT_SEND_CONCURRENCY
+    ): List<FileUploadResult> {
+        val upload = withContext(Dispatchers.IO) {
+            messageService.uploadFilesAsync(files, fileType, maxConcurrency)
+        }
+        return upload.await()
+    }
+
+    /**
+     * 잔액 조회 메소드
+     */
+    suspend fun getBalance(): Balance {
+        val response = messageHttpService.getBalance().awaitResponse()
+        return handleApiResponse(response, "잔액 조회에 실패했습니다.")
+    }
+
+    /**
+     * 일일 발송량 한도 조회 메소드
+     */
+    suspend fun getQuota(): Quota {
+        val response = messageHttpService.getQuota().awaitResponse()
+        return handleApiResponse(response, "일일 발송량 조회에 실패했습니다.")
+    }
+
+    /**
+     * 카카오 알림톡 템플릿 카테고리 조회 메소드
+     */
+    suspend fun getKakaoAlimtalkTemplateCategories(): List<KakaoAlimtalkTemplateCategory> {
+        val response = messageHttpService.getKakaoAlimtalkTemplateCategories().awaitResponse()
+        return handleApiResponse(response, "카카오 알림톡 템플릿 카테고리 조회에 실패했습니다.")
+    }
+
+    /**
+     * 카카오 알림톡 템플릿 생성 메소드
+     */
+    suspend fun createKakaoAlimtalkTemplate(parameter: KakaoAlimtalkTemplateMutationRequest): KakaoAlimtalkTemplateResponse {
+        val response = messageHttpService.createKakaoAlimtalkTemplate(parameter).awaitResponse()
+        return handleApiResponse(response, "카카오 알림톡 템플릿 생성에 실패했습니다, 에러가 반복되는 경우 SOLAPI 측 관리자에게 문의해주세요.")
+    }
+
+    /**
+     * 카카오 알림톡 템플릿 목록 조회 메소드
+     */
+    suspend fun getKakaoAlimtalkTemplates(parameter: KakaoAlimtalkTemplateListRequest? = null): KakaoAlimtalkTemplateListResponse {
+        val queryParams = parameter?.generateQueryParams() ?: emptyMap()
+        val response = messageHttpService.getKakaoAlimtalkTemplates(queryParams).awaitResponse()
+        return handleApiResponse(response, "카카오 알림톡 템플릿 목록 조회에 실패했습니다.")
+    }
+
+    /**
+     * 카카오 알림톡 템플릿 조회 메소드
+     * @see DefaultMessageService.getKakaoAlimtalkTemplate
+     */
+    suspend fun getKakaoAlimtalkTemplate(templateId: String): KakaoAlimtalkTemplateResponse {
+        val response = messageHttpService.getKakaoAlimtalkTemplate(templateId).awaitResponse()
+        return handleApiResponse(response, "카카오 알림톡 템플릿 조회에 실패했습니다.")
+    }
+
+    /**
+     * 카카오 알림톡 템플릿 휴면 해지요청 메소드
+     */
+    suspend fun requestKakaoAlimtalkTemplateReactivation(templateId: String): KakaoAlimtalkTemplateResponse {
+        val response = messageHttpService.requestKakaoAlimtalkTemplateReactivation(templateId).awaitResponse()
+        return handleApiResponse(response, "카카오 알림톡 템플릿 휴면 해지요청에 실패했습니다.")
+    }
+
+    /**
+     * 발송 가능한 카카오 알림톡 템플릿 목록 조회 메소드
+     */
+    suspend fun getSendableKakaoAlimtalkTemplates(parameter: KakaoAlimtalkSendableTemplateListRequest? = null): List<KakaoAlimtalkTemplateResponse> {
+        val queryParams = parameter?.generateToQueryParams() ?: emptyMap()
+        val response = messageHttpService.getSendableKakaoAlimtalkTemplates(queryParams).awaitResponse()
+        return handleApiResponse(response, "발송 가능한 카카오 알림톡 템플릿 목록 조회에 실패했습니다.")
+    }
+
+    /**
+     * 카카오 알림톡 템플릿 수정 메소드
+     */
+    suspend fun updateKakaoAlimtalkTemplate(templateId: String, parameter: KakaoAlimtalkTemplateMutationRequest): KakaoAlimtalkTemplateResponse {
+        val response = messageHttpService.updateKakaoAlimtalkTemplate(templateId, parameter).awaitResponse()
+        return handleApiResponse(response, "카카오 알림톡 템플릿 수정에 실패했습니다.")
+    }
+
+    /**
+     * 카카오 알림톡 템플릿 이름 수정 메소드
+     */
+    suspend fun updateKakaoAlimtalkTemplateName(templateId: String, name: String): KakaoAlimtalkTemplateResponse {
+        val response = messageHttpService.updateKakaoAlimtalkTemplateName(
+            templateId,
+            KakaoAlimtalkTemplateUpdateNameRequest(name)
+        ).awaitResponse()
+        return handleApiResponse(response, "카카오 알림톡 템플릿의 이름 수정에 실패했습니다.")
+    }
+
+    /**
+     * 카카오 알림톡 템플릿 검수 요청 메소드
+     */
+    suspend fun requestKakaoAlimtalkTemplateInspection(templateId: String): KakaoAlimtalkTemplateResponse {
+        val response = messageHttpService.requestKakaoAlimtalkTemplateInspection(templateId).awaitResponse()
+        return handleApiResponse(response, "카카오 알림톡 템플릿 검수 요청에 실패했습니다.")
+    }
+
+    /**
+     * 카카오 알림톡 템플릿 검수 취소 메소드
+     */
+    suspend fun cancelKakaoAlimtalkTemplateInspection(templateId: String): KakaoAlimtalkTemplateResponse {
+        val response = messageHttpService.cancelKakaoAlimtalkTemplateInspection(templateId).awaitResponse()
+        return handleApiResponse(response, "카카오 알림톡 템플릿 검수 취소에 실패했습니다.")
+    }
+
+    /**
+     * 카카오 알림톡 템플릿 삭제 메소드
+     */
+    suspend fun removeKakaoAlimtalkTemplate(templateId: String): KakaoAlimtalkTemplateResponse {
+        val response = messageHttpService.removeKakaoAlimtalkTemplate(templateId).awaitResponse()
+        return handleApiResponse(response, "카카오 알림톡 템플릿 삭제에 실패했습니다.")
+    }
+
+    /**
+     * 카카오 브랜드 메시지 템플릿 조회 메소드
+     */
+    suspend fun getKakaoBrandMessageTemplates(parameter: KakaoBrandMessageTemplateListRequest? = null): KakaoBrandMessageTemplateListResponse {
+        val queryParams = parameter?.generateQueryParams() ?: emptyMap()
+        val response = messageHttpService.getKakaoBrandMessageTemplates(queryParams).awaitResponse()
+        return handleApiResponse(response, "카카오 브랜드 메시지 템플릿 조회에 실패했습니다.")
+    }
+}
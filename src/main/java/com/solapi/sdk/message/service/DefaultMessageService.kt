@@ -1,15 +1,35 @@
 package com.solapi.sdk.message.service
 
 import com.solapi.sdk.message.exception.*
+import com.solapi.sdk.message.lib.AdaptiveConcurrencyLimiter
 import com.solapi.sdk.message.lib.Authenticator
+import com.solapi.sdk.message.lib.BulkMessageSentResponseAccumulator
+import com.solapi.sdk.message.lib.ChunkedSendDispatcher
+import com.solapi.sdk.message.lib.FileUploadCache
+import com.solapi.sdk.message.lib.FileUploadRequestBody
 import com.solapi.sdk.message.lib.JsonSupport
-import com.solapi.sdk.message.lib.MapHelper
-import com.solapi.sdk.message.lib.addMessageListParameterToCriteria
+import com.solapi.sdk.message.lib.ImagePreprocessor
+import com.solapi.sdk.message.lib.MessageListQuery
+import com.solapi.sdk.message.lib.ParallelFileUploader
+import com.solapi.sdk.message.lib.RetryingSender
+import com.solapi.sdk.message.lib.SendRateLimiter
+import com.solapi.sdk.message.lib.SendRetryPolicy
+import com.solapi.sdk.message.lib.StreamingJsonConverterFactory
+import com.solapi.sdk.message.lib.UploadSource
+import com.solapi.sdk.message.lib.UploadSourceException
+import com.solapi.sdk.message.lib.composeCancellable
+import com.solapi.sdk.message.lib.enqueueAsFuture
+import com.solapi.sdk.message.lib.failedFuture
+import com.solapi.sdk.message.lib.getOrThrow
 import com.solapi.sdk.message.lib.handleErrorResponse
-import com.solapi.sdk.message.lib.processSendRequest
+import com.solapi.sdk.message.lib.handleFileUploadResponse
+import com.solapi.sdk.message.lib.handleSendResponse
+import com.solapi.sdk.message.lib.handleStreamingMessageListResponse
+import com.solapi.sdk.message.lib.handleStreamingSendResponse
+import com.solapi.sdk.message.lib.mapUploadFailure
+import com.solapi.sdk.message.lib.toFileUploadException
+import com.solapi.sdk.message.lib.uploadSourceOf
 import com.solapi.sdk.message.model.*
-import com.solapi.sdk.message.dto.request.FileUploadRequest
-import com.solapi.sdk.message.dto.request.MessageListBaseRequest
 import com.solapi.sdk.message.dto.request.MessageListRequest
 import com.solapi.sdk.message.dto.request.MultipleDetailMessageSendingRequest
 import com.solapi.sdk.message.dto.request.SendRequestConfig
@@ -18,7 +38,8 @@ import com.solapi.sdk.message.dto.request.kakao.KakaoAlimtalkTemplateMutationReq
 import com.solapi.sdk.message.dto.request.kakao.KakaoAlimtalkTemplateListRequest
 import com.solapi.sdk.message.dto.request.kakao.KakaoAlimtalkTemplateUpdateNameRequest
 import com.solapi.sdk.message.dto.request.kakao.KakaoBrandMessageTemplateListRequest
-import com.solapi.sdk.message.dto.response.ErrorResponse
+import com.solapi.sdk.message.dto.response.BulkMessageSentResponse
+import com.solapi.sdk.message.dto.response.FileUploadResult
 import com.solapi.sdk.message.dto.response.MessageListResponse
 import com.solapi.sdk.message.dto.response.MultipleDetailMessageSentResponse
 import com.solapi.sdk.message.dto.response.kakao.KakaoAlimtalkTemplateListResponse
@@ -29,29 +50,106 @@ import com.solapi.sdk.message.model.kakao.KakaoAlimtalkTemplateCategory
 import okhttp3.MediaType.Companion.toMediaType
 import okhttp3.OkHttpClient
 import okhttp3.Request
-import org.apache.commons.codec.binary.Base64
+import okhttp3.RequestBody
+import retrofit2.Call
+import retrofit2.Response
 import retrofit2.Retrofit
-import retrofit2.converter.kotlinx.serialization.asConverterFactory
 import java.io.File
-import java.io.FileInputStream
+import java.io.IOException
+import java.io.InputStream
+import java.nio.ByteBuffer
+import java.nio.file.Path
+import java.util.concurrent.CancellationException
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.Executor
+import java.util.concurrent.ForkJoinPool
+import java.util.function.BiConsumer
+import java.util.function.Consumer
+import java.util.stream.Stream
+
+class DefaultMessageService internal constructor(
+    apiKey: String,
+    apiSecretKey: String,
+    domain: String,
+    httpClient: OkHttpClient?,
+) : MessageService {
+    constructor(apiKey: String, apiSecretKey: String, domain: String) : this(apiKey, apiSecretKey, domain, null)
+
+    companion object {
+        /**
+         * 한 번의 발송 요청에 담을 수 있는 최대 메시지 수
+         */
+        const val MAX_MESSAGES_PER_REQUEST = 10000
+
+        /**
+         * sendAll 메소드의 기본 동시 발송 요청 수
+         * OkHttp의 호스트당 기본 동시 요청 수(5)를 넘지 않도록 설정되어 있습니다.
+         */
+        const val DEFAULT_SEND_CONCURRENCY = 4
+
+        /**
+         * 기본 연결, 읽기, 쓰기 제한 시간(초)
+         */
+        internal const val DEFAULT_TIMEOUT_SECONDS = 50L
+    }
+
+    internal var messageHttpService: MessageHttpService
+
+    /**
+     * 발송 요청에 적용할 클라이언트 측 발송량 제한기
+     * 설정된 경우 send, sendAsync 및 이를 사용하는 모든 발송 메소드가 발송 전에 발송 허용을 요청합니다.
+     */
+    @Volatile
+    var rateLimiter: SendRateLimiter? = null
 
-class DefaultMessageService(apiKey: String, apiSecretKey: String, domain: String) : MessageService {
-    private var messageHttpService: MessageHttpService
+    /**
+     * 발송 요청의 동시 실행 수를 응답 상태에 따라 조절하는 제한기
+     * 설정된 경우 동시에 실행되는 발송 요청 수가 제한되며, 초과한 요청은 대기열에서 순서대로 실행됩니다.
+     */
+    @Volatile
+    var concurrencyLimiter: AdaptiveConcurrencyLimiter? = null
+
+    /**
+     * 같은 내용의 파일을 다시 업로드하지 않도록 업로드된 파일 ID를 보관하는 캐시
+     * 설정된 경우 uploadFile, uploadFileAsync는 내용, 저장소 유형, link가 같은 파일을 업로드하지 않고 보관된 파일 ID를 반환합니다.
+     */
+    @Volatile
+    var fileUploadCache: FileUploadCache? = null
+
+    private val uploadCacheScope = FileUploadCache.scopeOf(apiKey)
+
+    /**
+     * 업로드 전에 이미지를 저장소 유형별 제한(MMS: JPEG, 200KB 이하 등)에 맞게 변환하는 전처리기
+     * 설정된 경우 uploadFile, uploadFileAsync, uploadFiles는 변환된 이미지를 업로드합니다.
+     */
+    @Volatile
+    var imagePreprocessor: ImagePreprocessor? = null
+
+    /**
+     * 비동기 업로드에서 이미지 전처리와 업로드 캐시 키 계산을 실행할 Executor
+     * 호출 스레드를 점유하지 않으며, uploadFiles는 여러 파일의 전처리를 이 Executor에서 동시에 실행합니다.
+     */
+    @Volatile
+    var uploadExecutor: Executor = ForkJoinPool.commonPool()
 
     init {
-        val client = OkHttpClient.Builder()
-            .connectTimeout(50, java.util.concurrent.TimeUnit.SECONDS)
-            .readTimeout(50, java.util.concurrent.TimeUnit.SECONDS)
-            .writeTimeout(50, java.util.concurrent.TimeUnit.SECONDS)
+        // 전달받은 OkHttpClient가 있으면 newBuilder로 연결 풀과 Dispatcher를 공유하고, 인증 헤더 인터셉터만 추가합니다.
+        val clientBuilder = httpClient?.newBuilder() ?: OkHttpClient.Builder()
+            .connectTimeout(DEFAULT_TIMEOUT_SECONDS, java.util.concurrent.TimeUnit.SECONDS)
+            .readTimeout(DEFAULT_TIMEOUT_SECONDS, java.util.concurrent.TimeUnit.SECONDS)
+            .writeTimeout(DEFAULT_TIMEOUT_SECONDS, java.util.concurrent.TimeUnit.SECONDS)
+        val authenticator = Authenticator(apiKey, apiSecretKey)
+        val client = clientBuilder
             .addInterceptor { chain ->
-                val authInfo = Authenticator(apiKey, apiSecretKey).generateAuthInfo()
+                val authInfo = authenticator.generateAuthInfo()
                 val request: Request = chain.request().newBuilder().addHeader("Authorization", authInfo).build()
                 chain.proceed(request)
             }.build()
         val contentType = "application/json".toMediaType()
 
         messageHttpService =
-            Retrofit.Builder().baseUrl(domain).addConverterFactory(JsonSupport.json.asConverterFactory(contentType))
+            Retrofit.Builder().baseUrl(domain)
+                .addConverterFactory(StreamingJsonConverterFactory(JsonSupport.json, contentType))
                 .client(client).build().create(MessageHttpService::class.java)
     }
 
@@ -59,31 +157,180 @@ class DefaultMessageService(apiKey: String, apiSecretKey: String, domain: String
     /**
      * 파일 업로드 메소드
      * 파일을 접근 가능한 경로로 입력하셔야 합니다.
+     * 파일 전체를 메모리에 올리지 않고, 전송하면서 조금씩 읽어 Base64로 인코딩합니다.
      * */
-    @Throws
+    @Throws(SolapiFileUploadException::class)
     @JvmOverloads
     fun uploadFile(file: File, fileType: StorageType = StorageType.MMS, link: String? = null): String? {
-        val length = file.length()
-        val imageByte = ByteArray(length.toInt())
-        val fis: FileInputStream?
-        try {
-            fis = FileInputStream(file)
-            fis.read(imageByte)
+        return uploadFile(file.toPath(), fileType, link)
+    }
+
+    /**
+     * 파일 업로드 메소드
+     * @see uploadFile
+     */
+    @Throws(SolapiFileUploadException::class)
+    @JvmOverloads
+    fun uploadFile(path: Path, fileType: StorageType = StorageType.MMS, link: String? = null): String? {
+        return upload(uploadSourceOf(path), fileType, link)
+    }
+
+    /**
+     * InputStream의 내용을 파일로 업로드하는 메소드
+     * 스트림은 업로드 중 끝까지 한 번만 읽으며, 스트림을 닫는 것은 호출한 쪽의 책임입니다.
+     */
+    @Throws(SolapiFileUploadException::class)
+    @JvmOverloads
+    fun uploadFile(inputStream: InputStream, fileType: StorageType = StorageType.MMS, link: String? = null): String? {
+        return upload(UploadSource.InputStreamSource(inputStream), fileType, link)
+    }
+
+    /**
+     * ByteBuffer의 position부터 limit까지의 내용을 파일로 업로드하는 메소드
+     * 전달받은 버퍼의 position은 변경되지 않습니다.
+     */
+    @Throws(SolapiFileUploadException::class)
+    @JvmOverloads
+    fun uploadFile(buffer: ByteBuffer, fileType: StorageType = StorageType.MMS, link: String? = null): String? {
+        return upload(UploadSource.ByteBufferSource(buffer), fileType, link)
+    }
+
+    /**
+     * 비동기 파일 업로드 메소드
+     * 요청은 호출 스레드를 점유하지 않고 실행되며, 반환된 Future를 취소하면 진행 중인 업로드 요청도 취소됩니다.
+     */
+    @JvmOverloads
+    fun uploadFileAsync(file: File, fileType: StorageType = StorageType.MMS, link: String? = null): CompletableFuture<String?> {
+        return uploadFileAsync(file.toPath(), fileType, link)
+    }
+
+    /**
+     * 비동기 파일 업로드 메소드
+     * @see uploadFileAsync
+     */
+    @JvmOverloads
+    fun uploadFileAsync(path: Path, fileType: StorageType = StorageType.MMS, link: String? = null): CompletableFuture<String?> {
+        val source = try {
+            uploadSourceOf(path)
         } catch (e: Exception) {
-            e.printStackTrace()
+            return failedFuture(e)
         }
-        val encodedFile = String(Base64.encodeBase64(imageByte))
-        val fileRequest = FileUploadRequest(
-            file = encodedFile, type = fileType, link = link
-        )
-        val response = this.messageHttpService.uploadFile(fileRequest).execute()
-        if (response.isSuccessful) {
-            return response.body()?.fileId
-        } else {
-            // 파일 업로드는 특별한 예외를 던지므로 공통 에러 핸들러를 사용하지 않음
-            val errorResponse: ErrorResponse = JsonSupport.json.decodeFromString(response.errorBody()?.string() ?: "")
-            throw SolapiFileUploadException(errorResponse.errorMessage)
+        return uploadAsync(source, fileType, link)
+    }
+
+    /**
+     * InputStream의 내용을 비동기로 업로드하는 메소드
+     * 스트림은 OkHttp의 Dispatcher 스레드에서 읽습니다.
+     * @see uploadFile
+     */
+    @JvmOverloads
+    fun uploadFileAsync(
+        inputStream: InputStream,
+        fileType: StorageType = StorageType.MMS,
+        link: String? = null
+    ): CompletableFuture<String?> {
+        return uploadAsync(UploadSource.InputStreamSource(inputStream), fileType, link)
+    }
+
+    /**
+     * ByteBuffer의 내용을 비동기로 업로드하는 메소드
+     * 업로드가 끝날 때까지 버퍼의 내용을 변경하지 않아야 합니다.
+     * @see uploadFile
+     */
+    @JvmOverloads
+    fun uploadFileAsync(
+        buffer: ByteBuffer,
+        fileType: StorageType = StorageType.MMS,
+        link: String? = null
+    ): CompletableFuture<String?> {
+        return uploadAsync(UploadSource.ByteBufferSource(buffer), fileType, link)
+    }
+
+    /**
+     * 여러 파일 업로드 메소드
+     * BMS 캐러셀, 와이드 아이템 리스트처럼 여러 이미지가 필요한 경우 파일을 최대 maxConcurrency개씩 동시에 업로드합니다.
+     * 결과는 입력 순서대로 반환되며, 일부 파일의 업로드가 실패하더라도 나머지 파일의 업로드는 계속 진행됩니다.
+     */
+    @JvmOverloads
+    fun uploadFiles(
+        files: List<File>,
+        fileType: StorageType = StorageType.MMS,
+        maxConcurrency: Int = DEFAULT_SEND_CONCURRENCY
+    ): List<FileUploadResult> {
+        return uploadFilesAsync(files, fileType, maxConcurrency).getOrThrow()
+    }
+
+    /**
+     * 비동기 여러 파일 업로드 메소드
+     * 반환된 Future를 취소하면 진행 중인 업로드도 취소됩니다.
+     * @see uploadFiles
+     */
+    @JvmOverloads
+    fun uploadFilesAsync(
+        files: List<File>,
+        fileType: StorageType = StorageType.MMS,
+        maxConcurrency: Int = DEFAULT_SEND_CONCURRENCY
+    ): CompletableFuture<List<FileUploadResult>> {
+        if (maxConcurrency < 1) {
+            return failedFuture(SolapiBadRequestException("동시 업로드 수는 1 이상이어야 합니다."))
         }
+        return ParallelFileUploader(files.toList(), maxConcurrency) { file -> uploadFileAsync(file, fileType) }.start()
+    }
+
+    private fun upload(originalSource: UploadSource, fileType: StorageType, link: String?): String? {
+        val source = imagePreprocessor?.process(originalSource, fileType) ?: originalSource
+        val cache = fileUploadCache
+        val key = cache?.keyOf(uploadCacheScope, source, fileType, link)
+            ?: return executeUpload(createFileUploadRequestBody(source, fileType, link))
+        return cache.getOrUpload(key) { executeUploadAsync(createFileUploadRequestBody(source, fileType, link)) }
+            .getOrThrow()
+    }
+
+    /**
+     * 이미지 전처리기와 업로드 캐시가 설정된 경우 이를 거쳐 비동기로 업로드합니다.
+     * 이미지 변환과 캐시 키 계산(파일 전체의 해시)은 호출 스레드 대신 [uploadExecutor]에서 실행합니다.
+     */
+    internal fun uploadAsync(originalSource: UploadSource, fileType: StorageType, link: String?): CompletableFuture<String?> {
+        val preprocessor = imagePreprocessor
+        val cache = fileUploadCache
+        if (preprocessor == null && cache == null) {
+            return executeUploadAsync(createFileUploadRequestBody(originalSource, fileType, link))
+        }
+        val prepared = try {
+            CompletableFuture.supplyAsync({
+                val source = preprocessor?.process(originalSource, fileType) ?: originalSource
+                source to cache?.keyOf(uploadCacheScope, source, fileType, link)
+            }, uploadExecutor)
+        } catch (e: Exception) {
+            return failedFuture(e)
+        }
+        return composeCancellable(prepared) {
+            val (source, key) = prepared.join()
+            if (cache == null || key == null) {
+                executeUploadAsync(createFileUploadRequestBody(source, fileType, link))
+            } else {
+                cache.getOrUpload(key) { executeUploadAsync(createFileUploadRequestBody(source, fileType, link)) }
+            }
+        }
+    }
+
+    private fun createFileUploadRequestBody(source: UploadSource, fileType: StorageType, link: String?): RequestBody {
+        return FileUploadRequestBody(source, fileType, null, link, "application/json".toMediaType())
+    }
+
+    private fun executeUpload(body: RequestBody): String? {
+        val response = try {
+            this.messageHttpService.uploadFileStreaming(body).execute()
+        } catch (e: UploadSourceException) {
+            throw toFileUploadException(e)
+        }
+        return handleFileUploadResponse(response)
+    }
+
+    private fun executeUploadAsync(body: RequestBody): CompletableFuture<String?> {
+        return this.messageHttpService.uploadFileStreaming(body)
+            .enqueueAsFuture(::handleFileUploadResponse)
+            .mapUploadFailure()
     }
 
     /**
@@ -91,59 +338,130 @@ class DefaultMessageService(apiKey: String, apiSecretKey: String, domain: String
      */
     @JvmOverloads
     fun getMessageList(parameter: MessageListRequest? = null): MessageListResponse? {
-        val payload = parameter?.let { it ->
-            val tempPayload = MessageListBaseRequest()
+        val payload = createMessageListQuery(parameter)
+        val response = this.messageHttpService.getMessageList(payload).execute()
+        return handleMessageListResponse(response)
+    }
 
-            if (it.status != null && !it.statusCode.isNullOrBlank()) {
-                throw SolapiBadRequestException("status와 statusCode는 병기할 수 없습니다.")
-            }
+    /**
+     * 미리 만들어 둔 쿼리로 메시지를 조회하는 메소드
+     * 같은 조건으로 반복해서 조회하는 경우 쿼리를 한 번만 만들고 withStartKey 등으로 커서만 바꾸어 재사용할 수 있습니다.
+     * @see MessageListQuery
+     */
+    fun getMessageListByQuery(query: MessageListQuery): MessageListResponse? {
+        val response = this.messageHttpService.getMessageList(query.toMap()).execute()
+        return handleMessageListResponse(response)
+    }
 
-            it.status?.let { status ->
-                val (criteria, cond, value) = when (status) {
-                    MessageStatusType.PENDING -> Triple("statusCode", "eq", "2000")
-                    MessageStatusType.SENDING -> Triple("statusCode", "eq", "3000")
-                    MessageStatusType.COMPLETE -> Triple("statusCode", "eq", "4000")
-                    MessageStatusType.FAILED -> Triple(
-                        "statusCode,statusCode,statusCode",
-                        "ne,ne,ne",
-                        "2000,3000,4000"
-                    )
-                }
-                tempPayload.criteria = criteria
-                tempPayload.cond = cond
-                tempPayload.value = value
-            }
+    /**
+     * 조회된 메시지를 한 건씩 전달받는 메시지 조회 메소드
+     * 응답을 읽는 동안 조회된 메시지를 메시지 ID와 함께 onMessage로 전달하므로, 큰 페이지를 조회해도 메시지 목록 전체를 메모리에 올리지 않습니다.
+     * 반환값의 messageList는 비어 있으며, 다음 페이지 조회를 위한 nextKey 등의 정보는 그대로 포함됩니다.
+     */
+    @Throws
+    fun getMessageList(parameter: MessageListRequest?, onMessage: BiConsumer<String, Message>): MessageListResponse? {
+        val payload = createMessageListQuery(parameter)
+        val response = this.messageHttpService.getMessageListStreaming(payload).execute()
+        return handleStreamingMessageListResponse(response, onMessage::accept)
+    }
 
-            it.messageIds?.takeIf { it.isNotEmpty() }?.let { ids ->
-                val messageIdCriteria = "messageId"
-                val eqCond = "eq"
-                tempPayload.criteria =
-                    (tempPayload.criteria?.let { "$it," } ?: "") + ids.joinToString(",") { messageIdCriteria }
-                tempPayload.cond = (tempPayload.cond?.let { "$it," } ?: "") + ids.joinToString(",") { eqCond }
-                tempPayload.value = (tempPayload.value?.let { "$it," } ?: "") + ids.joinToString(",")
-            }
+    /**
+     * 비동기 메시지 조회 메소드
+     * 반환된 Future를 취소하면 진행 중인 조회 요청도 취소됩니다.
+     */
+    @JvmOverloads
+    fun getMessageListAsync(parameter: MessageListRequest? = null): CompletableFuture<MessageListResponse?> {
+        val payload = try {
+            createMessageListQuery(parameter)
+        } catch (e: Exception) {
+            return failedFuture(e)
+        }
+        return this.messageHttpService.getMessageList(payload).enqueueAsFuture(::handleMessageListResponse)
+    }
 
-            listOf(
-                "to" to it.to,
-                "from" to it.from,
-                "messageId" to it.messageId,
-                "groupId" to it.groupId,
-                "type" to it.type,
-                "statusCode" to it.statusCode
-            ).forEach { (field, value) ->
-                addMessageListParameterToCriteria(tempPayload, field, value)
-            }
+    /**
+     * 조회된 메시지를 한 건씩 전달받는 비동기 메시지 조회 메소드
+     * onMessage는 응답을 읽는 OkHttp 스레드에서 호출됩니다.
+     * 반환된 Future를 취소하면 진행 중인 조회 요청도 취소됩니다.
+     * @see getMessageList
+     */
+    fun getMessageListAsync(
+        parameter: MessageListRequest?,
+        onMessage: BiConsumer<String, Message>
+    ): CompletableFuture<MessageListResponse?> {
+        val payload = try {
+            createMessageListQuery(parameter)
+        } catch (e: Exception) {
+            return failedFuture(e)
+        }
+        return this.messageHttpService.getMessageListStreaming(payload).enqueueAsFuture { response ->
+            handleStreamingMessageListResponse(response, onMessage::accept)
+        }
+    }
 
-            tempPayload.startKey = it.startKey
-            tempPayload.limit = it.limit
-            tempPayload.startDate = it.startDate
-            tempPayload.endDate = it.endDate
+    /**
+     * 미리 만들어 둔 쿼리로 메시지를 조회하는 비동기 메소드
+     * 반환된 Future를 취소하면 진행 중인 조회 요청도 취소됩니다.
+     * @see getMessageListByQuery
+     */
+    fun getMessageListByQueryAsync(query: MessageListQuery): CompletableFuture<MessageListResponse?> {
+        return this.messageHttpService.getMessageList(query.toMap()).enqueueAsFuture(::handleMessageListResponse)
+    }
 
-            MapHelper.toMap(tempPayload)
-        } ?: emptyMap<String, Any>()
+    /**
+     * 메시지 조회 결과의 모든 페이지를 순회하는 페이지네이터를 반환합니다.
+     * startKey 반복문을 직접 작성하지 않아도 되며, 현재 페이지를 처리하는 동안 다음 페이지를 최대 prefetchPages개까지 미리 조회합니다.
+     * parameter의 startKey가 있으면 해당 위치부터 조회합니다.
+     */
+    @JvmOverloads
+    fun getMessageListPaginator(
+        parameter: MessageListRequest? = null,
+        prefetchPages: Int = MessageListPaginator.DEFAULT_PREFETCH_PAGES
+    ): MessageListPaginator {
+        val query = MessageListQuery.of(parameter)
+        return MessageListPaginator(parameter?.startKey, prefetchPages) { startKey ->
+            getMessageListByQueryAsync(query.withStartKey(startKey))
+        }
+    }
 
-        val response = this.messageHttpService.getMessageList(payload).execute()
+    /**
+     * 여러 메시지 ID의 메시지를 한 번에 조회하는 메소드
+     * 메시지 ID는 URL 길이 제한을 넘지 않도록 나누어 최대 maxConcurrency개의 요청으로 동시에 조회합니다.
+     * 반환값은 요청한 ID 순서대로 메시지 ID를 키로 담으며, 조회되지 않은 ID는 포함하지 않습니다.
+     */
+    @JvmOverloads
+    @Throws(SolapiBadRequestException::class)
+    fun getMessagesByIds(
+        messageIds: Collection<String>,
+        maxConcurrency: Int = DEFAULT_SEND_CONCURRENCY
+    ): Map<String, Message> {
+        return getMessagesByIdsAsync(messageIds, maxConcurrency).getOrThrow()
+    }
+
+    /**
+     * 비동기 여러 메시지 ID 조회 메소드
+     * 하나의 조회 요청이라도 실패하면 진행 중인 요청을 모두 취소하고 예외로 완료됩니다.
+     * 반환된 Future를 취소하면 진행 중인 조회 요청도 취소됩니다.
+     * @see getMessagesByIds
+     */
+    @JvmOverloads
+    fun getMessagesByIdsAsync(
+        messageIds: Collection<String>,
+        maxConcurrency: Int = DEFAULT_SEND_CONCURRENCY
+    ): CompletableFuture<Map<String, Message>> {
+        if (maxConcurrency < 1) {
+            return failedFuture(SolapiBadRequestException("동시 조회 요청 수는 1 이상이어야 합니다."))
+        }
+        return MessageIdLookup(MessageIdLookup.chunk(messageIds), maxConcurrency) { chunk, startKey ->
+            getMessageListAsync(MessageListRequest(messageIds = chunk, limit = chunk.size, startKey = startKey))
+        }.start()
+    }
+
+    internal fun createMessageListQuery(parameter: MessageListRequest?): Map<String, String> {
+        return MessageListQuery.of(parameter).toMap()
+    }
 
+    internal fun handleMessageListResponse(response: Response<MessageListResponse>): MessageListResponse? {
         return if (response.isSuccessful) {
             response.body()
         } else {
@@ -158,7 +476,8 @@ class DefaultMessageService(apiKey: String, apiSecretKey: String, domain: String
      */
     @JvmOverloads
     @Throws(
-        SolapiMessageNotReceivedException::class, SolapiEmptyResponseException::class, SolapiUnknownException::class
+        SolapiMessageNotReceivedException::class, SolapiEmptyResponseException::class, SolapiUnknownException::class,
+        SolapiRateLimitException::class
     )
     fun send(
         message: Message,
@@ -174,16 +493,348 @@ class DefaultMessageService(apiKey: String, apiSecretKey: String, domain: String
      */
     @JvmOverloads
     @Throws(
-        SolapiMessageNotReceivedException::class, SolapiEmptyResponseException::class, SolapiUnknownException::class
+        SolapiMessageNotReceivedException::class, SolapiEmptyResponseException::class, SolapiUnknownException::class,
+        SolapiRateLimitException::class
     )
     fun send(
         messages: List<Message>,
         sendRequestConfig: SendRequestConfig? = null,
     ): MultipleDetailMessageSentResponse {
+        val parameter = createSendRequest(messages, sendRequestConfig)
+        rateLimiter?.acquire(parameter.messages.size)
+        return executeSend(parameter.messages.size, this.messageHttpService.sendManyDetail(parameter), ::handleSendResponse)
+    }
+
+    /**
+     * 접수된 메시지를 한 건씩 전달받는 메시지 발송 메소드
+     * 응답을 읽는 동안 접수된 메시지를 onMessage로 전달하므로, 대량 발송 응답의 메시지 목록 전체를 메모리에 올리지 않습니다.
+     * showMessageList 설정은 항상 활성화되며, 반환값의 messageList는 비어 있습니다.
+     */
+    @Throws(
+        SolapiMessageNotReceivedException::class, SolapiEmptyResponseException::class, SolapiUnknownException::class,
+        SolapiRateLimitException::class
+    )
+    fun send(
+        messages: List<Message>,
+        sendRequestConfig: SendRequestConfig?,
+        onMessage: Consumer<MultipleDetailMessageSentResponse.MessageList>,
+    ): MultipleDetailMessageSentResponse {
+        val config = (sendRequestConfig ?: SendRequestConfig()).copy(showMessageList = true)
+        val parameter = createSendRequest(messages, config)
+        rateLimiter?.acquire(parameter.messages.size)
+        return executeSend(parameter.messages.size, this.messageHttpService.sendManyDetailStreaming(parameter)) { response ->
+            handleStreamingSendResponse(response, onMessage::accept)
+        }
+    }
+
+    /**
+     * 비동기 단일 메시지 발송 메소드
+     * @see sendAsync
+     */
+    @JvmOverloads
+    fun sendAsync(
+        message: Message,
+        sendRequestConfig: SendRequestConfig? = null,
+    ): CompletableFuture<MultipleDetailMessageSentResponse> {
+        return sendAsync(listOf(message), sendRequestConfig)
+    }
+
+    /**
+     * 비동기 단일, 다중 메시지 발송 메소드
+     * send 메소드와 동일한 요청을 보내지만, 응답을 기다리는 동안 호출 스레드를 점유하지 않습니다.
+     * 발송 실패 시 send 메소드와 동일한 예외로 Future가 완료되며, 반환된 Future를 취소하면 진행 중인 발송 요청도 취소됩니다.
+     */
+    @JvmOverloads
+    fun sendAsync(
+        messages: List<Message>,
+        sendRequestConfig: SendRequestConfig? = null,
+    ): CompletableFuture<MultipleDetailMessageSentResponse> {
+        val parameter = try {
+            createSendRequest(messages, sendRequestConfig)
+        } catch (e: Exception) {
+            return failedFuture(e)
+        }
+        return executeSendAsync(parameter)
+    }
+
+    /**
+     * 접수된 메시지를 한 건씩 전달받는 비동기 메시지 발송 메소드
+     * onMessage는 응답을 읽는 OkHttp 스레드에서 호출됩니다.
+     * 반환된 Future를 취소하면 진행 중인 발송 요청도 취소됩니다.
+     * @see send
+     */
+    fun sendAsync(
+        messages: List<Message>,
+        sendRequestConfig: SendRequestConfig?,
+        onMessage: Consumer<MultipleDetailMessageSentResponse.MessageList>,
+    ): CompletableFuture<MultipleDetailMessageSentResponse> {
+        val parameter = try {
+            createSendRequest(messages, (sendRequestConfig ?: SendRequestConfig()).copy(showMessageList = true))
+        } catch (e: Exception) {
+            return failedFuture(e)
+        }
+        return executeSendAsync(parameter.messages.size, { this.messageHttpService.sendManyDetailStreaming(parameter) }) { response ->
+            handleStreamingSendResponse(response, onMessage::accept)
+        }
+    }
+
+    private fun <T> executeSend(
+        messageCount: Int,
+        call: Call<T>,
+        handler: (Response<T>) -> MultipleDetailMessageSentResponse
+    ): MultipleDetailMessageSentResponse {
+        val limiter = concurrencyLimiter ?: return handler(call.execute())
+        limiter.acquire()
+        val startNanos = System.nanoTime()
+        var statusCode = 0
+        var error: Throwable? = null
+        try {
+            val response = call.execute()
+            statusCode = response.code()
+            return handler(response)
+        } catch (e: IOException) {
+            error = e
+            throw e
+        } finally {
+            limiter.release(startNanos, statusCode, error, messageCount)
+        }
+    }
+
+    private fun executeSendAsync(parameter: MultipleDetailMessageSendingRequest): CompletableFuture<MultipleDetailMessageSentResponse> {
+        return executeSendAsync(parameter.messages.size, { this.messageHttpService.sendManyDetail(parameter) }, ::handleSendResponse)
+    }
+
+    private fun <T> executeSendAsync(
+        messageCount: Int,
+        call: () -> Call<T>,
+        handler: (Response<T>) -> MultipleDetailMessageSentResponse
+    ): CompletableFuture<MultipleDetailMessageSentResponse> {
+        val limiter = rateLimiter ?: return dispatchSendAsync(messageCount, call, handler)
+        return composeCancellable(limiter.acquireAsync(messageCount)) { dispatchSendAsync(messageCount, call, handler) }
+    }
+
+    private fun <T> dispatchSendAsync(
+        messageCount: Int,
+        call: () -> Call<T>,
+        handler: (Response<T>) -> MultipleDetailMessageSentResponse
+    ): CompletableFuture<MultipleDetailMessageSentResponse> {
+        val limiter = concurrencyLimiter ?: return call().enqueueAsFuture(handler)
+        val permit = limiter.acquireAsync()
+        // 허가를 받은 직후 취소되어 요청을 시작하지 않은 경우에도 허가를 반납해야 합니다.
+        val onSkipped = { limiter.release(System.nanoTime(), 0, CancellationException(), messageCount) }
+        return composeCancellable(permit, onSkipped) {
+            val startNanos = System.nanoTime()
+            var statusCode = 0
+            val future = call().enqueueAsFuture { response ->
+                statusCode = response.code()
+                handler(response)
+            }
+            future.whenComplete { _, error -> limiter.release(startNanos, statusCode, error, messageCount) }
+            future
+        }
+    }
+
+    /**
+     * 대량 메시지 발송 메소드
+     * 10,000건을 초과하는 메시지도 발송 요청 단위로 나누어 최대 maxConcurrency개의 요청을 동시에 발송하고, 결과를 하나로 합쳐 반환합니다.
+     * 발송 요청마다 별도의 그룹이 생성되며, 생성된 그룹 ID는 BulkMessageSentResponse.groupIds로 확인할 수 있습니다.
+     * 모든 메시지가 접수에 실패한 경우에만 SolapiMessageNotReceivedException이 발생합니다.
+     * 그 외의 오류로 발송 요청이 실패하면 남은 발송을 중단하고 SolapiBulkSendException이 발생하며,
+     * 예외의 partialResponse와 unsentMessageList로 이미 접수된 결과와 발송하지 못한 메시지를 확인할 수 있습니다.
+     */
+    @JvmOverloads
+    @Throws(
+        SolapiMessageNotReceivedException::class, SolapiBulkSendException::class, SolapiEmptyResponseException::class
+    )
+    fun sendAll(
+        messages: List<Message>,
+        sendRequestConfig: SendRequestConfig? = null,
+        maxConcurrency: Int = DEFAULT_SEND_CONCURRENCY,
+    ): BulkMessageSentResponse {
+        return sendAllAsync(messages, sendRequestConfig, maxConcurrency).getOrThrow()
+    }
+
+    /**
+     * 비동기 대량 메시지 발송 메소드
+     * 반환된 Future를 취소하면 진행 중인 모든 발송 요청이 취소됩니다.
+     * @see sendAll
+     */
+    @JvmOverloads
+    fun sendAllAsync(
+        messages: List<Message>,
+        sendRequestConfig: SendRequestConfig? = null,
+        maxConcurrency: Int = DEFAULT_SEND_CONCURRENCY,
+    ): CompletableFuture<BulkMessageSentResponse> {
+        if (messages.isEmpty()) {
+            return failedFuture(SolapiBadRequestException("메시지가 1건 이상 등록되어야 합니다."))
+        }
+        if (maxConcurrency < 1) {
+            return failedFuture(SolapiBadRequestException("동시 발송 요청 수는 1 이상이어야 합니다."))
+        }
+        return ChunkedSendDispatcher(
+            chunks = messages.asSequence().chunked(MAX_MESSAGES_PER_REQUEST).iterator(),
+            maxConcurrency = maxConcurrency,
+            accumulator = BulkMessageSentResponseAccumulator(),
+            collectRemaining = true,
+            sendChunk = { chunk -> sendAsync(chunk, sendRequestConfig) }
+        ).start()
+    }
+
+    /**
+     * 스트리밍 대량 메시지 발송 메소드
+     * Iterator에서 메시지를 필요한 만큼만 꺼내 chunkSize 단위로 발송하므로, 전체 메시지 목록을 메모리에 올리지 않아도 됩니다.
+     * 동시에 메모리에 유지되는 메시지는 최대 maxConcurrency * chunkSize건 입니다.
+     *
+     * 메모리 사용량을 일정하게 유지하기 위해 반환값에는 접수된 메시지 목록(messageList)이 포함되지 않습니다.
+     * 접수된 메시지 목록이 필요한 경우 onChunkSent 콜백으로 발송 요청별 응답을 전달받아 처리하셔야 합니다.
+     * 발송 요청이 실패하면 SolapiBulkSendException이 발생하며, unsentMessageList에는 실패한 발송 요청의 메시지만 포함됩니다.
+     * 아직 꺼내지 않은 메시지는 전달한 Iterator에서 이어서 꺼낼 수 있습니다.
+     */
+    @JvmOverloads
+    @Throws(
+        SolapiMessageNotReceivedException::class, SolapiBulkSendException::class, SolapiEmptyResponseException::class
+    )
+    fun sendStream(
+        messages: Iterator<Message>,
+        sendRequestConfig: SendRequestConfig? = null,
+        maxConcurrency: Int = DEFAULT_SEND_CONCURRENCY,
+        chunkSize: Int = MAX_MESSAGES_PER_REQUEST,
+        onChunkSent: Consumer<MultipleDetailMessageSentResponse>? = null,
+    ): BulkMessageSentResponse {
+        return sendStreamAsync(messages, sendRequestConfig, maxConcurrency, chunkSize, onChunkSent).getOrThrow()
+    }
+
+    /**
+     * 스트리밍 대량 메시지 발송 메소드
+     * 발송이 끝나면 전달받은 Stream을 닫습니다.
+     * @see sendStream
+     */
+    @JvmOverloads
+    @Throws(
+        SolapiMessageNotReceivedException::class, SolapiBulkSendException::class, SolapiEmptyResponseException::class
+    )
+    fun sendStream(
+        messages: Stream<Message>,
+        sendRequestConfig: SendRequestConfig? = null,
+        maxConcurrency: Int = DEFAULT_SEND_CONCURRENCY,
+        chunkSize: Int = MAX_MESSAGES_PER_REQUEST,
+        onChunkSent: Consumer<MultipleDetailMessageSentResponse>? = null,
+    ): BulkMessageSentResponse {
+        return sendStreamAsync(messages, sendRequestConfig, maxConcurrency, chunkSize, onChunkSent).getOrThrow()
+    }
+
+    /**
+     * 스트리밍 대량 메시지 발송 메소드
+     * @see sendStream
+     */
+    @Throws(
+        SolapiMessageNotReceivedException::class, SolapiBulkSendException::class, SolapiEmptyResponseException::class
+    )
+    fun sendStream(
+        messages: Sequence<Message>,
+        sendRequestConfig: SendRequestConfig? = null,
+        maxConcurrency: Int = DEFAULT_SEND_CONCURRENCY,
+        chunkSize: Int = MAX_MESSAGES_PER_REQUEST,
+        onChunkSent: Consumer<MultipleDetailMessageSentResponse>? = null,
+    ): BulkMessageSentResponse {
+        return sendStream(messages.iterator(), sendRequestConfig, maxConcurrency, chunkSize, onChunkSent)
+    }
+
+    /**
+     * 비동기 스트리밍 대량 메시지 발송 메소드
+     * 반환된 Future를 취소하면 진행 중인 모든 발송 요청이 취소되고, 남은 메시지는 더 이상 꺼내지 않습니다.
+     * @see sendStream
+     */
+    @JvmOverloads
+    fun sendStreamAsync(
+        messages: Iterator<Message>,
+        sendRequestConfig: SendRequestConfig? = null,
+        maxConcurrency: Int = DEFAULT_SEND_CONCURRENCY,
+        chunkSize: Int = MAX_MESSAGES_PER_REQUEST,
+        onChunkSent: Consumer<MultipleDetailMessageSentResponse>? = null,
+    ): CompletableFuture<BulkMessageSentResponse> {
+        if (maxConcurrency < 1) {
+            return failedFuture(SolapiBadRequestException("동시 발송 요청 수는 1 이상이어야 합니다."))
+        }
+        if (chunkSize < 1 || chunkSize > MAX_MESSAGES_PER_REQUEST) {
+            return failedFuture(SolapiBadRequestException("발송 요청 단위는 1건 이상 10,000건 이하로 설정해야 합니다."))
+        }
+        return ChunkedSendDispatcher(
+            chunks = messages.asSequence().chunked(chunkSize).iterator(),
+            maxConcurrency = maxConcurrency,
+            accumulator = BulkMessageSentResponseAccumulator(collectMessageList = false),
+            onChunkSent = onChunkSent,
+            sendChunk = { chunk -> sendAsync(chunk, sendRequestConfig) }
+        ).start()
+    }
+
+    /**
+     * 비동기 스트리밍 대량 메시지 발송 메소드
+     * 발송이 끝나면 전달받은 Stream을 닫습니다.
+     * @see sendStream
+     */
+    @JvmOverloads
+    fun sendStreamAsync(
+        messages: Stream<Message>,
+        sendRequestConfig: SendRequestConfig? = null,
+        maxConcurrency: Int = DEFAULT_SEND_CONCURRENCY,
+        chunkSize: Int = MAX_MESSAGES_PER_REQUEST,
+        onChunkSent: Consumer<MultipleDetailMessageSentResponse>? = null,
+    ): CompletableFuture<BulkMessageSentResponse> {
+        val future = sendStreamAsync(messages.iterator(), sendRequestConfig, maxConcurrency, chunkSize, onChunkSent)
+        future.whenComplete { _, _ -> messages.close() }
+        return future
+    }
+
+    /**
+     * 재시도 정책을 적용한 메시지 발송 메소드
+     * 접수에 실패한 메시지 중 retryPolicy에 지정된 상태 코드를 가진 메시지만 다시 발송하므로, 이미 접수된 메시지는 중복 발송되지 않습니다.
+     * 재시도할 때마다 별도의 그룹이 생성되며, 모든 발송 결과는 하나의 BulkMessageSentResponse로 합쳐집니다.
+     * 반환값의 failedMessageList에는 재시도 후에도 접수되지 않은 메시지만 포함됩니다.
+     *
+     * 실패한 메시지와 원본 메시지를 연결하기 위해 메시지의 customFields에 SDK 전용 키가 추가됩니다.
+     * 모든 메시지가 접수에 실패한 경우 SolapiMessageNotReceivedException이 발생합니다.
+     */
+    @JvmOverloads
+    @Throws(
+        SolapiMessageNotReceivedException::class, SolapiEmptyResponseException::class, SolapiUnknownException::class
+    )
+    fun sendWithRetry(
+        messages: List<Message>,
+        retryPolicy: SendRetryPolicy,
+        sendRequestConfig: SendRequestConfig? = null,
+    ): BulkMessageSentResponse {
+        return sendWithRetryAsync(messages, retryPolicy, sendRequestConfig).getOrThrow()
+    }
+
+    /**
+     * 재시도 정책을 적용한 비동기 메시지 발송 메소드
+     * 반환된 Future를 취소하면 진행 중인 발송 요청과 예약된 재시도가 취소됩니다.
+     * @see sendWithRetry
+     */
+    @JvmOverloads
+    fun sendWithRetryAsync(
+        messages: List<Message>,
+        retryPolicy: SendRetryPolicy,
+        sendRequestConfig: SendRequestConfig? = null,
+    ): CompletableFuture<BulkMessageSentResponse> {
+        if (messages.isEmpty()) {
+            return failedFuture(SolapiBadRequestException("메시지가 1건 이상 등록되어야 합니다."))
+        }
+        if (messages.size > MAX_MESSAGES_PER_REQUEST) {
+            return failedFuture(SolapiBadRequestException("10,000건 이상의 메시지는 한 번에 발송할 수 없습니다."))
+        }
+        return RetryingSender(messages, retryPolicy) { batch -> sendAsync(batch, sendRequestConfig) }.start()
+    }
+
+    internal fun createSendRequest(
+        messages: List<Message>,
+        sendRequestConfig: SendRequestConfig?
+    ): MultipleDetailMessageSendingRequest {
         if (messages.isEmpty()) {
             throw SolapiBadRequestException("메시지가 1건 이상 등록되어야 합니다.")
         }
-        if (messages.size > 10000) {
+        if (messages.size > MAX_MESSAGES_PER_REQUEST) {
             throw SolapiBadRequestException("10,000건 이상의 메시지는 한 번에 발송할 수 없습니다.")
         }
 
@@ -195,7 +846,7 @@ class DefaultMessageService(apiKey: String, apiSecretKey: String, domain: String
         if (sendRequestConfig?.allowDuplicates == true) {
             parameter.allowDuplicates = true
         }
-        return processSendRequest(this.messageHttpService, parameter)
+        return parameter
     }
 
     /**
@@ -207,6 +858,13 @@ class DefaultMessageService(apiKey: String, apiSecretKey: String, domain: String
         return handleApiResponse(response, "잔액 조회에 실패했습니다.")
     }
 
+    /**
+     * 비동기 잔액 조회 메소드
+     */
+    fun getBalanceAsync(): CompletableFuture<Balance> {
+        return this.messageHttpService.getBalance().enqueueAsFuture { handleApiResponse(it, "잔액 조회에 실패했습니다.") }
+    }
+
     /**
      * 일일 발송량 한도 조회 메소드
      */
@@ -216,6 +874,13 @@ class DefaultMessageService(apiKey: String, apiSecretKey: String, domain: String
         return handleApiResponse(response, "일일 발송량 조회에 실패했습니다.")
     }
 
+    /**
+     * 비동기 일일 발송량 한도 조회 메소드
+     */
+    fun getQuotaAsync(): CompletableFuture<Quota> {
+        return this.messageHttpService.getQuota().enqueueAsFuture { handleApiResponse(it, "일일 발송량 조회에 실패했습니다.") }
+    }
+
     /**
      * 카카오 알림톡 템플릿 카테고리 조회 메소드
      *
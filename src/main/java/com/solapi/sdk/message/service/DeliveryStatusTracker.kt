@@ -0,0 +1,566 @@
+package com.solapi.sdk.message.service
+
+import com.solapi.sdk.message.dto.response.MessageListResponse
+import com.solapi.sdk.message.dto.response.MultipleDetailMessageSentResponse
+import com.solapi.sdk.message.exception.SolapiBadRequestException
+import com.solapi.sdk.message.exception.SolapiInvalidApiKeyException
+import com.solapi.sdk.message.lib.CancellableFuture
+import com.solapi.sdk.message.lib.MessageListQuery
+import com.solapi.sdk.message.lib.composeCancellable
+import com.solapi.sdk.message.lib.failedFuture
+import com.solapi.sdk.message.lib.unwrapCompletionException
+import com.solapi.sdk.message.model.Message
+import com.solapi.sdk.message.model.MessageStatusType
+import com.solapi.sdk.message.model.MessageType
+import java.io.Closeable
+import java.util.PriorityQueue
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Executors
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+import java.util.function.Consumer
+
+/**
+ * 발송한 메시지의 최종 상태(발송 완료 또는 실패)를 조회해 알려주는 추적기
+ *
+ * 추적 중인 메시지는 다음 조회 시각 순서의 우선순위 큐에 보관되며, 조회 시각이 된 메시지를 모아
+ * 메시지 ID 일괄 조회([DefaultMessageService.getMessagesByIdsAsync])로 한 번에 조회합니다.
+ * 조회 간격은 [PollPolicy]에 따라 메시지 유형과 추적 시작 후 지난 시간에 맞추어 점점 늘어납니다.
+ *
+ * 모든 추적 상태는 하나의 타이머 스레드에서만 변경되므로 잠금이 필요 없고, 수십만 건의 메시지도 하나의 추적기로 추적할 수 있습니다.
+ * 한 번에 최대 [MAX_IDS_PER_POLL]건씩 조회하며, 조회 요청이 끝나야 다음 조회를 시작합니다.
+ *
+ * 반환된 Future는 최종 상태의 메시지로 완료됩니다. 발송 성공 여부는 statusCode(4000: 발송 완료)로 확인해야 하며,
+ * [PollPolicy]가 추적 중단을 반환하면 [TimeoutException]으로 완료됩니다.
+ * 조회 요청이 연속으로 [MAX_CONSECUTIVE_POLL_ERRORS]번 실패하면 마지막 조회 오류로 완료되며,
+ * 인증 오류나 잘못된 요청 오류처럼 다시 조회해도 같은 결과인 오류는 바로 해당 오류로 완료됩니다.
+ * Future와 [listener]는 타이머 스레드에서 완료, 호출되므로 오래 걸리는 작업은 다른 스레드에서 처리해야 합니다.
+ *
+ * 사용이 끝나면 close를 호출해 타이머 스레드를 정리해야 합니다.
+ *
+ * @param pollPolicy 메시지별 다음 조회까지의 간격을 정하는 정책
+ * @param maxConcurrency 한 번의 조회에서 동시에 보낼 최대 조회 요청 수
+ * @param listener 메시지가 최종 상태가 될 때마다 호출할 콜백
+ */
+class DeliveryStatusTracker internal constructor(
+    private val pollPolicy: PollPolicy,
+    private val listener: Consumer<Message>?,
+    private val scheduler: ScheduledExecutorService,
+    private val fetchMessages: (List<String>) -> CompletableFuture<Map<String, Message>>,
+    private val fetchGroupPage: (MessageListQuery) -> CompletableFuture<MessageListResponse?>,
+) : Closeable {
+    @JvmOverloads
+    constructor(
+        messageService: DefaultMessageService,
+        pollPolicy: PollPolicy = PollPolicy.DEFAULT,
+        maxConcurrency: Int = DefaultMessageService.DEFAULT_SEND_CONCURRENCY,
+        listener: Consumer<Message>? = null,
+    ) : this(
+        pollPolicy,
+        listener,
+        Executors.newSingleThreadScheduledExecutor { runnable ->
+            Thread(runnable, "solapi-delivery-status-tracker").apply { isDaemon = true }
+        },
+        { messageIds -> messageService.getMessagesByIdsAsync(messageIds, maxConcurrency) },
+        { query -> messageService.getMessageListByQueryAsync(query) }
+    ) {
+        if (maxConcurrency < 1) {
+            scheduler.shutdown()
+            throw SolapiBadRequestException("동시 조회 요청 수는 1 이상이어야 합니다.")
+        }
+    }
+
+    companion object {
+        /**
+         * 한 번의 조회에서 조회할 최대 메시지 수
+         */
+        const val MAX_IDS_PER_POLL = 2000
+
+        /**
+         * 추적을 중단하기 전까지 허용하는 연속 조회 실패 횟수
+         */
+        const val MAX_CONSECUTIVE_POLL_ERRORS = 5
+
+        /**
+         * 조회 시각이 이 시간(밀리초) 안으로 남은 메시지는 함께 조회해 조회 요청 수를 줄입니다.
+         */
+        private const val COALESCE_MILLIS = 500L
+
+        private const val STATUS_PENDING = "2000"
+        private const val STATUS_SENDING = "3000"
+    }
+
+    /**
+     * 메시지별 다음 조회까지의 간격을 정하는 정책
+     */
+    fun interface PollPolicy {
+        /**
+         * 다음 조회까지 기다릴 시간(밀리초)을 반환합니다. 음수를 반환하면 추적을 중단합니다.
+         *
+         * @param type 메시지 유형, 아직 조회되지 않은 경우 null
+         * @param ageMillis 추적을 시작한 뒤 지난 시간(밀리초)
+         * @param attempts 지금까지 조회한 횟수
+         */
+        fun nextPollDelayMillis(type: MessageType?, ageMillis: Long, attempts: Int): Long
+
+        companion object {
+            /**
+             * 유형별 최소 간격(문자, RCS 2초, 카카오, 네이버 3초, 음성, 팩스 15초)과 추적 시간의 10% 중 큰 값으로 조회하며,
+             * 간격은 5분을 넘지 않습니다. 추적을 시작한 지 72시간이 지나면 추적을 중단합니다.
+             */
+            @JvmField
+            val DEFAULT = PollPolicy { type, ageMillis, _ ->
+                if (ageMillis > TimeUnit.HOURS.toMillis(72)) {
+                    -1L
+                } else {
+                    val base = when (type) {
+                        MessageType.VOICE, MessageType.FAX -> 15_000L
+                        MessageType.SMS, MessageType.LMS, MessageType.MMS,
+                        MessageType.RCS_SMS, MessageType.RCS_LMS, MessageType.RCS_MMS, MessageType.RCS_TPL -> 2_000L
+                        else -> 3_000L
+                    }
+                    minOf(TimeUnit.MINUTES.toMillis(5), maxOf(base, ageMillis / 10))
+                }
+            }
+        }
+    }
+
+    private class Entry(val messageId: String, var type: MessageType?, val trackedAt: Long) {
+        val future = CompletableFuture<Message>()
+        var attempts = 0
+        var errors = 0
+        var nextPollAt = 0L
+    }
+
+    /**
+     * 그룹 ID로 함께 조회하는 메시지 그룹, entries에는 아직 최종 상태가 되지 않은 메시지만 남습니다.
+     */
+    private class GroupEntry(val groupId: String, val entries: MutableMap<String, Entry>, val trackedAt: Long) {
+        var attempts = 0
+        var errors = 0
+        var task: ScheduledFuture<*>? = null
+        var polling: CompletableFuture<*>? = null
+    }
+
+    // 아래 상태는 타이머 스레드에서만 변경합니다.
+    private val queue = PriorityQueue<Entry>(compareBy<Entry> { it.nextPollAt })
+    private val groups = HashSet<GroupEntry>()
+    private var tick: ScheduledFuture<*>? = null
+    private var tickAt = Long.MAX_VALUE
+    private var polling: CompletableFuture<*>? = null
+
+    private val entries = ConcurrentHashMap<String, Entry>()
+
+    internal var clock: () -> Long = { System.nanoTime() / 1_000_000 }
+
+    @Volatile
+    private var closed = false
+
+    /**
+     * 추적 중인 메시지 수
+     */
+    val size: Int
+        get() = entries.size
+
+    /**
+     * 메시지의 최종 상태를 추적합니다. 같은 메시지를 여러 번 추적하면 같은 Future를 반환합니다.
+     * 반환된 Future를 취소하면 해당 메시지의 추적을 중단합니다.
+     *
+     * @param type 메시지 유형, 알고 있는 경우 첫 조회 간격을 정하는 데 사용합니다.
+     */
+    @JvmOverloads
+    fun track(messageId: String, type: MessageType? = null): CompletableFuture<Message> {
+        if (closed) {
+            return failedFuture(IllegalStateException("DeliveryStatusTracker가 이미 종료되었습니다."))
+        }
+        val (entry, created) = register(messageId, type)
+        if (created) {
+            val accepted = execute {
+                entry.nextPollAt = entry.trackedAt + pollPolicy.nextPollDelayMillis(type, 0, 0).coerceAtLeast(0)
+                queue.add(entry)
+                scheduleTick()
+            }
+            if (!accepted) {
+                entry.future.cancel(false)
+            }
+        }
+        return entry.future
+    }
+
+    /**
+     * 여러 메시지의 최종 상태를 추적하고, 모든 메시지가 최종 상태가 되면 입력 순서대로 메시지 목록을 반환합니다.
+     */
+    fun trackAll(messageIds: Collection<String>): CompletableFuture<List<Message>> {
+        return allOf(messageIds.map { track(it) })
+    }
+
+    /**
+     * 발송 응답에 포함된 모든 메시지의 최종 상태를 추적합니다.
+     * 발송 응답에 메시지 목록이 포함되도록 showMessageList 설정으로 발송해야 합니다.
+     */
+    fun trackAll(response: MultipleDetailMessageSentResponse): CompletableFuture<List<Message>> {
+        return trackAll(response.messageList?.mapNotNull { it.messageId } ?: emptyList())
+    }
+
+    /**
+     * 메시지 그룹에 포함된 모든 메시지의 최종 상태를 추적합니다.
+     * 그룹의 메시지 목록을 조회한 다음, 이미 최종 상태인 메시지를 제외한 메시지를 추적합니다.
+     * 추적 중에는 메시지 ID 대신 그룹 ID와 발송 대기, 발송 중 상태로 조회하고, 해당 상태에서 빠진 메시지만 메시지 ID로 조회합니다.
+     * 반환된 Future를 취소하면 그룹 메시지의 추적도 중단합니다.
+     */
+    fun trackGroup(groupId: String): CompletableFuture<List<Message>> {
+        if (closed) {
+            return failedFuture(IllegalStateException("DeliveryStatusTracker가 이미 종료되었습니다."))
+        }
+        val result = CancellableFuture<List<Message>>()
+        val query = try {
+            MessageListQuery.builder().groupId(groupId).limit(MessageIdLookup.MAX_IDS_PER_CHUNK).build()
+        } catch (e: Exception) {
+            return failedFuture(e)
+        }
+        collectGroup(groupId, query, ArrayList(), LinkedHashMap(), result)
+        return result
+    }
+
+    private fun collectGroup(
+        groupId: String,
+        query: MessageListQuery,
+        messages: MutableList<CompletableFuture<Message>>,
+        pending: MutableMap<String, Entry>,
+        result: CancellableFuture<List<Message>>
+    ) {
+        val page = try {
+            fetchGroupPage(query)
+        } catch (e: Throwable) {
+            failedFuture(e)
+        }
+        result.setOnCancel {
+            page.cancel(true)
+            synchronized(messages) { messages.toList() }.forEach { it.cancel(false) }
+        }
+        page.whenComplete { response, error ->
+            if (error != null) {
+                // 조회하지 못한 그룹의 메시지는 추적을 시작하지 않으므로, 이미 등록한 메시지도 정리합니다.
+                pending.values.forEach { it.future.cancel(false) }
+                result.completeExceptionally(unwrapCompletionException(error))
+                return@whenComplete
+            }
+            if (result.isDone) {
+                return@whenComplete
+            }
+            response?.messageList?.forEach { (key, message) ->
+                val future = if (isFinal(message)) {
+                    CompletableFuture.completedFuture(message)
+                } else {
+                    // 이미 메시지 ID로 추적 중인 메시지는 기존 추적을 그대로 사용합니다.
+                    val (entry, created) = register(message.messageId ?: key, message.type)
+                    if (created) {
+                        pending[entry.messageId] = entry
+                    }
+                    entry.future
+                }
+                synchronized(messages) { messages.add(future) }
+            }
+            val nextKey = nextStartKeyOf(response)
+            if (nextKey != null) {
+                collectGroup(groupId, query.withStartKey(nextKey), messages, pending, result)
+                return@whenComplete
+            }
+            if (pending.isNotEmpty()) {
+                val group = GroupEntry(groupId, pending, clock())
+                if (closed || !execute { startGroup(group) }) {
+                    pending.values.forEach { it.future.cancel(false) }
+                }
+            }
+            allOf(synchronized(messages) { messages.toList() }).whenComplete { list, listError ->
+                if (listError != null) {
+                    result.completeExceptionally(unwrapCompletionException(listError))
+                } else {
+                    result.complete(list)
+                }
+            }
+        }
+    }
+
+    /**
+     * 추적을 모두 중단하고 타이머 스레드를 종료합니다. 최종 상태가 되지 않은 메시지의 Future는 취소됩니다.
+     */
+    override fun close() {
+        closed = true
+        execute {
+            polling?.cancel(true)
+            tick?.cancel(false)
+            queue.clear()
+            groups.forEach { group ->
+                group.polling?.cancel(true)
+                group.task?.cancel(false)
+            }
+            groups.clear()
+            entries.values.forEach { it.future.cancel(false) }
+            entries.clear()
+        }
+        scheduler.shutdown()
+    }
+
+    /**
+     * 추적 중인 메시지를 반환하고, 없으면 새로 등록한 뒤 등록 여부와 함께 반환합니다.
+     */
+    private fun register(messageId: String, type: MessageType?): Pair<Entry, Boolean> {
+        var created: Entry? = null
+        val entry = entries.computeIfAbsent(messageId) { Entry(it, type, clock()).also { entry -> created = entry } }
+        created?.let { newEntry -> newEntry.future.whenComplete { _, _ -> entries.remove(messageId, newEntry) } }
+        return entry to (created != null)
+    }
+
+    /**
+     * 타이머 스레드에서 [action]을 실행합니다. 이미 종료된 경우 실행하지 않고 false를 반환합니다.
+     */
+    private fun execute(action: () -> Unit): Boolean {
+        return try {
+            scheduler.execute(action)
+            true
+        } catch (e: RejectedExecutionException) {
+            false
+        }
+    }
+
+    /**
+     * 가장 먼저 조회할 메시지의 조회 시각에 맞추어 다음 조회를 예약합니다. 조회 중에는 조회가 끝난 뒤에 예약합니다.
+     */
+    private fun scheduleTick() {
+        if (polling != null || closed) {
+            return
+        }
+        val head = queue.peek() ?: return
+        if (tick != null && tickAt <= head.nextPollAt) {
+            return
+        }
+        tick?.cancel(false)
+        tickAt = head.nextPollAt
+        tick = scheduler.schedule(Runnable {
+            tick = null
+            tickAt = Long.MAX_VALUE
+            poll()
+        }, maxOf(0, head.nextPollAt - clock()), TimeUnit.MILLISECONDS)
+    }
+
+    private fun poll() {
+        val deadline = clock() + COALESCE_MILLIS
+        val batch = ArrayList<Entry>()
+        while (batch.size < MAX_IDS_PER_POLL) {
+            val head = queue.peek() ?: break
+            if (head.nextPollAt > deadline) {
+                break
+            }
+            queue.poll()
+            if (!head.future.isDone) {
+                batch.add(head)
+            }
+        }
+        if (batch.isEmpty()) {
+            scheduleTick()
+            return
+        }
+        val request = try {
+            fetchMessages(batch.map { it.messageId })
+        } catch (e: Throwable) {
+            failedFuture(e)
+        }
+        polling = request
+        request.whenComplete { found, error -> execute { onPolled(batch, found, error) } }
+    }
+
+    /**
+     * 최종 상태가 된 메시지를 완료하고, 나머지 메시지는 다음 조회 시각을 정해 다시 큐에 넣습니다.
+     * 조회에 실패한 경우에도 [shouldStopOnError]가 추적 중단을 반환하기 전까지는 다음 조회 시각에 다시 조회합니다.
+     */
+    private fun onPolled(batch: List<Entry>, found: Map<String, Message>?, error: Throwable?) {
+        polling = null
+        if (closed) {
+            return
+        }
+        val cause = error?.let(::unwrapCompletionException)
+        val now = clock()
+        for (entry in batch) {
+            if (entry.future.isDone) {
+                continue
+            }
+            if (cause != null) {
+                entry.errors++
+                if (shouldStopOnError(cause, entry.errors)) {
+                    entry.future.completeExceptionally(cause)
+                    continue
+                }
+            } else {
+                entry.errors = 0
+            }
+            val message = found?.get(entry.messageId)
+            if (message != null && isFinal(message)) {
+                complete(entry, message)
+                continue
+            }
+            message?.type?.let { entry.type = it }
+            entry.attempts++
+            val delay = pollPolicy.nextPollDelayMillis(entry.type, now - entry.trackedAt, entry.attempts)
+            if (delay < 0) {
+                entry.future.completeExceptionally(
+                    TimeoutException("메시지(${entry.messageId})의 최종 상태를 확인하지 못했습니다.")
+                )
+                continue
+            }
+            entry.nextPollAt = now + delay
+            queue.add(entry)
+        }
+        scheduleTick()
+    }
+
+    private fun startGroup(group: GroupEntry) {
+        if (closed) {
+            group.entries.values.forEach { it.future.cancel(false) }
+            return
+        }
+        groups.add(group)
+        scheduleGroup(group)
+    }
+
+    /**
+     * 그룹에 남은 메시지 유형별 조회 간격 중 가장 짧은 간격으로 다음 그룹 조회를 예약합니다.
+     */
+    private fun scheduleGroup(group: GroupEntry) {
+        group.entries.values.removeAll { it.future.isDone }
+        if (group.entries.isEmpty()) {
+            groups.remove(group)
+            return
+        }
+        val ageMillis = clock() - group.trackedAt
+        val delay = group.entries.values.map { it.type }.distinct()
+            .minOf { pollPolicy.nextPollDelayMillis(it, ageMillis, group.attempts) }
+        if (delay < 0) {
+            group.entries.values.forEach { entry ->
+                entry.future.completeExceptionally(
+                    TimeoutException("메시지(${entry.messageId})의 최종 상태를 확인하지 못했습니다.")
+                )
+            }
+            groups.remove(group)
+            return
+        }
+        group.task = scheduler.schedule(Runnable { pollGroup(group) }, delay, TimeUnit.MILLISECONDS)
+    }
+
+    /**
+     * 그룹에서 발송 대기, 발송 중인 메시지 ID를 조회하고, 해당 상태에서 빠진 메시지만 메시지 ID로 조회합니다.
+     */
+    private fun pollGroup(group: GroupEntry) {
+        group.task = null
+        if (closed) {
+            return
+        }
+        group.entries.values.removeAll { it.future.isDone }
+        if (group.entries.isEmpty()) {
+            groups.remove(group)
+            return
+        }
+        val messageIds = group.entries.keys.toList()
+        val active = collectActiveIds(group.groupId)
+        val request = composeCancellable(active) {
+            val activeIds = active.join()
+            val settled = messageIds.filter { it !in activeIds }
+            if (settled.isEmpty()) CompletableFuture.completedFuture(emptyMap<String, Message>()) else fetchMessages(settled)
+        }
+        group.polling = request
+        request.whenComplete { found, error -> execute { onGroupPolled(group, found, error) } }
+    }
+
+    private fun onGroupPolled(group: GroupEntry, found: Map<String, Message>?, error: Throwable?) {
+        group.polling = null
+        if (closed) {
+            return
+        }
+        if (error != null) {
+            val cause = unwrapCompletionException(error)
+            group.errors++
+            if (shouldStopOnError(cause, group.errors)) {
+                group.entries.values.forEach { it.future.completeExceptionally(cause) }
+                groups.remove(group)
+                return
+            }
+        } else {
+            group.errors = 0
+            found?.forEach { (messageId, message) ->
+                val entry = group.entries[messageId] ?: return@forEach
+                if (isFinal(message)) {
+                    complete(entry, message)
+                    group.entries.remove(messageId)
+                } else {
+                    // 두 상태를 조회하는 사이에 상태가 바뀐 메시지는 다음 그룹 조회에서 다시 확인합니다.
+                    message.type?.let { entry.type = it }
+                }
+            }
+        }
+        group.attempts++
+        scheduleGroup(group)
+    }
+
+    private fun collectActiveIds(groupId: String): CompletableFuture<Set<String>> {
+        val messageIds = HashSet<String>()
+        val pending = collectIds(activeQuery(groupId, MessageStatusType.PENDING), messageIds)
+        return composeCancellable(pending) { collectIds(activeQuery(groupId, MessageStatusType.SENDING), messageIds) }
+    }
+
+    private fun activeQuery(groupId: String, status: MessageStatusType): MessageListQuery {
+        return MessageListQuery.builder().groupId(groupId).status(status).limit(MessageIdLookup.MAX_IDS_PER_CHUNK).build()
+    }
+
+    private fun collectIds(query: MessageListQuery, messageIds: MutableSet<String>): CompletableFuture<Set<String>> {
+        val page = try {
+            fetchGroupPage(query)
+        } catch (e: Throwable) {
+            failedFuture(e)
+        }
+        return composeCancellable(page) {
+            val response = page.join()
+            response?.messageList?.forEach { (key, message) -> messageIds.add(message.messageId ?: key) }
+            val nextKey = nextStartKeyOf(response)
+            if (nextKey != null) {
+                collectIds(query.withStartKey(nextKey), messageIds)
+            } else {
+                CompletableFuture.completedFuture<Set<String>>(messageIds)
+            }
+        }
+    }
+
+    /**
+     * 인증 오류와 잘못된 요청 오류는 다시 조회해도 같은 결과이므로 바로,
+     * 그 외의 오류는 연속으로 [MAX_CONSECUTIVE_POLL_ERRORS]번 발생하면 추적을 중단합니다.
+     */
+    private fun shouldStopOnError(error: Throwable, consecutiveErrors: Int): Boolean {
+        return error is SolapiInvalidApiKeyException || error is SolapiBadRequestException ||
+            consecutiveErrors >= MAX_CONSECUTIVE_POLL_ERRORS
+    }
+
+    private fun complete(entry: Entry, message: Message) {
+        if (entry.future.complete(message)) {
+            try {
+                listener?.accept(message)
+            } catch (e: Exception) {
+                // 콜백의 오류가 다른 메시지의 추적에 영향을 주지 않도록 무시합니다.
+            }
+        }
+    }
+
+    /**
+     * 발송 대기(2000), 발송 중(3000)이 아닌 상태코드를 최종 상태로 판단합니다.
+     */
+    private fun isFinal(message: Message): Boolean {
+        val statusCode = message.statusCode
+        return !statusCode.isNullOrBlank() && statusCode != STATUS_PENDING && statusCode != STATUS_SENDING
+    }
+
+    private fun allOf(futures: List<CompletableFuture<Message>>): CompletableFuture<List<Message>> {
+        return CompletableFuture.allOf(*futures.toTypedArray()).thenApply { futures.map { it.join() } }
+    }
+}
@@ -13,6 +13,8 @@ import com.solapi.sdk.message.dto.response.kakao.KakaoAlimtalkTemplateListRespon
 import com.solapi.sdk.message.dto.response.kakao.KakaoAlimtalkTemplateResponse
 import com.solapi.sdk.message.dto.response.kakao.KakaoBrandMessageTemplateListResponse
 import com.solapi.sdk.message.model.kakao.KakaoAlimtalkTemplateCategory
+import okhttp3.RequestBody
+import okhttp3.ResponseBody
 import retrofit2.Call
 import retrofit2.http.*
 
@@ -22,12 +24,24 @@ interface MessageHttpService : MessageService {
     @GET("/messages/v4/list")
     fun getMessageList(@QueryMap parameter: Map<String, Any?>? = null): Call<MessageListResponse>
 
+    @Streaming
+    @JvmSuppressWildcards
+    @GET("/messages/v4/list")
+    fun getMessageListStreaming(@QueryMap parameter: Map<String, Any?>? = null): Call<ResponseBody>
+
     @POST("/messages/v4/send-many/detail")
     fun sendManyDetail(@Body parameter: MultipleDetailMessageSendingRequest): Call<MultipleDetailMessageSentResponse>
 
+    @Streaming
+    @POST("/messages/v4/send-many/detail")
+    fun sendManyDetailStreaming(@Body parameter: MultipleDetailMessageSendingRequest): Call<ResponseBody>
+
     @POST("/storage/v1/files")
     fun uploadFile(@Body fileUploadRequest: FileUploadRequest): Call<FileUploadResponse>
 
+    @POST("/storage/v1/files")
+    fun uploadFileStreaming(@Body body: RequestBody): Call<FileUploadResponse>
+
     @GET("/cash/v1/balance")
     fun getBalance(): Call<Balance>
 
@@ -0,0 +1,124 @@
+package com.solapi.sdk.message.service
+
+import com.solapi.sdk.message.dto.response.MessageListResponse
+import com.solapi.sdk.message.lib.BoundedWorkerPool
+import com.solapi.sdk.message.lib.composeCancellable
+import com.solapi.sdk.message.lib.failedFuture
+import com.solapi.sdk.message.model.Message
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * 여러 메시지 ID를 URL 길이 제한을 넘지 않는 묶음(chunk)으로 나누어 동시에 조회하는 도구
+ *
+ * 메시지 ID 목록은 조회 시 ID마다 criteria, cond, value 쿼리 문자열에 하나씩 추가되므로,
+ * ID가 수백 개만 되어도 URL이 서버나 프록시의 제한을 넘어 요청이 거절됩니다.
+ * 이 도구는 묶음별 쿼리 문자열이 [maxQueryLength]를 넘지 않도록 ID를 나누고, 묶음을 최대 [maxConcurrency]개씩 동시에 조회합니다.
+ * 한 묶음의 조회 결과가 여러 페이지인 경우 다음 페이지도 이어서 조회합니다.
+ *
+ * 하나의 조회라도 실패하면 진행 중인 조회를 모두 취소하고 예외로 완료됩니다.
+ */
+internal class MessageIdLookup(
+    private val chunks: List<List<String>>,
+    private val maxConcurrency: Int,
+    private val fetchPage: (List<String>, String?) -> CompletableFuture<MessageListResponse?>,
+) {
+    companion object {
+        /**
+         * 메시지 ID 조건이 차지하는 쿼리 문자열의 최대 길이
+         * 일반적인 서버와 프록시의 URL 제한(8KB)보다 충분히 작게 설정해, 다른 조회 조건과 주소를 더해도 넘지 않도록 합니다.
+         */
+        const val DEFAULT_MAX_QUERY_LENGTH = 4096
+
+        /**
+         * 한 묶음에 담을 최대 메시지 ID 수, 한 번에 조회할 수 있는 최대 건 수(limit)와 같습니다.
+         */
+        const val MAX_IDS_PER_CHUNK = 500
+
+        private const val CRITERIA = "messageId"
+        private const val COND = "eq"
+
+        // URL 인코딩된 구분자(%2C)의 길이
+        private const val ENCODED_SEPARATOR_LENGTH = 3
+
+        /**
+         * 중복을 제거한 메시지 ID를 입력 순서대로, 묶음별 쿼리 문자열이 [maxQueryLength]를 넘지 않도록 나눕니다.
+         * ID 하나만으로 [maxQueryLength]를 넘는 경우에도 해당 ID는 단독 묶음으로 조회합니다.
+         */
+        fun chunk(messageIds: Collection<String>, maxQueryLength: Int = DEFAULT_MAX_QUERY_LENGTH): List<List<String>> {
+            val chunks = ArrayList<List<String>>()
+            var current = ArrayList<String>()
+            var length = 0
+            for (messageId in LinkedHashSet(messageIds)) {
+                val cost = queryLengthOf(messageId)
+                if (current.isNotEmpty() && (length + cost > maxQueryLength || current.size >= MAX_IDS_PER_CHUNK)) {
+                    chunks.add(current)
+                    current = ArrayList()
+                    length = 0
+                }
+                current.add(messageId)
+                length += cost
+            }
+            if (current.isNotEmpty()) {
+                chunks.add(current)
+            }
+            return chunks
+        }
+
+        /**
+         * 메시지 ID 하나가 criteria, cond, value 쿼리 문자열에 더하는 길이(구분자 포함)
+         * 영문자, 숫자와 일부 기호 외의 문자는 UTF-8 byte마다 3자(%XX)로 인코딩된다고 계산합니다.
+         */
+        private fun queryLengthOf(messageId: String): Int {
+            var encoded = 0
+            for (byte in messageId.toByteArray(Charsets.UTF_8)) {
+                val char = byte.toInt().toChar()
+                encoded += if (byte >= 0 && (char.isLetterOrDigit() || char in "-_.~")) 1 else 3
+            }
+            return CRITERIA.length + COND.length + encoded + ENCODED_SEPARATOR_LENGTH * 3
+        }
+    }
+
+    private val found = ConcurrentHashMap<String, Message>()
+    private var next = 0
+
+    fun start(): CompletableFuture<Map<String, Message>> {
+        val fetched = BoundedWorkerPool(
+            maxConcurrency = maxConcurrency,
+            failurePolicy = BoundedWorkerPool.FailurePolicy.CANCEL_ALL,
+            nextTask = { if (next < chunks.size) chunks[next++] else null },
+            runTask = { chunk -> fetch(chunk, null) }
+        ).start()
+        return composeCancellable(fetched) { CompletableFuture.completedFuture(collect()) }
+    }
+
+    /**
+     * 묶음의 [startKey] 페이지를 조회하고, 다음 페이지가 있으면 이어서 조회합니다.
+     */
+    private fun fetch(chunk: List<String>, startKey: String?): CompletableFuture<Unit> {
+        val page = try {
+            fetchPage(chunk, startKey)
+        } catch (e: Throwable) {
+            failedFuture(e)
+        }
+        return composeCancellable(page) {
+            val response = page.join()
+            response?.messageList?.forEach { (key, message) ->
+                found[message.messageId ?: key] = message
+            }
+            val nextKey = nextStartKeyOf(response)
+            if (nextKey != null) fetch(chunk, nextKey) else CompletableFuture.completedFuture(Unit)
+        }
+    }
+
+    /**
+     * 조회된 메시지를 요청한 ID 순서대로 담습니다. 요청하지 않은 ID의 메시지는 제외합니다.
+     */
+    private fun collect(): Map<String, Message> {
+        val messages = LinkedHashMap<String, Message>()
+        chunks.forEach { chunk ->
+            chunk.forEach { messageId -> found[messageId]?.let { messages[messageId] = it } }
+        }
+        return messages
+    }
+}
@@ -0,0 +1,248 @@
+package com.solapi.sdk.message.service
+
+import com.solapi.sdk.message.dto.request.MessageListRequest
+import com.solapi.sdk.message.dto.response.MessageListResponse
+import com.solapi.sdk.message.exception.SolapiBadRequestException
+import com.solapi.sdk.message.lib.BoundedWorkerPool
+import com.solapi.sdk.message.lib.MessageListQuery
+import com.solapi.sdk.message.lib.composeCancellable
+import com.solapi.sdk.message.lib.failedFuture
+import com.solapi.sdk.message.lib.getOrThrow
+import com.solapi.sdk.message.model.Message
+import java.util.ArrayDeque
+import java.util.TreeMap
+import java.util.concurrent.CompletableFuture
+import java.util.function.Consumer
+import kotlin.time.Instant
+
+/**
+ * 조회 기간을 시간 구간(shard)으로 나누어 여러 구간을 동시에 조회하는 메시지 내보내기 도구
+ *
+ * 하나의 startKey 커서로는 페이지를 차례로만 조회할 수 있으므로, 한 달 치 메시지처럼 많은 양을 조회하면 왕복 지연 시간만큼 느려집니다.
+ * 이 도구는 startDate부터 endDate까지의 기간을 initialShards개의 구간으로 나누고, 구간별 커서를 최대 maxConcurrency개까지 동시에 진행합니다.
+ * 첫 페이지 이후에도 페이지가 남은(메시지가 많은) 구간은 남는 동시 요청 여유가 있으면 두 구간으로 다시 나누어 조회합니다.
+ * 다시 나눈 구간의 첫 페이지는 버리고 다시 조회하므로, 구간은 minShardMillis보다 짧게 나누지 않습니다.
+ *
+ * ordered가 true인 경우 메시지는 구간의 시간 순서대로 전달되며, 앞선 구간의 조회가 끝날 때까지 뒤 구간의 메시지는 메모리에 보관됩니다.
+ * false인 경우 조회된 페이지의 메시지가 즉시 전달됩니다.
+ * 어느 경우든 consumer는 동시에 호출되지 않습니다.
+ *
+ * 구간 경계에 생성된 메시지가 양쪽 구간에 모두 조회되는 경우, 생성 시각(dateCreated)이 구간 끝과 같은 메시지는 뒤 구간에만 포함됩니다.
+ *
+ * @param maxConcurrency 동시에 진행할 최대 조회 요청 수
+ * @param initialShards 처음 나눌 구간 수
+ * @param minShardMillis 다시 나눌 수 있는 구간의 최소 길이(밀리초)
+ */
+class MessageListExporter @JvmOverloads constructor(
+    private val messageService: DefaultMessageService,
+    private val maxConcurrency: Int = DefaultMessageService.DEFAULT_SEND_CONCURRENCY,
+    private val initialShards: Int = maxConcurrency,
+    private val minShardMillis: Long = DEFAULT_MIN_SHARD_MILLIS,
+) {
+    companion object {
+        const val DEFAULT_MIN_SHARD_MILLIS = 60_000L
+    }
+
+    init {
+        if (maxConcurrency < 1 || initialShards < 1) {
+            throw SolapiBadRequestException("동시 조회 요청 수와 구간 수는 1 이상이어야 합니다.")
+        }
+        if (minShardMillis < 1) {
+            throw SolapiBadRequestException("minShardMillis는 1 이상이어야 합니다.")
+        }
+    }
+
+    /**
+     * 조건에 맞는 메시지를 모두 조회해 consumer에 전달하고, 전달한 메시지 수를 반환합니다.
+     * parameter의 startDate와 endDate는 반드시 지정해야 하며, startKey는 사용하지 않습니다.
+     */
+    @JvmOverloads
+    @Throws(SolapiBadRequestException::class)
+    fun export(parameter: MessageListRequest, ordered: Boolean = false, consumer: Consumer<Message>): Long {
+        return exportAsync(parameter, ordered, consumer).getOrThrow()
+    }
+
+    /**
+     * 조건에 맞는 메시지를 비동기로 모두 조회해 consumer에 전달합니다.
+     * 조회 중 하나의 요청이라도 실패하면 진행 중인 조회를 모두 취소하고 예외로 완료됩니다.
+     * 반환된 Future를 취소하면 진행 중인 조회 요청도 취소됩니다.
+     * @see export
+     */
+    @JvmOverloads
+    fun exportAsync(
+        parameter: MessageListRequest,
+        ordered: Boolean = false,
+        consumer: Consumer<Message>
+    ): CompletableFuture<Long> {
+        val startDate = parameter.startDate
+        val endDate = parameter.endDate
+        if (startDate == null || endDate == null || startDate >= endDate) {
+            return failedFuture(SolapiBadRequestException("startDate와 endDate를 지정해야 하며, startDate는 endDate보다 앞서야 합니다."))
+        }
+        val query = try {
+            MessageListQuery.of(parameter.copy(startKey = null))
+        } catch (e: Exception) {
+            return failedFuture(e)
+        }
+        return ShardedExport(
+            start = startDate.toEpochMilliseconds(),
+            end = endDate.toEpochMilliseconds(),
+            ordered = ordered,
+            consumer = consumer,
+            fetchPage = { shard, startKey ->
+                messageService.getMessageListByQueryAsync(
+                    query.withDateRange(Instant.fromEpochMilliseconds(shard.start), Instant.fromEpochMilliseconds(shard.end))
+                        .withStartKey(startKey)
+                )
+            }
+        ).start()
+    }
+
+    /**
+     * 조회 구간, [start]부터 [end]까지를 조회하며 [last]가 아닌 구간은 [end] 시각의 메시지를 포함하지 않습니다.
+     */
+    internal class Shard(val start: Long, val end: Long, val last: Boolean)
+
+    internal inner class ShardedExport(
+        start: Long,
+        end: Long,
+        private val ordered: Boolean,
+        private val consumer: Consumer<Message>,
+        private val fetchPage: (Shard, String?) -> CompletableFuture<MessageListResponse?>,
+    ) {
+        private val lock = Any()
+
+        // consumer 호출을 직렬화하는 잠금, 사용자가 전달한 consumer 객체를 잠그면 외부 코드와 교착될 수 있어 별도 객체를 사용합니다.
+        private val deliveryLock = Any()
+        private val queue = ArrayDeque<Shard>()
+        private val pool = BoundedWorkerPool(
+            maxConcurrency = maxConcurrency,
+            failurePolicy = BoundedWorkerPool.FailurePolicy.CANCEL_ALL,
+            nextTask = { synchronized(lock) { queue.pollFirst() } },
+            runTask = { shard -> fetch(shard, null, if (ordered) ArrayList() else null) }
+        )
+        private var delivered = 0L
+
+        // ordered 모드에서 완료되었지만 앞선 구간이 끝나지 않아 전달하지 못한 구간(시작 시각 기준)
+        private val completedShards = TreeMap<Long, Pair<Shard, List<Message>>>()
+        private var orderedCursor = start
+
+        init {
+            val count = minOf(initialShards.toLong(), maxOf(1L, (end - start) / minShardMillis)).toInt()
+            val step = (end - start) / count
+            for (i in 0 until count) {
+                val shardStart = start + step * i
+                val shardEnd = if (i == count - 1) end else shardStart + step
+                queue.addLast(Shard(shardStart, shardEnd, i == count - 1))
+            }
+        }
+
+        fun start(): CompletableFuture<Long> {
+            return composeCancellable(pool.start()) {
+                CompletableFuture.completedFuture(synchronized(lock) { delivered })
+            }
+        }
+
+        /**
+         * 구간의 [startKey] 페이지를 조회하고, 다음 페이지가 있으면 이어서 조회합니다.
+         * 반환된 Future는 구간의 조회가 끝나거나 구간을 나누어 대기열에 넣으면 완료됩니다.
+         */
+        private fun fetch(shard: Shard, startKey: String?, buffer: MutableList<Message>?): CompletableFuture<Unit> {
+            val page = try {
+                fetchPage(shard, startKey)
+            } catch (e: Throwable) {
+                failedFuture(e)
+            }
+            return composeCancellable(page) { onPage(shard, startKey, page.join(), buffer) }
+        }
+
+        private fun onPage(
+            shard: Shard,
+            startKey: String?,
+            page: MessageListResponse?,
+            buffer: MutableList<Message>?
+        ): CompletableFuture<Unit> {
+            val nextKey = nextStartKeyOf(page)
+            if (startKey == null && nextKey != null && trySplit(shard)) {
+                return CompletableFuture.completedFuture(Unit)
+            }
+            val messages = page?.messageList?.values?.filter { belongsTo(shard, it) } ?: emptyList()
+            if (buffer != null) {
+                buffer.addAll(messages)
+            } else {
+                deliver(messages)
+            }
+            if (nextKey != null) {
+                return fetch(shard, nextKey, buffer)
+            }
+            if (buffer != null) {
+                completeOrdered(shard, buffer)
+            }
+            return CompletableFuture.completedFuture(Unit)
+        }
+
+        /**
+         * 동시 요청 여유가 있고 구간을 더 나눌 수 있으면 두 구간으로 나누어 대기열에 넣습니다.
+         */
+        private fun trySplit(shard: Shard): Boolean {
+            val length = shard.end - shard.start
+            if (length < minShardMillis * 2) {
+                return false
+            }
+            // 작업 풀의 잠금을 잡은 채 대기열 잠금을 잡으므로, 반대 순서로 잡지 않도록 실행 중인 수를 먼저 읽습니다.
+            // 나누려는 구간도 실행 중인 수에 포함되어 있으며, 이 구간의 조회는 나눈 뒤 끝납니다.
+            val running = pool.runningCount
+            synchronized(lock) {
+                if (queue.size + running >= maxConcurrency) {
+                    return false
+                }
+                val middle = shard.start + length / 2
+                queue.addFirst(Shard(middle, shard.end, shard.last))
+                queue.addFirst(Shard(shard.start, middle, false))
+            }
+            return true
+        }
+
+        private fun belongsTo(shard: Shard, message: Message): Boolean {
+            if (shard.last) {
+                return true
+            }
+            val created = message.dateCreated?.let {
+                try {
+                    Instant.parse(it).toEpochMilliseconds()
+                } catch (e: IllegalArgumentException) {
+                    null
+                }
+            } ?: return true
+            return created < shard.end
+        }
+
+        /**
+         * 완료된 구간을 보관하고, 앞선 구간이 모두 전달된 구간을 시간 순서대로 전달합니다.
+         * 전달 순서가 섞이지 않도록 전달이 끝날 때까지 [deliveryLock]을 유지합니다.
+         */
+        private fun completeOrdered(shard: Shard, messages: List<Message>) {
+            synchronized(deliveryLock) {
+                val ready = ArrayList<List<Message>>()
+                synchronized(lock) {
+                    completedShards[shard.start] = shard to messages
+                    while (true) {
+                        val (next, nextMessages) = completedShards.remove(orderedCursor) ?: break
+                        ready.add(nextMessages)
+                        orderedCursor = next.end
+                    }
+                }
+                ready.forEach { deliver(it) }
+            }
+        }
+
+        private fun deliver(messages: List<Message>) {
+            synchronized(deliveryLock) {
+                messages.forEach { consumer.accept(it) }
+                synchronized(lock) {
+                    delivered += messages.size
+                }
+            }
+        }
+    }
+}
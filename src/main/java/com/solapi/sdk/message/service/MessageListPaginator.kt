@@ -0,0 +1,178 @@
+package com.solapi.sdk.message.service
+
+import com.solapi.sdk.message.dto.response.MessageListResponse
+import com.solapi.sdk.message.exception.SolapiBadRequestException
+import com.solapi.sdk.message.lib.composeCancellable
+import com.solapi.sdk.message.lib.getOrThrow
+import com.solapi.sdk.message.model.Message
+import java.util.ArrayDeque
+import java.util.Spliterator
+import java.util.Spliterators
+import java.util.concurrent.CompletableFuture
+import java.util.stream.Stream
+import java.util.stream.StreamSupport
+
+/**
+ * 메시지 조회 결과의 모든 페이지를 차례로 순회하는 페이지네이터
+ *
+ * 다음 페이지는 이전 페이지의 nextKey가 있어야 조회할 수 있으므로, 페이지를 받는 즉시 다음 페이지를 요청해
+ * 현재 페이지를 처리하는 동안 최대 prefetchPages개의 페이지를 미리 받아 둡니다.
+ * 따라서 순회 속도는 조회 루프가 아니라 네트워크 속도에 의해 결정됩니다.
+ *
+ * 순회(iterator, pages, stream 호출)할 때마다 첫 페이지부터 다시 조회하며, 순회는 한 스레드에서만 해야 합니다.
+ * 조회 중 오류가 발생하면 해당 페이지를 꺼내는 시점에 예외가 발생합니다.
+ *
+ * ```kotlin
+ * messageService.getMessageListPaginator(MessageListRequest(limit = 500))
+ *     .asSequence()
+ *     .forEach { message -> println(message.messageId) }
+ * ```
+ */
+class MessageListPaginator internal constructor(
+    private val startKey: String?,
+    private val prefetchPages: Int,
+    private val fetchPage: (String?) -> CompletableFuture<MessageListResponse?>,
+) : Iterable<Message> {
+    companion object {
+        const val DEFAULT_PREFETCH_PAGES = 2
+    }
+
+    init {
+        if (prefetchPages < 1) {
+            throw SolapiBadRequestException("prefetchPages는 1 이상이어야 합니다.")
+        }
+    }
+
+    /**
+     * 모든 페이지의 메시지를 차례로 반환합니다.
+     */
+    override fun iterator(): Iterator<Message> {
+        return messages(PrefetchingPageIterator())
+    }
+
+    /**
+     * 조회 응답을 페이지 단위로 반환합니다.
+     */
+    fun pages(): Iterable<MessageListResponse> {
+        return Iterable { PrefetchingPageIterator() }
+    }
+
+    /**
+     * 모든 페이지의 메시지를 순회하는 [Stream]을 반환합니다.
+     * 스트림을 닫으면 미리 요청한 페이지의 조회도 취소됩니다.
+     */
+    fun stream(): Stream<Message> {
+        val pages = PrefetchingPageIterator()
+        return streamOf(messages(pages)).onClose { pages.cancel() }
+    }
+
+    /**
+     * 조회 응답을 페이지 단위로 순회하는 [Stream]을 반환합니다.
+     * 스트림을 닫으면 미리 요청한 페이지의 조회도 취소됩니다.
+     */
+    fun pageStream(): Stream<MessageListResponse> {
+        val pages = PrefetchingPageIterator()
+        return streamOf(pages).onClose { pages.cancel() }
+    }
+
+    private fun <T> streamOf(iterator: Iterator<T>): Stream<T> {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+    }
+
+    private fun messages(pages: Iterator<MessageListResponse>): Iterator<Message> {
+        return object : Iterator<Message> {
+            private var current: Iterator<Message> = emptyList<Message>().iterator()
+
+            override fun hasNext(): Boolean {
+                while (!current.hasNext()) {
+                    if (!pages.hasNext()) {
+                        return false
+                    }
+                    current = pages.next().messageList?.values?.iterator() ?: continue
+                }
+                return true
+            }
+
+            override fun next(): Message {
+                if (!hasNext()) {
+                    throw NoSuchElementException()
+                }
+                return current.next()
+            }
+        }
+    }
+
+    /**
+     * 다음 페이지 조회 요청을 최대 [prefetchPages]개까지 미리 연결해 두는 페이지 Iterator
+     * 각 요청은 이전 페이지의 응답을 받는 즉시 시작됩니다.
+     */
+    private inner class PrefetchingPageIterator : Iterator<MessageListResponse> {
+        private val pending = ArrayDeque<CompletableFuture<MessageListResponse?>>()
+        private var nextPage: MessageListResponse? = null
+        private var done = false
+
+        init {
+            pending.addLast(fetchPage(startKey))
+            while (pending.size < prefetchPages) {
+                extend()
+            }
+        }
+
+        override fun hasNext(): Boolean {
+            if (nextPage != null) {
+                return true
+            }
+            if (done) {
+                return false
+            }
+            extend()
+            val page = try {
+                pending.pollFirst().getOrThrow()
+            } catch (e: Throwable) {
+                cancel()
+                throw e
+            }
+            if (page == null) {
+                cancel()
+                return false
+            }
+            nextPage = page
+            return true
+        }
+
+        override fun next(): MessageListResponse {
+            if (!hasNext()) {
+                throw NoSuchElementException()
+            }
+            val page = nextPage!!
+            nextPage = null
+            return page
+        }
+
+        fun cancel() {
+            done = true
+            pending.forEach { it.cancel(true) }
+            pending.clear()
+        }
+
+        private fun extend() {
+            val last = pending.peekLast()
+            pending.addLast(composeCancellable(last) {
+                val nextKey = nextStartKeyOf(last.join())
+                if (nextKey == null) CompletableFuture.completedFuture<MessageListResponse?>(null) else fetchPage(nextKey)
+            })
+        }
+    }
+}
+
+/**
+ * 조회 응답에서 다음 페이지의 startKey를 반환합니다. 마지막 페이지인 경우 null을 반환합니다.
+ */
+internal fun nextStartKeyOf(response: MessageListResponse?): String? {
+    val page = response ?: return null
+    val nextKey = page.nextKey
+    if (nextKey.isNullOrEmpty() || nextKey == page.startKey || page.messageList.isNullOrEmpty()) {
+        return null
+    }
+    return nextKey
+}
@@ -0,0 +1,266 @@
+package com.solapi.sdk.message.service
+
+import com.solapi.sdk.message.dto.request.SendRequestConfig
+import com.solapi.sdk.message.dto.response.BulkMessageSentResponse
+import com.solapi.sdk.message.dto.response.MultipleDetailMessageSentResponse
+import com.solapi.sdk.message.exception.SolapiBadRequestException
+import com.solapi.sdk.message.exception.SolapiEmptyResponseException
+import com.solapi.sdk.message.exception.SolapiMessageNotReceivedException
+import com.solapi.sdk.message.exception.SolapiUnknownException
+import com.solapi.sdk.message.lib.BulkMessageSentResponseAccumulator
+import com.solapi.sdk.message.lib.ChunkedSendDispatcher
+import com.solapi.sdk.message.lib.JsonSupport
+import com.solapi.sdk.message.lib.MessageCorrelation
+import com.solapi.sdk.message.lib.OutboxJournal
+import com.solapi.sdk.message.lib.composeCancellable
+import com.solapi.sdk.message.lib.failedFuture
+import com.solapi.sdk.message.lib.getOrThrow
+import com.solapi.sdk.message.lib.unwrapCompletionException
+import com.solapi.sdk.message.model.FailedMessage
+import com.solapi.sdk.message.model.Message
+import kotlinx.serialization.Serializable
+import java.io.Closeable
+import java.io.File
+import java.util.IdentityHashMap
+import java.util.concurrent.CompletableFuture
+
+/**
+ * 발송할 메시지를 로컬 디스크에 먼저 기록한 다음 발송하는 아웃박스(outbox)
+ *
+ * 메시지는 발송 요청 전에 추가 전용(append-only) 메모리 맵 세그먼트 파일에 기록되고,
+ * 발송 응답의 messageList 또는 failedMessageList에서 확인된 메시지는 완료 처리됩니다.
+ * 발송 요청이 실패했거나 발송 도중 JVM이 종료되는 등의 이유로 완료 처리되지 않은 메시지는 [replayPending]으로 다시 발송할 수 있습니다.
+ *
+ * 디스크 동기화는 여러 메시지를 모아 한 번에 처리하므로(group commit), 메시지 하나당 기록 비용은 크지 않습니다.
+ * 발송 요청이 서버에 접수된 뒤 응답을 받기 전에 종료된 경우에는 재발송 시 중복 발송될 수 있습니다(at-least-once).
+ *
+ * 응답과 메시지를 연결하기 위해 메시지의 customFields에 SDK 전용 키가 추가되며, 반환되는 응답에서는 제거됩니다.
+ * 하나의 디렉토리는 하나의 MessageOutbox에서만 사용해야 하며, 사용이 끝나면 close를 호출해야 합니다.
+ *
+ * @param directory 세그먼트 파일을 저장할 디렉토리
+ * @param segmentSize 세그먼트 파일 하나의 크기(byte)
+ */
+class MessageOutbox internal constructor(
+    directory: File,
+    segmentSize: Int,
+    private val sendBatch: (List<Message>, SendRequestConfig) -> CompletableFuture<MultipleDetailMessageSentResponse>,
+) : Closeable {
+    @JvmOverloads
+    constructor(
+        messageService: DefaultMessageService,
+        directory: File,
+        segmentSize: Int = DEFAULT_SEGMENT_SIZE,
+    ) : this(directory, segmentSize, { messages, config -> messageService.sendAsync(messages, config) })
+
+    companion object {
+        const val DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024
+    }
+
+    @Serializable
+    internal data class Entry(
+        val message: Message,
+        val sendRequestConfig: SendRequestConfig,
+    )
+
+    private class Batch(
+        val ids: List<Long>,
+        val payloads: List<ByteArray>,
+        val messages: List<Message>,
+        val sendRequestConfig: SendRequestConfig
+    )
+
+    private val journal: OutboxJournal
+
+    init {
+        if (segmentSize < OutboxJournal.HEADER_SIZE) {
+            throw SolapiBadRequestException("segmentSize가 너무 작습니다.")
+        }
+        journal = OutboxJournal(directory, segmentSize)
+    }
+
+    /**
+     * 발송이 완료되지 않은 메시지 수
+     * 이전 실행에서 발송이 완료되지 않은 메시지도 포함됩니다.
+     */
+    val pendingCount: Int
+        get() = journal.pendingCount
+
+    /**
+     * 메시지를 기록한 뒤 발송합니다.
+     * 기록이 디스크에 동기화된 다음 발송 요청이 시작되며, showMessageList 설정은 결과 확인을 위해 항상 활성화됩니다.
+     */
+    @JvmOverloads
+    @Throws(
+        SolapiMessageNotReceivedException::class, SolapiEmptyResponseException::class, SolapiUnknownException::class
+    )
+    fun send(
+        messages: List<Message>,
+        sendRequestConfig: SendRequestConfig? = null
+    ): MultipleDetailMessageSentResponse {
+        return sendAsync(messages, sendRequestConfig).getOrThrow()
+    }
+
+    /**
+     * 단일 메시지를 기록한 뒤 발송합니다.
+     * @see send
+     */
+    @JvmOverloads
+    @Throws(
+        SolapiMessageNotReceivedException::class, SolapiEmptyResponseException::class, SolapiUnknownException::class
+    )
+    fun send(
+        message: Message,
+        sendRequestConfig: SendRequestConfig? = null
+    ): MultipleDetailMessageSentResponse {
+        return send(listOf(message), sendRequestConfig)
+    }
+
+    /**
+     * 메시지를 기록한 뒤 비동기로 발송합니다.
+     * Future를 취소하거나 발송 요청이 실패한 경우 메시지는 완료 처리되지 않고 아웃박스에 남으며, [replayPending]으로 다시 발송할 수 있습니다.
+     * @see send
+     */
+    @JvmOverloads
+    fun sendAsync(
+        messages: List<Message>,
+        sendRequestConfig: SendRequestConfig? = null
+    ): CompletableFuture<MultipleDetailMessageSentResponse> {
+        if (messages.isEmpty()) {
+            return failedFuture(SolapiBadRequestException("메시지가 1건 이상 등록되어야 합니다."))
+        }
+        if (messages.size > DefaultMessageService.MAX_MESSAGES_PER_REQUEST) {
+            return failedFuture(SolapiBadRequestException("10,000건 이상의 메시지는 한 번에 발송할 수 없습니다."))
+        }
+        val config = (sendRequestConfig ?: SendRequestConfig()).copy(showMessageList = true)
+        val ids = ArrayList<Long>(messages.size)
+        val payloads = ArrayList<ByteArray>(messages.size)
+        val taggedMessages = ArrayList<Message>(messages.size)
+        var durable: CompletableFuture<Void?>? = null
+        try {
+            messages.forEach { message ->
+                val id = journal.reserveId()
+                val tagged = MessageCorrelation.tag(message, id.toString())
+                val payload = encode(Entry(tagged, config))
+                durable = journal.append(id, payload)
+                ids.add(id)
+                payloads.add(payload)
+                taggedMessages.add(tagged)
+            }
+        } catch (e: Exception) {
+            // 기록에 실패한 요청은 발송하지 않으므로, 이미 기록된 메시지도 다시 발송되지 않도록 완료 처리합니다.
+            ids.forEach { journal.ack(it) }
+            return failedFuture(e)
+        }
+        val batch = Batch(ids, payloads, taggedMessages, config)
+        // 저널은 기록 순서대로 동기화되므로, 마지막 기록이 동기화되면 앞선 기록도 모두 동기화된 상태입니다.
+        val result = composeCancellable(durable!!) { dispatch(batch) }
+        result.whenComplete { _, error -> if (error != null) requeue(listOf(batch)) }
+        return result
+    }
+
+    /**
+     * 이전 실행에서 발송이 완료되지 않은 메시지와, 현재 실행에서 발송 요청이 실패했거나 취소된 메시지를 다시 발송합니다.
+     * 발송 설정이 같은 메시지끼리 묶어 발송하며, 다시 발송할 메시지가 없는 경우 빈 결과를 반환합니다.
+     * 다시 발송하는 도중 실패한 메시지는 아웃박스에 남아 다음 호출 때 다시 발송됩니다.
+     */
+    @Throws(
+        SolapiMessageNotReceivedException::class, SolapiEmptyResponseException::class, SolapiUnknownException::class
+    )
+    fun replayPending(): BulkMessageSentResponse {
+        return replayPendingAsync().getOrThrow()
+    }
+
+    /**
+     * 발송이 완료되지 않은 메시지를 비동기로 다시 발송합니다.
+     * @see replayPending
+     */
+    fun replayPendingAsync(): CompletableFuture<BulkMessageSentResponse> {
+        val replayable = journal.takeReplayable()
+        if (replayable.isEmpty()) {
+            return CompletableFuture.completedFuture(BulkMessageSentResponse())
+        }
+        val batches = try {
+            replayable.entries
+                .map { (id, payload) -> Triple(id, payload, decode(payload)) }
+                .groupBy({ it.third.sendRequestConfig })
+                .flatMap { (config, entries) ->
+                    entries.chunked(DefaultMessageService.MAX_MESSAGES_PER_REQUEST).map { chunk ->
+                        Batch(chunk.map { it.first }, chunk.map { it.second }, chunk.map { it.third.message }, config)
+                    }
+                }
+        } catch (e: Exception) {
+            replayable.forEach { (id, payload) -> journal.requeue(id, payload) }
+            return failedFuture(e)
+        }
+        val batchByMessages = IdentityHashMap<List<Message>, Batch>()
+        batches.forEach { batchByMessages[it.messages] = it }
+        val result = ChunkedSendDispatcher(
+            chunks = batches.map { it.messages }.iterator(),
+            maxConcurrency = DefaultMessageService.DEFAULT_SEND_CONCURRENCY,
+            accumulator = BulkMessageSentResponseAccumulator(),
+            sendChunk = { messages -> dispatch(batchByMessages.getValue(messages)) }
+        ).start()
+        // 완료 처리되지 않은 메시지만 다시 등록되므로, 접수된 발송 요청의 메시지는 다시 발송되지 않습니다.
+        result.whenComplete { _, error -> if (error != null) requeue(batches) }
+        return result
+    }
+
+    /**
+     * 기록된 내용을 디스크에 동기화하고 아웃박스를 닫습니다.
+     * 응답을 받지 못한 메시지는 다음 실행 시 다시 발송할 수 있습니다.
+     */
+    override fun close() {
+        journal.close()
+    }
+
+    private fun dispatch(batch: Batch): CompletableFuture<MultipleDetailMessageSentResponse> {
+        val result = CompletableFuture<MultipleDetailMessageSentResponse>()
+        val request = sendBatch(batch.messages, batch.sendRequestConfig)
+        request.whenComplete { response, error ->
+            if (error != null) {
+                val cause = unwrapCompletionException(error)
+                if (cause is SolapiMessageNotReceivedException) {
+                    acknowledge(batch, cause.failedMessageList.map { it.customFields })
+                    cause.failedMessageList = cause.failedMessageList.map(::strip)
+                }
+                result.completeExceptionally(cause)
+                return@whenComplete
+            }
+            acknowledge(batch, response.messageList.map { it.customFields } + response.failedMessageList.map { it.customFields })
+            result.complete(
+                response.copy(
+                    messageList = response.messageList.map { it.copy(customFields = MessageCorrelation.strip(it.customFields)) },
+                    failedMessageList = response.failedMessageList.map(::strip)
+                )
+            )
+        }
+        result.whenComplete { _, _ -> if (result.isCancelled) request.cancel(true) }
+        return result
+    }
+
+    private fun acknowledge(batch: Batch, customFieldsList: List<Map<String, String>?>) {
+        customFieldsList.forEach { customFields ->
+            MessageCorrelation.correlationIdOf(customFields)?.toLongOrNull()?.let { journal.ack(it) }
+        }
+        // 서버가 요청을 처리했으므로, 응답에서 찾을 수 없는 메시지도 다시 발송하지 않도록 완료 처리합니다.
+        batch.ids.forEach { journal.ack(it) }
+    }
+
+    private fun requeue(batches: List<Batch>) {
+        batches.forEach { batch ->
+            batch.ids.forEachIndexed { index, id -> journal.requeue(id, batch.payloads[index]) }
+        }
+    }
+
+    private fun strip(failedMessage: FailedMessage): FailedMessage {
+        return failedMessage.copy(customFields = MessageCorrelation.strip(failedMessage.customFields))
+    }
+
+    private fun encode(entry: Entry): ByteArray {
+        return JsonSupport.json.encodeToString(Entry.serializer(), entry).toByteArray(Charsets.UTF_8)
+    }
+
+    private fun decode(payload: ByteArray): Entry {
+        return JsonSupport.json.decodeFromString(Entry.serializer(), String(payload, Charsets.UTF_8))
+    }
+}
@@ -0,0 +1,226 @@
+package com.solapi.sdk.message.service
+
+import com.solapi.sdk.message.dto.request.SendRequestConfig
+import com.solapi.sdk.message.dto.response.MultipleDetailMessageSentResponse
+import com.solapi.sdk.message.exception.SolapiBadRequestException
+import com.solapi.sdk.message.exception.SolapiMessageNotReceivedException
+import com.solapi.sdk.message.exception.SolapiUnknownException
+import com.solapi.sdk.message.lib.MessageCorrelation
+import com.solapi.sdk.message.lib.failedFuture
+import com.solapi.sdk.message.lib.unwrapCompletionException
+import com.solapi.sdk.message.model.FailedMessage
+import com.solapi.sdk.message.model.Message
+import java.io.Closeable
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+import kotlin.time.Instant
+
+/**
+ * 단건 발송 요청을 모아 하나의 발송 요청으로 보내는 코얼레서(coalescer)
+ *
+ * 여러 스레드에서 개별적으로 호출된 send 요청을 lingerMillis 동안 또는 maxBatchSize건이 모일 때까지 모은 다음,
+ * 한 번의 발송 요청(하나의 그룹)으로 발송합니다. 예약일시, 중복 수신번호 허용 여부, appId가 같은 요청끼리만 묶입니다.
+ *
+ * 각 호출자의 Future는 해당 메시지의 접수 결과(MessageList)로 완료되며,
+ * 접수에 실패한 경우 해당 메시지의 FailedMessage를 담은 [SolapiMessageNotReceivedException]으로 완료됩니다.
+ * 응답과 메시지를 연결하기 위해 메시지의 customFields에 SDK 전용 키가 추가됩니다.
+ *
+ * 사용이 끝나면 close를 호출해 대기 중인 메시지를 발송하고 타이머 스레드를 정리해야 합니다.
+ */
+class MessageSendCoalescer internal constructor(
+    private val lingerMillis: Long,
+    private val maxBatchSize: Int,
+    private val sendBatch: (List<Message>, SendRequestConfig) -> CompletableFuture<MultipleDetailMessageSentResponse>,
+) : Closeable {
+    @JvmOverloads
+    constructor(
+        messageService: DefaultMessageService,
+        lingerMillis: Long = DEFAULT_LINGER_MILLIS,
+        maxBatchSize: Int = DEFAULT_MAX_BATCH_SIZE,
+    ) : this(lingerMillis, maxBatchSize, { messages, config -> messageService.sendAsync(messages, config) })
+
+    companion object {
+        const val DEFAULT_LINGER_MILLIS = 20L
+        const val DEFAULT_MAX_BATCH_SIZE = 1000
+    }
+
+    private data class BatchKey(
+        val appId: String?,
+        val allowDuplicates: Boolean,
+        val scheduledDate: Instant?
+    )
+
+    private class PendingMessage(
+        val correlationId: String,
+        val message: Message,
+        val future: CompletableFuture<MultipleDetailMessageSentResponse.MessageList>
+    )
+
+    private class Batch {
+        val messages = mutableListOf<PendingMessage>()
+        var timer: ScheduledFuture<*>? = null
+    }
+
+    private val lock = Any()
+    private val batches = HashMap<BatchKey, Batch>()
+    private val sequence = AtomicLong()
+    private val scheduler: ScheduledExecutorService = Executors.newSingleThreadScheduledExecutor { runnable ->
+        Thread(runnable, "solapi-send-coalescer").apply { isDaemon = true }
+    }
+
+    // lock을 잡은 상태에서만 변경합니다.
+    private var closed = false
+
+    init {
+        if (lingerMillis < 0) {
+            throw SolapiBadRequestException("lingerMillis는 0 이상이어야 합니다.")
+        }
+        if (maxBatchSize < 1 || maxBatchSize > DefaultMessageService.MAX_MESSAGES_PER_REQUEST) {
+            throw SolapiBadRequestException("maxBatchSize는 1건 이상 10,000건 이하로 설정해야 합니다.")
+        }
+    }
+
+    /**
+     * 메시지를 발송 대기열에 추가합니다.
+     * 같은 설정의 다른 메시지와 함께 발송되며, 반환된 Future는 해당 메시지의 접수 결과로 완료됩니다.
+     * showMessageList 설정은 무시되며, 결과 확인을 위해 항상 활성화된 상태로 발송됩니다.
+     */
+    @JvmOverloads
+    fun send(
+        message: Message,
+        sendRequestConfig: SendRequestConfig? = null
+    ): CompletableFuture<MultipleDetailMessageSentResponse.MessageList> {
+        val key = BatchKey(
+            appId = sendRequestConfig?.appId,
+            allowDuplicates = sendRequestConfig?.allowDuplicates == true,
+            scheduledDate = sendRequestConfig?.scheduledDate
+        )
+        val correlationId = sequence.incrementAndGet().toString()
+        val pending = PendingMessage(
+            correlationId,
+            MessageCorrelation.tag(message, correlationId),
+            CompletableFuture()
+        )
+
+        var ready: List<PendingMessage>? = null
+        synchronized(lock) {
+            // close와 동시에 호출되어도 메시지가 발송되지 않은 채 남지 않도록, 종료 여부는 lock 안에서 확인합니다.
+            if (closed) {
+                return failedFuture(IllegalStateException("MessageSendCoalescer가 이미 종료되었습니다."))
+            }
+            val batch = batches.getOrPut(key) { Batch() }
+            batch.messages.add(pending)
+            if (batch.messages.size >= maxBatchSize) {
+                batches.remove(key)
+                batch.timer?.cancel(false)
+                ready = batch.messages
+            } else if (batch.timer == null) {
+                batch.timer = scheduler.schedule(Runnable { flush(key, batch) }, lingerMillis, TimeUnit.MILLISECONDS)
+            }
+        }
+        ready?.let { dispatch(key, it) }
+        return pending.future
+    }
+
+    /**
+     * 대기 중인 모든 메시지를 즉시 발송합니다.
+     */
+    fun flush() {
+        val ready = synchronized(lock) {
+            val snapshot = batches.toMap()
+            batches.clear()
+            snapshot
+        }
+        ready.forEach { (key, batch) ->
+            batch.timer?.cancel(false)
+            dispatch(key, batch.messages)
+        }
+    }
+
+    /**
+     * 대기 중인 메시지를 발송하고 타이머 스레드를 종료합니다.
+     * 이미 발송된 요청의 Future는 응답을 받는 대로 완료됩니다.
+     */
+    override fun close() {
+        synchronized(lock) {
+            closed = true
+        }
+        flush()
+        scheduler.shutdown()
+    }
+
+    private fun flush(key: BatchKey, batch: Batch) {
+        val ready = synchronized(lock) {
+            if (batches[key] !== batch) {
+                return
+            }
+            batches.remove(key)
+            batch.messages
+        }
+        dispatch(key, ready)
+    }
+
+    private fun dispatch(key: BatchKey, pendingMessages: List<PendingMessage>) {
+        val active = pendingMessages.filterNot { it.future.isDone }
+        if (active.isEmpty()) {
+            return
+        }
+        val config = SendRequestConfig(
+            appId = key.appId,
+            allowDuplicates = key.allowDuplicates,
+            showMessageList = true,
+            scheduledDate = key.scheduledDate
+        )
+        val request = try {
+            sendBatch(active.map { it.message }, config)
+        } catch (e: Throwable) {
+            failedFuture<MultipleDetailMessageSentResponse>(e)
+        }
+        request.whenComplete { response, error ->
+            if (error != null) {
+                val cause = unwrapCompletionException(error)
+                if (cause is SolapiMessageNotReceivedException) {
+                    complete(active, emptyList(), cause.failedMessageList)
+                } else {
+                    active.forEach { it.future.completeExceptionally(cause) }
+                }
+            } else {
+                complete(active, response.messageList, response.failedMessageList)
+            }
+        }
+    }
+
+    private fun complete(
+        pendingMessages: List<PendingMessage>,
+        messageList: List<MultipleDetailMessageSentResponse.MessageList>,
+        failedMessageList: List<FailedMessage>
+    ) {
+        val sent = messageList.associateBy { MessageCorrelation.correlationIdOf(it.customFields) }
+        val failed = failedMessageList.associateBy { MessageCorrelation.correlationIdOf(it.customFields) }
+
+        pendingMessages.forEach { pending ->
+            val sentMessage = sent[pending.correlationId]
+            val failedMessage = failed[pending.correlationId]
+            when {
+                sentMessage != null -> pending.future.complete(
+                    sentMessage.copy(customFields = MessageCorrelation.strip(sentMessage.customFields))
+                )
+
+                failedMessage != null -> {
+                    val exception = SolapiMessageNotReceivedException("메시지 발송 접수에 실패했습니다.")
+                    exception.failedMessageList =
+                        listOf(failedMessage.copy(customFields = MessageCorrelation.strip(failedMessage.customFields)))
+                    pending.future.completeExceptionally(exception)
+                }
+
+                else -> pending.future.completeExceptionally(
+                    SolapiUnknownException("발송 응답에서 메시지의 접수 결과를 찾을 수 없습니다.")
+                )
+            }
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package com.solapi.sdk.message.service
+
+import com.solapi.sdk.message.dto.request.SendRequestConfig
+import com.solapi.sdk.message.dto.response.MessageSendResult
+import com.solapi.sdk.message.dto.response.MultipleDetailMessageSentResponse
+import com.solapi.sdk.message.exception.SolapiBadRequestException
+import com.solapi.sdk.message.exception.SolapiMessageNotReceivedException
+import com.solapi.sdk.message.exception.SolapiUnknownException
+import com.solapi.sdk.message.lib.MessageCorrelation
+import com.solapi.sdk.message.lib.failedFuture
+import com.solapi.sdk.message.lib.unwrapCompletionException
+import com.solapi.sdk.message.model.FailedMessage
+import com.solapi.sdk.message.model.Message
+import org.reactivestreams.Processor
+import org.reactivestreams.Subscriber
+import org.reactivestreams.Subscription
+import java.util.ArrayDeque
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Reactive Streams의 Publisher로부터 메시지를 받아 발송하고, 메시지별 접수 결과를 내보내는 Processor
+ *
+ * 받은 메시지는 batchSize건 또는 lingerMillis 동안 모아 하나의 발송 요청으로 보내며, 동시에 최대 maxInFlightRequests개의 요청을 발송합니다.
+ * 상위 Publisher에는 발송 중이거나 아직 하위 Subscriber에 전달되지 않은 메시지가 batchSize * maxInFlightRequests건을 넘지 않도록 요청하므로,
+ * 응답이 느려지거나 하위 Subscriber의 처리가 느려지면 상위 Publisher의 발행도 자동으로 느려집니다(backpressure).
+ *
+ * 하나의 Subscriber만 구독할 수 있으며, Reactor, RxJava 등 Reactive Streams 구현체와 함께 사용할 수 있습니다.
+ * 응답과 메시지를 연결하기 위해 발송되는 메시지의 customFields에 SDK 전용 키가 추가되며, 결과에서는 제거됩니다.
+ *
+ * ```kotlin
+ * val processor = MessageSendProcessor(messageService)
+ * Flux.from(messages).subscribe(processor)
+ * Flux.from(processor).subscribe { result -> println(result.isSuccess) }
+ * ```
+ */
+class MessageSendProcessor internal constructor(
+    sendRequestConfig: SendRequestConfig?,
+    private val batchSize: Int,
+    private val maxInFlightRequests: Int,
+    private val lingerMillis: Long,
+    private val sendBatch: (List<Message>, SendRequestConfig) -> CompletableFuture<MultipleDetailMessageSentResponse>,
+) : Processor<Message, MessageSendResult> {
+    @JvmOverloads
+    constructor(
+        messageService: DefaultMessageService,
+        sendRequestConfig: SendRequestConfig? = null,
+        batchSize: Int = DEFAULT_BATCH_SIZE,
+        maxInFlightRequests: Int = DefaultMessageService.DEFAULT_SEND_CONCURRENCY,
+        lingerMillis: Long = DEFAULT_LINGER_MILLIS,
+    ) : this(
+        sendRequestConfig,
+        batchSize,
+        maxInFlightRequests,
+        lingerMillis,
+        { messages, config -> messageService.sendAsync(messages, config) }
+    )
+
+    companion object {
+        const val DEFAULT_BATCH_SIZE = 100
+        const val DEFAULT_LINGER_MILLIS = 20L
+
+        private val scheduler: ScheduledExecutorService by lazy {
+            Executors.newSingleThreadScheduledExecutor { runnable ->
+                Thread(runnable, "solapi-send-processor").apply { isDaemon = true }
+            }
+        }
+    }
+
+    private val sendRequestConfig = (sendRequestConfig ?: SendRequestConfig()).copy(showMessageList = true)
+    private val capacity: Long
+    private val lock = Any()
+    private val wip = AtomicInteger()
+
+    private var upstream: Subscription? = null
+    private var downstream: Subscriber<in MessageSendResult>? = null
+
+    // downstream의 onSubscribe가 끝났는지 여부, 끝나기 전에는 다른 신호를 보내지 않습니다(규칙 1.9).
+    private var subscribed = false
+    private var upstreamOutstanding = 0L
+    private var occupied = 0L
+    private var batch = ArrayList<Message>()
+    private var lingerTimer: ScheduledFuture<*>? = null
+    private val readyBatches = ArrayDeque<List<Message>>()
+    private var inFlightRequests = 0
+    private val inFlight = HashSet<CompletableFuture<*>>()
+    private val results = ArrayDeque<MessageSendResult>()
+    private var downstreamDemand = 0L
+    private var upstreamDone = false
+    private var upstreamError: Throwable? = null
+    private var invalidRequest: Throwable? = null
+    private var terminated = false
+
+    @Volatile
+    private var cancelled = false
+
+    init {
+        if (batchSize < 1 || batchSize > DefaultMessageService.MAX_MESSAGES_PER_REQUEST) {
+            throw SolapiBadRequestException("batchSize는 1건 이상 10,000건 이하로 설정해야 합니다.")
+        }
+        if (maxInFlightRequests < 1) {
+            throw SolapiBadRequestException("동시 발송 요청 수는 1 이상이어야 합니다.")
+        }
+        capacity = batchSize.toLong() * maxInFlightRequests
+    }
+
+    override fun onSubscribe(subscription: Subscription) {
+        synchronized(lock) {
+            if (upstream != null || cancelled) {
+                subscription.cancel()
+                return
+            }
+            upstream = subscription
+        }
+        drain()
+    }
+
+    override fun onNext(message: Message) {
+        synchronized(lock) {
+            if (cancelled || upstreamDone) {
+                return
+            }
+            upstreamOutstanding--
+            occupied++
+            batch.add(message)
+            if (batch.size >= batchSize) {
+                sealBatch()
+            } else if (lingerTimer == null) {
+                lingerTimer = scheduler.schedule(Runnable { onLinger() }, lingerMillis, TimeUnit.MILLISECONDS)
+            }
+        }
+        drain()
+    }
+
+    override fun onError(throwable: Throwable) {
+        synchronized(lock) {
+            upstreamDone = true
+            upstreamError = throwable
+            sealBatch()
+        }
+        drain()
+    }
+
+    override fun onComplete() {
+        synchronized(lock) {
+            upstreamDone = true
+            sealBatch()
+        }
+        drain()
+    }
+
+    override fun subscribe(subscriber: Subscriber<in MessageSendResult>) {
+        val accepted = synchronized(lock) {
+            if (downstream == null) {
+                downstream = subscriber
+                true
+            } else {
+                false
+            }
+        }
+        if (!accepted) {
+            subscriber.onSubscribe(object : Subscription {
+                override fun request(n: Long) {}
+                override fun cancel() {}
+            })
+            subscriber.onError(IllegalStateException("MessageSendProcessor는 하나의 Subscriber만 구독할 수 있습니다."))
+            return
+        }
+        subscriber.onSubscribe(object : Subscription {
+            override fun request(n: Long) {
+                synchronized(lock) {
+                    if (n <= 0) {
+                        // onError도 다른 신호와 동시에 호출되지 않도록(규칙 1.3) drain에서 전달합니다.
+                        if (invalidRequest == null) {
+                            invalidRequest = IllegalArgumentException("요청 수는 1 이상이어야 합니다.")
+                        }
+                    } else {
+                        downstreamDemand = if (Long.MAX_VALUE - downstreamDemand < n) Long.MAX_VALUE else downstreamDemand + n
+                    }
+                }
+                drain()
+            }
+
+            override fun cancel() {
+                this@MessageSendProcessor.cancel()
+            }
+        })
+        synchronized(lock) {
+            subscribed = true
+        }
+        drain()
+    }
+
+    private fun cancel() {
+        val (subscription, requests) = synchronized(lock) {
+            if (cancelled) {
+                return
+            }
+            cancelled = true
+            lingerTimer?.cancel(false)
+            lingerTimer = null
+            results.clear()
+            readyBatches.clear()
+            upstream to inFlight.toList()
+        }
+        subscription?.cancel()
+        requests.forEach { it.cancel(true) }
+    }
+
+    private fun onLinger() {
+        synchronized(lock) {
+            lingerTimer = null
+            sealBatch()
+        }
+        drain()
+    }
+
+    private fun sealBatch() {
+        lingerTimer?.cancel(false)
+        lingerTimer = null
+        if (batch.isNotEmpty()) {
+            readyBatches.addLast(batch)
+            batch = ArrayList()
+        }
+    }
+
+    /**
+     * 발송 가능한 묶음을 발송하고, 하위 Subscriber의 요청 수만큼 결과를 내보낸 뒤, 남은 여유만큼 상위 Publisher에 메시지를 요청합니다.
+     * 여러 스레드에서 호출되더라도 한 번에 하나의 스레드만 실행하므로 Subscriber의 신호는 순서대로 전달됩니다.
+     */
+    private fun drain() {
+        if (wip.getAndIncrement() != 0) {
+            return
+        }
+        var missed = 1
+        while (true) {
+            val batchesToSend = mutableListOf<List<Message>>()
+            val emitted = mutableListOf<MessageSendResult>()
+            var subscriber: Subscriber<in MessageSendResult>? = null
+            var terminate = false
+            var terminalError: Throwable? = null
+            var subscription: Subscription? = null
+            var upstreamRequest = 0L
+            var cancelAfterTerminate = false
+
+            synchronized(lock) {
+                val invalid = invalidRequest
+                if (invalid != null && subscribed && !cancelled && !terminated) {
+                    terminated = true
+                    terminate = true
+                    terminalError = invalid
+                    subscriber = downstream
+                    cancelAfterTerminate = true
+                } else if (!cancelled) {
+                    while (inFlightRequests < maxInFlightRequests && readyBatches.isNotEmpty()) {
+                        batchesToSend.add(readyBatches.pollFirst())
+                        inFlightRequests++
+                    }
+                    subscriber = if (subscribed) downstream else null
+                    if (subscriber != null) {
+                        while (downstreamDemand > 0 && results.isNotEmpty()) {
+                            emitted.add(results.pollFirst())
+                            downstreamDemand--
+                            occupied--
+                        }
+                        if (!terminated && upstreamDone && batch.isEmpty() && readyBatches.isEmpty() &&
+                            inFlightRequests == 0 && results.isEmpty()
+                        ) {
+                            terminated = true
+                            terminate = true
+                            terminalError = upstreamError
+                        }
+                    }
+                    if (!upstreamDone && upstream != null) {
+                        val free = capacity - occupied - upstreamOutstanding
+                        if (free > 0) {
+                            upstreamOutstanding += free
+                            upstreamRequest = free
+                            subscription = upstream
+                        }
+                    }
+                }
+            }
+
+            batchesToSend.forEach { send(it) }
+            emitted.forEach { result ->
+                if (!cancelled) {
+                    subscriber?.onNext(result)
+                }
+            }
+            if (terminate) {
+                val error = terminalError
+                if (error != null) {
+                    subscriber?.onError(error)
+                } else {
+                    subscriber?.onComplete()
+                }
+            }
+            if (cancelAfterTerminate) {
+                cancel()
+            }
+            if (upstreamRequest > 0) {
+                subscription?.request(upstreamRequest)
+            }
+
+            missed = wip.addAndGet(-missed)
+            if (missed == 0) {
+                return
+            }
+        }
+    }
+
+    private fun send(messages: List<Message>) {
+        val taggedMessages = messages.mapIndexed { index, message -> MessageCorrelation.tag(message, index.toString()) }
+        val future = try {
+            sendBatch(taggedMessages, sendRequestConfig)
+        } catch (e: Throwable) {
+            failedFuture<MultipleDetailMessageSentResponse>(e)
+        }
+        synchronized(lock) {
+            inFlight.add(future)
+        }
+        if (cancelled) {
+            future.cancel(true)
+        }
+        future.whenComplete { response, error ->
+            val batchResults = toResults(messages, response, error)
+            synchronized(lock) {
+                inFlight.remove(future)
+                inFlightRequests--
+                if (!cancelled) {
+                    results.addAll(batchResults)
+                }
+            }
+            drain()
+        }
+    }
+
+    private fun toResults(
+        messages: List<Message>,
+        response: MultipleDetailMessageSentResponse?,
+        error: Throwable?
+    ): List<MessageSendResult> {
+        val messageList: List<MultipleDetailMessageSentResponse.MessageList>
+        val failedMessageList: List<FailedMessage>
+        if (error != null) {
+            val cause = unwrapCompletionException(error)
+            if (cause !is SolapiMessageNotReceivedException) {
+                return messages.map { MessageSendResult(message = it, error = cause) }
+            }
+            messageList = emptyList()
+            failedMessageList = cause.failedMessageList
+        } else {
+            messageList = response!!.messageList
+            failedMessageList = response.failedMessageList
+        }
+
+        val sent = messageList.associateBy { MessageCorrelation.correlationIdOf(it.customFields) }
+        val failed = failedMessageList.associateBy { MessageCorrelation.correlationIdOf(it.customFields) }
+        return messages.mapIndexed { index, message ->
+            val sentMessage = sent[index.toString()]
+            val failedMessage = failed[index.toString()]
+            when {
+                sentMessage != null -> MessageSendResult(
+                    message = message,
+                    messageList = sentMessage.copy(customFields = MessageCorrelation.strip(sentMessage.customFields))
+                )
+
+                failedMessage != null -> MessageSendResult(
+                    message = message,
+                    failedMessage = failedMessage.copy(customFields = MessageCorrelation.strip(failedMessage.customFields))
+                )
+
+                else -> MessageSendResult(
+                    message = message,
+                    error = SolapiUnknownException("발송 응답에서 메시지의 접수 결과를 찾을 수 없습니다.")
+                )
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.solapi.sdk
+
+import com.solapi.sdk.message.exception.SolapiBadRequestException
+import com.solapi.sdk.message.lib.AdaptiveConcurrencyLimiter
+import com.solapi.sdk.message.lib.GzipRequestInterceptor
+import com.solapi.sdk.message.lib.SendRateLimiter
+import okhttp3.ConnectionPool
+import okhttp3.Interceptor
+import okhttp3.MediaType.Companion.toMediaType
+import okhttp3.OkHttpClient
+import okhttp3.Protocol
+import okhttp3.Request
+import okhttp3.Response
+import okhttp3.ResponseBody.Companion.toResponseBody
+import java.util.concurrent.TimeUnit
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertNotNull
+import kotlin.test.assertNotSame
+import kotlin.test.assertSame
+import kotlin.test.assertTrue
+
+class SolapiClientTest {
+
+    /**
+     * 네트워크 대신 요청을 기록하고 잔액 조회 응답을 반환하는 인터셉터
+     */
+    private class RecordingServer : Interceptor {
+        val requests = mutableListOf<Request>()
+
+        override fun intercept(chain: Interceptor.Chain): Response {
+            val request = chain.request()
+            requests.add(request)
+            return Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("")
+                .body("""{"balance":1000.0,"point":0.0}""".toResponseBody("application/json".toMediaType()))
+                .build()
+        }
+    }
+
+    @Test
+    fun `builder applies default timeouts without a shared client`() {
+        // When
+        val client = SolapiClient.builder("API_KEY", "API_SECRET").buildHttpClient()
+
+        // Then
+        assertEquals(50_000, client.connectTimeoutMillis)
+        assertEquals(50_000, client.readTimeoutMillis)
+        assertEquals(50_000, client.writeTimeoutMillis)
+    }
+
+    @Test
+    fun `builder applies configured transport settings`() {
+        // When
+        val client = SolapiClient.builder("API_KEY", "API_SECRET")
+            .readTimeout(10, TimeUnit.SECONDS)
+            .callTimeout(30, TimeUnit.SECONDS)
+            .dispatcher(32, 16)
+            .requestCompression()
+            .buildHttpClient()
+
+        // Then
+        assertEquals(10_000, client.readTimeoutMillis)
+        assertEquals(30_000, client.callTimeoutMillis)
+        assertEquals(50_000, client.connectTimeoutMillis)
+        assertEquals(32, client.dispatcher.maxRequests)
+        assertEquals(16, client.dispatcher.maxRequestsPerHost)
+        assertTrue(client.interceptors.any { it is GzipRequestInterceptor })
+    }
+
+    @Test
+    fun `shared client keeps its connection pool, dispatcher and timeouts`() {
+        // Given
+        val shared = OkHttpClient.Builder()
+            .connectionPool(ConnectionPool(10, 1, TimeUnit.MINUTES))
+            .readTimeout(7, TimeUnit.SECONDS)
+            .build()
+
+        // When
+        val client = SolapiClient.builder("API_KEY", "API_SECRET")
+            .httpClient(shared)
+            .writeTimeout(3, TimeUnit.SECONDS)
+            .buildHttpClient()
+
+        // Then
+        assertSame(shared.connectionPool, client.connectionPool)
+        assertSame(shared.dispatcher, client.dispatcher)
+        assertEquals(7_000, client.readTimeoutMillis)
+        assertEquals(3_000, client.writeTimeoutMillis)
+    }
+
+    @Test
+    fun `dispatcher set together with a shared client is not shared`() {
+        // Given
+        val shared = OkHttpClient()
+
+        // When
+        val client = SolapiClient.builder("API_KEY", "API_SECRET")
+            .httpClient(shared)
+            .dispatcher(8, 8)
+            .buildHttpClient()
+
+        // Then
+        assertSame(shared.connectionPool, client.connectionPool)
+        assertNotSame(shared.dispatcher, client.dispatcher)
+        assertEquals(8, client.dispatcher.maxRequests)
+    }
+
+    @Test
+    fun `services built from a shared client send through its interceptors`() {
+        // Given
+        val server = RecordingServer()
+        val shared = OkHttpClient.Builder().addInterceptor(server).build()
+        val first = SolapiClient.builder("FIRST_KEY", "SECRET").httpClient(shared).build()
+        val second = SolapiClient.builder("SECOND_KEY", "SECRET").httpClient(shared).build()
+
+        // When
+        val balance = first.getBalance()
+        second.getBalance()
+
+        // Then
+        assertEquals(1000.0f, balance.balance)
+        assertEquals(2, server.requests.size)
+        assertTrue(server.requests.all { it.url.encodedPath == "/cash/v1/balance" })
+        assertEquals(1, shared.interceptors.size)
+    }
+
+    @Test
+    fun `builder passes send limiters to the service`() {
+        // Given
+        val rateLimiter = SendRateLimiter(messagesPerSecond = 100.0)
+        val concurrencyLimiter = AdaptiveConcurrencyLimiter()
+
+        // When
+        val messageService = SolapiClient.builder("API_KEY", "API_SECRET")
+            .rateLimiter(rateLimiter)
+            .concurrencyLimiter(concurrencyLimiter)
+            .build()
+
+        // Then
+        assertSame(rateLimiter, messageService.rateLimiter)
+        assertSame(concurrencyLimiter, messageService.concurrencyLimiter)
+        assertNotNull(SolapiClient.builder("API_KEY", "API_SECRET").buildCoroutine())
+        rateLimiter.close()
+    }
+
+    @Test
+    fun `builder rejects invalid settings`() {
+        // Given
+        val builder = SolapiClient.builder("API_KEY", "API_SECRET")
+
+        // When & Then
+        assertFailsWith<SolapiBadRequestException> { builder.readTimeout(-1, TimeUnit.SECONDS) }
+        assertFailsWith<SolapiBadRequestException> { builder.dispatcher(0, 1) }
+        assertFailsWith<SolapiBadRequestException> { builder.connectionPool(1, 0, TimeUnit.SECONDS) }
+        assertFailsWith<SolapiBadRequestException> { builder.requestCompression(-1) }
+    }
+}
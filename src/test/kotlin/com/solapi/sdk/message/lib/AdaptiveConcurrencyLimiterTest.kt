@@ -0,0 +1,191 @@
+package com.solapi.sdk.message.lib
+
+import com.solapi.sdk.message.exception.SolapiBadRequestException
+import java.io.IOException
+import java.util.concurrent.CancellationException
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertFalse
+import kotlin.test.assertTrue
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private val millis = TimeUnit.MILLISECONDS.toNanos(1)
+
+    @Test
+    fun `requests beyond the limit wait in queue until a permit is released`() {
+        // Given
+        val limiter = AdaptiveConcurrencyLimiter(initialLimit = 2)
+        val first = limiter.acquireAsync()
+        val second = limiter.acquireAsync()
+
+        // When
+        val third = limiter.acquireAsync()
+
+        // Then
+        assertTrue(first.isDone && second.isDone)
+        assertFalse(third.isDone)
+        assertEquals(2, limiter.inFlight)
+        assertEquals(1, limiter.queueDepth)
+
+        limiter.release(0, 100 * millis, 200, null)
+        assertTrue(third.isDone)
+        assertEquals(0, limiter.queueDepth)
+        assertEquals(2, limiter.inFlight)
+    }
+
+    @Test
+    fun `limit decreases on too many requests response`() {
+        // Given
+        val limiter = AdaptiveConcurrencyLimiter(initialLimit = 16)
+        limiter.acquireAsync()
+
+        // When
+        limiter.release(0, 100 * millis, 429, null)
+
+        // Then
+        assertEquals(8, limiter.limit)
+    }
+
+    @Test
+    fun `limit decreases on server error and network failure but not on cancellation`() {
+        // Given
+        val limiter = AdaptiveConcurrencyLimiter(initialLimit = 16)
+
+        // When
+        limiter.acquireAsync()
+        limiter.release(0, 100 * millis, 503, null)
+        limiter.acquireAsync()
+        limiter.release(0, 10_000 * millis, 0, IOException("timeout"))
+        limiter.acquireAsync()
+        limiter.release(0, 20_000 * millis, 0, CancellationException())
+
+        // Then
+        assertEquals(4, limiter.limit)
+    }
+
+    @Test
+    fun `limit grows while responses stay healthy`() {
+        // Given
+        val limiter = AdaptiveConcurrencyLimiter(initialLimit = 2, maxLimit = 4)
+
+        // When - 한도만큼 동시에 실행하며 정상 응답을 반복
+        var now = 0L
+        repeat(100) {
+            val permits = limiter.limit
+            repeat(permits) { limiter.acquireAsync() }
+            repeat(permits) {
+                now += 100 * millis
+                limiter.release(now - 100 * millis, now, 200, null)
+            }
+        }
+
+        // Then
+        assertEquals(4, limiter.limit)
+    }
+
+    @Test
+    fun `limit decreases when latency exceeds tolerance and never drops below minimum`() {
+        // Given
+        val limiter = AdaptiveConcurrencyLimiter(initialLimit = 8, minLimit = 2)
+        limiter.acquireAsync()
+        limiter.release(0, 100 * millis, 200, null)
+
+        // When
+        var now = 1_000 * millis
+        repeat(5) {
+            limiter.acquireAsync()
+            now += 1_000 * millis
+            limiter.release(now - 500 * millis, now, 200, null)
+        }
+
+        // Then
+        assertEquals(2, limiter.limit)
+    }
+
+    @Test
+    fun `large batches are compared with the baseline of similar batch sizes`() {
+        // Given - 1건 요청으로 측정된 짧은 최소 응답 시간
+        val limiter = AdaptiveConcurrencyLimiter(initialLimit = 8)
+        limiter.acquireAsync()
+        limiter.release(0, 100 * millis, 200, null, messageCount = 1)
+
+        // When - 10,000건 요청은 더 오래 걸리지만 같은 크기의 요청끼리는 응답 시간이 일정함
+        var now = 1_000 * millis
+        repeat(5) {
+            limiter.acquireAsync()
+            now += 1_000 * millis
+            limiter.release(now - 900 * millis, now, 200, null, messageCount = 10_000)
+        }
+
+        // Then
+        assertEquals(8, limiter.limit)
+    }
+
+    @Test
+    fun `latency tolerance must be greater than one`() {
+        assertFailsWith<SolapiBadRequestException> { AdaptiveConcurrencyLimiter(latencyTolerance = 1.0) }
+    }
+
+    @Test
+    fun `cancelled waiter is skipped when permits are granted`() {
+        // Given
+        val limiter = AdaptiveConcurrencyLimiter(initialLimit = 1)
+        limiter.acquireAsync()
+        val cancelled = limiter.acquireAsync()
+        val waiting = limiter.acquireAsync()
+
+        // When
+        cancelled.cancel(false)
+        limiter.release(0, 100 * millis, 200, null)
+
+        // Then
+        assertTrue(waiting.isDone)
+        assertFalse(waiting.isCompletedExceptionally)
+        assertEquals(1, limiter.inFlight)
+    }
+
+    @Test
+    fun `cancelled waiter is removed from queue depth`() {
+        // Given
+        val limiter = AdaptiveConcurrencyLimiter(initialLimit = 1)
+        limiter.acquireAsync()
+        val waiter = limiter.acquireAsync()
+
+        // When
+        waiter.cancel(false)
+
+        // Then
+        assertEquals(0, limiter.queueDepth)
+        assertEquals(1, limiter.inFlight)
+    }
+
+    @Test
+    fun `permit granted after the request was cancelled is released`() {
+        // Given
+        val limiter = AdaptiveConcurrencyLimiter(initialLimit = 1)
+        limiter.acquireAsync()
+        val permit = limiter.acquireAsync()
+        // 허가가 전달되는 도중 취소된 상황을 재현하기 위해, 취소가 대기 중인 허가에 전달되지 않도록 감쌉니다.
+        val granted = object : CompletableFuture<Void?>() {
+            override fun cancel(mayInterruptIfRunning: Boolean) = false
+        }
+        permit.thenAccept { granted.complete(null) }
+        var started = false
+        val result = composeCancellable(granted, { limiter.release(0, 0, 0, CancellationException()) }) {
+            started = true
+            CompletableFuture.completedFuture(Unit)
+        }
+
+        // When
+        result.cancel(true)
+        limiter.release(0, 100 * millis, 200, null)
+
+        // Then
+        assertFalse(started)
+        assertEquals(0, limiter.inFlight)
+    }
+}
@@ -1,6 +1,10 @@
 package com.solapi.sdk.message.lib
 
 import com.solapi.sdk.message.exception.SolapiApiKeyException
+import org.apache.commons.codec.binary.Hex
+import java.nio.charset.StandardCharsets
+import javax.crypto.Mac
+import javax.crypto.spec.SecretKeySpec
 import kotlin.test.Test
 import kotlin.test.assertEquals
 import kotlin.test.assertFailsWith
@@ -133,4 +137,22 @@ class AuthenticatorTest {
         val pattern = Regex("^HMAC-SHA256 Apikey=my-key, Date=[^,]+, salt=[a-f0-9]{32}, signature=[a-f0-9]{64}$")
         assertTrue(pattern.matches(authInfo), "Auth info format should match expected pattern")
     }
+
+    @Test
+    fun `generateAuthInfo signs date and salt with HMAC-SHA256`() {
+        // Given
+        val authenticator = Authenticator("my-key", "my-secret")
+
+        // When
+        val authInfo = authenticator.generateAuthInfo()
+
+        // Then - 헤더의 date, salt로 직접 계산한 서명과 같아야 함
+        val match = Regex("Date=([^,]+), salt=([a-f0-9]+), signature=([a-f0-9]+)").find(authInfo)
+        assertNotNull(match)
+        val (date, salt, signature) = match.destructured
+        val mac = Mac.getInstance("HmacSHA256")
+        mac.init(SecretKeySpec("my-secret".toByteArray(StandardCharsets.UTF_8), "HmacSHA256"))
+        val expected = Hex.encodeHexString(mac.doFinal((date + salt).toByteArray(StandardCharsets.UTF_8)))
+        assertEquals(expected, signature)
+    }
 }
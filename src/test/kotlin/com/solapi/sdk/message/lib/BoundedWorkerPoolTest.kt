@@ -0,0 +1,125 @@
+package com.solapi.sdk.message.lib
+
+import com.solapi.sdk.message.exception.SolapiUnknownException
+import java.util.ArrayDeque
+import java.util.concurrent.CompletableFuture
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertFalse
+import kotlin.test.assertTrue
+
+class BoundedWorkerPoolTest {
+
+    private val pending = mutableListOf<CompletableFuture<Unit>>()
+
+    private fun pool(tasks: Iterator<Int>, policy: BoundedWorkerPool.FailurePolicy, maxConcurrency: Int = 2) =
+        BoundedWorkerPool(
+            maxConcurrency = maxConcurrency,
+            failurePolicy = policy,
+            nextTask = { if (tasks.hasNext()) tasks.next() else null },
+            runTask = { CompletableFuture<Unit>().also { pending.add(it) } }
+        )
+
+    @Test
+    fun `tasks run up to the maximum concurrency`() {
+        // Given
+        val result = pool((1..5).iterator(), BoundedWorkerPool.FailurePolicy.CANCEL_ALL).start()
+
+        // When & Then
+        assertEquals(2, pending.size)
+        pending[0].complete(Unit)
+        assertEquals(3, pending.size)
+        while (!result.isDone) {
+            pending.first { !it.isDone }.complete(Unit)
+        }
+        assertEquals(5, pending.size)
+    }
+
+    @Test
+    fun `cancel all policy cancels running tasks on the first failure`() {
+        // Given
+        val result = pool((1..5).iterator(), BoundedWorkerPool.FailurePolicy.CANCEL_ALL).start()
+
+        // When
+        pending[0].completeExceptionally(SolapiUnknownException("작업 실패"))
+
+        // Then
+        assertFailsWith<SolapiUnknownException> { result.getOrThrow() }
+        assertTrue(pending[1].isCancelled)
+        assertEquals(2, pending.size)
+    }
+
+    @Test
+    fun `finish in flight policy waits for running tasks without starting new ones`() {
+        // Given
+        val result = pool((1..5).iterator(), BoundedWorkerPool.FailurePolicy.FINISH_IN_FLIGHT).start()
+
+        // When
+        pending[0].completeExceptionally(SolapiUnknownException("작업 실패"))
+
+        // Then
+        assertFalse(result.isDone)
+        assertFalse(pending[1].isCancelled)
+        pending[1].complete(Unit)
+        assertFailsWith<SolapiUnknownException> { result.getOrThrow() }
+        assertEquals(2, pending.size)
+    }
+
+    @Test
+    fun `tasks added by a running task are run before completing`() {
+        // Given
+        val queue = ArrayDeque(listOf(1))
+        val started = mutableListOf<Int>()
+        val pool = BoundedWorkerPool(
+            maxConcurrency = 2,
+            failurePolicy = BoundedWorkerPool.FailurePolicy.CANCEL_ALL,
+            nextTask = { synchronized(queue) { queue.pollFirst() } },
+            runTask = { task: Int ->
+                started.add(task)
+                if (task < 3) {
+                    synchronized(queue) { queue.addLast(task + 1) }
+                }
+                CompletableFuture.completedFuture(Unit)
+            }
+        )
+
+        // When
+        pool.start().getOrThrow()
+
+        // Then
+        assertEquals(listOf(1, 2, 3), started)
+    }
+
+    @Test
+    fun `cancelling the pool cancels running tasks`() {
+        // Given
+        val pool = pool((1..5).iterator(), BoundedWorkerPool.FailurePolicy.FINISH_IN_FLIGHT)
+        val result = pool.start()
+
+        // When
+        pool.cancel()
+
+        // Then
+        assertTrue(result.isCancelled)
+        assertTrue(pending.all { it.isCancelled })
+    }
+
+    @Test
+    fun `already completed tasks are processed without recursion`() {
+        // Given
+        var count = 0
+        val pool = BoundedWorkerPool(
+            maxConcurrency = 1,
+            failurePolicy = BoundedWorkerPool.FailurePolicy.CANCEL_ALL,
+            nextTask = { if (count < 100_000) count++ else null },
+            runTask = { CompletableFuture.completedFuture(Unit) }
+        )
+
+        // When
+        pool.start().getOrThrow()
+
+        // Then
+        assertEquals(100_000, count)
+    }
+}
@@ -0,0 +1,295 @@
+package com.solapi.sdk.message.lib
+
+import com.solapi.sdk.message.dto.response.MultipleDetailMessageSentResponse
+import com.solapi.sdk.message.exception.SolapiBulkSendException
+import com.solapi.sdk.message.exception.SolapiMessageNotReceivedException
+import com.solapi.sdk.message.exception.SolapiUnknownException
+import com.solapi.sdk.message.model.FailedMessage
+import com.solapi.sdk.message.model.Message
+import com.solapi.sdk.message.model.group.GroupCount
+import com.solapi.sdk.message.model.group.GroupInfo
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertFailsWith
+import kotlin.test.assertIs
+import kotlin.test.assertTrue
+
+class BulkSendSupportTest {
+
+    private fun messages(count: Int): List<Message> =
+        (1..count).map { Message(from = "01000000000", to = "0100000${it.toString().padStart(4, '0')}", text = "test") }
+
+    private fun sentResponse(groupId: String, total: Int, failed: List<FailedMessage> = emptyList()) =
+        MultipleDetailMessageSentResponse(
+            failedMessageList = failed,
+            groupInfo = GroupInfo(
+                groupId = groupId,
+                count = GroupCount(total = total, registeredFailed = failed.size, registeredSuccess = total - failed.size)
+            )
+        )
+
+    @Test
+    fun `dispatcher merges responses from every chunk`() {
+        // Given
+        val chunks = messages(25).chunked(10)
+        val groupIndex = AtomicInteger()
+
+        // When
+        val response = ChunkedSendDispatcher(
+            chunks = chunks.iterator(),
+            maxConcurrency = 2,
+            accumulator = BulkMessageSentResponseAccumulator(),
+            sendChunk = { chunk ->
+                val failed = listOf(FailedMessage(to = chunk.first().to, statusCode = "1062"))
+                CompletableFuture.completedFuture(sentResponse("G${groupIndex.incrementAndGet()}", chunk.size, failed))
+            }
+        ).start().getOrThrow()
+
+        // Then
+        assertEquals(listOf("G1", "G2", "G3"), response.groupIds)
+        assertEquals(3, response.failedMessageList.size)
+        assertEquals(25, response.count.total)
+        assertEquals(22, response.count.registeredSuccess)
+    }
+
+    @Test
+    fun `dispatcher never exceeds max concurrency`() {
+        // Given
+        val pending = mutableListOf<CompletableFuture<MultipleDetailMessageSentResponse>>()
+        val running = AtomicInteger()
+        val maxObserved = AtomicInteger()
+        val dispatcher = ChunkedSendDispatcher(
+            chunks = messages(50).chunked(5).iterator(),
+            maxConcurrency = 3,
+            accumulator = BulkMessageSentResponseAccumulator(),
+            sendChunk = { chunk ->
+                maxObserved.accumulateAndGet(running.incrementAndGet()) { a, b -> maxOf(a, b) }
+                val future = CompletableFuture<MultipleDetailMessageSentResponse>()
+                synchronized(pending) { pending.add(future) }
+                future.thenApply {
+                    running.decrementAndGet()
+                    sentResponse("G", chunk.size)
+                }
+            }
+        )
+
+        // When
+        val result = dispatcher.start()
+        while (!result.isDone) {
+            val next = synchronized(pending) { pending.removeAt(0) }
+            next.complete(sentResponse("G", 0))
+        }
+
+        // Then
+        assertEquals(3, maxObserved.get())
+        assertEquals(10, result.getOrThrow().groupInfoList.size)
+    }
+
+    @Test
+    fun `dispatcher folds fully rejected chunks into failed list`() {
+        // Given
+        val calls = AtomicInteger()
+
+        // When
+        val response = ChunkedSendDispatcher(
+            chunks = messages(20).chunked(10).iterator(),
+            maxConcurrency = 1,
+            accumulator = BulkMessageSentResponseAccumulator(),
+            sendChunk = { chunk ->
+                if (calls.incrementAndGet() == 1) {
+                    val exception = SolapiMessageNotReceivedException("메시지 발송 접수에 실패했습니다.")
+                    exception.failedMessageList = chunk.map { FailedMessage(to = it.to, statusCode = "1062") }
+                    failedFuture(exception)
+                } else {
+                    CompletableFuture.completedFuture(sentResponse("G2", chunk.size))
+                }
+            }
+        ).start().getOrThrow()
+
+        // Then
+        assertEquals(10, response.failedMessageList.size)
+        assertEquals(listOf("G2"), response.groupIds)
+    }
+
+    @Test
+    fun `dispatcher throws when every message is rejected`() {
+        // Given
+        val dispatcher = ChunkedSendDispatcher(
+            chunks = messages(4).chunked(2).iterator(),
+            maxConcurrency = 2,
+            accumulator = BulkMessageSentResponseAccumulator(),
+            sendChunk = { chunk ->
+                val exception = SolapiMessageNotReceivedException("메시지 발송 접수에 실패했습니다.")
+                exception.failedMessageList = chunk.map { FailedMessage(to = it.to) }
+                failedFuture(exception)
+            }
+        )
+
+        // When & Then
+        val exception = assertFailsWith<SolapiMessageNotReceivedException> {
+            dispatcher.start().getOrThrow()
+        }
+        assertEquals(4, exception.failedMessageList.size)
+    }
+
+    @Test
+    fun `dispatcher stops dispatching after unexpected error`() {
+        // Given
+        val calls = AtomicInteger()
+        val dispatcher = ChunkedSendDispatcher(
+            chunks = messages(30).chunked(10).iterator(),
+            maxConcurrency = 1,
+            accumulator = BulkMessageSentResponseAccumulator(),
+            sendChunk = {
+                calls.incrementAndGet()
+                failedFuture(SolapiUnknownException("Server error encountered"))
+            }
+        )
+
+        // When & Then
+        val exception = assertFailsWith<SolapiBulkSendException> {
+            dispatcher.start().getOrThrow()
+        }
+        assertIs<SolapiUnknownException>(exception.cause)
+        assertEquals(1, calls.get())
+    }
+
+    @Test
+    fun `failed chunk keeps accepted results and lists unsent messages`() {
+        // Given
+        val messages = messages(30)
+        val pending = mutableListOf<CompletableFuture<MultipleDetailMessageSentResponse>>()
+        val dispatcher = ChunkedSendDispatcher(
+            chunks = messages.chunked(10).iterator(),
+            maxConcurrency = 1,
+            accumulator = BulkMessageSentResponseAccumulator(),
+            collectRemaining = true,
+            sendChunk = { chunk ->
+                val future = CompletableFuture<MultipleDetailMessageSentResponse>()
+                pending.add(future)
+                future.thenApply { sentResponse("G${pending.size}", chunk.size) }
+            }
+        )
+
+        // When
+        val result = dispatcher.start()
+        pending[0].complete(sentResponse("G1", 10))
+        pending[1].completeExceptionally(SolapiUnknownException("Server error encountered"))
+
+        // Then
+        val exception = assertFailsWith<SolapiBulkSendException> { result.getOrThrow() }
+        assertEquals(listOf("G1"), exception.partialResponse.groupIds)
+        assertEquals(10, exception.partialResponse.count.total)
+        assertEquals(messages.drop(10), exception.unsentMessageList)
+        assertEquals(2, pending.size)
+    }
+
+    @Test
+    fun `in-flight chunks finish after another chunk fails`() {
+        // Given
+        val pending = mutableListOf<CompletableFuture<MultipleDetailMessageSentResponse>>()
+        val result = ChunkedSendDispatcher(
+            chunks = messages(20).chunked(10).iterator(),
+            maxConcurrency = 2,
+            accumulator = BulkMessageSentResponseAccumulator(),
+            sendChunk = { chunk ->
+                val future = CompletableFuture<MultipleDetailMessageSentResponse>()
+                pending.add(future)
+                future.thenApply { sentResponse("G${pending.indexOf(future) + 1}", chunk.size) }
+            }
+        ).start()
+
+        // When
+        pending[0].completeExceptionally(SolapiUnknownException("Server error encountered"))
+
+        // Then - 먼저 실패한 요청이 있어도 진행 중인 요청은 취소하지 않고 결과에 합산해야 함
+        assertFalse(pending[1].isCancelled)
+        assertFalse(result.isDone)
+        pending[1].complete(sentResponse("G2", 10))
+        val exception = assertFailsWith<SolapiBulkSendException> { result.getOrThrow() }
+        assertEquals(listOf("G2"), exception.partialResponse.groupIds)
+        assertEquals(10, exception.unsentMessageList.size)
+    }
+
+    @Test
+    fun `cancelling the result cancels in-flight chunks`() {
+        // Given
+        val inFlight = CompletableFuture<MultipleDetailMessageSentResponse>()
+        val result = ChunkedSendDispatcher(
+            chunks = messages(10).chunked(10).iterator(),
+            maxConcurrency = 1,
+            accumulator = BulkMessageSentResponseAccumulator(),
+            sendChunk = { inFlight }
+        ).start()
+
+        // When
+        result.cancel(true)
+
+        // Then
+        assertTrue(inFlight.isCancelled)
+    }
+
+    @Test
+    fun `cancelling while a chunk is being sent cancels that request`() {
+        // Given
+        val first = CompletableFuture<MultipleDetailMessageSentResponse>()
+        val second = CompletableFuture<MultipleDetailMessageSentResponse>()
+        lateinit var result: CompletableFuture<*>
+        result = ChunkedSendDispatcher(
+            chunks = messages(20).chunked(10).iterator(),
+            maxConcurrency = 1,
+            accumulator = BulkMessageSentResponseAccumulator(),
+            sendChunk = {
+                if (!first.isDone) {
+                    first
+                } else {
+                    // When - 두 번째 요청을 시작하는 도중 결과가 취소됨
+                    result.cancel(true)
+                    second
+                }
+            }
+        ).start()
+        first.complete(sentResponse("G1", 10))
+
+        // Then
+        assertTrue(result.isCancelled)
+        assertTrue(second.isCancelled)
+    }
+
+    @Test
+    fun `dispatcher pulls messages lazily from the source iterator`() {
+        // Given
+        val pulled = AtomicInteger()
+        val source = generateSequence { Message(from = "01000000000", to = "01000000000", text = "test") }
+            .onEach { pulled.incrementAndGet() }
+            .take(1000)
+        val pending = mutableListOf<CompletableFuture<MultipleDetailMessageSentResponse>>()
+        val sentChunks = AtomicInteger()
+
+        // When
+        val result = ChunkedSendDispatcher(
+            chunks = source.chunked(10).iterator(),
+            maxConcurrency = 2,
+            accumulator = BulkMessageSentResponseAccumulator(collectMessageList = false),
+            onChunkSent = { sentChunks.incrementAndGet() },
+            sendChunk = { chunk ->
+                val future = CompletableFuture<MultipleDetailMessageSentResponse>()
+                pending.add(future)
+                future.thenApply { sentResponse("G", chunk.size) }
+            }
+        ).start()
+
+        // Then - 동시 발송 수만큼의 묶음만 꺼내야 함
+        assertTrue(pulled.get() <= 30, "Only in-flight chunks should be pulled, but pulled ${pulled.get()}")
+
+        while (!result.isDone) {
+            pending.removeAt(0).complete(sentResponse("G", 0))
+        }
+        assertEquals(1000, pulled.get())
+        assertEquals(100, sentChunks.get())
+        assertEquals(1000, result.getOrThrow().count.total)
+    }
+}
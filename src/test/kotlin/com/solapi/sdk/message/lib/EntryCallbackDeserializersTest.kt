@@ -0,0 +1,79 @@
+package com.solapi.sdk.message.lib
+
+import com.solapi.sdk.message.dto.response.MessageListResponse
+import com.solapi.sdk.message.dto.response.MultipleDetailMessageSentResponse
+import com.solapi.sdk.message.model.Message
+import kotlinx.serialization.builtins.serializer
+import okhttp3.MediaType.Companion.toMediaType
+import okhttp3.ResponseBody.Companion.toResponseBody
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertTrue
+
+class EntryCallbackDeserializersTest {
+
+    private val contentType = "application/json".toMediaType()
+
+    @Test
+    fun `send response delivers messageList elements one by one and keeps other fields`() {
+        // Given
+        val json = """
+            {
+              "failedMessageList": [],
+              "groupInfo": {"groupId": "G4V20260101000000ABCDEFGHIJKLMNO", "count": {"total": 3, "registeredSuccess": 3}},
+              "messageList": [
+                {"messageId": "M1", "statusCode": "2000", "statusMessage": "정상 접수"},
+                {"messageId": "M2", "statusCode": "2000", "statusMessage": "정상 접수"},
+                {"messageId": "M3", "statusCode": "2000", "statusMessage": "정상 접수"}
+              ]
+            }
+        """.trimIndent()
+        val received = mutableListOf<MultipleDetailMessageSentResponse.MessageList>()
+        val deserializer = FieldReplacingDeserializer(
+            MultipleDetailMessageSentResponse.serializer(),
+            "messageList",
+            ListElementCallbackDeserializer(MultipleDetailMessageSentResponse.MessageList.serializer()) { received.add(it) }
+        )
+
+        // When
+        val response = decodeFromResponseBody(JsonSupport.json, deserializer, json.toResponseBody(contentType))
+
+        // Then
+        assertEquals(listOf("M1", "M2", "M3"), received.map { it.messageId })
+        assertTrue(response.messageList.isEmpty())
+        assertEquals("G4V20260101000000ABCDEFGHIJKLMNO", response.groupInfo?.groupId)
+        assertEquals(3, response.groupInfo?.count?.total)
+    }
+
+    @Test
+    fun `message list response delivers map entries one by one and keeps paging keys`() {
+        // Given
+        val json = """
+            {
+              "limit": 2,
+              "startKey": "M1",
+              "nextKey": "M3",
+              "messageList": {
+                "M1": {"to": "01000000001", "from": "01000000000", "text": "첫 번째"},
+                "M2": {"to": "01000000002", "from": "01000000000", "text": "두 번째"}
+              }
+            }
+        """.trimIndent()
+        val received = linkedMapOf<String, Message>()
+        val deserializer = FieldReplacingDeserializer(
+            MessageListResponse.serializer(),
+            "messageList",
+            MapEntryCallbackDeserializer(String.serializer(), Message.serializer()) { key, message -> received[key] = message }
+        )
+
+        // When
+        val response = decodeFromResponseBody(JsonSupport.json, deserializer, json.toResponseBody(contentType))
+
+        // Then
+        assertEquals(listOf("M1", "M2"), received.keys.toList())
+        assertEquals("두 번째", received["M2"]?.text)
+        assertTrue(response.messageList.isNullOrEmpty())
+        assertEquals(2, response.limit)
+        assertEquals("M3", response.nextKey)
+    }
+}
@@ -0,0 +1,146 @@
+package com.solapi.sdk.message.lib
+
+import com.solapi.sdk.message.model.StorageType
+import java.io.ByteArrayInputStream
+import java.nio.ByteBuffer
+import java.nio.file.Files
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertNotEquals
+import kotlin.test.assertNull
+
+class FileUploadCacheTest {
+
+    private val scope = FileUploadCache.scopeOf("API_KEY")
+
+    private fun source(content: String) = UploadSource.ByteBufferSource(ByteBuffer.wrap(content.toByteArray()))
+
+    @Test
+    fun `key depends on content, storage type and link`() {
+        // Given
+        val cache = FileUploadCache()
+
+        // When
+        val key = cache.keyOf(scope, source("image"), StorageType.MMS, null)
+
+        // Then
+        assertEquals(key, cache.keyOf(scope, source("image"), StorageType.MMS, null))
+        assertNotEquals(key, cache.keyOf(scope, source("other"), StorageType.MMS, null))
+        assertNotEquals(key, cache.keyOf(scope, source("image"), StorageType.BMS, null))
+        assertNotEquals(key, cache.keyOf(scope, source("image"), StorageType.MMS, "https://example.com"))
+        assertNotEquals(key, cache.keyOf(FileUploadCache.scopeOf("OTHER_API_KEY"), source("image"), StorageType.MMS, null))
+        assertNull(cache.keyOf(scope, UploadSource.InputStreamSource(ByteArrayInputStream(ByteArray(1))), StorageType.MMS, null))
+    }
+
+    @Test
+    fun `cached file id is returned without uploading again`() {
+        // Given
+        val cache = FileUploadCache()
+        val uploads = AtomicInteger()
+        val upload = { CompletableFuture.completedFuture<String?>("FILE${uploads.incrementAndGet()}") }
+
+        // When
+        val first = cache.getOrUpload("key", upload).join()
+        val second = cache.getOrUpload("key", upload).join()
+
+        // Then
+        assertEquals("FILE1", first)
+        assertEquals("FILE1", second)
+        assertEquals(1, uploads.get())
+    }
+
+    @Test
+    fun `concurrent uploads of the same key share one request`() {
+        // Given
+        val cache = FileUploadCache()
+        val pending = CompletableFuture<String?>()
+        val uploads = AtomicInteger()
+
+        // When
+        val first = cache.getOrUpload("key") { uploads.incrementAndGet(); pending }
+        val second = cache.getOrUpload("key") { uploads.incrementAndGet(); pending }
+        pending.complete("FILE1")
+
+        // Then
+        assertEquals(1, uploads.get())
+        assertEquals("FILE1", first.join())
+        assertEquals("FILE1", second.join())
+    }
+
+    @Test
+    fun `expired and least recently used entries are evicted`() {
+        // Given
+        var now = 0L
+        val cache = FileUploadCache(maxEntries = 2, ttl = Duration.ofMillis(100))
+        cache.clock = { now }
+        cache.getOrUpload("a") { CompletableFuture.completedFuture("A") }.join()
+        cache.getOrUpload("b") { CompletableFuture.completedFuture("B") }.join()
+        cache.getOrUpload("a") { CompletableFuture.completedFuture("A2") }.join()
+
+        // When
+        cache.getOrUpload("c") { CompletableFuture.completedFuture("C") }.join()
+        now = 50
+        val b = cache.getOrUpload("b") { CompletableFuture.completedFuture("B2") }.join()
+        now = 200
+        val a = cache.getOrUpload("a") { CompletableFuture.completedFuture("A3") }.join()
+        val expiredB = cache.getOrUpload("b") { CompletableFuture.completedFuture("B3") }.join()
+
+        // Then
+        assertEquals("B2", b)
+        assertEquals("A3", a)
+        assertEquals("B3", expiredB)
+    }
+
+    @Test
+    fun `entries are persisted and loaded on next start`() {
+        // Given
+        val file = Files.createTempDirectory("upload-cache").resolve("cache.json").toFile()
+        val cache = FileUploadCache(persistenceFile = file)
+        cache.getOrUpload("key") { CompletableFuture.completedFuture("FILE1") }.join()
+        cache.flush()
+
+        // When
+        val reloaded = FileUploadCache(persistenceFile = file)
+        val fileId = reloaded.getOrUpload("key") { CompletableFuture.completedFuture("FILE2") }.join()
+
+        // Then
+        assertEquals("FILE1", fileId)
+        assertEquals(1, reloaded.size)
+    }
+
+    @Test
+    fun `entries are saved in the background after a delay`() {
+        // Given
+        val file = Files.createTempDirectory("upload-cache").resolve("cache.json").toFile()
+        val cache = FileUploadCache(persistenceFile = file)
+        cache.saveDelayMillis = 50
+
+        // When
+        cache.getOrUpload("a") { CompletableFuture.completedFuture("A") }.join()
+        cache.getOrUpload("b") { CompletableFuture.completedFuture("B") }.join()
+        val savedImmediately = file.exists()
+        val deadline = System.currentTimeMillis() + 5_000
+        while (!file.exists() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+
+        // Then
+        assertFalse(savedImmediately)
+        assertEquals(2, FileUploadCache(persistenceFile = file).size)
+    }
+
+    @Test
+    fun `api key scope does not expose the api key`() {
+        // When
+        val scope = FileUploadCache.scopeOf("API_KEY")
+
+        // Then
+        assertEquals(16, scope.length)
+        assertEquals(scope, FileUploadCache.scopeOf("API_KEY"))
+        assertFalse(scope.contains("API_KEY"))
+    }
+}
@@ -0,0 +1,110 @@
+package com.solapi.sdk.message.lib
+
+import com.solapi.sdk.message.dto.request.FileUploadRequest
+import com.solapi.sdk.message.exception.SolapiFileUploadException
+import com.solapi.sdk.message.model.StorageType
+import okhttp3.MediaType.Companion.toMediaType
+import okio.Buffer
+import java.io.ByteArrayInputStream
+import java.io.IOException
+import java.io.InputStream
+import java.nio.ByteBuffer
+import java.nio.file.Files
+import java.util.Base64
+import kotlin.random.Random
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertIs
+import kotlin.test.assertTrue
+
+class FileUploadRequestBodyTest {
+
+    private val contentType = "application/json".toMediaType()
+
+    private fun expectedJson(content: ByteArray, link: String? = null): String {
+        val request = FileUploadRequest(
+            file = Base64.getEncoder().encodeToString(content),
+            type = StorageType.FAX,
+            link = link
+        )
+        return JsonSupport.json.encodeToString(FileUploadRequest.serializer(), request)
+    }
+
+    @Test
+    fun `file is streamed as base64 json with exact content length`() {
+        // Given
+        val content = Random(1).nextBytes(200_001)
+        val file = Files.createTempFile("upload", ".bin")
+        Files.write(file, content)
+        val body = FileUploadRequestBody(uploadSourceOf(file), StorageType.FAX, null, "https://example.com/\"a\"", contentType)
+
+        // When
+        val buffer = Buffer()
+        body.writeTo(buffer)
+
+        // Then
+        val written = buffer.readUtf8()
+        assertEquals(expectedJson(content, "https://example.com/\"a\""), written)
+        assertEquals(written.toByteArray().size.toLong(), body.contentLength())
+        Files.delete(file)
+    }
+
+    @Test
+    fun `byte buffer source keeps buffer position and can be written again`() {
+        // Given
+        val content = Random(2).nextBytes(1000)
+        val buffer = ByteBuffer.allocateDirect(content.size).put(content)
+        buffer.flip()
+        val body = FileUploadRequestBody(UploadSource.ByteBufferSource(buffer), StorageType.FAX, null, null, contentType)
+
+        // When
+        val first = Buffer().also { body.writeTo(it) }.readUtf8()
+        val second = Buffer().also { body.writeTo(it) }.readUtf8()
+
+        // Then
+        assertEquals(expectedJson(content), first)
+        assertEquals(first, second)
+        assertEquals(0, buffer.position())
+    }
+
+    @Test
+    fun `input stream source is one shot with unknown length`() {
+        // Given
+        val content = Random(3).nextBytes(5000)
+        val body = FileUploadRequestBody(
+            UploadSource.InputStreamSource(ByteArrayInputStream(content)), StorageType.FAX, null, null, contentType
+        )
+
+        // When
+        val written = Buffer().also { body.writeTo(it) }.readUtf8()
+
+        // Then
+        assertEquals(expectedJson(content), written)
+        assertTrue(body.isOneShot())
+        assertEquals(-1L, body.contentLength())
+    }
+
+    @Test
+    fun `read failure is reported as file upload exception`() {
+        // Given
+        val failing = object : InputStream() {
+            override fun read(): Int = throw IOException("disk error")
+            override fun read(b: ByteArray, off: Int, len: Int): Int = throw IOException("disk error")
+        }
+        val body = FileUploadRequestBody(UploadSource.InputStreamSource(failing), StorageType.FAX, null, null, contentType)
+
+        // When
+        val error = assertFailsWith<UploadSourceException> { body.writeTo(Buffer()) }
+
+        // Then
+        assertIs<SolapiFileUploadException>(toFileUploadException(error))
+    }
+
+    @Test
+    fun `missing file is rejected before upload`() {
+        assertFailsWith<SolapiFileUploadException> {
+            uploadSourceOf(Files.createTempDirectory("upload").resolve("missing.jpg"))
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.solapi.sdk.message.lib
+
+import okhttp3.Interceptor
+import okhttp3.MediaType.Companion.toMediaType
+import okhttp3.OkHttpClient
+import okhttp3.Protocol
+import okhttp3.Request
+import okhttp3.RequestBody.Companion.toRequestBody
+import okhttp3.Response
+import okhttp3.ResponseBody.Companion.toResponseBody
+import okio.Buffer
+import okio.GzipSource
+import okio.buffer
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertNull
+import kotlin.test.assertTrue
+
+class GzipRequestInterceptorTest {
+
+    private val contentType = "application/json".toMediaType()
+
+    /**
+     * 네트워크 대신 요청을 기록하고 지정한 상태 코드로 응답하는 인터셉터
+     */
+    private class RecordingServer(private val statusCode: (Request) -> Int) : Interceptor {
+        val requests = mutableListOf<Pair<Request, ByteArray>>()
+
+        override fun intercept(chain: Interceptor.Chain): Response {
+            val request = chain.request()
+            val buffer = Buffer()
+            request.body?.writeTo(buffer)
+            requests.add(request to buffer.readByteArray())
+            return Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(statusCode(request))
+                .message("")
+                .body("{}".toResponseBody(contentType))
+                .build()
+        }
+    }
+
+    private fun execute(interceptor: GzipRequestInterceptor, server: RecordingServer, body: String): Response {
+        val client = OkHttpClient.Builder()
+            .addInterceptor(interceptor)
+            .addInterceptor(server)
+            .build()
+        val request = Request.Builder()
+            .url("https://api.solapi.com/messages/v4/send-many/detail")
+            .post(body.toRequestBody(contentType))
+            .build()
+        return client.newCall(request).execute().also { it.close() }
+    }
+
+    private fun gunzip(bytes: ByteArray): String {
+        return GzipSource(Buffer().write(bytes)).buffer().readUtf8()
+    }
+
+    @Test
+    fun `body above threshold is sent gzip compressed`() {
+        // Given
+        val interceptor = GzipRequestInterceptor(minimumSize = 100)
+        val server = RecordingServer { 200 }
+        val body = """{"messages":[""" + (1..100).joinToString(",") { """{"to":"01000000001","text":"안내 메시지"}""" } + "]}"
+
+        // When
+        execute(interceptor, server, body)
+
+        // Then
+        val (request, sentBytes) = server.requests.single()
+        assertEquals("gzip", request.header("Content-Encoding"))
+        assertEquals(-1L, request.body?.contentLength(), "compressed body should be streamed, not buffered")
+        assertTrue(sentBytes.size < body.toByteArray().size)
+        assertEquals(body, gunzip(sentBytes))
+    }
+
+    @Test
+    fun `body below threshold is sent as is`() {
+        // Given
+        val interceptor = GzipRequestInterceptor(minimumSize = 1024)
+        val server = RecordingServer { 200 }
+
+        // When
+        execute(interceptor, server, """{"messages":[]}""")
+
+        // Then
+        val (request, sentBytes) = server.requests.single()
+        assertNull(request.header("Content-Encoding"))
+        assertEquals("""{"messages":[]}""", String(sentBytes))
+    }
+
+    @Test
+    fun `unsupported media type falls back to plain body and disables compression`() {
+        // Given
+        val interceptor = GzipRequestInterceptor(minimumSize = 0)
+        val server = RecordingServer { request -> if (request.header("Content-Encoding") == "gzip") 415 else 200 }
+
+        // When
+        val first = execute(interceptor, server, """{"messages":[]}""")
+        execute(interceptor, server, """{"messages":[]}""")
+
+        // Then
+        assertEquals(200, first.code)
+        assertTrue(interceptor.disabled)
+        assertEquals(listOf("gzip", null, null), server.requests.map { it.first.header("Content-Encoding") })
+    }
+
+    @Test
+    fun `bad request is returned without resending the body`() {
+        // Given
+        val interceptor = GzipRequestInterceptor(minimumSize = 0)
+        val server = RecordingServer { 400 }
+
+        // When
+        val response = execute(interceptor, server, """{"messages":[]}""")
+
+        // Then
+        assertEquals(400, response.code)
+        assertFalse(interceptor.disabled)
+        assertEquals(listOf("gzip"), server.requests.map { it.first.header("Content-Encoding") })
+    }
+}
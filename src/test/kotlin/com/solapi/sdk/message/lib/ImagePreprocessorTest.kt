@@ -0,0 +1,109 @@
+package com.solapi.sdk.message.lib
+
+import com.solapi.sdk.message.model.StorageType
+import java.awt.image.BufferedImage
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.nio.ByteBuffer
+import javax.imageio.ImageIO
+import kotlin.random.Random
+import kotlin.test.Test
+import kotlin.test.assertContentEquals
+import kotlin.test.assertEquals
+import kotlin.test.assertSame
+import kotlin.test.assertTrue
+
+class ImagePreprocessorTest {
+
+    private fun noisyImage(width: Int, height: Int, format: String): ByteArray {
+        val random = Random(width * 31 + height)
+        val image = BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB)
+        for (y in 0 until height) {
+            for (x in 0 until width) {
+                image.setRGB(x, y, random.nextInt())
+            }
+        }
+        val output = ByteArrayOutputStream()
+        if (format == "jpeg") {
+            val rgb = BufferedImage(width, height, BufferedImage.TYPE_INT_RGB)
+            rgb.graphics.drawImage(image, 0, 0, null)
+            ImageIO.write(rgb, format, output)
+        } else {
+            ImageIO.write(image, format, output)
+        }
+        return output.toByteArray()
+    }
+
+    private fun readAll(source: UploadSource): ByteArray {
+        val output = ByteArrayOutputStream()
+        source.open().use { reader ->
+            val chunk = ByteArray(8192)
+            while (true) {
+                val read = reader.read(chunk)
+                if (read < 0) break
+                output.write(chunk, 0, read)
+            }
+        }
+        return output.toByteArray()
+    }
+
+    @Test
+    fun `oversized png is converted to jpeg within mms limits`() {
+        // Given
+        val original = noisyImage(2000, 1000, "png")
+        val preprocessor = ImagePreprocessor()
+
+        // When
+        val processed = readAll(preprocessor.process(UploadSource.ByteBufferSource(ByteBuffer.wrap(original)), StorageType.MMS))
+
+        // Then
+        val image = ImageIO.read(ByteArrayInputStream(processed))
+        assertTrue(processed.size <= ImagePreprocessor.MMS_CONSTRAINT.maxBytes)
+        assertEquals(0xFF.toByte(), processed[0])
+        assertEquals(0xD8.toByte(), processed[1])
+        assertTrue(image.width <= 1500 && image.height <= 1440)
+    }
+
+    @Test
+    fun `jpeg already within limits is uploaded unchanged`() {
+        // Given
+        val original = noisyImage(100, 100, "jpeg")
+        val preprocessor = ImagePreprocessor()
+
+        // When
+        val processed = preprocessor.fit(original, ImagePreprocessor.MMS_CONSTRAINT)
+
+        // Then
+        assertSame(original, processed)
+    }
+
+    @Test
+    fun `processed output is reused for the same source`() {
+        // Given
+        val original = noisyImage(800, 800, "png")
+        val preprocessor = ImagePreprocessor()
+
+        // When
+        val first = readAll(preprocessor.process(UploadSource.ByteBufferSource(ByteBuffer.wrap(original)), StorageType.MMS))
+        val second = readAll(preprocessor.process(UploadSource.ByteBufferSource(ByteBuffer.wrap(original.copyOf())), StorageType.MMS))
+
+        // Then
+        assertContentEquals(first, second)
+    }
+
+    @Test
+    fun `storage type without constraint and non image files are passed through`() {
+        // Given
+        val preprocessor = ImagePreprocessor()
+        val document = "%PDF-1.4 not an image".toByteArray()
+        val source = UploadSource.ByteBufferSource(ByteBuffer.wrap(document))
+
+        // When
+        val fax = preprocessor.process(source, StorageType.FAX)
+        val mms = readAll(preprocessor.process(source, StorageType.MMS))
+
+        // Then
+        assertSame(source, fax)
+        assertContentEquals(document, mms)
+    }
+}
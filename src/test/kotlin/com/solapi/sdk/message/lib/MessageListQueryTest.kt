@@ -0,0 +1,84 @@
+package com.solapi.sdk.message.lib
+
+import com.solapi.sdk.message.dto.request.MessageListRequest
+import com.solapi.sdk.message.exception.SolapiBadRequestException
+import com.solapi.sdk.message.model.MessageStatusType
+import kotlin.time.Instant
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertSame
+import kotlin.test.assertTrue
+
+class MessageListQueryTest {
+
+    @Test
+    fun `request conditions are written as criteria, cond and value`() {
+        // Given
+        val request = MessageListRequest(
+            to = "01012345678",
+            from = "029302266",
+            messageIds = listOf("M1", "M2"),
+            type = "SMS",
+            status = MessageStatusType.FAILED,
+            startKey = "M0",
+            limit = 100,
+            startDate = Instant.parse("2026-01-01T00:00:00Z"),
+            endDate = Instant.parse("2026-01-02T00:00:00Z")
+        )
+
+        // When
+        val parameters = MessageListQuery.of(request).toMap()
+
+        // Then
+        assertEquals(
+            mapOf(
+                "startKey" to "M0",
+                "limit" to "100",
+                "criteria" to "statusCode,statusCode,statusCode,messageId,messageId,to,from,type",
+                "cond" to "ne,ne,ne,eq,eq,eq,eq,eq",
+                "value" to "2000,3000,4000,M1,M2,01012345678,029302266,SMS",
+                "startDate" to "2026-01-01T00:00:00Z",
+                "endDate" to "2026-01-02T00:00:00Z"
+            ),
+            parameters
+        )
+    }
+
+    @Test
+    fun `blank conditions and empty requests produce no parameters`() {
+        // Given
+        val request = MessageListRequest(to = " ", groupId = "")
+
+        // When
+        val parameters = MessageListQuery.of(request).toMap()
+
+        // Then
+        assertTrue(parameters.isEmpty())
+        assertTrue(MessageListQuery.of(null).toMap().isEmpty())
+    }
+
+    @Test
+    fun `template is reused with a new cursor without changing the original`() {
+        // Given
+        val template = MessageListQuery.builder().groupId("G1").status(MessageStatusType.PENDING).limit(500).build()
+
+        // When
+        val nextPage = template.withStartKey("M100")
+
+        // Then
+        assertEquals("M100", nextPage.toMap()["startKey"])
+        assertEquals(template.toMap() + ("startKey" to "M100"), nextPage.toMap())
+        assertEquals(null, template.toMap()["startKey"])
+        assertSame(nextPage, nextPage.withStartKey("M100"))
+    }
+
+    @Test
+    fun `status and statusCode cannot be combined`() {
+        // Given
+        val builder = MessageListQuery.builder().status(MessageStatusType.COMPLETE).statusCode("4000")
+
+        // When & Then
+        assertFailsWith<SolapiBadRequestException> { builder.build() }
+    }
+}
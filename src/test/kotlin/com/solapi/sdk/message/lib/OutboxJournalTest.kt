@@ -0,0 +1,127 @@
+package com.solapi.sdk.message.lib
+
+import java.io.File
+import java.io.RandomAccessFile
+import java.nio.file.Files
+import kotlin.test.AfterTest
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertTrue
+
+class OutboxJournalTest {
+
+    private val directory: File = Files.createTempDirectory("solapi-outbox").toFile()
+
+    @AfterTest
+    fun tearDown() {
+        directory.deleteRecursively()
+    }
+
+    private fun segmentFiles(): List<File> =
+        directory.listFiles().orEmpty().filter { OutboxJournal.segmentNumberOf(it) != null }.sortedBy { it.name }
+
+    @Test
+    fun `unacknowledged records are recovered after reopening`() {
+        // Given
+        OutboxJournal(directory, 4096).use { journal ->
+            val first = journal.reserveId()
+            val second = journal.reserveId()
+            journal.append(first, "first".toByteArray()).getOrThrow()
+            journal.append(second, "second".toByteArray()).getOrThrow()
+            journal.ack(first)
+        }
+
+        // When
+        val recovered = OutboxJournal(directory, 4096).use { it.takeReplayable() }
+
+        // Then
+        assertEquals(listOf("second"), recovered.values.map { String(it) })
+    }
+
+    @Test
+    fun `append completes once the record is synced`() {
+        // Given
+        OutboxJournal(directory, 4096).use { journal ->
+            // When
+            val futures = (1..100).map { journal.append(journal.reserveId(), "message-$it".toByteArray()) }
+
+            // Then
+            futures.forEach { it.getOrThrow() }
+            assertEquals(100, journal.pendingCount)
+        }
+    }
+
+    @Test
+    fun `torn record at the tail is ignored`() {
+        // Given
+        OutboxJournal(directory, 4096).use { journal ->
+            journal.append(journal.reserveId(), "complete".toByteArray()).getOrThrow()
+            journal.append(journal.reserveId(), "torn".toByteArray()).getOrThrow()
+        }
+        // 두 번째 레코드의 payload 일부를 손상시킴
+        val secondPayloadOffset = (OutboxJournal.HEADER_SIZE * 2 + "complete".length).toLong()
+        RandomAccessFile(segmentFiles().first(), "rw").use { file ->
+            file.seek(secondPayloadOffset)
+            file.write(0)
+        }
+
+        // When
+        val recovered = OutboxJournal(directory, 4096).use { it.takeReplayable() }
+
+        // Then
+        assertEquals(listOf("complete"), recovered.values.map { String(it) })
+    }
+
+    @Test
+    fun `fully acknowledged segments are deleted`() {
+        // Given
+        OutboxJournal(directory, 64).use { journal ->
+            val ids = (1..10).map { journal.reserveId() }
+            ids.forEach { journal.append(it, ByteArray(30)).getOrThrow() }
+            assertTrue(segmentFiles().size > 1)
+
+            // When
+            ids.forEach { journal.ack(it) }
+
+            // Then
+            assertEquals(1, segmentFiles().size)
+            assertEquals(0, journal.pendingCount)
+        }
+    }
+
+    @Test
+    fun `new ids continue after recovered ids`() {
+        // Given
+        val lastId = OutboxJournal(directory, 4096).use { journal ->
+            val id = journal.reserveId()
+            journal.append(id, "message".toByteArray()).getOrThrow()
+            id
+        }
+
+        // When & Then
+        OutboxJournal(directory, 4096).use { journal ->
+            assertTrue(journal.reserveId() > lastId)
+        }
+    }
+
+    @Test
+    fun `requeued records are replayable until acknowledged`() {
+        // Given
+        OutboxJournal(directory, 4096).use { journal ->
+            val failed = journal.reserveId()
+            val acknowledged = journal.reserveId()
+            journal.append(failed, "failed".toByteArray()).getOrThrow()
+            journal.append(acknowledged, "acknowledged".toByteArray()).getOrThrow()
+            journal.ack(acknowledged)
+
+            // When
+            journal.requeue(failed, "failed".toByteArray())
+            journal.requeue(acknowledged, "acknowledged".toByteArray())
+
+            // Then
+            assertEquals(listOf("failed"), journal.takeReplayable().values.map { String(it) })
+            assertTrue(journal.takeReplayable().isEmpty())
+            assertEquals(1, journal.pendingCount)
+        }
+    }
+}
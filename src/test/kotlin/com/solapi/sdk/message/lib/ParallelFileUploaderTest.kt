@@ -0,0 +1,79 @@
+package com.solapi.sdk.message.lib
+
+import com.solapi.sdk.message.exception.SolapiFileUploadException
+import java.io.File
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertIs
+import kotlin.test.assertNull
+import kotlin.test.assertTrue
+
+class ParallelFileUploaderTest {
+
+    private val files = (1..5).map { File("image$it.jpg") }
+
+    @Test
+    fun `results are returned in input order regardless of completion order`() {
+        // Given
+        val pending = ConcurrentHashMap<String, CompletableFuture<String?>>()
+        val uploader = ParallelFileUploader(files, 5) { file ->
+            CompletableFuture<String?>().also { pending[file.name] = it }
+        }
+
+        // When
+        val result = uploader.start()
+        files.reversed().forEach { pending.getValue(it.name).complete("ID-${it.name}") }
+
+        // Then
+        assertEquals(files.map { "ID-${it.name}" }, result.join().map { it.fileId })
+    }
+
+    @Test
+    fun `concurrency is limited and failures do not cancel other uploads`() {
+        // Given
+        val running = AtomicInteger()
+        val maxRunning = AtomicInteger()
+        val pending = java.util.concurrent.LinkedBlockingQueue<Pair<File, CompletableFuture<String?>>>()
+        val uploader = ParallelFileUploader(files, 2) { file ->
+            maxRunning.accumulateAndGet(running.incrementAndGet(), ::maxOf)
+            CompletableFuture<String?>().also { pending.add(file to it) }
+        }
+
+        // When
+        val result = uploader.start()
+        while (!result.isDone) {
+            val (file, future) = pending.poll()
+            running.decrementAndGet()
+            if (file.name == "image2.jpg") {
+                future.completeExceptionally(SolapiFileUploadException("업로드 실패"))
+            } else {
+                future.complete("ID-${file.name}")
+            }
+        }
+
+        // Then
+        val results = result.join()
+        assertEquals(2, maxRunning.get())
+        assertEquals(5, results.size)
+        assertIs<SolapiFileUploadException>(results[1].error)
+        assertNull(results[1].fileId)
+        assertTrue(results.filterIndexed { index, _ -> index != 1 }.all { it.isSuccess })
+    }
+
+    @Test
+    fun `already completed uploads are processed without waiting`() {
+        // Given
+        val manyFiles = (1..10000).map { File("image$it.jpg") }
+        val uploader = ParallelFileUploader(manyFiles, 1) { CompletableFuture.completedFuture("cached") }
+
+        // When
+        val results = uploader.start().join()
+
+        // Then
+        assertEquals(10000, results.size)
+        assertTrue(results.all { it.fileId == "cached" })
+    }
+}
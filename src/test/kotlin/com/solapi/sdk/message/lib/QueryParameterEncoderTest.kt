@@ -0,0 +1,124 @@
+package com.solapi.sdk.message.lib
+
+import com.solapi.sdk.message.dto.request.kakao.KakaoAlimtalkSendableTemplateListRequest
+import com.solapi.sdk.message.dto.request.kakao.KakaoAlimtalkTemplateListRequest
+import com.solapi.sdk.message.dto.request.kakao.KakaoTemplateDateQuery
+import com.solapi.sdk.message.dto.request.kakao.KakaoTemplateNameQuery
+import com.solapi.sdk.message.model.kakao.KakaoAlimtalkTemplateStatus
+import kotlinx.serialization.Contextual
+import kotlinx.serialization.SerialName
+import kotlinx.serialization.Serializable
+import kotlinx.serialization.SerializationException
+import kotlinx.serialization.builtins.MapSerializer
+import kotlinx.serialization.builtins.serializer
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.time.Instant
+
+class QueryParameterEncoderTest {
+
+    @Serializable
+    enum class Sort {
+        @SerialName("asc")
+        ASCENDING,
+        DESCENDING
+    }
+
+    @Serializable
+    data class Range(val from: Int, val to: Int? = null)
+
+    @Serializable
+    data class ListQuery(val ids: List<String>)
+
+    @Serializable
+    data class SampleQuery(
+        val keyword: String? = null,
+        val limit: Int? = null,
+        val enabled: Boolean = true,
+        val sort: Sort? = null,
+        val range: Range? = null,
+        @Contextual
+        val since: Instant? = null,
+    )
+
+    @Test
+    fun `fields are written by descriptor name and nulls are skipped`() {
+        // Given
+        val query = SampleQuery(
+            limit = 20,
+            sort = Sort.ASCENDING,
+            range = Range(from = 1),
+            since = Instant.parse("2026-01-01T00:00:00Z")
+        )
+
+        // When
+        val parameters = encodeQueryParameters(SampleQuery.serializer(), query)
+
+        // Then
+        assertEquals(
+            mapOf(
+                "limit" to "20",
+                "enabled" to "true",
+                "sort" to "asc",
+                "range[from]" to "1",
+                "since" to "2026-01-01T00:00:00Z"
+            ),
+            parameters
+        )
+    }
+
+    @Test
+    fun `list fields are rejected instead of keeping only the last element`() {
+        // Given
+        val query = ListQuery(ids = listOf("M1", "M2"))
+
+        // When & Then
+        assertFailsWith<SerializationException> { encodeQueryParameters(ListQuery.serializer(), query) }
+    }
+
+    @Test
+    fun `template list request keeps operator style parameters`() {
+        // Given
+        val request = KakaoAlimtalkTemplateListRequest(
+            channelId = "KA01PF",
+            name = KakaoTemplateNameQuery("주문", KakaoTemplateNameQuery.KakaoAlimtalkTemplateNameQueryCondition.LIKE),
+            status = KakaoAlimtalkTemplateStatus.APPROVED,
+            limit = 10,
+            dateCreated = KakaoTemplateDateQuery(
+                Instant.parse("2026-01-01T00:00:00Z"),
+                KakaoTemplateDateQuery.KakaoAlimtalkTemplateDateQueryCondition.GREATER_THEN_OR_EQUAL
+            )
+        )
+
+        // When
+        val parameters = request.generateQueryParams()
+
+        // Then
+        assertEquals(
+            mapOf(
+                "channelId" to "KA01PF",
+                "name[like]" to "주문",
+                "isHidden" to "false",
+                "status" to "APPROVED",
+                "isMine" to "false",
+                "limit" to "10",
+                "dateCreated[gte]" to "2026-01-01T00:00:00Z"
+            ),
+            parameters
+        )
+        assertEquals(
+            mapOf("templateId" to "TP01"),
+            KakaoAlimtalkSendableTemplateListRequest(templateId = "TP01").generateToQueryParams()
+        )
+    }
+
+    @Test
+    fun `maps cannot be written as query parameters`() {
+        // Given
+        val serializer = MapSerializer(String.serializer(), String.serializer())
+
+        // When & Then
+        assertFailsWith<SerializationException> { encodeQueryParameters(serializer, mapOf("a" to "b")) }
+    }
+}
@@ -0,0 +1,192 @@
+package com.solapi.sdk.message.lib
+
+import com.solapi.sdk.message.exception.SolapiRateLimitException
+import com.solapi.sdk.message.model.Quota
+import java.time.LocalDate
+import java.util.concurrent.TimeUnit
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertFalse
+import kotlin.test.assertTrue
+
+class SendRateLimiterTest {
+
+    private val today = LocalDate.of(2024, 6, 15)
+    private val oneSecond = TimeUnit.SECONDS.toNanos(1)
+
+    @Test
+    fun `token bucket allows burst up to capacity then waits`() {
+        // Given
+        val bucket = TokenBucket(ratePerSecond = 10.0, burstSeconds = 1.0, nowNanos = 0)
+
+        // When
+        val first = bucket.waitNanos(10, 0)
+        bucket.take(10)
+        val second = bucket.waitNanos(5, 0)
+
+        // Then
+        assertEquals(0L, first)
+        assertEquals(oneSecond / 2, second)
+    }
+
+    @Test
+    fun `token bucket refills over time`() {
+        // Given
+        val bucket = TokenBucket(ratePerSecond = 10.0, burstSeconds = 1.0, nowNanos = 0)
+        bucket.take(10)
+
+        // When
+        val waitAfterHalfSecond = bucket.waitNanos(5, oneSecond / 2)
+
+        // Then
+        assertEquals(0L, waitAfterHalfSecond)
+    }
+
+    @Test
+    fun `request larger than capacity is allowed once the bucket is full`() {
+        // Given
+        val limiter = SendRateLimiter(messagesPerSecond = 100.0)
+
+        // When
+        val first = limiter.tryAcquire(10000, 0, today)
+        val second = limiter.tryAcquire(1, 0, today)
+
+        // Then - 첫 요청은 허용되고, 이후 요청은 초과분이 충전될 때까지 대기해야 함
+        assertEquals(0L, first)
+        assertTrue(second >= TimeUnit.SECONDS.toNanos(99), "Expected to wait for the overdraft, but was $second")
+    }
+
+    @Test
+    fun `request rate is limited independently of message count`() {
+        // Given
+        val limiter = SendRateLimiter(requestsPerSecond = 2.0)
+
+        // When
+        val first = limiter.tryAcquire(1, 0, today)
+        val second = limiter.tryAcquire(1, 0, today)
+        val third = limiter.tryAcquire(1, 0, today)
+
+        // Then
+        assertEquals(0L, first)
+        assertEquals(0L, second)
+        assertEquals(oneSecond / 2, third)
+    }
+
+    @Test
+    fun `daily limit is seeded from quota and reset on the next day`() {
+        // Given
+        val limiter = SendRateLimiter()
+        limiter.updateFromQuota(Quota(quota = 100))
+
+        // When
+        val allowed = limiter.tryAcquire(100, 0, today)
+        val exceeded = limiter.tryAcquire(1, 0, today)
+        val nextDay = limiter.tryAcquire(1, 0, today.plusDays(1))
+
+        // Then
+        assertEquals(0L, allowed)
+        assertEquals(SendRateLimiter.DAILY_LIMIT_EXCEEDED, exceeded)
+        assertEquals(0L, nextDay)
+    }
+
+    @Test
+    fun `fail fast mode throws when the budget is exhausted`() {
+        // Given
+        val limiter = SendRateLimiter(mode = SendRateLimiter.Mode.FAIL_FAST, dailyLimit = 1)
+        limiter.acquire(1)
+
+        // When & Then
+        assertFailsWith<SolapiRateLimitException> {
+            limiter.acquire(1)
+        }
+    }
+
+    @Test
+    fun `queue mode completes waiters in order`() {
+        // Given
+        val limiter = SendRateLimiter(requestsPerSecond = 50.0, mode = SendRateLimiter.Mode.QUEUE, burstSeconds = 0.02)
+
+        // When
+        val futures = (1..5).map { limiter.acquireAsync(1) }
+
+        // Then
+        futures.forEach { it.get(5, TimeUnit.SECONDS) }
+        assertTrue(futures.all { it.isDone && !it.isCompletedExceptionally })
+        limiter.close()
+    }
+
+    @Test
+    fun `many queued waiters are released in order`() {
+        // Given
+        val limiter = SendRateLimiter(requestsPerSecond = 1000.0, mode = SendRateLimiter.Mode.QUEUE, burstSeconds = 0.01)
+        val completed = java.util.Collections.synchronizedList(mutableListOf<Int>())
+
+        // When
+        val futures = (0 until 200).map { index -> limiter.acquireAsync(1).thenRun { completed.add(index) } }
+
+        // Then
+        futures.forEach { it.get(5, TimeUnit.SECONDS) }
+        assertEquals((0 until 200).toList(), completed)
+        limiter.close()
+    }
+
+    @Test
+    fun `interrupted queue mode acquire leaves the queue`() {
+        // Given
+        val limiter = SendRateLimiter(mode = SendRateLimiter.Mode.QUEUE, dailyLimit = 1)
+        limiter.acquire(1)
+        var interrupted = false
+        val waiting = Thread {
+            try {
+                limiter.acquire(1)
+            } catch (e: InterruptedException) {
+                interrupted = true
+            }
+        }
+        waiting.start()
+
+        // When
+        Thread.sleep(100)
+        waiting.interrupt()
+        waiting.join(5000)
+
+        // Then
+        assertTrue(interrupted)
+        assertEquals(1, limiter.dailyUsage)
+        limiter.dailyLimit = 2
+        limiter.acquireAsync(1).get(5, TimeUnit.SECONDS)
+        assertEquals(2, limiter.dailyUsage)
+        limiter.close()
+    }
+
+    @Test
+    fun `block mode async acquire queues without blocking the caller`() {
+        // Given
+        val limiter = SendRateLimiter(requestsPerSecond = 1.0, mode = SendRateLimiter.Mode.BLOCK)
+        limiter.acquireAsync(1).get(1, TimeUnit.SECONDS)
+
+        // When
+        val startNanos = System.nanoTime()
+        val queued = limiter.acquireAsync(1)
+        val elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)
+
+        // Then - 다음 토큰이 충전될 때까지(약 1초) 호출 스레드가 대기하지 않아야 함
+        assertTrue(elapsedMillis < 500, "acquireAsync blocked for ${elapsedMillis}ms")
+        assertFalse(queued.isDone)
+        queued.get(5, TimeUnit.SECONDS)
+        limiter.close()
+    }
+
+    @Test
+    fun `fail fast mode async acquire returns a failed future`() {
+        // Given
+        val limiter = SendRateLimiter(mode = SendRateLimiter.Mode.FAIL_FAST, dailyLimit = 1)
+        limiter.acquireAsync(1).getOrThrow()
+
+        // When & Then
+        assertFailsWith<SolapiRateLimitException> {
+            limiter.acquireAsync(1).getOrThrow()
+        }
+    }
+}
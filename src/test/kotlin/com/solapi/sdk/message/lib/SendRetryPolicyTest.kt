@@ -0,0 +1,175 @@
+package com.solapi.sdk.message.lib
+
+import com.solapi.sdk.message.dto.response.MultipleDetailMessageSentResponse
+import com.solapi.sdk.message.exception.SolapiMessageNotReceivedException
+import com.solapi.sdk.message.exception.SolapiUnknownException
+import com.solapi.sdk.message.model.FailedMessage
+import com.solapi.sdk.message.model.Message
+import com.solapi.sdk.message.model.group.GroupCount
+import com.solapi.sdk.message.model.group.GroupInfo
+import java.util.concurrent.CompletableFuture
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertFalse
+import kotlin.test.assertNull
+import kotlin.test.assertTrue
+
+class SendRetryPolicyTest {
+
+    private val policy = SendRetryPolicy(
+        retryableStatusCodes = setOf("3000"),
+        maxAttempts = 3,
+        initialBackoffMillis = 0,
+        maxBackoffMillis = 0
+    )
+
+    private fun messages(count: Int): List<Message> =
+        (1..count).map { Message(from = "01000000000", to = "0100000${it.toString().padStart(4, '0')}", text = "test") }
+
+    private fun failed(message: Message, statusCode: String) =
+        FailedMessage(to = message.to, statusCode = statusCode, customFields = message.customFields)
+
+    private fun response(groupId: String, sent: List<Message>, failed: List<FailedMessage>) =
+        MultipleDetailMessageSentResponse(
+            failedMessageList = failed,
+            groupInfo = GroupInfo(
+                groupId = groupId,
+                count = GroupCount(total = sent.size, registeredFailed = failed.size, registeredSuccess = sent.size - failed.size)
+            )
+        )
+
+    @Test
+    fun `only retryable failed messages are sent again`() {
+        // Given
+        val batches = mutableListOf<List<Message>>()
+
+        // When
+        val result = RetryingSender(messages(4), policy) { batch ->
+            batches.add(batch)
+            val failures = when (batches.size) {
+                1 -> listOf(failed(batch[1], "3000"), failed(batch[2], "1062"))
+                else -> emptyList()
+            }
+            CompletableFuture.completedFuture(response("G${batches.size}", batch, failures))
+        }.start().getOrThrow()
+
+        // Then
+        assertEquals(2, batches.size)
+        assertEquals(listOf("01000000002"), batches[1].map { it.to })
+        assertEquals(listOf("G1", "G2"), result.groupIds)
+        assertEquals(4, result.count.total)
+        assertEquals(1, result.count.registeredFailed)
+        assertEquals(3, result.count.registeredSuccess)
+        assertEquals(1, result.failedMessageList.size)
+        assertEquals("1062", result.failedMessageList.single().statusCode)
+        assertNull(result.failedMessageList.single().customFields?.get(MessageCorrelation.CUSTOM_FIELD_KEY))
+    }
+
+    @Test
+    fun `retry stops after max attempts and keeps the last failure`() {
+        // Given
+        var calls = 0
+
+        // When
+        val result = RetryingSender(messages(2), policy) { batch ->
+            calls++
+            val failures = batch.filter { it.to == "01000000001" }.map { failed(it, "3000") }
+            CompletableFuture.completedFuture(response("G$calls", batch, failures))
+        }.start().getOrThrow()
+
+        // Then
+        assertEquals(3, calls)
+        assertEquals(listOf("01000000001"), result.failedMessageList.map { it.to })
+    }
+
+    @Test
+    fun `fully rejected request is retried and throws when every message stays rejected`() {
+        // Given
+        var calls = 0
+        val sender = RetryingSender(messages(2), policy) { batch ->
+            calls++
+            val exception = SolapiMessageNotReceivedException("메시지 발송 접수에 실패했습니다.")
+            exception.failedMessageList = batch.map { failed(it, "3000") }
+            failedFuture(exception)
+        }
+
+        // When & Then
+        val exception = assertFailsWith<SolapiMessageNotReceivedException> { sender.start().getOrThrow() }
+        assertEquals(3, calls)
+        assertEquals(2, exception.failedMessageList.size)
+    }
+
+    @Test
+    fun `request failure is not retried`() {
+        // Given
+        var calls = 0
+        val sender = RetryingSender(messages(2), policy) {
+            calls++
+            failedFuture(SolapiUnknownException("Server error encountered"))
+        }
+
+        // When & Then
+        assertFailsWith<SolapiUnknownException> { sender.start().getOrThrow() }
+        assertEquals(1, calls)
+    }
+
+    @Test
+    fun `request failure on retry keeps the accumulated result`() {
+        // Given
+        var calls = 0
+
+        // When
+        val result = RetryingSender(messages(3), policy) { batch ->
+            calls++
+            if (calls == 1) {
+                CompletableFuture.completedFuture(response("G1", batch, listOf(failed(batch[0], "3000"))))
+            } else {
+                failedFuture(SolapiUnknownException("Server error encountered"))
+            }
+        }.start().getOrThrow()
+
+        // Then
+        assertEquals(2, calls)
+        assertEquals(listOf("G1"), result.groupIds)
+        assertEquals(listOf("01000000001"), result.failedMessageList.map { it.to })
+        assertEquals(3, result.count.total)
+        assertEquals(1, result.count.registeredFailed)
+    }
+
+    @Test
+    fun `backoff grows exponentially within jitter bounds`() {
+        // Given
+        val backoff = SendRetryPolicy(setOf("3000"), initialBackoffMillis = 100, maxBackoffMillis = 1000, jitter = 0.2)
+
+        // When & Then
+        assertEquals(100L, backoff.backoffMillis(1, 0.5))
+        assertEquals(400L, backoff.backoffMillis(3, 0.5))
+        assertEquals(1000L, backoff.backoffMillis(10, 0.5))
+        assertTrue(backoff.backoffMillis(2, 0.0) in 160L..240L)
+        assertTrue(backoff.backoffMillis(2, 0.999) in 160L..240L)
+    }
+
+    @Test
+    fun `default policy retries transient status codes only`() {
+        // Given
+        val defaultPolicy = SendRetryPolicy(initialBackoffMillis = 0, maxBackoffMillis = 0)
+        val batches = mutableListOf<List<Message>>()
+
+        // When
+        RetryingSender(messages(3), defaultPolicy) { batch ->
+            batches.add(batch)
+            val failures = when (batches.size) {
+                1 -> listOf(failed(batch[0], "3040"), failed(batch[1], "1062"))
+                else -> emptyList()
+            }
+            CompletableFuture.completedFuture(response("G${batches.size}", batch, failures))
+        }.start().getOrThrow()
+
+        // Then
+        assertTrue(defaultPolicy.isRetryable("3040"))
+        assertFalse(defaultPolicy.isRetryable("1062"))
+        assertEquals(2, batches.size)
+        assertEquals(listOf("01000000001"), batches[1].map { it.to })
+    }
+}
@@ -0,0 +1,32 @@
+package com.solapi.sdk.message.lib
+
+import com.solapi.sdk.message.dto.request.MultipleDetailMessageSendingRequest
+import com.solapi.sdk.message.model.Message
+import okhttp3.MediaType.Companion.toMediaType
+import okio.Buffer
+import kotlinx.serialization.serializer
+import kotlin.test.Test
+import kotlin.test.assertEquals
+
+class StreamingJsonConverterFactoryTest {
+
+    private val contentType = "application/json".toMediaType()
+
+    @Test
+    fun `request body streams the same json as the string encoder`() {
+        // Given
+        val request = MultipleDetailMessageSendingRequest(
+            messages = (1..1000).map { Message(from = "01000000000", to = "01012345678", text = "테스트 메시지 $it") },
+            showMessageList = true
+        )
+        val body = StreamingJsonRequestBody(JsonSupport.json, serializer<MultipleDetailMessageSendingRequest>(), request, contentType)
+
+        // When
+        val buffer = Buffer()
+        body.writeTo(buffer)
+
+        // Then
+        assertEquals(JsonSupport.json.encodeToString(request), buffer.readUtf8())
+        assertEquals(contentType, body.contentType())
+    }
+}
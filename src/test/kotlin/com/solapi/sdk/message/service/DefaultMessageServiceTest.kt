@@ -0,0 +1,199 @@
+package com.solapi.sdk.message.service
+
+import com.solapi.sdk.message.dto.request.MessageListRequest
+import com.solapi.sdk.message.dto.response.MultipleDetailMessageSentResponse
+import com.solapi.sdk.message.lib.FileUploadCache
+import com.solapi.sdk.message.model.Message
+import com.solapi.sdk.message.model.StorageType
+import kotlinx.coroutines.runBlocking
+import okhttp3.Call
+import okhttp3.Interceptor
+import okhttp3.MediaType.Companion.toMediaType
+import okhttp3.OkHttpClient
+import okhttp3.Protocol
+import okhttp3.Response
+import okhttp3.ResponseBody.Companion.toResponseBody
+import java.io.IOException
+import java.nio.ByteBuffer
+import java.util.Collections
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertTrue
+
+class DefaultMessageServiceTest {
+
+    private val sendResponse = """
+        {"failedMessageList":[],"groupInfo":{"count":{"total":2,"registeredSuccess":2}},
+         "messageList":[{"messageId":"M1","statusCode":"2000"},{"messageId":"M2","statusCode":"2000"}]}
+    """.trimIndent()
+
+    private val messageListResponse = """
+        {"limit":2,"nextKey":"NEXT","messageList":{"M1":{"to":"01000000001"},"M2":{"to":"01000000002"}}}
+    """.trimIndent()
+
+    /**
+     * 요청 경로에 따라 미리 정한 응답을 반환하는 인터셉터
+     */
+    private class FakeServer(private val bodies: Map<String, String>) : Interceptor {
+        val paths = Collections.synchronizedList(mutableListOf<String>())
+
+        override fun intercept(chain: Interceptor.Chain): Response {
+            val request = chain.request()
+            paths.add(request.url.encodedPath)
+            return Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("")
+                .body(bodies.getValue(request.url.encodedPath).toResponseBody("application/json".toMediaType()))
+                .build()
+        }
+    }
+
+    /**
+     * 응답하지 않고 요청을 붙잡아 두었다가, 요청이 취소되면 취소를 기록하고 끝내는 인터셉터
+     */
+    private class HoldingServer : Interceptor {
+        val started = CountDownLatch(1)
+        val cancelled = CountDownLatch(1)
+        @Volatile
+        var call: Call? = null
+
+        override fun intercept(chain: Interceptor.Chain): Response {
+            call = chain.call()
+            started.countDown()
+            val deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5)
+            while (!chain.call().isCanceled() && System.nanoTime() < deadline) {
+                Thread.sleep(1)
+            }
+            if (chain.call().isCanceled()) {
+                cancelled.countDown()
+            }
+            throw IOException("Canceled")
+        }
+    }
+
+    private fun service(server: Interceptor) = DefaultMessageService(
+        "API_KEY", "API_SECRET", "https://api.solapi.com", OkHttpClient.Builder().addInterceptor(server).build()
+    )
+
+    /**
+     * 요청이 서버에 도착한 뒤 Future를 취소하면, 실제 HTTP 요청도 취소되는지 확인합니다.
+     */
+    private fun assertCancelsCall(start: (DefaultMessageService) -> CompletableFuture<*>) {
+        // Given
+        val server = HoldingServer()
+        val future = start(service(server))
+        assertTrue(server.started.await(5, TimeUnit.SECONDS))
+
+        // When
+        future.cancel(true)
+
+        // Then
+        assertTrue(future.isCancelled)
+        assertTrue(server.cancelled.await(5, TimeUnit.SECONDS))
+        assertTrue(server.call!!.isCanceled())
+    }
+
+    private val messages = listOf(
+        Message(from = "01000000000", to = "01000000001", text = "test"),
+        Message(from = "01000000000", to = "01000000002", text = "test")
+    )
+
+    @Test
+    fun `async send delivers accepted messages to the callback`() {
+        // Given
+        val service = service(FakeServer(mapOf("/messages/v4/send-many/detail" to sendResponse)))
+        val received = Collections.synchronizedList(mutableListOf<String?>())
+
+        // When
+        val response = service.sendAsync(messages, null) { received.add(it.messageId) }.get(5, TimeUnit.SECONDS)
+
+        // Then
+        assertEquals(listOf("M1", "M2"), received)
+        assertTrue(response.messageList.isEmpty())
+        assertEquals(2, response.groupInfo?.count?.total)
+    }
+
+    @Test
+    fun `async message list delivers messages to the callback`() {
+        // Given
+        val service = service(FakeServer(mapOf("/messages/v4/list" to messageListResponse)))
+        val received = Collections.synchronizedMap(linkedMapOf<String, String?>())
+
+        // When
+        val response = service.getMessageListAsync(MessageListRequest(limit = 2)) { messageId, message ->
+            received[messageId] = message.to
+        }.get(5, TimeUnit.SECONDS)
+
+        // Then
+        assertEquals(mapOf("M1" to "01000000001", "M2" to "01000000002"), received)
+        assertEquals("NEXT", response?.nextKey)
+        assertTrue(response?.messageList.isNullOrEmpty())
+    }
+
+    @Test
+    fun `coroutine callback variants use the async streaming paths`() {
+        // Given
+        val server = FakeServer(
+            mapOf("/messages/v4/send-many/detail" to sendResponse, "/messages/v4/list" to messageListResponse)
+        )
+        val service = CoroutineMessageService(service(server))
+        val sent = mutableListOf<MultipleDetailMessageSentResponse.MessageList>()
+        val listed = mutableListOf<String>()
+
+        // When
+        runBlocking {
+            service.send(messages, null) { sent.add(it) }
+            service.getMessageList(null) { messageId, _ -> listed.add(messageId) }
+        }
+
+        // Then
+        assertEquals(listOf("M1", "M2"), sent.map { it.messageId })
+        assertEquals(listOf("M1", "M2"), listed)
+        assertEquals(listOf("/messages/v4/send-many/detail", "/messages/v4/list"), server.paths)
+    }
+
+    @Test
+    fun `async upload prepares the source on the upload executor`() {
+        // Given
+        val server = FakeServer(mapOf("/storage/v1/files" to """{"fileId":"FILE1"}"""))
+        val service = service(server)
+        val executions = AtomicInteger()
+        service.fileUploadCache = FileUploadCache()
+        service.uploadExecutor = Executor { task ->
+            executions.incrementAndGet()
+            Thread(task).start()
+        }
+
+        // When
+        val first = service.uploadFileAsync(ByteBuffer.wrap("image".toByteArray()), StorageType.MMS).get(5, TimeUnit.SECONDS)
+        val second = service.uploadFileAsync(ByteBuffer.wrap("image".toByteArray()), StorageType.MMS).get(5, TimeUnit.SECONDS)
+
+        // Then
+        assertEquals("FILE1", first)
+        assertEquals("FILE1", second)
+        assertEquals(2, executions.get())
+        assertEquals(1, server.paths.size)
+    }
+
+    @Test
+    fun `cancelling async send cancels the http call`() {
+        assertCancelsCall { it.sendAsync(messages) }
+    }
+
+    @Test
+    fun `cancelling async message list cancels the http call`() {
+        assertCancelsCall { it.getMessageListAsync() }
+    }
+
+    @Test
+    fun `cancelling async upload cancels the http call`() {
+        assertCancelsCall { it.uploadFileAsync(ByteBuffer.wrap("image".toByteArray()), StorageType.MMS) }
+    }
+}
@@ -0,0 +1,219 @@
+package com.solapi.sdk.message.service
+
+import com.solapi.sdk.message.dto.response.MessageListResponse
+import com.solapi.sdk.message.exception.SolapiInvalidApiKeyException
+import com.solapi.sdk.message.exception.SolapiUnknownException
+import com.solapi.sdk.message.lib.MessageListQuery
+import com.solapi.sdk.message.lib.failedFuture
+import com.solapi.sdk.message.model.Message
+import com.solapi.sdk.message.model.MessageType
+import java.util.Collections
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.Consumer
+import kotlin.test.AfterTest
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertIs
+import kotlin.test.assertSame
+import kotlin.test.assertTrue
+
+class DeliveryStatusTrackerTest {
+
+    private val scheduler = Executors.newSingleThreadScheduledExecutor()
+    private val polls = AtomicInteger()
+    private val polledBatches = Collections.synchronizedList(mutableListOf<List<String>>())
+
+    // 메시지 ID별 조회 횟수, 세 번째 조회부터 발송 완료(4000) 상태로 조회됩니다.
+    private val attempts = ConcurrentHashMap<String, AtomicInteger>()
+
+    private fun fetchMessages(messageIds: List<String>): CompletableFuture<Map<String, Message>> {
+        polls.incrementAndGet()
+        polledBatches.add(messageIds)
+        val found = messageIds.associateWith { messageId ->
+            val count = attempts.computeIfAbsent(messageId) { AtomicInteger() }.incrementAndGet()
+            Message(messageId = messageId, type = MessageType.SMS, statusCode = if (count >= 3) "4000" else "3000")
+        }
+        return CompletableFuture.completedFuture(found)
+    }
+
+    private fun tracker(
+        pollPolicy: DeliveryStatusTracker.PollPolicy = DeliveryStatusTracker.PollPolicy { _, _, _ -> 5L },
+        listener: Consumer<Message>? = null,
+        fetchMessages: (List<String>) -> CompletableFuture<Map<String, Message>> = ::fetchMessages,
+        fetchGroupPage: (MessageListQuery) -> CompletableFuture<MessageListResponse?> = {
+            CompletableFuture.completedFuture(null)
+        }
+    ) = DeliveryStatusTracker(pollPolicy, listener, scheduler, fetchMessages, fetchGroupPage)
+
+    /**
+     * 조회 조건의 statusCode 값을 반환합니다. 상태 조건이 없으면 null을 반환합니다.
+     */
+    private fun statusCodeOf(query: MessageListQuery): String? {
+        val parameters = query.toMap()
+        val criteria = parameters["criteria"]?.split(',') ?: return null
+        val values = parameters.getValue("value").split(',')
+        return criteria.zip(values).firstOrNull { it.first == "statusCode" }?.second
+    }
+
+    @AfterTest
+    fun tearDown() {
+        scheduler.shutdownNow()
+    }
+
+    @Test
+    fun `pending messages are polled in batches until they reach a final status`() {
+        // Given
+        val delivered = Collections.synchronizedList(mutableListOf<String>())
+        val tracker = tracker(listener = Consumer { delivered.add(it.messageId!!) })
+        val messageIds = (0 until 3000).map { "M$it" }
+
+        // When
+        val messages = tracker.trackAll(messageIds).get(10, TimeUnit.SECONDS)
+
+        // Then
+        assertEquals(messageIds, messages.map { it.messageId })
+        assertTrue(messages.all { it.statusCode == "4000" })
+        assertEquals(messageIds.toSet(), delivered.toSet())
+        assertTrue(polledBatches.all { it.size <= DeliveryStatusTracker.MAX_IDS_PER_POLL })
+        assertTrue(polls.get() < 3000, "polls: ${polls.get()}")
+        assertEquals(0, tracker.size)
+    }
+
+    @Test
+    fun `tracking the same message twice shares one future`() {
+        // Given
+        val tracker = tracker()
+
+        // When
+        val first = tracker.track("M1")
+        val second = tracker.track("M1", MessageType.SMS)
+
+        // Then
+        assertSame(first, second)
+        assertEquals("4000", first.get(10, TimeUnit.SECONDS).statusCode)
+    }
+
+    @Test
+    fun `tracking stops with a timeout when the policy gives up`() {
+        // Given
+        val tracker = tracker(pollPolicy = DeliveryStatusTracker.PollPolicy { _, _, count -> if (count >= 1) -1L else 5L })
+
+        // When
+        val error = assertFailsWith<ExecutionException> { tracker.track("M1").get(10, TimeUnit.SECONDS) }
+
+        // Then
+        assertTrue(error.cause is TimeoutException)
+    }
+
+    @Test
+    fun `group is polled by status and only settled messages are looked up by id`() {
+        // Given - 그룹 조회마다 발송 대기 중인 메시지가 하나씩 발송 완료됩니다.
+        val statuses = Collections.synchronizedMap(linkedMapOf("M1" to "4000", "M2" to "3059", "M3" to "2000", "M4" to "3000"))
+        val groupQueries = Collections.synchronizedList(mutableListOf<Map<String, String>>())
+        val pendingQueries = AtomicInteger()
+        val tracker = tracker(
+            fetchMessages = { messageIds ->
+                polledBatches.add(messageIds)
+                CompletableFuture.completedFuture(
+                    messageIds.associateWith { Message(messageId = it, type = MessageType.SMS, statusCode = statuses[it]) }
+                )
+            },
+            fetchGroupPage = { query ->
+                groupQueries.add(query.toMap())
+                val statusCode = statusCodeOf(query)
+                if (statusCode == "2000") {
+                    when (pendingQueries.incrementAndGet()) {
+                        2 -> statuses["M3"] = "4000"
+                        3 -> statuses["M4"] = "4000"
+                    }
+                }
+                val page = statuses.filter { statusCode == null || it.value == statusCode }
+                    .mapValues { (messageId, status) -> Message(messageId = messageId, statusCode = status) }
+                CompletableFuture.completedFuture(MessageListResponse(messageList = page))
+            }
+        )
+
+        // When
+        val messages = tracker.trackGroup("G1").get(10, TimeUnit.SECONDS)
+
+        // Then
+        assertEquals(listOf("4000", "3059", "4000", "4000"), messages.map { it.statusCode })
+        assertEquals(listOf(listOf("M3"), listOf("M4")), polledBatches.toList())
+        assertTrue(groupQueries.all { it.getValue("value").split(',').contains("G1") })
+        assertEquals(0, tracker.size)
+    }
+
+    @Test
+    fun `tracking fails after consecutive poll errors`() {
+        // Given
+        val tracker = tracker(fetchMessages = { messageIds ->
+            polledBatches.add(messageIds)
+            failedFuture(SolapiUnknownException("Server error encountered"))
+        })
+
+        // When
+        val error = assertFailsWith<ExecutionException> { tracker.track("M1").get(10, TimeUnit.SECONDS) }
+
+        // Then
+        assertIs<SolapiUnknownException>(error.cause)
+        assertEquals(DeliveryStatusTracker.MAX_CONSECUTIVE_POLL_ERRORS, polledBatches.size)
+    }
+
+    @Test
+    fun `tracking fails immediately on an authentication error`() {
+        // Given
+        val tracker = tracker(fetchMessages = { messageIds ->
+            polledBatches.add(messageIds)
+            failedFuture(SolapiInvalidApiKeyException("Invalid API Key"))
+        })
+
+        // When
+        val error = assertFailsWith<ExecutionException> { tracker.track("M1").get(10, TimeUnit.SECONDS) }
+
+        // Then
+        assertIs<SolapiInvalidApiKeyException>(error.cause)
+        assertEquals(1, polledBatches.size)
+    }
+
+    @Test
+    fun `group tracking fails after consecutive group poll errors`() {
+        // Given - 첫 목록 조회만 성공하고, 상태별 그룹 조회는 계속 실패합니다.
+        val tracker = tracker(fetchGroupPage = { query ->
+            if (statusCodeOf(query) == null) {
+                CompletableFuture.completedFuture(
+                    MessageListResponse(messageList = mapOf("M1" to Message(messageId = "M1", statusCode = "2000")))
+                )
+            } else {
+                polls.incrementAndGet()
+                failedFuture(SolapiUnknownException("Server error encountered"))
+            }
+        })
+
+        // When
+        val error = assertFailsWith<ExecutionException> { tracker.trackGroup("G1").get(10, TimeUnit.SECONDS) }
+
+        // Then
+        assertIs<SolapiUnknownException>(error.cause)
+        assertEquals(DeliveryStatusTracker.MAX_CONSECUTIVE_POLL_ERRORS, polls.get())
+    }
+
+    @Test
+    fun `default policy backs off with age and type`() {
+        // Given
+        val policy = DeliveryStatusTracker.PollPolicy.DEFAULT
+
+        // When & Then
+        assertEquals(2_000L, policy.nextPollDelayMillis(MessageType.SMS, 0, 0))
+        assertEquals(15_000L, policy.nextPollDelayMillis(MessageType.VOICE, 0, 0))
+        assertEquals(60_000L, policy.nextPollDelayMillis(MessageType.ATA, 600_000, 10))
+        assertEquals(300_000L, policy.nextPollDelayMillis(MessageType.SMS, 86_400_000, 100))
+        assertEquals(-1L, policy.nextPollDelayMillis(MessageType.SMS, 73L * 3_600_000, 100))
+    }
+}
@@ -0,0 +1,98 @@
+package com.solapi.sdk.message.service
+
+import com.solapi.sdk.message.dto.response.MessageListResponse
+import com.solapi.sdk.message.exception.SolapiUnknownException
+import com.solapi.sdk.message.lib.failedFuture
+import com.solapi.sdk.message.model.Message
+import java.util.Collections
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertTrue
+
+class MessageIdLookupTest {
+
+    private val messageIds = (0 until 1000).map { "M4V20260101000000${"%06d".format(it)}" }
+
+    @Test
+    fun `chunks keep every query under the maximum length and drop duplicates`() {
+        // Given
+        val maxQueryLength = 2000
+
+        // When
+        val chunks = MessageIdLookup.chunk(messageIds + messageIds.take(10), maxQueryLength)
+
+        // Then
+        assertTrue(chunks.size > 1)
+        assertEquals(messageIds, chunks.flatten())
+        chunks.forEach { chunk ->
+            val query = "criteria=" + chunk.joinToString("%2C") { "messageId" } +
+                "&cond=" + chunk.joinToString("%2C") { "eq" } +
+                "&value=" + chunk.joinToString("%2C")
+            assertTrue(query.length <= maxQueryLength + 30, "query length ${query.length}")
+        }
+    }
+
+    @Test
+    fun `chunks never exceed the page limit`() {
+        // Given
+        val shortIds = (0 until 1200).map { "M$it" }
+
+        // When
+        val chunks = MessageIdLookup.chunk(shortIds, Int.MAX_VALUE)
+
+        // Then
+        assertEquals(listOf(500, 500, 200), chunks.map { it.size })
+    }
+
+    @Test
+    fun `lookup follows next pages and returns found messages in request order`() {
+        // Given
+        val chunks = MessageIdLookup.chunk(messageIds, 2000)
+        val requestedChunks = Collections.synchronizedList(mutableListOf<List<String>>())
+        val fetchPage = { chunk: List<String>, startKey: String? ->
+            requestedChunks.add(chunk)
+            // 짝수 번째 ID만 존재하며, 한 페이지에 최대 10건씩 반환
+            val existing = chunk.filter { it.last().digitToInt() % 2 == 0 }
+            val from = startKey?.toInt() ?: 0
+            val to = minOf(from + 10, existing.size)
+            val page = MessageListResponse(
+                messageList = existing.subList(from, to).associateWith { Message(messageId = it) }
+            ).apply {
+                this.startKey = startKey
+                this.nextKey = if (to < existing.size) to.toString() else null
+            }
+            CompletableFuture.completedFuture<MessageListResponse?>(page)
+        }
+
+        // When
+        val result = MessageIdLookup(chunks, 3, fetchPage).start().join()
+
+        // Then
+        assertEquals(messageIds.filter { it.last().digitToInt() % 2 == 0 }, result.keys.toList())
+        assertEquals(chunks.toSet(), requestedChunks.toSet())
+    }
+
+    @Test
+    fun `a failed chunk fails the whole lookup`() {
+        // Given
+        val chunks = MessageIdLookup.chunk(messageIds, 2000)
+        val fetchPage = { chunk: List<String>, _: String? ->
+            if (chunk == chunks.last()) {
+                failedFuture<MessageListResponse?>(SolapiUnknownException("조회 실패"))
+            } else {
+                CompletableFuture.completedFuture<MessageListResponse?>(MessageListResponse())
+            }
+        }
+
+        // When
+        val error = assertFailsWith<CompletionException> {
+            MessageIdLookup(chunks, 2, fetchPage).start().join()
+        }
+
+        // Then
+        assertTrue(error.cause is SolapiUnknownException)
+    }
+}
@@ -0,0 +1,92 @@
+package com.solapi.sdk.message.service
+
+import com.solapi.sdk.message.dto.response.MessageListResponse
+import com.solapi.sdk.message.exception.SolapiUnknownException
+import com.solapi.sdk.message.lib.failedFuture
+import com.solapi.sdk.message.model.Message
+import java.util.Collections
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import java.util.function.Consumer
+import kotlin.time.Instant
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertTrue
+
+class MessageListExporterTest {
+
+    private val exporter = MessageListExporter(
+        DefaultMessageService("API_KEY", "API_SECRET", "https://api.solapi.com"),
+        maxConcurrency = 4,
+        initialShards = 2,
+        minShardMillis = 10
+    )
+
+    // 0ms부터 5ms 간격으로 생성된 20건의 메시지
+    private val messages = (0 until 20).map {
+        Message(messageId = "M$it", dateCreated = Instant.fromEpochMilliseconds(it * 5L).toString())
+    }
+
+    private val requestedShards: MutableList<MessageListExporter.Shard> = Collections.synchronizedList(mutableListOf())
+
+    /**
+     * 구간의 시작과 끝을 모두 포함해 조회하고, 3건씩 페이지를 나누어 반환하는 조회
+     */
+    private fun fetchPage(shard: MessageListExporter.Shard, startKey: String?): CompletableFuture<MessageListResponse?> {
+        requestedShards.add(shard)
+        val inRange = messages.filter {
+            val created = Instant.parse(it.dateCreated!!).toEpochMilliseconds()
+            created in shard.start..shard.end
+        }
+        val from = startKey?.toInt() ?: 0
+        val to = minOf(from + 3, inRange.size)
+        val page = MessageListResponse(messageList = inRange.subList(from, to).associateBy { it.messageId!! }).apply {
+            this.startKey = startKey
+            this.nextKey = if (to < inRange.size) to.toString() else null
+        }
+        return CompletableFuture.completedFuture(page)
+    }
+
+    @Test
+    fun `every message is exported exactly once across shard boundaries`() {
+        // Given
+        val exported = Collections.synchronizedList(mutableListOf<String>())
+
+        // When
+        val count = exporter.ShardedExport(0, 95, false, Consumer { exported.add(it.messageId!!) }, ::fetchPage)
+            .start().join()
+
+        // Then
+        assertEquals(20L, count)
+        assertEquals(messages.map { it.messageId }.toSet(), exported.toSet())
+        assertEquals(20, exported.size)
+    }
+
+    @Test
+    fun `dense shards are split and ordered export keeps time order`() {
+        // Given
+        val exported = mutableListOf<String>()
+
+        // When
+        exporter.ShardedExport(0, 95, true, Consumer { exported.add(it.messageId!!) }, ::fetchPage).start().join()
+
+        // Then
+        assertEquals(messages.map { it.messageId }, exported)
+        assertTrue(requestedShards.any { it.end - it.start < 95 / 2 })
+    }
+
+    @Test
+    fun `failure of one shard fails the export`() {
+        // Given
+        val failing = exporter.ShardedExport(0, 95, false, Consumer { }) { shard, startKey ->
+            if (shard.start > 0) failedFuture(SolapiUnknownException("조회 실패")) else fetchPage(shard, startKey)
+        }
+
+        // When
+        val error = assertFailsWith<CompletionException> { failing.start().join() }
+
+        // Then
+        assertTrue(error.cause is SolapiUnknownException)
+    }
+}
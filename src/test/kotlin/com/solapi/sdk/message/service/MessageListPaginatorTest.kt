@@ -0,0 +1,99 @@
+package com.solapi.sdk.message.service
+
+import com.solapi.sdk.message.dto.response.MessageListResponse
+import com.solapi.sdk.message.exception.SolapiUnknownException
+import com.solapi.sdk.message.lib.failedFuture
+import com.solapi.sdk.message.model.Message
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.stream.Collectors
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+
+class MessageListPaginatorTest {
+
+    /**
+     * 페이지당 [pageSize]건씩 [total]건의 메시지를 반환하는 조회 응답
+     */
+    private fun page(startKey: String?, pageSize: Int, total: Int): MessageListResponse {
+        val start = startKey?.removePrefix("M")?.toInt() ?: 0
+        val end = minOf(start + pageSize, total)
+        val messages = (start until end).associate { "M$it" to Message(messageId = "M$it") }
+        return MessageListResponse(messageList = messages).apply {
+            this.startKey = startKey
+            this.nextKey = if (end < total) "M$end" else null
+        }
+    }
+
+    @Test
+    fun `iterates every message across pages in order`() {
+        // Given
+        val paginator = MessageListPaginator(null, 2) { startKey ->
+            CompletableFuture.completedFuture(page(startKey, 3, 10))
+        }
+
+        // When
+        val messageIds = paginator.map { it.messageId }
+
+        // Then
+        assertEquals((0 until 10).map { "M$it" }, messageIds)
+        assertEquals(4, paginator.pages().count())
+        assertEquals(10L, paginator.stream().count())
+    }
+
+    @Test
+    fun `next page is requested as soon as previous page arrives up to prefetch depth`() {
+        // Given
+        val requests = ConcurrentHashMap<String, CompletableFuture<MessageListResponse?>>()
+        val paginator = MessageListPaginator(null, 3) { startKey ->
+            CompletableFuture<MessageListResponse?>().also { requests[startKey ?: "first"] = it }
+        }
+
+        // When
+        val pages = paginator.pages().iterator()
+        requests.getValue("first").complete(page(null, 2, 10))
+        requests.getValue("M2").complete(page("M2", 2, 10))
+        requests.getValue("M4").complete(page("M4", 2, 10))
+
+        // Then
+        // 첫 페이지를 꺼내기 전에 3페이지(prefetch 깊이)까지 요청되고, 그 다음 페이지는 요청되지 않습니다.
+        assertEquals(setOf("first", "M2", "M4"), requests.keys)
+        assertEquals("M0", pages.next().messageList?.keys?.first())
+        assertEquals(setOf("first", "M2", "M4", "M6"), requests.keys)
+    }
+
+    @Test
+    fun `page failure is thrown when the page is reached`() {
+        // Given
+        val paginator = MessageListPaginator(null, 2) { startKey ->
+            if (startKey == null) {
+                CompletableFuture.completedFuture(page(null, 2, 10))
+            } else {
+                failedFuture(SolapiUnknownException("조회 실패"))
+            }
+        }
+
+        // When
+        val iterator = paginator.iterator()
+        val first = listOf(iterator.next(), iterator.next())
+
+        // Then
+        assertEquals(listOf("M0", "M1"), first.map { it.messageId })
+        assertFailsWith<SolapiUnknownException> { iterator.hasNext() }
+    }
+
+    @Test
+    fun `stream starts from given start key`() {
+        // Given
+        val paginator = MessageListPaginator("M5", 1) { startKey ->
+            CompletableFuture.completedFuture(page(startKey, 2, 8))
+        }
+
+        // When
+        val messageIds = paginator.stream().use { stream -> stream.map { it.messageId }.collect(Collectors.toList()) }
+
+        // Then
+        assertEquals(listOf("M5", "M6", "M7"), messageIds)
+    }
+}
@@ -0,0 +1,207 @@
+package com.solapi.sdk.message.service
+
+import com.solapi.sdk.message.dto.request.SendRequestConfig
+import com.solapi.sdk.message.dto.response.MultipleDetailMessageSentResponse
+import com.solapi.sdk.message.exception.SolapiMessageNotReceivedException
+import com.solapi.sdk.message.exception.SolapiUnknownException
+import com.solapi.sdk.message.lib.MessageCorrelation
+import com.solapi.sdk.message.lib.failedFuture
+import com.solapi.sdk.message.model.FailedMessage
+import com.solapi.sdk.message.model.Message
+import java.io.File
+import java.nio.file.Files
+import java.util.Collections
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+import kotlin.test.AfterTest
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertIs
+import kotlin.test.assertNull
+import kotlin.test.assertTrue
+
+class MessageOutboxTest {
+
+    private val directory: File = Files.createTempDirectory("solapi-outbox").toFile()
+    private val batches = Collections.synchronizedList(mutableListOf<List<Message>>())
+    private val segmentSize = 64 * 1024
+
+    @AfterTest
+    fun tearDown() {
+        directory.deleteRecursively()
+    }
+
+    private fun message(to: String) = Message(from = "01000000000", to = to, text = "test")
+
+    // 수신번호가 "fail"로 끝나는 메시지는 접수 실패, 나머지는 접수된 것으로 응답합니다.
+    private fun accept(messages: List<Message>, config: SendRequestConfig): CompletableFuture<MultipleDetailMessageSentResponse> {
+        batches.add(messages)
+        val (failed, sent) = messages.partition { it.to!!.endsWith("fail") }
+        return CompletableFuture.completedFuture(
+            MultipleDetailMessageSentResponse(
+                messageList = sent.map {
+                    MultipleDetailMessageSentResponse.MessageList(messageId = "M-${it.to}", customFields = it.customFields)
+                },
+                failedMessageList = failed.map { FailedMessage(to = it.to, statusCode = "1062", customFields = it.customFields) }
+            )
+        )
+    }
+
+    private fun reject(messages: List<Message>, config: SendRequestConfig): CompletableFuture<MultipleDetailMessageSentResponse> {
+        batches.add(messages)
+        return failedFuture(SolapiUnknownException("Server error encountered"))
+    }
+
+    @Test
+    fun `accepted and rejected messages are acknowledged by correlation id`() {
+        // Given
+        MessageOutbox(directory, segmentSize, ::accept).use { outbox ->
+            // When
+            val response = outbox.send(listOf(message("01000000001"), message("01000000002fail")))
+
+            // Then
+            val sent = batches.single()
+            assertTrue(sent.all { MessageCorrelation.correlationIdOf(it.customFields) != null })
+            assertEquals(0, outbox.pendingCount)
+            assertNull(response.messageList.single().customFields?.get(MessageCorrelation.CUSTOM_FIELD_KEY))
+            assertNull(response.failedMessageList.single().customFields?.get(MessageCorrelation.CUSTOM_FIELD_KEY))
+        }
+    }
+
+    @Test
+    fun `messages not received by the server are not replayed`() {
+        // Given
+        val outbox = MessageOutbox(directory, segmentSize) { messages, _ ->
+            batches.add(messages)
+            val exception = SolapiMessageNotReceivedException("메시지 발송 접수에 실패했습니다.")
+            exception.failedMessageList = messages.map { FailedMessage(to = it.to, statusCode = "1062", customFields = it.customFields) }
+            failedFuture(exception)
+        }
+        outbox.use {
+            // When
+            val exception = assertFailsWith<SolapiMessageNotReceivedException> { outbox.send(message("01000000001")) }
+
+            // Then
+            assertNull(exception.failedMessageList.single().customFields?.get(MessageCorrelation.CUSTOM_FIELD_KEY))
+            assertEquals(0, outbox.pendingCount)
+            assertEquals(0, outbox.replayPending().groupIds.size)
+            assertEquals(1, batches.size)
+        }
+    }
+
+    @Test
+    fun `failed request in the current run is replayed`() {
+        // Given
+        var send: (List<Message>, SendRequestConfig) -> CompletableFuture<MultipleDetailMessageSentResponse> = ::reject
+        MessageOutbox(directory, segmentSize) { messages, config -> send(messages, config) }.use { outbox ->
+            assertFailsWith<SolapiUnknownException> { outbox.send(listOf(message("01000000001"), message("01000000002"))) }
+            assertEquals(2, outbox.pendingCount)
+
+            // When
+            send = ::accept
+            val replayed = outbox.replayPending()
+
+            // Then
+            assertEquals(listOf("M-01000000001", "M-01000000002"), replayed.messageList.map { it.messageId })
+            assertEquals(
+                batches[0].map { MessageCorrelation.correlationIdOf(it.customFields) },
+                batches[1].map { MessageCorrelation.correlationIdOf(it.customFields) }
+            )
+            assertEquals(0, outbox.pendingCount)
+        }
+    }
+
+    @Test
+    fun `failed replay keeps messages for the next replay`() {
+        // Given
+        var send: (List<Message>, SendRequestConfig) -> CompletableFuture<MultipleDetailMessageSentResponse> = ::reject
+        MessageOutbox(directory, segmentSize) { messages, config -> send(messages, config) }.use { outbox ->
+            assertFailsWith<SolapiUnknownException> { outbox.send(message("01000000001")) }
+
+            // When
+            assertFailsWith<SolapiUnknownException> { outbox.replayPending() }
+            send = ::accept
+            val replayed = outbox.replayPending()
+
+            // Then
+            assertEquals(3, batches.size)
+            assertEquals(listOf("M-01000000001"), replayed.messageList.map { it.messageId })
+            assertEquals(0, outbox.pendingCount)
+        }
+    }
+
+    @Test
+    fun `cancelled send is replayed`() {
+        // Given
+        val never = CompletableFuture<MultipleDetailMessageSentResponse>()
+        var send: (List<Message>, SendRequestConfig) -> CompletableFuture<MultipleDetailMessageSentResponse> =
+            { messages, _ -> batches.add(messages); never }
+        MessageOutbox(directory, segmentSize) { messages, config -> send(messages, config) }.use { outbox ->
+            val future = outbox.sendAsync(listOf(message("01000000001")))
+            while (batches.isEmpty()) {
+                Thread.sleep(1)
+            }
+
+            // When
+            future.cancel(true)
+            send = ::accept
+            val replayed = outbox.replayPending()
+
+            // Then
+            assertTrue(never.isCancelled)
+            assertEquals(listOf("M-01000000001"), replayed.messageList.map { it.messageId })
+            assertEquals(0, outbox.pendingCount)
+        }
+    }
+
+    @Test
+    fun `messages left unacknowledged are replayed after reopening with the same config`() {
+        // Given
+        val config = SendRequestConfig(appId = "APP")
+        MessageOutbox(directory, segmentSize) { messages, _ ->
+            batches.add(messages)
+            CompletableFuture()
+        }.use { outbox ->
+            outbox.sendAsync(listOf(message("01000000001")), config)
+            while (batches.isEmpty()) {
+                Thread.sleep(1)
+            }
+        }
+        val configs = mutableListOf<SendRequestConfig>()
+
+        // When
+        val replayed = MessageOutbox(directory, segmentSize) { messages, sendRequestConfig ->
+            configs.add(sendRequestConfig)
+            accept(messages, sendRequestConfig)
+        }.use { outbox ->
+            assertEquals(1, outbox.pendingCount)
+            outbox.replayPending().also { assertEquals(0, outbox.pendingCount) }
+        }
+
+        // Then
+        assertEquals(listOf("M-01000000001"), replayed.messageList.map { it.messageId })
+        assertEquals(
+            MessageCorrelation.correlationIdOf(batches[0].single().customFields),
+            MessageCorrelation.correlationIdOf(batches[1].single().customFields)
+        )
+        assertEquals("APP", configs.single().appId)
+        assertTrue(configs.single().showMessageList)
+    }
+
+    @Test
+    fun `request failure surfaces the original exception from sendAsync`() {
+        // Given
+        MessageOutbox(directory, segmentSize, ::reject).use { outbox ->
+            // When
+            val exception = assertFailsWith<ExecutionException> {
+                outbox.sendAsync(listOf(message("01000000001"))).get(5, TimeUnit.SECONDS)
+            }
+
+            // Then
+            assertIs<SolapiUnknownException>(exception.cause)
+            assertEquals(1, outbox.pendingCount)
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.solapi.sdk.message.service
+
+import com.solapi.sdk.message.dto.request.SendRequestConfig
+import com.solapi.sdk.message.dto.response.MultipleDetailMessageSentResponse
+import com.solapi.sdk.message.exception.SolapiMessageNotReceivedException
+import com.solapi.sdk.message.lib.MessageCorrelation
+import com.solapi.sdk.message.model.FailedMessage
+import com.solapi.sdk.message.model.Message
+import java.util.Collections
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertFalse
+import kotlin.test.assertIs
+import kotlin.test.assertNull
+import kotlin.test.assertTrue
+
+class MessageSendCoalescerTest {
+
+    private val batches = Collections.synchronizedList(mutableListOf<List<Message>>())
+
+    private fun message(to: String) = Message(from = "01000000000", to = to, text = "test")
+
+    // 수신번호가 "fail"로 끝나는 메시지는 접수 실패, 나머지는 접수된 것으로 응답합니다.
+    private fun sendBatch(
+        messages: List<Message>,
+        config: SendRequestConfig
+    ): CompletableFuture<MultipleDetailMessageSentResponse> {
+        batches.add(messages)
+        val (failed, sent) = messages.partition { it.to!!.endsWith("fail") }
+        return CompletableFuture.completedFuture(
+            MultipleDetailMessageSentResponse(
+                messageList = sent.map {
+                    MultipleDetailMessageSentResponse.MessageList(
+                        messageId = "M-${it.to}",
+                        statusCode = "2000",
+                        customFields = it.customFields
+                    )
+                },
+                failedMessageList = failed.map { FailedMessage(to = it.to, statusCode = "1062", customFields = it.customFields) }
+            )
+        )
+    }
+
+    @Test
+    fun `messages are sent together after the linger time`() {
+        // Given
+        val coalescer = MessageSendCoalescer(lingerMillis = 50, maxBatchSize = 100, sendBatch = ::sendBatch)
+
+        // When
+        val futures = (1..3).map { coalescer.send(message("0100000000$it")) }
+
+        // Then
+        assertFalse(futures.any { it.isDone })
+        futures.forEach { it.get(5, TimeUnit.SECONDS) }
+        assertEquals(1, batches.size)
+        assertEquals(3, batches.single().size)
+        coalescer.close()
+    }
+
+    @Test
+    fun `batch is sent immediately once max batch size is reached`() {
+        // Given
+        val coalescer = MessageSendCoalescer(lingerMillis = 60_000, maxBatchSize = 2, sendBatch = ::sendBatch)
+
+        // When
+        val first = coalescer.send(message("01000000001"))
+        val second = coalescer.send(message("01000000002"))
+
+        // Then
+        assertTrue(first.isDone && second.isDone)
+        assertEquals(1, batches.size)
+        coalescer.close()
+    }
+
+    @Test
+    fun `each caller receives the result of its own message`() {
+        // Given
+        val coalescer = MessageSendCoalescer(lingerMillis = 60_000, maxBatchSize = 3, sendBatch = ::sendBatch)
+
+        // When
+        val first = coalescer.send(message("01000000001"))
+        val rejected = coalescer.send(message("01000000002fail"))
+        val third = coalescer.send(message("01000000003"))
+
+        // Then
+        assertEquals("M-01000000001", first.get().messageId)
+        assertEquals("M-01000000003", third.get().messageId)
+        assertNull(first.get().customFields?.get(MessageCorrelation.CUSTOM_FIELD_KEY))
+        val exception = assertFailsWith<ExecutionException> { rejected.get() }
+        val cause = assertIs<SolapiMessageNotReceivedException>(exception.cause)
+        assertEquals("01000000002fail", cause.failedMessageList.single().to)
+        coalescer.close()
+    }
+
+    @Test
+    fun `messages with different send configs are not mixed`() {
+        // Given
+        val coalescer = MessageSendCoalescer(lingerMillis = 60_000, maxBatchSize = 100, sendBatch = ::sendBatch)
+
+        // When
+        coalescer.send(message("01000000001"))
+        coalescer.send(message("01000000002"), SendRequestConfig(appId = "APP"))
+        coalescer.flush()
+
+        // Then
+        assertEquals(2, batches.size)
+        coalescer.close()
+    }
+
+    @Test
+    fun `close sends pending messages and rejects new ones`() {
+        // Given
+        val coalescer = MessageSendCoalescer(lingerMillis = 60_000, maxBatchSize = 100, sendBatch = ::sendBatch)
+        val pending = coalescer.send(message("01000000001"))
+
+        // When
+        coalescer.close()
+        val afterClose = coalescer.send(message("01000000002"))
+
+        // Then
+        assertEquals("M-01000000001", pending.get(5, TimeUnit.SECONDS).messageId)
+        val exception = assertFailsWith<ExecutionException> { afterClose.get() }
+        assertIs<IllegalStateException>(exception.cause)
+        assertEquals(1, batches.size)
+    }
+}
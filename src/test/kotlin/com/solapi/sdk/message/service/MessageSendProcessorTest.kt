@@ -0,0 +1,287 @@
+package com.solapi.sdk.message.service
+
+import com.solapi.sdk.message.dto.request.SendRequestConfig
+import com.solapi.sdk.message.dto.response.MessageSendResult
+import com.solapi.sdk.message.dto.response.MultipleDetailMessageSentResponse
+import com.solapi.sdk.message.exception.SolapiUnknownException
+import com.solapi.sdk.message.lib.MessageCorrelation
+import com.solapi.sdk.message.lib.failedFuture
+import com.solapi.sdk.message.model.Message
+import org.reactivestreams.Publisher
+import org.reactivestreams.Subscriber
+import org.reactivestreams.Subscription
+import java.util.Collections
+import java.util.concurrent.CompletableFuture
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertIs
+import kotlin.test.assertNull
+import kotlin.test.assertTrue
+
+class MessageSendProcessorTest {
+
+    private val requests = Collections.synchronizedList(mutableListOf<CompletableFuture<MultipleDetailMessageSentResponse>>())
+    private val sentBatches = Collections.synchronizedList(mutableListOf<List<Message>>())
+
+    private fun message(index: Int) = Message(from = "01000000000", to = "0100000000$index", text = "test")
+
+    private fun processor(batchSize: Int = 2, maxInFlightRequests: Int = 1) = MessageSendProcessor(
+        sendRequestConfig = null,
+        batchSize = batchSize,
+        maxInFlightRequests = maxInFlightRequests,
+        lingerMillis = 60_000,
+        sendBatch = { messages, _: SendRequestConfig ->
+            sentBatches.add(messages)
+            CompletableFuture<MultipleDetailMessageSentResponse>().also { requests.add(it) }
+        }
+    )
+
+    private fun accepted(messages: List<Message>) = MultipleDetailMessageSentResponse(
+        messageList = messages.map { MultipleDetailMessageSentResponse.MessageList(messageId = "M-${it.to}", customFields = it.customFields) }
+    )
+
+    /**
+     * 요청받은 수와 취소 여부를 기록하고, 테스트에서 직접 신호를 보내는 Publisher
+     */
+    private class TestPublisher : Publisher<Message>, Subscription {
+        lateinit var subscriber: Subscriber<in Message>
+        var requested = 0L
+        var cancelled = false
+
+        override fun subscribe(subscriber: Subscriber<in Message>) {
+            this.subscriber = subscriber
+            subscriber.onSubscribe(this)
+        }
+
+        override fun request(n: Long) {
+            requested += n
+        }
+
+        override fun cancel() {
+            cancelled = true
+        }
+    }
+
+    private class TestSubscriber : Subscriber<MessageSendResult> {
+        lateinit var subscription: Subscription
+        val results = Collections.synchronizedList(mutableListOf<MessageSendResult>())
+        var error: Throwable? = null
+        var completed = false
+
+        override fun onSubscribe(subscription: Subscription) {
+            this.subscription = subscription
+        }
+
+        override fun onNext(result: MessageSendResult) {
+            results.add(result)
+        }
+
+        override fun onError(throwable: Throwable) {
+            error = throwable
+        }
+
+        override fun onComplete() {
+            completed = true
+        }
+    }
+
+    @Test
+    fun `upstream is requested only up to the in-flight capacity`() {
+        // Given
+        val processor = processor(batchSize = 2, maxInFlightRequests = 1)
+        val publisher = TestPublisher()
+        val subscriber = TestSubscriber()
+        publisher.subscribe(processor)
+        processor.subscribe(subscriber)
+
+        // When
+        publisher.subscriber.onNext(message(1))
+        publisher.subscriber.onNext(message(2))
+
+        // Then - 결과가 하위 Subscriber에 전달되기 전까지는 더 요청하지 않아야 함
+        assertEquals(2, publisher.requested)
+        assertEquals(1, sentBatches.size)
+        requests[0].complete(accepted(sentBatches[0]))
+        assertEquals(2, publisher.requested)
+
+        subscriber.subscription.request(2)
+        assertEquals(2, subscriber.results.size)
+        assertTrue(subscriber.results.all { it.isSuccess })
+        assertEquals(4, publisher.requested)
+    }
+
+    @Test
+    fun `results complete after upstream completes`() {
+        // Given
+        val processor = processor()
+        val publisher = TestPublisher()
+        val subscriber = TestSubscriber()
+        publisher.subscribe(processor)
+        processor.subscribe(subscriber)
+        subscriber.subscription.request(Long.MAX_VALUE)
+
+        // When
+        publisher.subscriber.onNext(message(1))
+        publisher.subscriber.onComplete()
+        requests[0].complete(accepted(sentBatches[0]))
+
+        // Then
+        assertEquals(listOf("M-01000000001"), subscriber.results.map { it.messageList?.messageId })
+        assertNull(subscriber.results.single().messageList?.customFields?.get(MessageCorrelation.CUSTOM_FIELD_KEY))
+        assertTrue(subscriber.completed)
+    }
+
+    @Test
+    fun `request failure is reported per message and upstream error is propagated`() {
+        // Given
+        val processor = processor()
+        val publisher = TestPublisher()
+        val subscriber = TestSubscriber()
+        publisher.subscribe(processor)
+        processor.subscribe(subscriber)
+        subscriber.subscription.request(Long.MAX_VALUE)
+        val upstreamError = IllegalStateException("upstream failed")
+
+        // When
+        publisher.subscriber.onNext(message(1))
+        publisher.subscriber.onNext(message(2))
+        publisher.subscriber.onError(upstreamError)
+        requests[0].completeExceptionally(SolapiUnknownException("Server error encountered"))
+
+        // Then - 진행 중인 발송 결과를 모두 전달한 뒤 상위 오류로 종료되어야 함
+        assertEquals(2, subscriber.results.size)
+        assertTrue(subscriber.results.all { it.error is SolapiUnknownException })
+        assertEquals(upstreamError, subscriber.error)
+    }
+
+    @Test
+    fun `cancelling downstream cancels upstream and in-flight requests`() {
+        // Given
+        val processor = processor()
+        val publisher = TestPublisher()
+        val subscriber = TestSubscriber()
+        publisher.subscribe(processor)
+        processor.subscribe(subscriber)
+        publisher.subscriber.onNext(message(1))
+        publisher.subscriber.onNext(message(2))
+
+        // When
+        subscriber.subscription.cancel()
+
+        // Then
+        assertTrue(publisher.cancelled)
+        assertTrue(requests.single().isCancelled)
+    }
+
+    @Test
+    fun `non-positive request terminates with IllegalArgumentException`() {
+        // Given
+        val processor = processor()
+        val publisher = TestPublisher()
+        val subscriber = TestSubscriber()
+        publisher.subscribe(processor)
+        processor.subscribe(subscriber)
+
+        // When
+        subscriber.subscription.request(0)
+
+        // Then
+        assertIs<IllegalArgumentException>(subscriber.error)
+        assertTrue(publisher.cancelled)
+    }
+
+    @Test
+    fun `only one subscriber is accepted`() {
+        // Given
+        val processor = processor()
+        val first = TestSubscriber()
+        val second = TestSubscriber()
+
+        // When
+        processor.subscribe(first)
+        processor.subscribe(second)
+
+        // Then
+        assertNull(first.error)
+        assertIs<IllegalStateException>(second.error)
+    }
+
+    @Test
+    fun `exception thrown while sending is delivered as a result`() {
+        // Given
+        val processor = MessageSendProcessor(
+            sendRequestConfig = null,
+            batchSize = 1,
+            maxInFlightRequests = 1,
+            lingerMillis = 60_000,
+            sendBatch = { _, _ -> failedFuture(SolapiUnknownException("Server error encountered")) }
+        )
+        val publisher = TestPublisher()
+        val subscriber = TestSubscriber()
+        publisher.subscribe(processor)
+        processor.subscribe(subscriber)
+        subscriber.subscription.request(1)
+
+        // When
+        publisher.subscriber.onNext(message(1))
+
+        // Then
+        assertIs<SolapiUnknownException>(subscriber.results.single().error)
+    }
+
+    @Test
+    fun `no signal reaches a subscriber before its onSubscribe returns when upstream already completed`() {
+        // Given - 상위 Publisher가 완료되었고 발송 요청만 진행 중인 상태
+        val processor = processor()
+        val publisher = TestPublisher()
+        publisher.subscribe(processor)
+        publisher.subscriber.onNext(message(1))
+        publisher.subscriber.onComplete()
+        val signals = Collections.synchronizedList(mutableListOf<String>())
+        val subscriber = object : Subscriber<MessageSendResult> {
+            override fun onSubscribe(subscription: Subscription) {
+                signals.add("onSubscribe:start")
+                subscription.request(Long.MAX_VALUE)
+                // onSubscribe가 끝나기 전에 진행 중인 발송이 완료됨
+                requests.single().complete(accepted(sentBatches.single()))
+                signals.add("onSubscribe:end")
+            }
+
+            override fun onNext(result: MessageSendResult) {
+                signals.add("onNext")
+            }
+
+            override fun onError(throwable: Throwable) {
+                signals.add("onError")
+            }
+
+            override fun onComplete() {
+                signals.add("onComplete")
+            }
+        }
+
+        // When
+        processor.subscribe(subscriber)
+
+        // Then - 규칙 1.9: onSubscribe가 다른 모든 신호보다 먼저 끝나야 함
+        assertEquals(listOf("onSubscribe:start", "onSubscribe:end", "onNext", "onComplete"), signals)
+    }
+
+    @Test
+    fun `empty completed upstream completes a late subscriber after onSubscribe`() {
+        // Given
+        val processor = processor()
+        val publisher = TestPublisher()
+        publisher.subscribe(processor)
+        publisher.subscriber.onComplete()
+        val subscriber = TestSubscriber()
+
+        // When
+        processor.subscribe(subscriber)
+
+        // Then
+        assertTrue(subscriber.completed)
+        assertNull(subscriber.error)
+        assertTrue(subscriber.results.isEmpty())
+    }
+}